@@ -0,0 +1,50 @@
+package com.mongodb.kitchensink.config;
+
+import com.mongodb.kitchensink.constants.RedisValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Session values through the same serializer {@link RedisConfig} gives the RedisTemplate; every
+ * authenticated request reads and rewrites one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisValueSerializationBenchmark {
+
+    private GenericJackson2JsonRedisSerializer serializer;
+    private RedisValue<String> sessionValue;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() {
+        serializer = new GenericJackson2JsonRedisSerializer(RedisConfig.redisObjectMapper());
+        sessionValue = new RedisValue<>("eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJiZW5jaEBleGFtcGxlLmNvbSJ9.signature", 3600L);
+        serialized = serializer.serialize(sessionValue);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(sessionValue);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(serialized);
+    }
+}
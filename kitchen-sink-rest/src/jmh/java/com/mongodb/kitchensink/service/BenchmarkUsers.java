@@ -0,0 +1,66 @@
+package com.mongodb.kitchensink.service;
+
+import com.mongodb.kitchensink.model.Address;
+import com.mongodb.kitchensink.model.Profile;
+import com.mongodb.kitchensink.model.User;
+import com.mongodb.kitchensink.projection.ProfileSummary;
+import com.mongodb.kitchensink.projection.UserSummary;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic user and profile fixtures shared by the mapping and export benchmarks.
+ */
+final class BenchmarkUsers {
+
+    private static final Instant CREATED_AT = Instant.parse("2025-01-01T00:00:00Z");
+    private static final List<String> ROLES = List.of("USER");
+
+    private BenchmarkUsers() {
+    }
+
+    static User user(int i) {
+        User user = new User();
+        user.setId("id-" + i);
+        user.setEmail("user" + i + "@example.com");
+        user.setUsername("user" + i);
+        user.setRoles(ROLES);
+        user.setActive(true);
+        user.setCreatedAt(CREATED_AT);
+        user.setAccountVerificationPending(false);
+        user.setFirstLogin(false);
+        user.setVersion(1L);
+        return user;
+    }
+
+    static Profile profile(int i) {
+        Profile profile = new Profile("profile-" + i, "First" + i, "Last" + i, "user" + i + "@example.com",
+                "98765" + String.format("%05d", i % 100000), address(i), "id-" + i);
+        profile.setUsername("user" + i);
+        return profile;
+    }
+
+    static UserSummary userSummary(int i) {
+        return new UserSummary("id-" + i, "user" + i + "@example.com", "user" + i, ROLES, true, CREATED_AT,
+                false, false, false, 1L);
+    }
+
+    static ProfileSummary profileSummary(int i) {
+        return new ProfileSummary("profile-" + i, "user" + i + "@example.com", "user" + i, "First" + i, "Last" + i,
+                "98765" + String.format("%05d", i % 100000), address(i));
+    }
+
+    static <T> List<T> list(int size, java.util.function.IntFunction<T> factory) {
+        List<T> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(factory.apply(i));
+        }
+        return items;
+    }
+
+    private static Address address(int i) {
+        return new Address("India", String.valueOf(110000 + i % 1000), "Delhi", "New Delhi", i + " Main Street");
+    }
+}
@@ -0,0 +1,100 @@
+package com.mongodb.kitchensink.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OTP issue and verify throughput against the {@code redis-server} bundled with embedded-redis, started on a free
+ * local port. Every operation is one Lua round trip, so this measures the scripts and the shared Lettuce connection
+ * under concurrent callers rather than the code generation. Each thread cycles through its own emails and the resend
+ * cooldown is off, so every call issues a code.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class OtpServiceBenchmark {
+
+    static final String TYPE = "ACCOUNT_VERIFICATION";
+    static final int EMAILS_PER_THREAD = 10_000;
+
+    private RedisServer redis;
+    private LettuceConnectionFactory connectionFactory;
+    private OtpService otpService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redis = RedisServer.newRedisServer()
+                .port(port)
+                .bind("127.0.0.1")
+                .setting("save \"\"")
+                .setting("appendonly no")
+                .build();
+        redis.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+
+        otpService = new OtpService(redisTemplate);
+        ReflectionTestUtils.setField(otpService, "hashSecret", "MySuperSecretKeyForJwtWhichIsAtLeast256BitsLong!");
+        ReflectionTestUtils.setField(otpService, "resendCooldownSeconds", 0L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        connectionFactory.destroy();
+        redis.stop();
+    }
+
+    @State(Scope.Thread)
+    public static class Emails {
+        private final String prefix = "otp-bench-" + Thread.currentThread().threadId() + "-";
+        private int next;
+
+        String next() {
+            next = (next + 1) % EMAILS_PER_THREAD;
+            return prefix + next + "@example.com";
+        }
+    }
+
+    @Benchmark
+    public String generateOtp(Emails emails) {
+        return otpService.generateOtp(emails.next(), TYPE, 300L).orElseThrow();
+    }
+
+    @Benchmark
+    public boolean generateAndVerifyOtp(Emails emails) {
+        String email = emails.next();
+        String otp = otpService.generateOtp(email, TYPE, 300L).orElseThrow();
+        return otpService.verifyOtp(email, TYPE, otp);
+    }
+}
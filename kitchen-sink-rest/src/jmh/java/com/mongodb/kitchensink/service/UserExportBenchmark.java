@@ -0,0 +1,54 @@
+package com.mongodb.kitchensink.service;
+
+import com.mongodb.kitchensink.dto.UserDto;
+import com.mongodb.kitchensink.mapper.UserMapper;
+import com.mongodb.kitchensink.mapper.UserMapperImpl;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the users.xlsx export. Large exports take seconds per call, so each iteration is a
+ * single call rather than a timed loop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class UserExportBenchmark {
+
+    @Param({"50", "1000", "100000"})
+    public int size;
+
+    private final DownloadFileService downloadFileService = new DownloadFileService(ObservationRegistry.NOOP);
+    private List<UserDto> users;
+
+    @Setup
+    public void setUp() {
+        UserMapper userMapper = new UserMapperImpl();
+        users = BenchmarkUsers.list(size, i -> {
+            UserDto dto = userMapper.toDto(BenchmarkUsers.userSummary(i));
+            dto.setProfile(userMapper.toDto(BenchmarkUsers.profileSummary(i)));
+            return dto;
+        });
+    }
+
+    @Benchmark
+    public byte[] generateUserExcel() {
+        return downloadFileService.generateUserExcel(users).getBody();
+    }
+}
@@ -0,0 +1,86 @@
+package com.mongodb.kitchensink.service;
+
+import com.mongodb.kitchensink.dto.UserDto;
+import com.mongodb.kitchensink.mapper.UserMapper;
+import com.mongodb.kitchensink.mapper.UserMapperImpl;
+import com.mongodb.kitchensink.model.Profile;
+import com.mongodb.kitchensink.model.User;
+import com.mongodb.kitchensink.projection.ProfileSummary;
+import com.mongodb.kitchensink.projection.UserSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a page or export worth of users and profiles to {@link UserDto}: MapStruct from the
+ * summary projections (list, search and export endpoints), MapStruct from the entities
+ * ({@code getUserByEmail}), and the hand-written copy that ends {@code updateUser}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class UserMappingBenchmark {
+
+    @Param({"50", "1000", "100000"})
+    public int size;
+
+    private final UserMapper userMapper = new UserMapperImpl();
+    private List<User> users;
+    private List<Profile> profiles;
+    private List<UserSummary> userSummaries;
+    private List<ProfileSummary> profileSummaries;
+
+    @Setup
+    public void setUp() {
+        users = BenchmarkUsers.list(size, BenchmarkUsers::user);
+        profiles = BenchmarkUsers.list(size, BenchmarkUsers::profile);
+        userSummaries = BenchmarkUsers.list(size, BenchmarkUsers::userSummary);
+        profileSummaries = BenchmarkUsers.list(size, BenchmarkUsers::profileSummary);
+    }
+
+    @Benchmark
+    public List<UserDto> mapStructFromSummaries() {
+        List<UserDto> dtos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            UserDto dto = userMapper.toDto(userSummaries.get(i));
+            dto.setProfile(userMapper.toDto(profileSummaries.get(i)));
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<UserDto> mapStructFromEntities() {
+        List<UserDto> dtos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            UserDto dto = userMapper.toDto(users.get(i));
+            dto.setProfile(userMapper.toDto(profiles.get(i)));
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<UserDto> handWrittenUpdateCopy() {
+        List<UserDto> dtos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            dtos.add(UserService.toUpdatedDto(users.get(i), profiles.get(i)));
+        }
+        return dtos;
+    }
+}
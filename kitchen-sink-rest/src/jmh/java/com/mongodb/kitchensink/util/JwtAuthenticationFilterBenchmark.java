@@ -0,0 +1,82 @@
+package com.mongodb.kitchensink.util;
+
+import com.mongodb.kitchensink.config.JwtAuthenticationEntryPoint;
+import com.mongodb.kitchensink.model.User;
+import com.mongodb.kitchensink.repository.UserRepository;
+import com.mongodb.kitchensink.service.SessionService;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * One authenticated request through the JWT filter, with the session store and user repository
+ * stubbed out so only the filter's own work (token parsing, authorities, security context) is timed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(JwtTokenProviderBenchmark.SECRET, 3600, 604800);
+        authorizationHeader = "Bearer " + tokenProvider.generateAccessToken(
+                JwtTokenProviderBenchmark.EMAIL, JwtTokenProviderBenchmark.ROLES);
+
+        User user = new User();
+        user.setEmail(JwtTokenProviderBenchmark.EMAIL);
+        user.setRoles(JwtTokenProviderBenchmark.ROLES);
+        // Stub-only mocks skip invocation recording, keeping Mockito's share of each call small
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        SessionService sessionService = mock(SessionService.class, withSettings().stubOnly());
+        when(sessionService.validateAndRefreshSession(anyString(), anyString(), anyLong())).thenReturn(true);
+
+        filter = new JwtAuthenticationFilter(tokenProvider, userRepository,
+                Mockito.mock(JwtAuthenticationEntryPoint.class, withSettings().stubOnly()), null, sessionService,
+                ObservationRegistry.NOOP);
+    }
+
+    @Benchmark
+    public Authentication authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/profile");
+        request.addHeader("Authorization", authorizationHeader);
+        try {
+            filter.doFilterInternal(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.mongodb.kitchensink.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing and checking access tokens; the filter parses every token twice per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    static final String SECRET = "MySuperSecretKeyForJwtWhichIsAtLeast256BitsLong!";
+    static final String EMAIL = "bench@example.com";
+    static final List<String> ROLES = List.of("USER", "ADMIN");
+
+    private JwtTokenProvider tokenProvider;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET, 3600, 604800);
+        accessToken = tokenProvider.generateAccessToken(EMAIL, ROLES);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return tokenProvider.generateAccessToken(EMAIL, ROLES);
+    }
+
+    @Benchmark
+    public void validateAccessToken() {
+        tokenProvider.validateAccessToken(accessToken);
+    }
+
+    @Benchmark
+    public String getEmailFromAccessToken() {
+        return tokenProvider.getEmailFromAccessToken(accessToken);
+    }
+}
@@ -0,0 +1,135 @@
+package com.mongodb.kitchensink.loadtest;
+
+import com.mongodb.kitchensink.KitchensinkApplication;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application under test, in a JVM of its own so its threads and memory are not mixed with the load
+ * generator's. Resident memory and thread count are read from {@code /proc}, which covers the native
+ * stacks of platform threads that heap metrics miss; elsewhere they are reported as {@code -1}.
+ */
+class ApplicationProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final Process process;
+    private final int port;
+
+    private ApplicationProcess(Process process, int port) {
+        this.process = process;
+        this.port = port;
+    }
+
+    /**
+     * Starts the application with the {@code loadtest} profile against the stand-ins and waits until it is ready.
+     */
+    static ApplicationProcess start(LocalStandIns standIns, LoadTestSettings settings, boolean virtualThreads,
+                                    Path log) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx" + settings.appHeap(),
+                "-classpath", System.getProperty("java.class.path"),
+                KitchensinkApplication.class.getName(),
+                "--spring.profiles.active=loadtest",
+                "--server.port=" + port,
+                "--spring.threads.virtual.enabled=" + virtualThreads));
+        command.addAll(standIns.springArguments());
+        Files.createDirectories(log.toAbsolutePath().getParent());
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        ApplicationProcess application = new ApplicationProcess(process, port);
+        try {
+            application.awaitReady(log);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            application.close();
+            throw e;
+        }
+        return application;
+    }
+
+    int port() {
+        return port;
+    }
+
+    /**
+     * @return resident set size in kB, or -1 when {@code /proc} is not available
+     */
+    long residentKb() {
+        return procStatus("VmRSS:");
+    }
+
+    /**
+     * @return live threads, or -1 when {@code /proc} is not available
+     */
+    long threads() {
+        return procStatus("Threads:");
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private void awaitReady(Path log) throws IOException, InterruptedException {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (http.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            TimeUnit.MILLISECONDS.sleep(500);
+        }
+        throw new IllegalStateException("Application not ready after " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    private long procStatus(String field) {
+        Path status = Path.of("/proc", Long.toString(process.pid()), "status");
+        if (!Files.isReadable(status)) {
+            return -1;
+        }
+        try {
+            return Files.readAllLines(status).stream()
+                    .filter(line -> line.startsWith(field))
+                    .map(line -> line.substring(field.length()).trim().split("\\s+")[0])
+                    .mapToLong(Long::parseLong)
+                    .findFirst()
+                    .orElse(-1);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
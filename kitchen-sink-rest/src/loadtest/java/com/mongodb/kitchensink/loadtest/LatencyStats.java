@@ -0,0 +1,77 @@
+package com.mongodb.kitchensink.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts per endpoint for one scenario.
+ * <p>
+ * Samples are kept in microseconds with three significant digits. Nothing is recorded until
+ * {@link #startRecording()}, so warm-up traffic does not skew the percentiles.
+ * </p>
+ */
+class LatencyStats {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+    private volatile boolean recording;
+    private volatile long startedAt;
+    private volatile long stoppedAt;
+
+    void startRecording() {
+        startedAt = System.nanoTime();
+        recording = true;
+    }
+
+    void stopRecording() {
+        recording = false;
+        stoppedAt = System.nanoTime();
+    }
+
+    void record(String endpoint, long elapsedNanos, boolean success) {
+        if (!recording) {
+            return;
+        }
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        stats.histogram.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    LoadTestReport.ScenarioResult result(String scenario, long peakResidentMb, long peakThreads) {
+        double seconds = (stoppedAt - startedAt) / 1e9;
+        List<LoadTestReport.EndpointResult> results = endpoints.entrySet().stream()
+                .map(entry -> entry.getValue().result(entry.getKey(), seconds))
+                .toList();
+        return new LoadTestReport.ScenarioResult(scenario, seconds, peakResidentMb, peakThreads, results);
+    }
+
+    private static final class Endpoint {
+        private final Histogram histogram = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+
+        private LoadTestReport.EndpointResult result(String name, double seconds) {
+            long count = histogram.getTotalCount();
+            return new LoadTestReport.EndpointResult(
+                    name,
+                    count,
+                    errors.sum(),
+                    seconds > 0 ? count / seconds : 0,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
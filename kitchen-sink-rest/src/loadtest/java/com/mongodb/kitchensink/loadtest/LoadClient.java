@@ -0,0 +1,106 @@
+package com.mongodb.kitchensink.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * HTTP client for the scenarios. Every call is timed and recorded under a fixed endpoint name
+ * (method and path template, never the concrete ids), so the report has one row per endpoint.
+ */
+class LoadClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private volatile LatencyStats stats;
+
+    LoadClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    void recordInto(LatencyStats stats) {
+        this.stats = stats;
+    }
+
+    Response get(String endpoint, String pathAndQuery, String accessToken) {
+        return send(endpoint, request(pathAndQuery, accessToken).GET().build());
+    }
+
+    Response post(String endpoint, String path, Object body, String accessToken) {
+        try {
+            HttpRequest request = request(path, accessToken)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+            return send(endpoint, request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize request body", e);
+        }
+    }
+
+    /**
+     * Records a step that is not an HTTP call, such as waiting for a mail to arrive.
+     */
+    void record(String endpoint, long elapsedNanos, boolean success) {
+        stats.record(endpoint, elapsedNanos, success);
+    }
+
+    static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private HttpRequest.Builder request(String path, String accessToken) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (accessToken != null) {
+            builder.header("Authorization", "Bearer " + accessToken);
+        }
+        return builder;
+    }
+
+    private Response send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            Response result = new Response(response.statusCode(), response.body(), objectMapper);
+            stats.record(endpoint, System.nanoTime() - start, result.ok());
+            return result;
+        } catch (IOException e) {
+            stats.record(endpoint, System.nanoTime() - start, false);
+            throw new UncheckedIOException(endpoint + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(endpoint + " interrupted", e);
+        }
+    }
+
+    record Response(int status, byte[] body, ObjectMapper objectMapper) {
+
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+
+        JsonNode json() {
+            try {
+                return objectMapper.readTree(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Response is not JSON", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.mongodb.kitchensink.loadtest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a load test run, written as JSON next to the console summary. Latencies are in milliseconds;
+ * the peaks are those of the application JVM during the measured period ({@code -1} without {@code /proc}).
+ */
+record LoadTestReport(Map<String, Object> settings, SeedStats seeding, List<RunResult> runs) {
+
+    /**
+     * Bulk seeding before the runs, against the same stand-ins; documents are users plus profiles.
+     */
+    record SeedStats(long usersInserted, long usersSkipped, long profilesInserted, double seconds,
+                     double documentsPerSecond) {
+    }
+
+    record RunResult(boolean virtualThreads, List<ScenarioResult> scenarios) {
+    }
+
+    record ScenarioResult(String scenario, double measuredSeconds, long peakResidentMb, long peakThreads,
+                          List<EndpointResult> endpoints) {
+    }
+
+    record EndpointResult(String endpoint, long requests, long errors, double throughputPerSecond,
+                          double p50, double p90, double p99, double p999, double max) {
+    }
+
+    String toTable() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%n== seeding: %d users (%d already present), %d profiles in %.1fs, %.0f docs/s ==%n",
+                seeding.usersInserted(), seeding.usersSkipped(), seeding.profilesInserted(), seeding.seconds(),
+                seeding.documentsPerSecond()));
+        for (RunResult run : runs) {
+            for (ScenarioResult scenario : run.scenarios()) {
+                appendScenario(table, run.virtualThreads() ? "virtual threads" : "platform threads", scenario);
+            }
+        }
+        return table.toString();
+    }
+
+    private static void appendScenario(StringBuilder table, String threads, ScenarioResult scenario) {
+        table.append(String.format("%n== %s, %s (%.0fs measured, peak RSS %d MB, peak threads %d) ==%n",
+                scenario.scenario(), threads, scenario.measuredSeconds(), scenario.peakResidentMb(),
+                scenario.peakThreads()));
+        table.append(String.format("%-52s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (EndpointResult endpoint : scenario.endpoints()) {
+            table.append(String.format("%-52s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.endpoint(), endpoint.requests(), endpoint.errors(), endpoint.throughputPerSecond(),
+                    endpoint.p50(), endpoint.p90(), endpoint.p99(), endpoint.p999(), endpoint.max()));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.mongodb.kitchensink.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.kitchensink.KitchensinkApplication;
+import com.mongodb.kitchensink.service.SeedDataGeneratorService;
+import com.mongodb.kitchensink.service.SeedDataGeneratorService.Pools;
+import com.mongodb.kitchensink.service.SeedDataGeneratorService.SeedResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load test entry point, run by {@code mvn -Ploadtest -DskipTests verify}.
+ * <p>
+ * Starts the stand-ins and seeds {@code loadtest.users} users, recording the seeding throughput. Then, for each value of
+ * {@code loadtest.virtual-threads}, starts the application in its own JVM with the {@code loadtest} profile
+ * and runs each scenario with {@code loadtest.concurrency} virtual users, one connection each: a warm-up,
+ * then the measured period, during which the application's resident memory and thread count are sampled
+ * every second. Throughput, latency percentiles per endpoint and those peaks are printed and written to
+ * {@code loadtest.report}. The load generator still shares the machine with the application and its
+ * stand-ins, so compare runs made on the same hardware rather than reading absolute numbers. With no
+ * scenarios only the seeding is measured.
+ * </p>
+ */
+public final class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        List<LoadTestReport.RunResult> runs = new ArrayList<>();
+        LoadTestReport.SeedStats seeding;
+        try (LocalStandIns standIns = LocalStandIns.start()) {
+            seeding = seed(standIns, settings);
+            Pools pools = SeedDataGeneratorService.pools(settings.seed());
+            AtomicInteger otpCursor = new AtomicInteger();
+            List<Boolean> threadModes = settings.scenarios().isEmpty() ? List.of() : settings.virtualThreads();
+            for (boolean virtualThreads : threadModes) {
+                Path appLog = settings.report().toAbsolutePath().resolveSibling(
+                        "loadtest-app-" + (virtualThreads ? "virtual" : "platform") + ".log");
+                log.info("Starting the application with spring.threads.virtual.enabled={}, log in {}",
+                        virtualThreads, appLog);
+                try (ApplicationProcess app = ApplicationProcess.start(standIns, settings, virtualThreads, appLog)) {
+                    LoadClient client = new LoadClient("http://127.0.0.1:" + app.port());
+                    List<LoadTestReport.ScenarioResult> results = new ArrayList<>();
+                    for (Scenario scenario : settings.scenarios()) {
+                        results.add(run(scenario, settings, client, app, standIns, pools, otpCursor));
+                    }
+                    runs.add(new LoadTestReport.RunResult(virtualThreads, results));
+                }
+            }
+        }
+        LoadTestReport report = new LoadTestReport(settings.asMap(), seeding, runs);
+
+        log.info("Load test results:{}", report.toTable());
+        Files.createDirectories(settings.report().toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(settings.report().toFile(), report);
+        log.info("Report written to {}", settings.report().toAbsolutePath());
+        // Driver threads of the stand-ins may linger; the run is over
+        System.exit(0);
+    }
+
+    /**
+     * Seeds the users once, through a short-lived copy of the application in this JVM, before any measured run.
+     */
+    private static LoadTestReport.SeedStats seed(LocalStandIns standIns, LoadTestSettings settings) {
+        try (ConfigurableApplicationContext seeder = new SpringApplicationBuilder(KitchensinkApplication.class)
+                .profiles("loadtest")
+                .run(standIns.springArguments().toArray(String[]::new))) {
+            SeedResult result = seeder.getBean(SeedDataGeneratorService.class).generate(settings.seedPlan());
+            return new LoadTestReport.SeedStats(result.inserted(), result.skipped(), result.profilesInserted(),
+                    result.elapsed().toNanos() / 1e9, result.documentsPerSecond());
+        }
+    }
+
+    private static LoadTestReport.ScenarioResult run(Scenario scenario, LoadTestSettings settings, LoadClient client,
+                                                     ApplicationProcess app, LocalStandIns standIns, Pools pools,
+                                                     AtomicInteger otpCursor) throws InterruptedException {
+        LatencyStats stats = new LatencyStats();
+        client.recordInto(stats);
+
+        List<VirtualUser> users = new ArrayList<>(settings.concurrency());
+        for (int i = 1; i <= settings.concurrency(); i++) {
+            VirtualUser user = new VirtualUser(i, client, standIns, settings, pools, otpCursor);
+            if (scenario.signedIn()) {
+                user.signIn();
+            }
+            users.add(user);
+        }
+
+        log.info("{}: {} virtual users, {}s warm-up, {}s measured", scenario, users.size(),
+                settings.warmupSeconds(), settings.durationSeconds());
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger failedIterations = new AtomicInteger();
+        long peakResidentKb = -1;
+        long peakThreads = -1;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (VirtualUser user : users) {
+                executor.submit(() -> {
+                    while (running.get()) {
+                        try {
+                            scenario.iterate(user);
+                        } catch (RuntimeException e) {
+                            if (failedIterations.getAndIncrement() == 0) {
+                                log.warn("{} iteration failed: {}", scenario, e.getMessage());
+                            }
+                        }
+                    }
+                });
+            }
+            TimeUnit.SECONDS.sleep(settings.warmupSeconds());
+            stats.startRecording();
+            for (int second = 0; second < settings.durationSeconds(); second++) {
+                TimeUnit.SECONDS.sleep(1);
+                peakResidentKb = Math.max(peakResidentKb, app.residentKb());
+                peakThreads = Math.max(peakThreads, app.threads());
+            }
+            stats.stopRecording();
+            running.set(false);
+        }
+        if (failedIterations.get() > 0) {
+            log.warn("{}: {} iterations failed", scenario, failedIterations.get());
+        }
+        return stats.result(scenario.name().toLowerCase(), peakResidentKb < 0 ? -1 : peakResidentKb / 1024, peakThreads);
+    }
+}
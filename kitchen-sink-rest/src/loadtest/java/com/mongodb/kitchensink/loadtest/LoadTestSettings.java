@@ -0,0 +1,84 @@
+package com.mongodb.kitchensink.loadtest;
+
+import com.mongodb.kitchensink.service.SeedDataGeneratorService.SeedPlan;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties (the {@code loadtest} Maven profile
+ * passes its properties through).
+ *
+ * @param users           users seeded before the run
+ * @param concurrency     virtual users per scenario, each running iterations back to back over its own connection
+ * @param warmupSeconds   traffic per scenario that is not recorded
+ * @param durationSeconds recorded traffic per scenario
+ * @param scenarios       scenarios to run, in order
+ * @param seed            seed for the generated data and every random choice a virtual user makes
+ * @param exportSize      users per export request
+ * @param virtualThreads  values of {@code spring.threads.virtual.enabled} to run every scenario with, one
+ *                        application JVM each
+ * @param appHeap         maximum heap of the application JVM
+ * @param report          where the JSON report is written
+ */
+record LoadTestSettings(int users, int concurrency, int warmupSeconds, int durationSeconds,
+                        List<Scenario> scenarios, long seed, int exportSize, List<Boolean> virtualThreads,
+                        String appHeap, Path report) {
+
+    static final String PASSWORD = "LoadTest@123";
+
+    LoadTestSettings {
+        if (users < concurrency) {
+            throw new IllegalArgumentException("loadtest.users must be at least loadtest.concurrency, "
+                    + "every virtual user signs in as its own seeded user");
+        }
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        List<Scenario> scenarios = Arrays.stream(System.getProperty("loadtest.scenarios", "login,browse,dashboard,export,otp").split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(name -> Scenario.valueOf(name.toUpperCase(Locale.ROOT)))
+                .toList();
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.users", 10_000),
+                Integer.getInteger("loadtest.concurrency", 32),
+                Integer.getInteger("loadtest.warmup-seconds", 10),
+                Integer.getInteger("loadtest.duration-seconds", 30),
+                scenarios,
+                Long.getLong("loadtest.seed", 42L),
+                Integer.getInteger("loadtest.export-size", 1000),
+                Arrays.stream(System.getProperty("loadtest.virtual-threads", "false,true").split(","))
+                        .map(String::trim)
+                        .filter(value -> !value.isEmpty())
+                        .map(Boolean::parseBoolean)
+                        .toList(),
+                System.getProperty("loadtest.app-heap", "1g"),
+                Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json")));
+    }
+
+    /**
+     * Users {@code loadtest1..loadtest<users>}; the first {@code concurrency} are admins, one per virtual user.
+     */
+    SeedPlan seedPlan() {
+        return new SeedPlan("loadtest", users, concurrency, PASSWORD, seed);
+    }
+
+    Map<String, Object> asMap() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("users", users);
+        settings.put("concurrency", concurrency);
+        settings.put("warmupSeconds", warmupSeconds);
+        settings.put("durationSeconds", durationSeconds);
+        settings.put("scenarios", scenarios);
+        settings.put("seed", seed);
+        settings.put("exportSize", exportSize);
+        settings.put("virtualThreads", virtualThreads);
+        settings.put("appHeap", appHeap);
+        return settings;
+    }
+}
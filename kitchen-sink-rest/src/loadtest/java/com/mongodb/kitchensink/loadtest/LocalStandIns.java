@@ -0,0 +1,118 @@
+package com.mongodb.kitchensink.loadtest;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.store.FolderException;
+import com.icegreen.greenmail.store.MailFolder;
+import com.icegreen.greenmail.store.StoredMessage;
+import com.icegreen.greenmail.user.GreenMailUser;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import jakarta.mail.internet.MimeMessage;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Local, throwaway replacements for the application's external dependencies: an embedded
+ * {@code mongod} (downloaded and cached on first use), the {@code redis-server} binary bundled with
+ * embedded-redis, and an in-memory SMTP server that keeps every mail it receives per recipient.
+ */
+class LocalStandIns implements AutoCloseable {
+
+    private final TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private final RedisServer redis;
+    private final int redisPort;
+    private final GreenMail smtp;
+
+    private LocalStandIns(TransitionWalker.ReachedState<RunningMongodProcess> mongod,
+                          RedisServer redis, int redisPort, GreenMail smtp) {
+        this.mongod = mongod;
+        this.redis = redis;
+        this.redisPort = redisPort;
+        this.smtp = smtp;
+    }
+
+    static LocalStandIns start() throws IOException {
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance().start(Version.Main.V7_0);
+
+        int redisPort = freePort();
+        RedisServer redis = RedisServer.newRedisServer()
+                .port(redisPort)
+                .bind("127.0.0.1")
+                .setting("save \"\"")
+                .setting("appendonly no")
+                .build();
+        redis.start();
+
+        GreenMail smtp = new GreenMail(new ServerSetup(freePort(), "127.0.0.1", ServerSetup.PROTOCOL_SMTP))
+                .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+        smtp.start();
+
+        return new LocalStandIns(mongod, redis, redisPort, smtp);
+    }
+
+    /**
+     * @return command line arguments that point the application at the stand-ins
+     */
+    List<String> springArguments() {
+        ServerAddress mongoAddress = mongod.current().getServerAddress();
+        return List.of(
+                "--spring.data.mongodb.host=" + mongoAddress.getHost(),
+                "--spring.data.mongodb.port=" + mongoAddress.getPort(),
+                "--spring.data.redis.host=127.0.0.1",
+                "--spring.data.redis.port=" + redisPort,
+                "--mail.host=127.0.0.1",
+                "--mail.port=" + smtp.getSmtp().getPort());
+    }
+
+    /**
+     * Returns the latest mail delivered to {@code recipient}, if any, and empties their inbox.
+     */
+    Optional<MimeMessage> takeMail(String recipient) {
+        GreenMailUser user = smtp.getUserManager().getUserByEmail(recipient);
+        if (user == null) {
+            return Optional.empty();
+        }
+        try {
+            MailFolder inbox = smtp.getManagers().getImapHostManager().getInbox(user);
+            synchronized (inbox) {
+                if (inbox.getMessageCount() == 0) {
+                    return Optional.empty();
+                }
+                List<StoredMessage> messages = inbox.getMessages();
+                MimeMessage message = messages.get(messages.size() - 1).getMimeMessage();
+                inbox.deleteAllMessages();
+                return Optional.of(message);
+            }
+        } catch (FolderException e) {
+            throw new IllegalStateException("Cannot read the inbox of " + recipient, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        smtp.stop();
+        try {
+            redis.stop();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            mongod.close();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
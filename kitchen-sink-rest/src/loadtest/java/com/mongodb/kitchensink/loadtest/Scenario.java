@@ -0,0 +1,154 @@
+package com.mongodb.kitchensink.loadtest;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.mongodb.kitchensink.loadtest.LoadClient.encode;
+
+/**
+ * The scripted scenarios. Each virtual user calls {@link #iterate(VirtualUser)} back to back, without
+ * think time, for the warm-up and the measured period.
+ */
+enum Scenario {
+
+    /** Fresh logins for random users: user lookup, BCrypt, token issue and session writes. */
+    LOGIN(false) {
+        @Override
+        void iterate(VirtualUser user) {
+            user.login(user.randomEmail());
+        }
+    },
+
+    /** Paged listing, the search endpoints and single-user lookups, weighted like the admin UI. */
+    BROWSE(true) {
+        @Override
+        void iterate(VirtualUser user) {
+            int pick = user.random.nextInt(10);
+            if (pick < 3) {
+                user.client.get("GET /api/users", "/api/users?page=" + user.random.nextInt(10) + "&size=50",
+                        user.accessToken);
+            } else if (pick < 5) {
+                user.client.get("GET /api/users/getUserByName",
+                        "/api/users/getUserByName?name=" + encode(pick(user.pools.firstNames(), user)), user.accessToken);
+            } else if (pick < 7) {
+                user.client.get("GET /api/users/getUserByCity",
+                        "/api/users/getUserByCity?city=" + encode(pick(user.pools.cities(), user)), user.accessToken);
+            } else if (pick < 8) {
+                user.client.get("GET /api/users/getUserByCountry",
+                        "/api/users/getUserByCountry?country=" + encode(pick(user.pools.countries(), user)), user.accessToken);
+            } else {
+                user.client.get("GET /api/users/email/{email}",
+                        "/api/users/email/" + encode(user.randomEmail()), user.accessToken);
+            }
+        }
+    },
+
+    /** Dashboard counters, as polled by every open admin dashboard. */
+    DASHBOARD(true) {
+        @Override
+        void iterate(VirtualUser user) {
+            user.client.get("GET /api/dashboard/dashboard-stats", "/api/dashboard/dashboard-stats", user.accessToken);
+        }
+    },
+
+    /** Excel export of a random page of {@code loadtest.export-size} users. */
+    EXPORT(true) {
+        @Override
+        void iterate(VirtualUser user) {
+            int size = user.settings.exportSize();
+            int pages = Math.max(1, user.settings.users() / size);
+            user.client.get("GET /api/users/download",
+                    "/api/users/download?page=" + user.random.nextInt(pages) + "&size=" + size, user.accessToken);
+        }
+    },
+
+    /**
+     * Forgot-password flow: request an OTP, read it from the SMTP sink, verify it and reset the password
+     * (to the same value, so later scenarios can still sign in). Delivery time is reported as its own row.
+     */
+    OTP(false) {
+        @Override
+        void iterate(VirtualUser user) {
+            // Admins are left alone; users come round again only after the whole range, well past the resend cooldown
+            int others = user.settings.users() - user.settings.concurrency();
+            if (others <= 0) {
+                throw new IllegalStateException("The OTP scenario needs more users than virtual users");
+            }
+            String email = user.plan.email(user.settings.concurrency() + 1
+                    + Math.floorMod(user.otpCursor.getAndIncrement(), others));
+
+            long requestedAt = System.nanoTime();
+            if (!user.client.post("POST /api/auth/forgot-password/request-otp",
+                    "/api/auth/forgot-password/request-otp", Map.of("email", email), null).ok()) {
+                return;
+            }
+            Optional<String> otp = awaitOtp(user.standIns, email);
+            user.client.record("SMTP otp delivery", System.nanoTime() - requestedAt, otp.isPresent());
+            if (otp.isEmpty()) {
+                return;
+            }
+            if (!user.client.post("POST /api/auth/forgot-password/verify-otp", "/api/auth/forgot-password/verify-otp",
+                    Map.of("email", email, "otp", otp.get()), null).ok()) {
+                return;
+            }
+            user.client.post("POST /api/auth/forgot-password/reset", "/api/auth/forgot-password/reset",
+                    Map.of("email", email, "newPassword", LoadTestSettings.PASSWORD), null);
+        }
+    };
+
+    private static final Pattern OTP_CODE = Pattern.compile(">(\\d{4,10})</div>");
+    private static final long MAIL_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final boolean signedIn;
+
+    Scenario(boolean signedIn) {
+        this.signedIn = signedIn;
+    }
+
+    /**
+     * @return whether virtual users sign in as their own admin before the scenario starts
+     */
+    boolean signedIn() {
+        return signedIn;
+    }
+
+    abstract void iterate(VirtualUser user);
+
+    private static String pick(List<String> values, VirtualUser user) {
+        return values.get(user.random.nextInt(values.size()));
+    }
+
+    private static Optional<String> awaitOtp(LocalStandIns standIns, String email) {
+        long deadline = System.nanoTime() + MAIL_TIMEOUT_NANOS;
+        while (System.nanoTime() < deadline) {
+            Optional<MimeMessage> mail = standIns.takeMail(email);
+            if (mail.isPresent()) {
+                return otpFrom(mail.get());
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<String> otpFrom(MimeMessage mail) {
+        try {
+            Matcher matcher = OTP_CODE.matcher(String.valueOf(mail.getContent()));
+            return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+        } catch (IOException | MessagingException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.mongodb.kitchensink.loadtest;
+
+import com.mongodb.kitchensink.service.SeedDataGeneratorService.Pools;
+import com.mongodb.kitchensink.service.SeedDataGeneratorService.SeedPlan;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One simulated client. Virtual user {@code index} (1-based) owns seeded admin {@code loadtest<index>} for
+ * the scenarios that need a session, and its own random stream derived from the run seed.
+ */
+final class VirtualUser {
+
+    final int index;
+    final Random random;
+    final LoadClient client;
+    final LocalStandIns standIns;
+    final LoadTestSettings settings;
+    final SeedPlan plan;
+    /** What the seeded names and addresses were drawn from, to search for. */
+    final Pools pools;
+    /** Shared by all virtual users, hands out users that have not requested an OTP recently. */
+    final AtomicInteger otpCursor;
+    String accessToken;
+
+    VirtualUser(int index, LoadClient client, LocalStandIns standIns, LoadTestSettings settings, Pools pools,
+                AtomicInteger otpCursor) {
+        this.index = index;
+        this.random = new Random(settings.seed() * 31 + index);
+        this.client = client;
+        this.standIns = standIns;
+        this.settings = settings;
+        this.plan = settings.seedPlan();
+        this.pools = pools;
+        this.otpCursor = otpCursor;
+    }
+
+    LoadClient.Response login(String email) {
+        return client.post("POST /api/auth/login", "/api/auth/login",
+                Map.of("email", email, "password", LoadTestSettings.PASSWORD), null);
+    }
+
+    /**
+     * Signs in as this virtual user's own seeded admin and keeps the access token.
+     */
+    void signIn() {
+        LoadClient.Response response = login(plan.email(index));
+        if (!response.ok()) {
+            throw new IllegalStateException("Virtual user " + index + " cannot sign in: HTTP " + response.status());
+        }
+        accessToken = response.json().path("accessToken").asText();
+    }
+
+    String randomEmail() {
+        return plan.email(1 + random.nextInt(settings.users()));
+    }
+}
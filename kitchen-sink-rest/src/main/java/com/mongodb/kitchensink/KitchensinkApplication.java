@@ -3,10 +3,12 @@ package com.mongodb.kitchensink;
 import de.codecentric.boot.admin.server.config.EnableAdminServer;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
 @EnableMongoRepositories(basePackages = "com.mongodb.kitchensink.repository")
-@SpringBootApplication
+// The reactive Mongo client is only created when the reactive read server is enabled, see ReactiveReadConfig
+@SpringBootApplication(exclude = MongoReactiveAutoConfiguration.class)
 @EnableAdminServer
 public class KitchensinkApplication {
 
@@ -0,0 +1,97 @@
+package com.mongodb.kitchensink.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Class to Configure asynchronous execution for the application
+ * <p>
+ * With {@code spring.threads.virtual.enabled=true} Tomcat, the default {@code @Async} executor and the
+ * scheduler all run on virtual threads. Outgoing mail is the exception: Jakarta Mail's SMTP transport
+ * does its socket I/O inside {@code synchronized} methods, which pins the carrier thread on JDK 21,
+ * so it gets a small dedicated pool of platform threads instead.
+ * </p>
+ * <p>
+ * Declaring that pool would make Boot back off from its {@code applicationTaskExecutor}, so
+ * {@code spring.task.execution.mode=force} keeps it (virtual threads under the flag, Boot's pool otherwise)
+ * for MVC async requests, and {@link #getAsyncExecutor()} makes it the default for {@code @Async}.
+ * </p>
+ * <p>
+ * Both executors run tasks with the caller's context (current observation, and with it the trace), so
+ * work handed off by a request, such as the {@code mail.send} observation, is recorded under that request.
+ * </p>
+ * @author Arpit Tripathi
+ * @version 1.0
+ * @since 2025-08-17
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig implements AsyncConfigurer {
+
+    public static final String MAIL_EXECUTOR = "mailExecutor";
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncConfig.class);
+
+    private final ObjectProvider<Executor> applicationTaskExecutor;
+
+    @Value("${app.mail.executor.pool-size:4}")
+    private int mailPoolSize;
+
+    @Value("${app.mail.executor.queue-capacity:500}")
+    private int mailQueueCapacity;
+
+    public AsyncConfig(@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                       ObjectProvider<Executor> applicationTaskExecutor) {
+        this.applicationTaskExecutor = applicationTaskExecutor;
+    }
+
+    @Bean(name = MAIL_EXECUTOR)
+    public ThreadPoolTaskExecutor mailExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mailPoolSize);
+        executor.setMaxPoolSize(mailPoolSize);
+        executor.setQueueCapacity(mailQueueCapacity);
+        executor.setThreadNamePrefix("mail-");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Boot applies this decorator to its {@code applicationTaskExecutor}, pooled or virtual.
+     */
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    /**
+     * Executor for {@code @Async} methods without a qualifier. Without it Spring finds two executors,
+     * no {@code taskExecutor} bean, and starts a new platform thread per call.
+     */
+    @Override
+    public Executor getAsyncExecutor() {
+        return applicationTaskExecutor.getIfAvailable();
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, method, params) ->
+                log.error("Async call to {} failed", method.getName(), ex);
+    }
+}
@@ -0,0 +1,136 @@
+package com.mongodb.kitchensink.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.kitchensink.service.CacheInvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.LoggingCacheErrorHandler;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Class to Configure the Spring Cache abstraction for user lookups
+ * <p>
+ * Every named cache is a {@link TwoLevelCache}: a small Caffeine near cache per instance in front of
+ * a Redis cache shared by all instances. Near caches on other instances are invalidated over Redis
+ * pub/sub by {@link CacheInvalidationBus}. Cache failures are logged and treated as misses, so an
+ * unavailable Redis only costs the Mongo lookup it was meant to save.
+ * </p>
+ * @author Arpit Tripathi
+ * @version 1.0
+ * @since 2025-08-17
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig implements CachingConfigurer {
+
+    public static final String USER_BY_EMAIL = "userByEmail";
+    public static final String USER_BY_ID = "userById";
+    public static final String ROLES_BY_EMAIL = "rolesByEmail";
+
+    static final List<String> CACHE_NAMES = List.of(USER_BY_EMAIL, USER_BY_ID, ROLES_BY_EMAIL);
+
+    @Value("${app.cache.local.ttl-seconds:30}")
+    private long localTtlSeconds = 30;
+
+    @Value("${app.cache.local.max-size:10000}")
+    private long localMaxSize = 10000;
+
+    @Value("${app.cache.redis.ttl-seconds:600}")
+    private long redisTtlSeconds = 600;
+
+    @Value("${app.cache.invalidation.max-retry-interval-ms:30000}")
+    private long invalidationMaxRetryIntervalMs = 30000;
+
+    @Value("${app.redis.key-prefix:kitchensink}")
+    private String keyPrefix = "kitchensink";
+
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+        RedisCacheConfiguration redisCacheConfiguration = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofSeconds(redisTtlSeconds))
+                .disableCachingNullValues()
+                .serializeValuesWith(SerializationPair.fromSerializer(
+                        new GenericJackson2JsonRedisSerializer(RedisConfig.redisObjectMapper())));
+        if (!keyPrefix.isEmpty()) {
+            redisCacheConfiguration = redisCacheConfiguration.prefixCacheNameWith(keyPrefix + ":");
+        }
+        RedisCacheManager redisCacheManager = RedisCacheManager
+                .builder(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(1000)))
+                .cacheDefaults(redisCacheConfiguration)
+                .initialCacheNames(new LinkedHashSet<>(CACHE_NAMES))
+                .disableCreateOnMissingCache()
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(CACHE_NAMES.stream()
+                .map(name -> twoLevelCache(name, redisCacheManager.getCache(name)))
+                .toList());
+        cacheManager.initializeCaches();
+        return cacheManager;
+    }
+
+    private Cache twoLevelCache(String name, Cache remote) {
+        CaffeineCache local = new CaffeineCache(name, Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .maximumSize(localMaxSize)
+                .recordStats()
+                .build(), false);
+        return new TwoLevelCache(name, local, remote);
+    }
+
+    /**
+     * Subscribes the invalidation bus in the background, so startup does not wait for Redis. The first
+     * subscription and any resubscription after a lost connection back off exponentially up to
+     * {@code app.cache.invalidation.max-retry-interval-ms}.
+     */
+    @Bean
+    public CacheInvalidationSubscription cacheInvalidationSubscription(RedisConnectionFactory connectionFactory,
+                                                                       CacheInvalidationBus invalidationBus) {
+        ExponentialBackOff backOff = new ExponentialBackOff(1000, 2);
+        backOff.setMaxInterval(invalidationMaxRetryIntervalMs);
+        // Not a bean: the container would be auto-started and subscribe synchronously during startup
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setRecoveryBackoff(backOff);
+        container.addMessageListener(invalidationBus, new ChannelTopic(invalidationBus.getChannel()));
+        container.afterPropertiesSet();
+        return new CacheInvalidationSubscription(container, backOff);
+    }
+
+    /**
+     * Publishes {@code cache.gets}, {@code cache.puts} and {@code cache.evictions} for the two-level
+     * caches, plus {@code cache.near.gets} splitting hits between the near cache and Redis.
+     */
+    @Bean
+    public CacheMeterBinderProvider<TwoLevelCache> twoLevelCacheMeterBinderProvider() {
+        return (cache, tags) -> new TwoLevelCacheMetrics(cache, tags);
+    }
+
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new LoggingCacheErrorHandler(true);
+    }
+}
@@ -0,0 +1,103 @@
+package com.mongodb.kitchensink.config;
+
+import com.mongodb.kitchensink.service.CacheInvalidationBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.util.backoff.BackOff;
+import org.springframework.util.backoff.BackOffExecution;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Subscribes the {@link CacheInvalidationBus} without holding up startup.
+ * <p>
+ * {@link RedisMessageListenerContainer#start()} subscribes synchronously and throws when Redis is
+ * unreachable, which would fail the whole context if the container were started as a bean. Here the
+ * first subscription runs on a daemon thread and is retried with the back-off until it succeeds or
+ * the application stops; after that the container's own recovery back-off resubscribes when the
+ * connection drops. Until the first subscription, near caches only expire by their TTL.
+ * </p>
+ */
+public class CacheInvalidationSubscription implements SmartLifecycle, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationSubscription.class);
+
+    private final RedisMessageListenerContainer container;
+    private final BackOff backOff;
+    private volatile boolean running;
+    private Thread subscriber;
+
+    public CacheInvalidationSubscription(RedisMessageListenerContainer container, BackOff backOff) {
+        this.container = container;
+        this.backOff = backOff;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        subscriber = Thread.ofPlatform()
+                .daemon()
+                .name("cache-invalidation-subscriber")
+                .start(this::subscribe);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (subscriber != null) {
+            subscriber.interrupt();
+            try {
+                subscriber.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            subscriber = null;
+        }
+        container.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        container.destroy();
+    }
+
+    boolean isSubscribed() {
+        return container.isListening();
+    }
+
+    void subscribe() {
+        BackOffExecution execution = backOff.start();
+        while (running) {
+            try {
+                container.start();
+                log.info("Subscribed to the cache invalidation channel");
+                return;
+            } catch (RuntimeException e) {
+                // Leaves the container stopped so the next start() subscribes again
+                container.stop();
+                long delay = execution.nextBackOff();
+                if (delay == BackOffExecution.STOP) {
+                    log.error("Giving up subscribing to the cache invalidation channel", e);
+                    return;
+                }
+                if (running) {
+                    log.warn("Cannot subscribe to the cache invalidation channel, retrying in {} ms: {}", delay, e.getMessage());
+                }
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -1,87 +1,54 @@
 package com.mongodb.kitchensink.config;
 
-import com.github.javafaker.Faker;
-import com.mongodb.kitchensink.model.Address;
-import com.mongodb.kitchensink.model.Profile;
-import com.mongodb.kitchensink.model.User;
-import com.mongodb.kitchensink.repository.ProfileRepository;
 import com.mongodb.kitchensink.repository.UserRepository;
-import com.mongodb.kitchensink.service.UsernameGeneratorService;
+import com.mongodb.kitchensink.service.SeedDataGeneratorService;
+import com.mongodb.kitchensink.service.SeedDataGeneratorService.SeedPlan;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.CommandLineRunner;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
-import java.time.Instant;
-import java.util.*;
+/**
+ * Loads the synthetic demo users, only with the {@code demo} profile. It does not gate readiness:
+ * the instance serves traffic while a large population is still being inserted.
+ */
 @Component
-public class DataLoader implements CommandLineRunner {
+@Profile("demo")
+@Order(20)
+public class DataLoader implements StartupTask {
 
     private final UserRepository userRepository;
-    private final ProfileRepository profileRepository;
-    private final Faker faker = new Faker();
-    private final PasswordEncoder passwordEncoder;
-    private  final UsernameGeneratorService usernameGeneratorService;
+    private final SeedDataGeneratorService seedDataGeneratorService;
     @Value("${app.admin.password}")
     String appAdminPassword;
-    public DataLoader(UserRepository userRepository, ProfileRepository profileRepository, PasswordEncoder passwordEncoder, UsernameGeneratorService usernameGeneratorService) {
+    @Value("${app.seed.users:100}")
+    int seedUsers = 100;
+    @Value("${app.seed.random-seed:42}")
+    long seedRandomSeed = 42;
+    public DataLoader(UserRepository userRepository, SeedDataGeneratorService seedDataGeneratorService) {
         this.userRepository = userRepository;
-        this.profileRepository = profileRepository;
-        this.passwordEncoder = passwordEncoder;
-        this.usernameGeneratorService = usernameGeneratorService;
+        this.seedDataGeneratorService = seedDataGeneratorService;
     }
 
     @Override
-    public void run(String... args) {
-
-        String firstUserEmail = "user1@example.com";
-        if (userRepository.findByEmail(firstUserEmail).isPresent()) {
-           // System.err("✅ Dummy data already exists, skipping population.");
-            return;
-        }
+    public String name() {
+        return "demo-data";
+    }
 
-        List<User> users = new ArrayList<>();
-        List<Profile> profiles = new ArrayList<>();
+    @Override
+    public boolean gatesReadiness() {
+        return false;
+    }
 
-        for (int i = 1; i <= 100; i++) {
-            String email = "user" + i + "@example.com";
-            User user = User.builder()
-                    .email(email)
-                    .passwordHash(passwordEncoder.encode("Admin@123"))
-                    .roles(List.of("USER"))
-                    .username(usernameGeneratorService.generateUniqueUsername(email))
-                    .active(true)
-                    .createdAt(Instant.now())
-                    .twoFactorEnabled(false)
-                    .isFirstLogin(false)
-                    .accountVerificationPending(false)
-                    .twoFactorEnabled(true)
-                    .twoFactorSecret(null)
-                    .build();
+    @Override
+    public void run() {
 
-            users.add(user);
+        SeedPlan plan = new SeedPlan("user", seedUsers, 0, appAdminPassword, seedRandomSeed);
+        // Checks the last user, so raising app.seed.users adds the missing users to an existing population
+        if (seedUsers <= 0 || userRepository.existsByEmail(plan.email(seedUsers))) {
+           // System.err("✅ Dummy data already exists, skipping population.");
+            return;
         }
 
-        userRepository.saveAll(users);
-
-        for (User user : users) {
-            Address address = new Address();
-            address.setStreet(faker.address().streetAddress());
-            address.setCity(faker.address().city());
-            address.setState(faker.address().state());
-            address.setCountry(faker.address().country());
-            address.setPincode(faker.address().zipCode());
-
-            Profile profile = Profile.builder()
-                    .firstName(faker.name().firstName())
-                    .lastName(faker.name().lastName())
-                    .email(user.getEmail())
-                    .phoneNumber("233456789")
-                    .address(address)
-                    .username(user.getUsername())
-                    .build();
-
-            profiles.add(profile);
-        }
-        profileRepository.saveAll(profiles);
+        seedDataGeneratorService.generate(plan);
     }
 }
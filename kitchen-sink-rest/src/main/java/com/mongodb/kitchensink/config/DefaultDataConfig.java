@@ -4,15 +4,24 @@ import com.mongodb.kitchensink.model.Profile;
 import com.mongodb.kitchensink.model.User;
 import com.mongodb.kitchensink.repository.ProfileRepository;
 import com.mongodb.kitchensink.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.util.List;
+/**
+ * Creates the default admin user. Runs after {@link MongoIndexMigration}, so the unique indexes are in
+ * place, and gates readiness: an instance that nobody can sign in to is not ready.
+ */
 @Component
-public class DefaultDataConfig implements CommandLineRunner {
+@Order(10)
+public class DefaultDataConfig implements StartupTask {
+
+    private static final Logger log = LoggerFactory.getLogger(DefaultDataConfig.class);
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
@@ -31,9 +40,17 @@ public class DefaultDataConfig implements CommandLineRunner {
     }
 
     @Override
-    public void run(String... args) {
-        if (userRepository.findByEmail(adminEmail).isEmpty()) {
-            User adminUser = User.builder()
+    public String name() {
+        return "admin-user";
+    }
+
+    @Override
+    public void run() {
+        // The user and the profile are checked separately: a start that failed between the two saves
+        // is completed by the next attempt instead of leaving the admin without a profile.
+        User adminUser = userRepository.findByEmail(adminEmail).orElse(null);
+        if (adminUser == null) {
+            adminUser = User.builder()
                     .email(adminEmail)
                     .passwordHash(passwordEncoder.encode(adminPassword))
                     .roles(List.of("ADMIN"))
@@ -46,6 +63,12 @@ public class DefaultDataConfig implements CommandLineRunner {
                     .twoFactorSecret(null)
                     .build();
             userRepository.save(adminUser);
+            log.info("Default admin user created: {}", adminEmail);
+        } else {
+            log.info("Admin user already exists. Skipping creation.");
+        }
+
+        if (profileRepository.findByEmail(adminEmail).isEmpty()) {
             Profile adminProfile = Profile.builder()
                     .firstName("Admin")
                     .lastName("User")
@@ -54,12 +77,8 @@ public class DefaultDataConfig implements CommandLineRunner {
                     .address(null)
                     .username(adminUser.getUsername())
                     .build();
-
             profileRepository.save(adminProfile);
-
-            System.out.println("✅ Default admin user created: " + adminEmail + " / password: admin");
-        } else {
-            System.out.println("Admin user already exists. Skipping creation.");
+            log.info("Default admin profile created: {}", adminEmail);
         }
     }
 }
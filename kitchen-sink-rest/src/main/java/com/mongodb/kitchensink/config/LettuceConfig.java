@@ -0,0 +1,75 @@
+package com.mongodb.kitchensink.config;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.commonspool2.CommonsObjectPool2Metrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientOptionsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Class to Configure the Lettuce Redis client
+ * <p>
+ * Regular commands share one native connection; the commons-pool2 pool only serves dedicated
+ * connections (blocking commands, transactions, pub/sub). Every command is bounded by
+ * {@code spring.data.redis.timeout}, and while the connection is down commands are rejected at once
+ * instead of queueing, so callers that fail open (rate limiter, caches) do so in milliseconds.
+ * Command latency is published as {@code lettuce.command.completion} / {@code lettuce.command.firstresponse}
+ * with histograms, and pool usage as {@code commons.pool2.*}.
+ * </p>
+ * <p>
+ * The same options apply to standalone, sentinel and cluster topologies; Spring Boot picks the
+ * topology from {@code spring.data.redis.sentinel.*} or {@code spring.data.redis.cluster.*}.
+ * </p>
+ * @author Arpit Tripathi
+ * @version 1.0
+ * @since 2025-08-17
+ */
+@Configuration
+public class LettuceConfig {
+
+    @Value("${spring.data.redis.connect-timeout:2s}")
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    @Value("${app.redis.request-queue-size:10000}")
+    private int requestQueueSize = 10000;
+
+    /**
+     * Tunes the options builder Spring Boot prepared rather than replacing it, so the cluster
+     * topology refresh and SSL settings derived from {@code spring.data.redis.*} are kept.
+     */
+    @Bean
+    public LettuceClientOptionsBuilderCustomizer lettuceClientTuning() {
+        return builder -> builder
+                .autoReconnect(true)
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .requestQueueSize(requestQueueSize)
+                .socketOptions(SocketOptions.builder()
+                        .connectTimeout(connectTimeout)
+                        .keepAlive(true)
+                        .build())
+                // Applies the command timeout to every command, including ones issued outside RedisTemplate
+                .timeoutOptions(TimeoutOptions.enabled());
+    }
+
+    /**
+     * Replaces Spring Boot's default options so the command latency timers carry histograms.
+     */
+    @Bean
+    public MicrometerOptions lettuceMicrometerOptions() {
+        return MicrometerOptions.builder()
+                .histogram(true)
+                .build();
+    }
+
+    @Bean
+    public MeterBinder commonsPool2Metrics() {
+        return new CommonsObjectPool2Metrics();
+    }
+}
@@ -0,0 +1,140 @@
+package com.mongodb.kitchensink.config;
+
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
+import io.micrometer.core.instrument.binder.mongodb.MongoCommandTagsProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class to Configure the MongoDB driver: connection pool, timeouts, read preference and wire compression
+ * <p>
+ * The default read preference is primary; list, search and dashboard queries opt into
+ * {@code secondaryPreferred} with {@code @ReadPreference} on the repository methods. Per-command
+ * latency is published by Spring Boot's {@code MongoMetricsCommandListener} as
+ * {@code mongodb.driver.commands}, tagged with the repository method that issued the command;
+ * commands over a threshold are logged and explained by {@link SlowQueryDetector}.
+ * </p>
+ * @author Arpit Tripathi
+ * @version 1.0
+ * @since 2025-08-17
+ */
+@Configuration
+public class MongoClientConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoClientConfig.class);
+
+    @Value("${app.mongo.pool.min-size:5}")
+    private int poolMinSize = 5;
+
+    @Value("${app.mongo.pool.max-size:50}")
+    private int poolMaxSize = 50;
+
+    @Value("${app.mongo.pool.max-connecting:2}")
+    private int poolMaxConnecting = 2;
+
+    @Value("${app.mongo.pool.max-wait-ms:2000}")
+    private long poolMaxWaitMs = 2000;
+
+    @Value("${app.mongo.pool.max-idle-ms:300000}")
+    private long poolMaxIdleMs = 300000;
+
+    @Value("${app.mongo.socket.connect-timeout-ms:5000}")
+    private int connectTimeoutMs = 5000;
+
+    @Value("${app.mongo.socket.read-timeout-ms:15000}")
+    private int readTimeoutMs = 15000;
+
+    @Value("${app.mongo.server-selection-timeout-ms:5000}")
+    private long serverSelectionTimeoutMs = 5000;
+
+    @Value("${app.mongo.read-preference:primary}")
+    private String readPreference = "primary";
+
+    @Value("${app.mongo.compressors:zstd,snappy}")
+    private List<String> compressors = List.of("zstd", "snappy");
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientTuning() {
+        List<MongoCompressor> wireCompressors = compressors();
+        return builder -> builder
+                .applyToConnectionPoolSettings(pool -> pool
+                        .minSize(poolMinSize)
+                        .maxSize(poolMaxSize)
+                        .maxConnecting(poolMaxConnecting)
+                        .maxWaitTime(poolMaxWaitMs, TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(poolMaxIdleMs, TimeUnit.MILLISECONDS))
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+                        .readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(cluster -> cluster
+                        .serverSelectionTimeout(serverSelectionTimeoutMs, TimeUnit.MILLISECONDS))
+                .readPreference(ReadPreference.valueOf(readPreference))
+                .compressorList(wireCompressors);
+    }
+
+    /**
+     * Compressors are offered to the server in order; the server picks the first one it supports.
+     */
+    List<MongoCompressor> compressors() {
+        List<MongoCompressor> result = new ArrayList<>();
+        for (String name : compressors) {
+            switch (name.trim().toLowerCase()) {
+                case "zstd" -> addIfPresent(result, "com.github.luben.zstd.Zstd", MongoCompressor.createZstdCompressor(), name);
+                case "snappy" -> addIfPresent(result, "org.xerial.snappy.Snappy", MongoCompressor.createSnappyCompressor(), name);
+                case "zlib" -> result.add(MongoCompressor.createZlibCompressor());
+                case "" -> { }
+                default -> throw new IllegalArgumentException("Unknown Mongo compressor: " + name);
+            }
+        }
+        return result;
+    }
+
+    private static void addIfPresent(List<MongoCompressor> result, String codecClass, MongoCompressor compressor, String name) {
+        if (ClassUtils.isPresent(codecClass, MongoClientConfig.class.getClassLoader())) {
+            result.add(compressor);
+        } else {
+            log.warn("Mongo compressor {} requested but {} is not on the classpath, skipping it", name, codecClass);
+        }
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer slowQueryListener(SlowQueryDetector slowQueryDetector) {
+        return builder -> builder.addCommandListener(slowQueryDetector);
+    }
+
+    @Bean
+    public MongoCommandTagsProvider mongoCommandTagsProvider() {
+        return new RepositoryMethodCommandTagsProvider();
+    }
+
+    /**
+     * Adds a {@link RepositoryMethodContext} interceptor to every repository proxy, so commands can be
+     * attributed to the repository method that issued them.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryMethodContextPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                                    RepositoryMethodContext.interceptor(repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package com.mongodb.kitchensink.config;
+
+import com.mongodb.kitchensink.model.Profile;
+import com.mongodb.kitchensink.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Creates the indexes declared on the mapped documents ({@code @Indexed}, {@code @CompoundIndex}),
+ * in place of {@code spring.data.mongodb.auto-index-creation}, which builds them while the context
+ * refreshes. Creating an index that exists with the same name and keys is a no-op, so the migration
+ * runs on every start. An index whose definition changed makes it fail instead: dropping and
+ * rebuilding a unique index on a large collection is left to an operator.
+ * <p>
+ * This task creates the unique indexes, which the application relies on for correctness, and gates
+ * readiness. The other declared indexes only speed up queries and are built by
+ * {@link SecondaryIndexMigration} once the instance is ready.
+ * </p>
+ */
+@Component
+@Order(0)
+public class MongoIndexMigration implements StartupTask {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexMigration.class);
+
+    static final List<Class<?>> DOCUMENTS = List.of(User.class, Profile.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean unique;
+
+    @Autowired
+    public MongoIndexMigration(MongoTemplate mongoTemplate) {
+        this(mongoTemplate, true);
+    }
+
+    MongoIndexMigration(MongoTemplate mongoTemplate, boolean unique) {
+        this.mongoTemplate = mongoTemplate;
+        this.unique = unique;
+    }
+
+    @Override
+    public String name() {
+        return "index-migration";
+    }
+
+    @Override
+    public void run() {
+        int created = 0;
+        int present = 0;
+        for (Class<?> document : DOCUMENTS) {
+            IndexOperations indexOps = mongoTemplate.indexOps(document);
+            Set<String> existing = indexOps.getIndexInfo().stream()
+                    .map(IndexInfo::getName)
+                    .collect(Collectors.toSet());
+            for (IndexDefinition index : declaredIndexes(mongoTemplate, document)) {
+                if (isUnique(index) != unique) {
+                    continue;
+                }
+                String name = indexOps.createIndex(index);
+                if (existing.contains(name)) {
+                    present++;
+                } else {
+                    created++;
+                    log.info("Created index {} on {}", name, mongoTemplate.getCollectionName(document));
+                }
+            }
+        }
+        log.info("{} done: {} created, {} already present", name(), created, present);
+    }
+
+    /**
+     * @return the indexes declared on a mapped document, in declaration order
+     */
+    static List<IndexDefinition> declaredIndexes(MongoTemplate mongoTemplate, Class<?> document) {
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        return StreamSupport.stream(resolver.resolveIndexFor(document).spliterator(), false)
+                .map(IndexDefinition.class::cast)
+                .toList();
+    }
+
+    static boolean isUnique(IndexDefinition index) {
+        return Boolean.TRUE.equals(index.getIndexOptions().get("unique"));
+    }
+}
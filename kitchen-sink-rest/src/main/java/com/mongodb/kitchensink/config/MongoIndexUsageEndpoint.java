@@ -0,0 +1,84 @@
+package com.mongodb.kitchensink.config;
+
+import org.bson.Document;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * {@code /actuator/indexes}: the indexes of the mapped collections, compared with the declared ones and
+ * with their use counted by {@code $indexStats}. Lists indexes with no use since the counters started
+ * ({@code unused}), indexes not declared in the code ({@code undeclared}) and declared indexes that do
+ * not exist yet ({@code missing}). The counters are per server and restart with it, so an index is only
+ * worth dropping once it stays unused over a representative period on every member.
+ */
+@Component
+@Endpoint(id = "indexes")
+public class MongoIndexUsageEndpoint {
+
+    private static final String ID_INDEX = "_id_";
+    private static final AggregationOperation INDEX_STATS = context -> new Document("$indexStats", new Document());
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoIndexUsageEndpoint(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Use of one index on the server that answered.
+     */
+    public record IndexUsage(String collection, String name, Document key, boolean declared, long ops, Date since) {
+    }
+
+    @ReadOperation
+    public Map<String, Object> indexes() {
+        List<IndexUsage> indexes = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (Class<?> document : MongoIndexMigration.DOCUMENTS) {
+            String collection = mongoTemplate.getCollectionName(document);
+            Set<String> declared = MongoIndexMigration.declaredIndexes(mongoTemplate, document).stream()
+                    .map(index -> index.getIndexOptions().getString("name"))
+                    .collect(Collectors.toSet());
+            List<Document> stats = mongoTemplate
+                    .aggregate(Aggregation.newAggregation(INDEX_STATS), collection, Document.class)
+                    .getMappedResults();
+            for (Document stat : stats) {
+                String name = stat.getString("name");
+                Document accesses = stat.get("accesses", new Document());
+                Number ops = accesses.get("ops", Number.class);
+                indexes.add(new IndexUsage(collection, name, stat.get("key", Document.class),
+                        declared.contains(name) || ID_INDEX.equals(name), ops != null ? ops.longValue() : 0L,
+                        accesses.getDate("since")));
+            }
+            Set<String> existing = stats.stream().map(stat -> stat.getString("name")).collect(Collectors.toSet());
+            declared.stream()
+                    .filter(name -> !existing.contains(name))
+                    .sorted()
+                    .forEach(name -> missing.add(collection + "." + name));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("unused", indexes.stream()
+                .filter(index -> index.ops() == 0 && !ID_INDEX.equals(index.name()))
+                .map(index -> index.collection() + "." + index.name())
+                .toList());
+        result.put("undeclared", indexes.stream()
+                .filter(index -> !index.declared())
+                .map(index -> index.collection() + "." + index.name())
+                .toList());
+        result.put("missing", missing);
+        result.put("indexes", indexes);
+        return result;
+    }
+}
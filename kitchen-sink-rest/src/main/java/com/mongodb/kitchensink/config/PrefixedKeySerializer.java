@@ -0,0 +1,54 @@
+package com.mongodb.kitchensink.config;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * String key serializer that places every key under the deployment's namespace.
+ * <p>
+ * {@code "OTP:LOGIN:a@b.c"} is written as {@code "<prefix>:OTP:LOGIN:a@b.c"} and read back without the
+ * prefix, so callers never see it. Keys and Lua script {@code KEYS} go through this serializer;
+ * channel names and hash fields do not.
+ * </p>
+ */
+public class PrefixedKeySerializer implements RedisSerializer<String> {
+
+    private final String prefix;
+    private final byte[] prefixBytes;
+
+    public PrefixedKeySerializer(String prefix) {
+        this.prefix = prefix == null || prefix.isEmpty() ? "" : prefix + ":";
+        this.prefixBytes = this.prefix.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    @Override
+    public byte[] serialize(String key) {
+        if (key == null) {
+            return null;
+        }
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] result = new byte[prefixBytes.length + keyBytes.length];
+        System.arraycopy(prefixBytes, 0, result, 0, prefixBytes.length);
+        System.arraycopy(keyBytes, 0, result, prefixBytes.length, keyBytes.length);
+        return result;
+    }
+
+    @Override
+    public String deserialize(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        String key = new String(bytes, StandardCharsets.UTF_8);
+        return key.startsWith(prefix) ? key.substring(prefix.length()) : key;
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return String.class;
+    }
+}
@@ -0,0 +1,116 @@
+package com.mongodb.kitchensink.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.kitchensink.exception.GlobalExceptionHandler;
+import com.mongodb.kitchensink.mapper.UserMapper;
+import com.mongodb.kitchensink.reactive.ReactiveDashboardService;
+import com.mongodb.kitchensink.reactive.ReactiveExceptionHandler;
+import com.mongodb.kitchensink.reactive.ReactiveJwtAuthenticationFilter;
+import com.mongodb.kitchensink.reactive.ReactiveReadRouter;
+import com.mongodb.kitchensink.reactive.ReactiveReadServer;
+import com.mongodb.kitchensink.reactive.ReactiveSessionService;
+import com.mongodb.kitchensink.reactive.ReactiveUserService;
+import com.mongodb.kitchensink.service.SessionStoreCircuitBreaker;
+import com.mongodb.kitchensink.util.JwtTokenProvider;
+import com.mongodb.reactivestreams.client.MongoClient;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.mongo.ReactiveMongoClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+
+/**
+ * Class to Configure the reactive read server, enabled with {@code app.reactive-read.enabled=true}
+ * <p>
+ * The read endpoints of the user and dashboard APIs are served a second time, without blocking, on
+ * {@code app.reactive-read.port} by a Netty server: {@link ReactiveMongoTemplate} for the queries,
+ * {@link ReactiveRedisTemplate} for the session check. The servlet API keeps serving every endpoint.
+ * </p>
+ * <p>
+ * The reactive Mongo client is declared here rather than by Spring Boot, so it only opens its pool when
+ * the server is enabled; it gets the same settings and customizers (pool, timeouts, compression,
+ * metrics and slow-query listeners) as the blocking client, and Boot builds the template on it.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.reactive-read.enabled", havingValue = "true")
+public class ReactiveReadConfig {
+
+    @Value("${app.reactive-read.port:8081}")
+    private int port = 8081;
+
+    @Value("${app.redis.key-prefix:kitchensink}")
+    private String keyPrefix = "kitchensink";
+
+    @Value("${app.session.expiration-seconds}")
+    private long appSessionExpirationSeconds;
+
+    @Bean
+    public MongoClient reactiveStreamsMongoClient(ObjectProvider<MongoClientSettingsBuilderCustomizer> builderCustomizers,
+                                                  MongoClientSettings settings) {
+        return new ReactiveMongoClientFactory(builderCustomizers.orderedStream().toList()).createMongoClient(settings);
+    }
+
+    /**
+     * Reads and writes the session entries of {@code SessionService}: same key prefix, same JSON.
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, Object> reactiveSessionRedisTemplate(ReactiveRedisConnectionFactory connectionFactory) {
+        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(RedisConfig.redisObjectMapper());
+        RedisSerializationContext<String, Object> serializationContext = RedisSerializationContext
+                .<String, Object>newSerializationContext(new StringRedisSerializer())
+                .key(new PrefixedKeySerializer(keyPrefix))
+                .value(jsonSerializer)
+                .hashKey(new StringRedisSerializer())
+                .hashValue(jsonSerializer)
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, serializationContext);
+    }
+
+    @Bean
+    public ReactiveReadServer reactiveReadServer(ReactiveMongoTemplate reactiveMongoTemplate,
+                                                 ReactiveRedisTemplate<String, Object> reactiveSessionRedisTemplate,
+                                                 SessionStoreCircuitBreaker circuitBreaker,
+                                                 JwtTokenProvider tokenProvider,
+                                                 UserMapper userMapper,
+                                                 GlobalExceptionHandler globalExceptionHandler,
+                                                 ObjectMapper objectMapper,
+                                                 ObservationRegistry observationRegistry) {
+        ReactiveReadRouter router = new ReactiveReadRouter(
+                new ReactiveUserService(reactiveMongoTemplate, userMapper, observationRegistry),
+                new ReactiveDashboardService(reactiveMongoTemplate));
+        ReactiveJwtAuthenticationFilter authenticationFilter = new ReactiveJwtAuthenticationFilter(tokenProvider,
+                new ReactiveSessionService(reactiveSessionRedisTemplate, circuitBreaker),
+                reactiveMongoTemplate, observationRegistry, appSessionExpirationSeconds);
+
+        // The servlet API's ObjectMapper, so DTOs are written the same way on both servers
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        HttpHandler httpHandler = WebHttpHandlerBuilder
+                .webHandler(RouterFunctions.toWebHandler(
+                        router.routes(authenticationFilter, new ReactiveExceptionHandler(globalExceptionHandler)), strategies))
+                .observationRegistry(observationRegistry)
+                .build();
+        return new ReactiveReadServer(httpHandler, port);
+    }
+}
@@ -1,20 +1,39 @@
 package com.mongodb.kitchensink.config;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import jakarta.annotation.PreDestroy;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Class to Configure Serialization and Deserialization of Java Objects into the Format that REDIS can understand
  * <p>
- * Keys are serialized using StringRedisSerializer and values using GenericJackson2JsonRedisSerializer.
+ * Keys are serialized using PrefixedKeySerializer, which places them under the per-deployment
+ * {@code app.redis.key-prefix}, and values using GenericJackson2JsonRedisSerializer.
+ * </p>
+ * <p>
+ * Works against standalone, Sentinel and Cluster deployments alike; the connection factory comes
+ * from Spring Boot's {@code spring.data.redis.*} properties. In a cluster, a user's session and OTP
+ * keys share a slot through the hash tags added by {@link RedisKeyspace}.
  * </p>
  * @author Arpit Tripathi
  * @version 1.0
@@ -23,31 +42,57 @@ import jakarta.annotation.PreDestroy;
 @Configuration
 public class RedisConfig {
 
+    @Value("${app.redis.key-prefix:kitchensink}")
+    private String keyPrefix = "kitchensink";
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
-        template.setKeySerializer(new StringRedisSerializer());
+        template.setKeySerializer(new PrefixedKeySerializer(keyPrefix));
         template.setHashKeySerializer(new StringRedisSerializer());
 
+        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(redisObjectMapper());
+
+        template.setValueSerializer(jsonSerializer);
+        template.setHashValueSerializer(jsonSerializer);
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * Replaces Boot's default so OTP, rate-limit and pub/sub callers share the deployment key prefix.
+     */
+    @Bean
+    public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory connectionFactory) {
+        StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+        template.setKeySerializer(new PrefixedKeySerializer(keyPrefix));
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * Mapper shared by the template and the Redis caches, so both store the same JSON with type hints.
+     */
+    static ObjectMapper redisObjectMapper() {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         objectMapper.activateDefaultTyping(
                 objectMapper.getPolymorphicTypeValidator(),
                 ObjectMapper.DefaultTyping.NON_FINAL,
                 JsonTypeInfo.As.PROPERTY
         );
-        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
-
-        template.setValueSerializer(jsonSerializer);
-        template.setHashValueSerializer(jsonSerializer);
-        template.afterPropertiesSet();
-        return template;
+        return objectMapper;
     }
 
     @Bean
-    public RedisCleanup redisCleanup(RedisTemplate<String, Object> redisTemplate) {
-        return new RedisCleanup(redisTemplate);
+    public RedisCleanup redisCleanup(RedisTemplate<String, Object> redisTemplate,
+                                     @Value("${app.redis.cleanup.enabled:false}") boolean enabled,
+                                     @Value("${app.redis.cleanup.patterns:*}") String[] patterns,
+                                     @Value("${app.redis.cleanup.scan-count:500}") int scanCount,
+                                     @Value("${app.redis.cleanup.batch-size:200}") int batchSize) {
+        return new RedisCleanup(redisTemplate, enabled, List.of(patterns), scanCount, batchSize);
     }
 
     /**
@@ -58,20 +103,73 @@ public class RedisConfig {
      * This makes it a standalone class that can be safely
      * instantiated by the Spring container.
      * </p>
+     * <p>
+     * Meant for local development only and disabled unless {@code app.redis.cleanup.enabled=true}.
+     * Only keys under this deployment's key prefix that match {@code app.redis.cleanup.patterns}
+     * are removed, found with incremental {@code SCAN} and deleted with {@code UNLINK} in batches,
+     * so other deployments sharing the Redis are untouched and the server is never blocked.
+     * </p>
      */
     public static class RedisCleanup {
+        private static final Logger log = LoggerFactory.getLogger(RedisCleanup.class);
+
         private final RedisTemplate<String, Object> redisTemplate;
+        private final boolean enabled;
+        private final List<String> patterns;
+        private final int scanCount;
+        private final int batchSize;
 
-        public RedisCleanup(RedisTemplate<String, Object> redisTemplate) {
+        public RedisCleanup(RedisTemplate<String, Object> redisTemplate, boolean enabled, List<String> patterns,
+                            int scanCount, int batchSize) {
             this.redisTemplate = redisTemplate;
+            this.enabled = enabled;
+            this.patterns = patterns;
+            this.scanCount = scanCount;
+            this.batchSize = batchSize;
         }
 
         @PreDestroy
         public void clearRedisOnShutdown() {
-            if (redisTemplate != null && redisTemplate.getConnectionFactory() != null) {
-                System.out.println("Clearing all Redis keys before shutdown...");
-                redisTemplate.getConnectionFactory().getConnection().flushDb();
+            if (!enabled || redisTemplate == null || redisTemplate.getConnectionFactory() == null) {
+                return;
+            }
+            if (!(redisTemplate.getKeySerializer() instanceof PrefixedKeySerializer keys) || keys.getPrefix().isEmpty()) {
+                log.warn("Skipping Redis cleanup on shutdown: no key prefix configured to scope it");
+                return;
+            }
+            for (String pattern : patterns) {
+                byte[] match = keys.serialize(pattern);
+                try {
+                    Long removed = redisTemplate.execute((RedisCallback<Long>) connection -> unlinkMatching(connection, match));
+                    log.info("Removed {} Redis keys matching {}{} before shutdown", removed, keys.getPrefix(), pattern);
+                } catch (DataAccessException e) {
+                    log.warn("Redis cleanup for {}{} failed on shutdown", keys.getPrefix(), pattern, e);
+                }
             }
         }
+
+        long unlinkMatching(RedisConnection connection, byte[] match) {
+            ScanOptions options = ScanOptions.scanOptions().match(match).count(scanCount).build();
+            long removed = 0;
+            List<byte[]> batch = new ArrayList<>(batchSize);
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() >= batchSize) {
+                        removed += unlink(connection, batch);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                removed += unlink(connection, batch);
+            }
+            return removed;
+        }
+
+        private long unlink(RedisConnection connection, List<byte[]> keys) {
+            Long unlinked = connection.keyCommands().unlink(keys.toArray(new byte[0][]));
+            return unlinked != null ? unlinked : 0;
+        }
     }
-}
\ No newline at end of file
+}
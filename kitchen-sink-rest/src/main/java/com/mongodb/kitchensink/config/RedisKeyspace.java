@@ -0,0 +1,93 @@
+package com.mongodb.kitchensink.config;
+
+/**
+ * Registry of every Redis key namespace this application writes.
+ * <p>
+ * Keys are {@code <namespace>:<parts>} and are built only here. Per-user namespaces wrap the email
+ * in a hash tag ({@code ACTIVE_ACCESS_TOKEN:{a@b.com}}) so that all of one user's keys map to the
+ * same Redis Cluster slot and multi-key commands on them stay valid. The per-deployment prefix is
+ * added when the key is serialized, see {@link PrefixedKeySerializer}. Cache namespaces are written
+ * by Spring's Redis cache as {@code <cacheName>::<key>} and are listed for the keyspace inventory.
+ * </p>
+ */
+public enum RedisKeyspace {
+
+    ACCESS_TOKEN("ACTIVE_ACCESS_TOKEN", true, TtlPolicy.SLIDING, "app.session.expiration-seconds"),
+    REFRESH_TOKEN("REFRESH_TOKEN", true, TtlPolicy.FIXED, "jwt.refresh-expiration-seconds"),
+    OTP("OTP", true, TtlPolicy.FIXED, "otp.*.ttlSeconds"),
+    RATE_LIMIT("RATE_LIMIT", false, TtlPolicy.SLIDING, "app.rate-limit.*.period-seconds"),
+    USER_BY_EMAIL_CACHE(CacheConfig.USER_BY_EMAIL, false, TtlPolicy.FIXED, "app.cache.redis.ttl-seconds"),
+    USER_BY_ID_CACHE(CacheConfig.USER_BY_ID, false, TtlPolicy.FIXED, "app.cache.redis.ttl-seconds"),
+    ROLES_BY_EMAIL_CACHE(CacheConfig.ROLES_BY_EMAIL, false, TtlPolicy.FIXED, "app.cache.redis.ttl-seconds");
+
+    /**
+     * How a namespace's keys expire. Every key is written with an expiry; one without is a leak.
+     */
+    public enum TtlPolicy {
+        /** Expires a fixed time after it is written. */
+        FIXED,
+        /** Expiry is pushed back every time the key is used. */
+        SLIDING
+    }
+
+    private final String namespace;
+    private final boolean hashTagged;
+    private final TtlPolicy ttlPolicy;
+    private final String ttlProperty;
+
+    RedisKeyspace(String namespace, boolean hashTagged, TtlPolicy ttlPolicy, String ttlProperty) {
+        this.namespace = namespace;
+        this.hashTagged = hashTagged;
+        this.ttlPolicy = ttlPolicy;
+        this.ttlProperty = ttlProperty;
+    }
+
+    public String key(String id) {
+        return hashTagged ? namespace + ":{" + id + '}' : namespace + ':' + id;
+    }
+
+    public String key(String qualifier, String id) {
+        return hashTagged
+                ? namespace + ':' + qualifier + ":{" + id + '}'
+                : namespace + ':' + qualifier + ':' + id;
+    }
+
+    /**
+     * @return the {@code SCAN MATCH} pattern for every key in this namespace
+     */
+    public String pattern() {
+        return namespace + ":*";
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public boolean isHashTagged() {
+        return hashTagged;
+    }
+
+    public TtlPolicy getTtlPolicy() {
+        return ttlPolicy;
+    }
+
+    public String getTtlProperty() {
+        return ttlProperty;
+    }
+
+    /**
+     * Finds the namespace of an unprefixed key, or {@code null} for keys this application does not own.
+     */
+    public static RedisKeyspace of(String key) {
+        int separator = key.indexOf(':');
+        if (separator < 0) {
+            return null;
+        }
+        for (RedisKeyspace keyspace : values()) {
+            if (keyspace.namespace.length() == separator && key.startsWith(keyspace.namespace)) {
+                return keyspace;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.mongodb.kitchensink.config;
+
+import com.mongodb.event.CommandEvent;
+import com.mongodb.event.CommandStartedEvent;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.mongodb.DefaultMongoCommandTagsProvider;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Adds a {@code repository.method} tag to the default {@code mongodb.driver.commands} tags
+ * (command, collection, cluster id, server address, status).
+ */
+public class RepositoryMethodCommandTagsProvider extends DefaultMongoCommandTagsProvider {
+
+    static final String TAG = "repository.method";
+
+    // Captured when the command starts, on the calling thread; keyed by request id like the
+    // collection names in the default provider
+    private final Map<Integer, String> methodsByRequestId = new ConcurrentHashMap<>();
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        super.commandStarted(event);
+        methodsByRequestId.put(event.getRequestId(), RepositoryMethodContext.current());
+    }
+
+    @Override
+    public Iterable<Tag> commandTags(CommandEvent event) {
+        String method = methodsByRequestId.remove(event.getRequestId());
+        return Tags.concat(super.commandTags(event), TAG, method != null ? method : RepositoryMethodContext.NONE);
+    }
+}
@@ -0,0 +1,45 @@
+package com.mongodb.kitchensink.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+
+/**
+ * Remembers which repository method the current thread is executing, e.g.
+ * {@code UserRepository.findByEmail}. The synchronous driver sends commands on the calling
+ * thread, so the command listener can read it when a command starts.
+ */
+public final class RepositoryMethodContext {
+
+    public static final String NONE = "none";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Interceptor for one repository proxy; names methods after the repository interface, so
+     * inherited ones read {@code UserRepository.findAll} rather than {@code ListCrudRepository.findAll}.
+     */
+    static MethodInterceptor interceptor(Class<?> repositoryInterface) {
+        String prefix = repositoryInterface.getSimpleName() + ".";
+        return invocation -> {
+            String previous = CURRENT.get();
+            CURRENT.set(prefix + invocation.getMethod().getName());
+            try {
+                return invocation.proceed();
+            } finally {
+                // Restores the outer method when a custom fragment calls back into a repository
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    private RepositoryMethodContext() {
+    }
+
+    public static String current() {
+        String method = CURRENT.get();
+        return method != null ? method : NONE;
+    }
+}
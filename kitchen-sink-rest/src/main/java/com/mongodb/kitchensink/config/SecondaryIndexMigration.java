@@ -0,0 +1,32 @@
+package com.mongodb.kitchensink.config;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the declared indexes that are not unique: roles, creation date and the partial pending
+ * verification and first login indexes on users, city and country on profiles. They only speed up
+ * queries, so the build does not hold readiness, and it runs after the demo data is loaded, which is
+ * quicker than maintaining the indexes during the bulk insert. Since MongoDB 4.2 an index build only
+ * locks the collection briefly at its start and end; reads and writes go on meanwhile.
+ * {@link MongoIndexUsageEndpoint} reports whether the indexes are used.
+ */
+@Component
+@Order(30)
+public class SecondaryIndexMigration extends MongoIndexMigration {
+
+    public SecondaryIndexMigration(MongoTemplate mongoTemplate) {
+        super(mongoTemplate, false);
+    }
+
+    @Override
+    public String name() {
+        return "secondary-indexes";
+    }
+
+    @Override
+    public boolean gatesReadiness() {
+        return false;
+    }
+}
@@ -1,7 +1,9 @@
 package com.mongodb.kitchensink.config;
 
 import com.mongodb.kitchensink.util.JwtAuthenticationFilter;
+import com.mongodb.kitchensink.util.RateLimitFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -37,6 +39,16 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    /**
+     * When set, the actuator endpoints move to this port, which only the monitoring network should reach,
+     * so Prometheus can scrape without a token.
+     */
+    @Value("${management.server.port:-1}")
+    private int managementPort = -1;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -60,8 +72,13 @@ public class SecurityConfig {
                                 "/v3/api-docs/**",
                                 "/swagger-resources/**",
                                 "/webjars/**",
-                                "/actuator/**"
+                                "/actuator/health",
+                                "/actuator/health/**",
+                                "/actuator/info"
                         ).permitAll()
+                        .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort).permitAll()
+                        // metrics, prometheus, slowqueries and indexes reveal traffic, data shapes and query plans
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(ex -> ex
@@ -69,6 +86,7 @@ public class SecurityConfig {
                 );
 
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
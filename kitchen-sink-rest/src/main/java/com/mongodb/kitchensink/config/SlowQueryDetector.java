@@ -0,0 +1,371 @@
+package com.mongodb.kitchensink.config;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonArray;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonReader;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.io.BasicOutputBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs every Mongo command slower than {@code app.mongo.slow-query.threshold-ms}, with the repository
+ * method that issued it (see {@link RepositoryMethodContext}).
+ * <p>
+ * Slow reads are grouped by shape: the command, collection, filter or pipeline with every value
+ * replaced by {@code ?}, and sort. The first slow command of a shape, and the next one after
+ * {@code app.mongo.slow-query.explain-interval-ms}, is explained ({@code queryPlanner} verbosity, so
+ * the query is planned but not run) on a background thread. Plans that scan the collection are
+ * flagged and logged. Shapes and their last plan are served by {@link SlowQueryEndpoint}. Shapes
+ * carry no values, so neither the log nor the endpoint exposes user data.
+ * </p>
+ */
+@Component
+public class SlowQueryDetector implements CommandListener, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryDetector.class);
+
+    static final String COLLSCAN = "COLLSCAN";
+
+    /** Commands with a plan worth explaining, and the fields that make up their shape. */
+    private static final Map<String, List<String>> EXPLAINABLE = Map.of(
+            "find", List.of("filter", "sort"),
+            "aggregate", List.of("pipeline"),
+            "count", List.of("query"),
+            "distinct", List.of("key", "query"));
+
+    /** Session, transaction and routing fields the driver adds, which explain does not accept. */
+    private static final Set<String> NOT_EXPLAINABLE_FIELDS = Set.of(
+            "lsid", "txnNumber", "autocommit", "startTransaction", "readConcern", "writeConcern",
+            "apiVersion", "apiStrict", "apiDeprecationErrors");
+
+    private static final BsonString PLACEHOLDER = new BsonString("?");
+
+    private final ObjectProvider<MongoClient> mongoClient;
+    private final Executor explainExecutor;
+    private final Map<Integer, StartedCommand> started = new ConcurrentHashMap<>();
+    private final Map<String, SlowQuery> slowQueries = new ConcurrentHashMap<>();
+
+    @Value("${app.mongo.slow-query.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.mongo.slow-query.threshold-ms:100}")
+    private long thresholdMs = 100;
+
+    @Value("${app.mongo.slow-query.explain-interval-ms:600000}")
+    private long explainIntervalMs = 600000;
+
+    @Value("${app.mongo.slow-query.max-shapes:200}")
+    private int maxShapes = 200;
+
+    @Autowired
+    public SlowQueryDetector(ObjectProvider<MongoClient> mongoClient) {
+        this(mongoClient, Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().daemon().name("slow-query-explain").factory()));
+    }
+
+    SlowQueryDetector(ObjectProvider<MongoClient> mongoClient, Executor explainExecutor) {
+        this.mongoClient = mongoClient;
+        this.explainExecutor = explainExecutor;
+    }
+
+    private record StartedCommand(String method, RawBsonDocument command) {
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!enabled || "explain".equals(event.getCommandName())) {
+            return;
+        }
+        // Only reads are kept, as raw bytes: the event's document is not valid once the listener returns
+        RawBsonDocument command = EXPLAINABLE.containsKey(event.getCommandName()) ? copyOf(event.getCommand()) : null;
+        started.put(event.getRequestId(), new StartedCommand(RepositoryMethodContext.current(), command));
+    }
+
+    /**
+     * Copies the command's bytes without decoding it. {@link BsonDocument#clone()} builds a tree of every
+     * field and value; most commands are fast and dropped, so the shape and the explainable command are
+     * only decoded from these bytes once a command turns out to be slow.
+     */
+    static RawBsonDocument copyOf(BsonDocument command) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonReader reader = command.asBsonReader(); BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            writer.pipe(reader);
+        }
+        return new RawBsonDocument(buffer.getInternalBuffer(), 0, buffer.getPosition());
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        finished(event.getRequestId(), event.getDatabaseName(), event.getCommandName(),
+                event.getElapsedTime(TimeUnit.MILLISECONDS), null);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        finished(event.getRequestId(), event.getDatabaseName(), event.getCommandName(),
+                event.getElapsedTime(TimeUnit.MILLISECONDS), event.getThrowable());
+    }
+
+    private void finished(int requestId, String database, String commandName, long millis, Throwable failure) {
+        StartedCommand command = started.remove(requestId);
+        if (command == null || millis < thresholdMs) {
+            return;
+        }
+        if (command.command() == null) {
+            log.warn("Slow Mongo command {} took {} ms in {}{}", commandName, millis, command.method(),
+                    failure != null ? " and failed: " + failure.getMessage() : "");
+            return;
+        }
+        String shape = shape(commandName, command.command());
+        log.warn("Slow Mongo command took {} ms in {}{}: {}", millis, command.method(),
+                failure != null ? " and failed: " + failure.getMessage() : "", shape);
+        SlowQuery slowQuery = slowQueries.get(shape);
+        if (slowQuery == null) {
+            if (slowQueries.size() >= maxShapes) {
+                return;
+            }
+            slowQuery = slowQueries.computeIfAbsent(shape, key -> new SlowQuery(key, command.method()));
+        }
+        slowQuery.record(millis);
+        if (slowQuery.explainDue(explainIntervalMs)) {
+            SlowQuery explained = slowQuery;
+            try {
+                explainExecutor.execute(() -> explain(explained, database, command.command()));
+            } catch (RejectedExecutionException e) {
+                explained.explaining.set(false);
+            }
+        }
+    }
+
+    private void explain(SlowQuery slowQuery, String database, BsonDocument command) {
+        try {
+            BsonDocument explainable = new BsonDocument();
+            command.forEach((key, value) -> {
+                if (!key.startsWith("$") && !NOT_EXPLAINABLE_FIELDS.contains(key)) {
+                    explainable.put(key, value);
+                }
+            });
+            Document explain = mongoClient.getObject().getDatabase(database)
+                    .runCommand(new Document("explain", explainable).append("verbosity", "queryPlanner"));
+            slowQuery.plan(planOf(explain));
+            if (slowQuery.plan.collectionScan()) {
+                log.warn("Slow Mongo query in {} scans the whole collection ({}): {}",
+                        slowQuery.method, String.join(" <- ", slowQuery.plan.stages()), slowQuery.shape);
+            }
+        } catch (RuntimeException e) {
+            log.debug("Could not explain {}", slowQuery.shape, e);
+        } finally {
+            slowQuery.explaining.set(false);
+        }
+    }
+
+    /**
+     * The command name and collection, followed by the shape fields of the command with every value
+     * replaced by {@code ?}. Sort directions are kept, as they select the index.
+     */
+    static String shape(String commandName, BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        for (String field : EXPLAINABLE.getOrDefault(commandName, List.of())) {
+            BsonValue value = command.get(field);
+            if (value != null) {
+                shape.put(field, "sort".equals(field) || "key".equals(field) ? value : withoutValues(value));
+            }
+        }
+        BsonValue collection = command.get(commandName);
+        return commandName + " " + (collection != null && collection.isString() ? collection.asString().getValue() : "?")
+                + " " + shape.toJson();
+    }
+
+    private static BsonValue withoutValues(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument document = new BsonDocument();
+            value.asDocument().forEach((key, nested) -> document.put(key, withoutValues(nested)));
+            return document;
+        }
+        // Arrays of documents ($or, $and, pipelines) keep their structure; arrays of values ($in) vary in length
+        if (value.isArray() && !value.asArray().isEmpty()
+                && value.asArray().stream().allMatch(BsonValue::isDocument)) {
+            BsonArray array = new BsonArray();
+            value.asArray().forEach(element -> array.add(withoutValues(element)));
+            return array;
+        }
+        return PLACEHOLDER;
+    }
+
+    /**
+     * The stages of the winning plan, outermost first, and the indexes it uses. Aggregations put
+     * the plan under their {@code $cursor} stage and plans run by the slot-based engine under
+     * {@code queryPlan}, so the plan is looked up wherever it sits.
+     */
+    public static Plan planOf(Document explain) {
+        List<String> stages = new ArrayList<>();
+        Set<String> indexes = new LinkedHashSet<>();
+        Object winningPlan = find(explain, "winningPlan");
+        if (winningPlan instanceof Document plan) {
+            collectStages(plan.get("queryPlan") instanceof Document queryPlan ? queryPlan : plan, stages, indexes);
+        }
+        return new Plan(stages, List.copyOf(indexes), stages.contains(COLLSCAN), Instant.now());
+    }
+
+    private static Object find(Object node, String key) {
+        if (node instanceof Document document) {
+            if (document.containsKey(key)) {
+                return document.get(key);
+            }
+            for (Object value : document.values()) {
+                Object found = find(value, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object value : list) {
+                Object found = find(value, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void collectStages(Document stage, List<String> stages, Set<String> indexes) {
+        if (stage.get("stage") instanceof String name) {
+            stages.add(name);
+        }
+        if (stage.get("indexName") instanceof String indexName) {
+            indexes.add(indexName);
+        }
+        if (stage.get("inputStage") instanceof Document input) {
+            collectStages(input, stages, indexes);
+        }
+        if (stage.get("inputStages") instanceof List<?> inputs) {
+            inputs.stream()
+                    .filter(Document.class::isInstance)
+                    .forEach(input -> collectStages((Document) input, stages, indexes));
+        }
+    }
+
+    /**
+     * @return the slow query shapes seen so far, slowest first
+     */
+    public List<SlowQuery> slowQueries() {
+        return slowQueries.values().stream()
+                .sorted(Comparator.comparingLong(SlowQuery::getMaxMillis).reversed())
+                .toList();
+    }
+
+    @Override
+    public void destroy() {
+        if (explainExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * The winning plan of an explained query.
+     */
+    public record Plan(List<String> stages, List<String> indexes, boolean collectionScan, Instant explainedAt) {
+    }
+
+    /**
+     * A slow query shape: how often and how slowly it ran, and its plan once explained.
+     */
+    public static final class SlowQuery {
+
+        private final String shape;
+        private final String method;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong maxMillis = new AtomicLong();
+        private final AtomicBoolean explaining = new AtomicBoolean();
+        private volatile long lastMillis;
+        private volatile Instant lastSeen;
+        private volatile Plan plan;
+
+        SlowQuery(String shape, String method) {
+            this.shape = shape;
+            this.method = method;
+        }
+
+        void record(long millis) {
+            count.incrementAndGet();
+            maxMillis.accumulateAndGet(millis, Math::max);
+            lastMillis = millis;
+            lastSeen = Instant.now();
+        }
+
+        /** Claims the next explain when the shape was never explained or its plan is older than the interval. */
+        boolean explainDue(long intervalMs) {
+            Plan current = plan;
+            boolean due = current == null || current.explainedAt().plusMillis(intervalMs).isBefore(Instant.now());
+            return due && explaining.compareAndSet(false, true);
+        }
+
+        void plan(Plan plan) {
+            this.plan = plan;
+        }
+
+        public String getShape() {
+            return shape;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public long getMaxMillis() {
+            return maxMillis.get();
+        }
+
+        public long getLastMillis() {
+            return lastMillis;
+        }
+
+        public Instant getLastSeen() {
+            return lastSeen;
+        }
+
+        public Plan getPlan() {
+            return plan;
+        }
+
+        public boolean isCollectionScan() {
+            return plan != null && plan.collectionScan();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.mongodb.kitchensink.config;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/slowqueries}: the slow query shapes seen by {@link SlowQueryDetector}, slowest
+ * first, with their last explained plan. Read-only, like every endpoint exposed here.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private final SlowQueryDetector slowQueryDetector;
+
+    public SlowQueryEndpoint(SlowQueryDetector slowQueryDetector) {
+        this.slowQueryDetector = slowQueryDetector;
+    }
+
+    @ReadOperation
+    public Map<String, Object> slowQueries() {
+        List<SlowQueryDetector.SlowQuery> slowQueries = slowQueryDetector.slowQueries();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("collectionScans", slowQueries.stream().filter(SlowQueryDetector.SlowQuery::isCollectionScan).count());
+        result.put("queries", slowQueries);
+        return result;
+    }
+}
@@ -0,0 +1,23 @@
+package com.mongodb.kitchensink.config;
+
+/**
+ * One step of the work done once the application has started, such as index migration or data
+ * loading. Tasks are run one after the other, in {@link org.springframework.core.annotation.Order},
+ * by {@link StartupTaskRunner}.
+ */
+public interface StartupTask {
+
+    /**
+     * @return the name used for the task in logs, timings and the {@code startupTasks} health details
+     */
+    String name();
+
+    /**
+     * @return whether the instance must not report ready for traffic until this task has succeeded
+     */
+    default boolean gatesReadiness() {
+        return true;
+    }
+
+    void run();
+}
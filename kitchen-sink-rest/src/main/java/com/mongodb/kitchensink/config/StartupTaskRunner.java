@@ -0,0 +1,195 @@
+package com.mongodb.kitchensink.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the {@link StartupTask}s once the context has started, off the main thread, so the web
+ * server and liveness probe are up while indexes are migrated and data is loaded.
+ * <p>
+ * Until every task that {@linkplain StartupTask#gatesReadiness() gates readiness} has succeeded,
+ * {@link StartupTasksHealthIndicator} keeps {@code /actuator/health/readiness} out of service. Tasks
+ * run in order. A gating task is retried with exponential back-off from {@code app.startup.retry-delay-ms}
+ * up to {@code app.startup.max-retry-delay-ms}, indefinitely unless {@code app.startup.max-attempts} is
+ * set: an instance that can never become ready must not look alive, so once a limited task runs out of
+ * attempts the liveness state turns {@code BROKEN} and the orchestrator restarts the instance. The tasks
+ * after a failed one, which may depend on it, are skipped. The time
+ * spent in the JVM before Spring, in the context refresh and in each task is logged once all tasks
+ * are done and reported in the health details. {@code app.startup.background=false} runs the tasks
+ * on the starting thread instead, before the application reports started.
+ * </p>
+ */
+@Component
+public class StartupTaskRunner implements ApplicationListener<ApplicationStartedEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTaskRunner.class);
+
+    private final List<StartupTask> tasks;
+    private final Map<String, Duration> phases = new LinkedHashMap<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile String runningTask;
+    private volatile String failedTask;
+    private volatile boolean ready;
+    private volatile boolean finished;
+    private volatile ApplicationEventPublisher publisher;
+
+    @Value("${app.startup.background:true}")
+    private boolean background = true;
+
+    /** Attempts for a readiness-gating task; 0 retries until it succeeds. */
+    @Value("${app.startup.max-attempts:0}")
+    private int maxAttempts = 0;
+
+    @Value("${app.startup.retry-delay-ms:5000}")
+    private long retryDelayMs = 5000;
+
+    @Value("${app.startup.max-retry-delay-ms:60000}")
+    private long maxRetryDelayMs = 60000;
+
+    public StartupTaskRunner(List<StartupTask> tasks) {
+        this.tasks = tasks;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        Duration context = event.getTimeTaken() != null ? event.getTimeTaken() : Duration.ZERO;
+        Duration uptime = Duration.ofMillis(ManagementFactory.getRuntimeMXBean().getUptime());
+        record("jvm", uptime.minus(context).isNegative() ? Duration.ZERO : uptime.minus(context));
+        record("context", context);
+        publisher = event.getApplicationContext();
+        if (background) {
+            Thread.ofPlatform().daemon().name("startup-tasks").start(this::runTasks);
+        } else {
+            runTasks();
+        }
+    }
+
+    void runTasks() {
+        long begin = System.nanoTime();
+        long gating = tasks.stream().filter(StartupTask::gatesReadiness).count();
+        markReadyIf(gating == 0);
+        for (StartupTask task : tasks) {
+            runningTask = task.name();
+            long taskStart = System.nanoTime();
+            boolean succeeded = run(task);
+            record(task.name(), Duration.ofNanos(System.nanoTime() - taskStart));
+            if (!task.gatesReadiness()) {
+                continue;
+            }
+            if (!succeeded) {
+                failedTask = task.name();
+                log.error("Startup task {} failed, this instance will not report ready; marking liveness BROKEN", task.name());
+                if (publisher != null) {
+                    AvailabilityChangeEvent.publish(publisher, this, LivenessState.BROKEN);
+                }
+                break;
+            }
+            markReadyIf(--gating == 0);
+        }
+        runningTask = null;
+        finished = true;
+        log.info("Startup tasks done in {} ms; phases: {}", Duration.ofNanos(System.nanoTime() - begin).toMillis(),
+                phasesMillis().entrySet().stream()
+                        .map(phase -> phase.getKey() + "=" + phase.getValue() + "ms")
+                        .collect(Collectors.joining(", ")));
+    }
+
+    /**
+     * Runs a task, retrying a readiness-gating one: right after a cold start the database may not
+     * accept connections yet, and may stay unreachable for longer than any fixed number of attempts.
+     */
+    private boolean run(StartupTask task) {
+        int attempts = !task.gatesReadiness() ? 1 : maxAttempts > 0 ? maxAttempts : Integer.MAX_VALUE;
+        long delay = retryDelayMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                task.run();
+                return true;
+            } catch (RuntimeException e) {
+                if (attempt >= attempts) {
+                    log.warn("Startup task {} failed", task.name(), e);
+                    return false;
+                }
+                log.warn("Startup task {} failed (attempt {}{}), retrying in {} ms: {}", task.name(), attempt,
+                        attempts == Integer.MAX_VALUE ? "" : " of " + attempts, delay, e.getMessage());
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            delay = Math.min(Math.max(maxRetryDelayMs, retryDelayMs), delay * 2);
+        }
+    }
+
+    private void markReadyIf(boolean condition) {
+        if (condition && !ready) {
+            ready = true;
+            log.info("Ready for traffic {} ms after JVM start", ManagementFactory.getRuntimeMXBean().getUptime());
+        }
+    }
+
+    private void record(String phase, Duration duration) {
+        synchronized (phases) {
+            phases.put(phase, duration);
+        }
+    }
+
+    /**
+     * @return whether every readiness-gating task has succeeded
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return whether all tasks have run, successfully or not
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * @return the task being run, or {@code null} when none is
+     */
+    public String getRunningTask() {
+        return runningTask;
+    }
+
+    /**
+     * @return the readiness-gating task that failed, or {@code null}
+     */
+    public String getFailedTask() {
+        return failedTask;
+    }
+
+    /**
+     * @return the duration of each phase recorded so far, in milliseconds, in the order they ran
+     */
+    public Map<String, Long> phasesMillis() {
+        synchronized (phases) {
+            Map<String, Long> millis = new LinkedHashMap<>();
+            phases.forEach((phase, duration) -> millis.put(phase, duration.toMillis()));
+            return millis;
+        }
+    }
+}
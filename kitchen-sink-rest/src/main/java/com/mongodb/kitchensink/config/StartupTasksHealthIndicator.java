@@ -0,0 +1,37 @@
+package com.mongodb.kitchensink.config;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports {@link StartupTaskRunner} progress as the {@code startupTasks} health contributor, which is
+ * part of the readiness group: out of service while readiness-gating tasks run, down if one failed.
+ */
+@Component
+public class StartupTasksHealthIndicator implements HealthIndicator {
+
+    private final StartupTaskRunner startupTaskRunner;
+
+    public StartupTasksHealthIndicator(StartupTaskRunner startupTaskRunner) {
+        this.startupTaskRunner = startupTaskRunner;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder;
+        if (startupTaskRunner.getFailedTask() != null) {
+            builder = Health.down().withDetail("failedTask", startupTaskRunner.getFailedTask());
+        } else if (!startupTaskRunner.isReady()) {
+            builder = Health.outOfService();
+        } else {
+            builder = Health.up();
+        }
+        if (startupTaskRunner.getRunningTask() != null) {
+            builder.withDetail("runningTask", startupTaskRunner.getRunningTask());
+        }
+        return builder.withDetail("finished", startupTaskRunner.isFinished())
+                .withDetail("phasesMillis", startupTaskRunner.phasesMillis())
+                .build();
+    }
+}
@@ -0,0 +1,186 @@
+package com.mongodb.kitchensink.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache with an in-process Caffeine near cache in front of a shared Redis cache.
+ * <p>
+ * Reads try the near cache first and fall back to Redis, copying Redis hits into the near cache.
+ * Writes and evictions go to Redis first and then to the near cache, so a read on this instance in
+ * between cannot copy the old Redis value back. Evictions reach the near cache even when Redis fails,
+ * so an update is not hidden behind a stale near-cache entry for its whole TTL during an outage.
+ * Other instances drop their near-cache copy when the eviction reaches them through
+ * {@code CacheInvalidationBus}; the near-cache TTL bounds staleness if that message is lost.
+ * </p>
+ */
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final CaffeineCache local;
+    private final Cache remote;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    public TwoLevelCache(String name, CaffeineCache local, Cache remote) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = local.get(key);
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+        value = remote.get(key);
+        if (value != null) {
+            remoteHits.increment();
+            local.put(key, value.get());
+            return value;
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        if (value == null) {
+            return null;
+        }
+        Object stored = value.get();
+        if (stored != null && type != null && !type.isInstance(stored)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + stored);
+        }
+        return (T) stored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper value = get(key);
+        if (value != null) {
+            return (T) value.get();
+        }
+        T loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, loaded);
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        local.put(key, value);
+        puts.increment();
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        Object current = existing != null ? existing.get() : value;
+        local.put(key, current);
+        if (existing == null) {
+            puts.increment();
+        }
+        return existing != null ? new SimpleValueWrapper(current) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        try {
+            remote.evict(key);
+        } finally {
+            local.evict(key);
+        }
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean remoteEvicted;
+        boolean localEvicted;
+        try {
+            remoteEvicted = remote.evictIfPresent(key);
+        } finally {
+            localEvicted = local.evictIfPresent(key);
+        }
+        return remoteEvicted || localEvicted;
+    }
+
+    @Override
+    public void clear() {
+        try {
+            remote.clear();
+        } finally {
+            local.clear();
+        }
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean remoteInvalidated;
+        boolean localInvalidated;
+        try {
+            remoteInvalidated = remote.invalidate();
+        } finally {
+            localInvalidated = local.invalidate();
+        }
+        return remoteInvalidated || localInvalidated;
+    }
+
+    /**
+     * Drops the entry from this instance's near cache only, leaving Redis untouched.
+     */
+    public void evictLocal(Object key) {
+        local.evict(key);
+    }
+
+    public void clearLocal() {
+        local.clear();
+    }
+
+    public CaffeineCache getLocalCache() {
+        return local;
+    }
+
+    public long getLocalHits() {
+        return localHits.sum();
+    }
+
+    public long getRemoteHits() {
+        return remoteHits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getPuts() {
+        return puts.sum();
+    }
+}
@@ -0,0 +1,65 @@
+package com.mongodb.kitchensink.config;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Micrometer binding for {@link TwoLevelCache}; size and evictions come from the Caffeine near cache.
+ */
+public class TwoLevelCacheMetrics extends CacheMeterBinder<TwoLevelCache> {
+
+    public TwoLevelCacheMetrics(TwoLevelCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        TwoLevelCache cache = getCache();
+        return cache == null ? null : cache.getLocalCache().getNativeCache().estimatedSize();
+    }
+
+    @Override
+    protected long hitCount() {
+        TwoLevelCache cache = getCache();
+        return cache == null ? 0 : cache.getLocalHits() + cache.getRemoteHits();
+    }
+
+    @Override
+    protected Long missCount() {
+        TwoLevelCache cache = getCache();
+        return cache == null ? null : cache.getMisses();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        TwoLevelCache cache = getCache();
+        if (cache == null) {
+            return null;
+        }
+        CacheStats stats = cache.getLocalCache().getNativeCache().stats();
+        return stats.evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        TwoLevelCache cache = getCache();
+        return cache == null ? 0 : cache.getPuts();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("cache.near.gets", getCache(), TwoLevelCache::getLocalHits)
+                .tags(getTagsWithCacheName())
+                .tag("result", "near-hit")
+                .description("Hits served by the in-process near cache")
+                .register(registry);
+        FunctionCounter.builder("cache.near.gets", getCache(), TwoLevelCache::getRemoteHits)
+                .tags(getTagsWithCacheName())
+                .tag("result", "redis-hit")
+                .description("Near-cache misses served by Redis")
+                .register(registry);
+    }
+}
@@ -14,7 +14,10 @@ public enum ErrorCodes {
     INVALID_OTP("Provided otp is not valid", HttpStatus.BAD_REQUEST),
     INVALID_REQUEST("Request is not valid, try again ", HttpStatus.BAD_REQUEST),
     INVALID_JWT_TOKEN("Security token is expired or invalid", HttpStatus.BAD_REQUEST),
-    ACCOUNT_INACTIVE("User account is inactive", HttpStatus.INTERNAL_SERVER_ERROR);
+    ACCOUNT_INACTIVE("User account is inactive", HttpStatus.INTERNAL_SERVER_ERROR),
+    CONCURRENT_UPDATE("Record was modified by another request", HttpStatus.CONFLICT),
+    TOO_MANY_REQUESTS("Too many requests, try again later", HttpStatus.TOO_MANY_REQUESTS),
+    EMAIL_DELIVERY_FAILED("The email could not be sent, request a new code later", HttpStatus.SERVICE_UNAVAILABLE);
     private final String message;
     private final HttpStatus status;
 
@@ -11,6 +11,9 @@ private ErrorMessageConstants() {
     public static final String ACCOUNT_NOT_FOUND_ID = "Account with this ID does not exist";
     public static final String USER_NOT_FOUND_EMAIL = "User not found with email:";
     public static final String INVALID_OR_EXPIRED_OTP = "Invalid or expired OTP";
+    public static final String TOO_MANY_LOGIN_ATTEMPTS = "Too many login attempts for this account, try again later.";
+    public static final String TOO_MANY_OTP_REQUESTS = "Too many OTP requests for this account, try again later.";
+    public static final String TOO_MANY_REQUESTS_FROM_CLIENT = "Too many requests from this client, try again later.";
     public static final String FAILED_TO_SEND_EMAIL = "Failed to send email";
     public static final String TOKEN_EXPIRED = "Your session has expired. Please log in again to access the application.";
     public static final String STREET_REQUIRED = "Street is required";
@@ -34,5 +37,8 @@ private ErrorMessageConstants() {
     public static final String USERS_ACCOUNT_DISABLED     = "Your account has been disabled, please contact Administrator.";
     public static final String TOKEN_INVALID = "Session is invalid login again to continue.";
     public static final String REFRESH_TOKEN_MISSING = "Refresh token is missing";
+    public static final String USER_UPDATED_CONCURRENTLY = "User was modified by another request, reload the user and try again.";
     public static final String ANOTHER_SESSION_STARTED = "Another session was started or token is invalid, login again to continue.";
+    public static final String UNSUPPORTED_SORT = "Sorting by '%s' is not supported, use one of: %s";
+    public static final String UNSUPPORTED_SORT_DIRECTION = "Sort direction '%s' is not supported, use asc or desc";
 }
\ No newline at end of file
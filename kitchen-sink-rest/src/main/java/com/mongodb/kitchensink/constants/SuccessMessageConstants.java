@@ -7,6 +7,7 @@ public class SuccessMessageConstants {
 
     public static final String SESSION_VALID = "Session valid";
     public static final String OTP_SENT_SUCCESS = "OTP sent successfully to";
+    public static final String OTP_ALREADY_SENT = "An OTP was sent moments ago, no new one was sent. Use the code already sent to";
     public static final String OTP_VERIFIED_SUCCESS = "OTP verified successfully";
     public static final String PASSWORD_RESET_SUCCESS = "Password reset successfully";
     public static final String ACCOUNT_CREATED_SUCCESSFULLY = "Account created successfully and it's pending for verification.Please check your email.";
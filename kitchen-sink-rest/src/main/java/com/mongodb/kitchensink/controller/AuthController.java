@@ -80,8 +80,9 @@ public class AuthController {
     @Operation(summary = "Request OTP for account verification", description = "Sends an OTP to the user's email for account verification")
     @PostMapping("/account-verification/request-otp")
     public ResponseEntity<ApiResponse> requestOtpForAccountVerification(@RequestBody @Valid ForgotPasswordRequest forgotPasswordRequest) throws Exception {
-        authService.sendOtpForAccountVerification(forgotPasswordRequest.getEmail());
-        return ResponseEntity.ok(new ApiResponse(OTP_SENT_SUCCESS + " : " + forgotPasswordRequest.getEmail() + ".", true));
+        boolean sent = authService.sendOtpForAccountVerification(forgotPasswordRequest.getEmail());
+        return ResponseEntity.ok(new ApiResponse((sent ? OTP_SENT_SUCCESS : OTP_ALREADY_SENT) + " : "
+                + forgotPasswordRequest.getEmail() + ".", true));
     }
 
     @Operation(summary = "Verify OTP for account verification", description = "Verifies the OTP sent for account verification")
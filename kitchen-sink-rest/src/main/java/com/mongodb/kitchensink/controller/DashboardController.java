@@ -1,7 +1,10 @@
 package com.mongodb.kitchensink.controller;
 
 import com.mongodb.kitchensink.dto.DashboardStatsResponse;
+import com.mongodb.kitchensink.dto.KeyspaceInventoryResponse;
 import com.mongodb.kitchensink.service.DashboardService;
+import com.mongodb.kitchensink.service.KeyspaceInventoryService;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -11,13 +14,21 @@ import org.springframework.web.bind.annotation.RestController;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final KeyspaceInventoryService keyspaceInventoryService;
 
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(DashboardService dashboardService, KeyspaceInventoryService keyspaceInventoryService) {
         this.dashboardService = dashboardService;
+        this.keyspaceInventoryService = keyspaceInventoryService;
     }
 
     @GetMapping("/dashboard-stats")
     public DashboardStatsResponse getDashboardStats() {
         return dashboardService.getDashboardStats();
     }
+
+    @GetMapping("/redis-keyspace")
+    @PreAuthorize("hasRole('ADMIN')")
+    public KeyspaceInventoryResponse getRedisKeyspace() {
+        return keyspaceInventoryService.inventory();
+    }
 }
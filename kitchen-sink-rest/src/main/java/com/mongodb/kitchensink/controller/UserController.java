@@ -15,7 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import com.mongodb.kitchensink.util.SortPlanner;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -88,11 +88,11 @@ public class UserController {
 
     @Operation(
             summary = "Get all registered users (paginated)",
-            description = "Admin-only endpoint to retrieve a paginated list of all registered users. Supports sorting by any user attribute.",
+            description = "Admin-only endpoint to retrieve a paginated list of all registered users. Sortable by createdAt, email, username or id; other sorts are rejected with 400.",
             parameters = {
                     @Parameter(name = "page", description = "Page number starting from 0", example = "0"),
                     @Parameter(name = "size", description = "Number of users per page", example = "50"),
-                    @Parameter(name = "sortBy", description = "Field to sort the results by", example = "createdAt"),
+                    @Parameter(name = "sortBy", description = "Field to sort the results by: createdAt, email, username or id", example = "createdAt"),
                     @Parameter(name = "direction", description = "Sort direction (asc or desc)", example = "asc")
             },
             responses = {
@@ -107,8 +107,7 @@ public class UserController {
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "asc") String direction
     ) {
-        Pageable pageable = PageRequest.of(page, size,
-                direction.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending());
+        Pageable pageable = PageRequest.of(page, size, SortPlanner.forUsers(sortBy, direction));
         return ResponseEntity.ok(userService.getAllUsers(pageable));
     }
 
@@ -164,8 +163,7 @@ public class UserController {
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "asc") String direction
     ) {
-        Pageable pageable = PageRequest.of(page, size,
-                direction.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending());
+        Pageable pageable = PageRequest.of(page, size, SortPlanner.forProfiles(sortBy, direction));
         return ResponseEntity.ok(userService.getUsersByName(name, pageable));
     }
 
@@ -178,8 +176,7 @@ public class UserController {
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "asc") String direction
     ) {
-        Pageable pageable = PageRequest.of(page, size,
-                direction.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending());
+        Pageable pageable = PageRequest.of(page, size, SortPlanner.forProfiles(sortBy, direction));
         return ResponseEntity.ok(userService.getUsersByCity(city, pageable));
     }
 
@@ -192,8 +189,7 @@ public class UserController {
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "asc") String direction
     ) {
-        Pageable pageable = PageRequest.of(page, size,
-                direction.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending());
+        Pageable pageable = PageRequest.of(page, size, SortPlanner.forUsers(sortBy, direction));
         return ResponseEntity.ok(userService.getUsersByEmail(email, pageable));
     }
 
@@ -206,8 +202,7 @@ public class UserController {
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "asc") String direction
     ) {
-        Pageable pageable = PageRequest.of(page, size,
-                direction.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending());
+        Pageable pageable = PageRequest.of(page, size, SortPlanner.forProfiles(sortBy, direction));
         return ResponseEntity.ok(userService.getUsersByCountry(country, pageable));
     }
 
@@ -235,8 +230,7 @@ public class UserController {
                                                 @RequestParam(defaultValue = "createdAt") String sortBy,
                                                 @RequestParam(defaultValue = "asc") String direction) {
 
-        Pageable pageable = PageRequest.of(page, size,
-                direction.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending());
+        Pageable pageable = PageRequest.of(page, size, SortPlanner.forUsers(sortBy, direction));
 
         Page<UserDto> pages = userService.getAllUsers(pageable);
         List<UserDto> users = pages.getContent();
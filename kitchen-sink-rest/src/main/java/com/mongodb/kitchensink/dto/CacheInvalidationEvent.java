@@ -0,0 +1,12 @@
+package com.mongodb.kitchensink.dto;
+
+/**
+ * Message published on the cache invalidation channel after a write.
+ *
+ * @param type    what the key identifies, e.g. {@code USER_EMAIL}
+ * @param key     the cache key that changed
+ * @param version the document version after the write, or {@code null} when unknown or deleted
+ * @param origin  id of the publishing instance, so it can skip its own messages
+ */
+public record CacheInvalidationEvent(String type, String key, Long version, String origin) {
+}
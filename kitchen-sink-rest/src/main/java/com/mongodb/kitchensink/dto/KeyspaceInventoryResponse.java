@@ -0,0 +1,25 @@
+package com.mongodb.kitchensink.dto;
+
+import java.util.List;
+
+/**
+ * Estimated size of each Redis key namespace, taken from a sample of the keyspace.
+ *
+ * @param prefix      the deployment key prefix the namespaces live under
+ * @param dbSize      total keys in the database, including other deployments'
+ * @param sampledKeys keys visited by the sample
+ * @param complete    whether the sample covered the whole database, making the counts exact
+ * @param namespaces  one entry per namespace, plus {@code (other)} for keys this deployment does not own
+ */
+public record KeyspaceInventoryResponse(String prefix, long dbSize, long sampledKeys, boolean complete,
+                                        List<NamespaceStats> namespaces) {
+
+    /**
+     * @param sampledWithoutTtl sampled keys that never expire; any non-zero value is a leak
+     * @param averageBytes      mean {@code MEMORY USAGE} of the keys measured, 0 when none were
+     */
+    public record NamespaceStats(String namespace, String ttlPolicy, String ttlProperty, long sampledKeys,
+                                 long estimatedKeys, long sampledWithoutTtl, long averageBytes,
+                                 long estimatedBytes) {
+    }
+}
@@ -14,6 +14,7 @@ public class UserDto {
     private Boolean isFirstLogin;
     private String twoFactorSecret;
     private boolean twoFactorEnabled = false;
+    private Long version;
     public UserDto() {
 
     }
@@ -119,4 +120,12 @@ public class UserDto {
     public void setTwoFactorEnabled(boolean twoFactorEnabled) {
         this.twoFactorEnabled = twoFactorEnabled;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
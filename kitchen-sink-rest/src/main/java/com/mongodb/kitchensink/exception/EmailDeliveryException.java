@@ -0,0 +1,21 @@
+package com.mongodb.kitchensink.exception;
+
+import com.mongodb.kitchensink.constants.ErrorCodes;
+
+public class EmailDeliveryException extends RuntimeException {
+    private final ErrorCodes errorCode;
+
+    public EmailDeliveryException(ErrorCodes errorCode) {
+        super(errorCode.getMessage());
+        this.errorCode = errorCode;
+    }
+
+    public EmailDeliveryException(ErrorCodes errorCode, String customMessage) {
+        super(customMessage);
+        this.errorCode = errorCode;
+    }
+
+    public ErrorCodes getErrorCode() {
+        return errorCode;
+    }
+}
@@ -0,0 +1,21 @@
+package com.mongodb.kitchensink.exception;
+
+import com.mongodb.kitchensink.constants.ErrorCodes;
+
+public class TooManyRequestsException extends RuntimeException {
+    private final ErrorCodes errorCode;
+
+    public TooManyRequestsException(ErrorCodes errorCode) {
+        super(errorCode.getMessage());
+        this.errorCode = errorCode;
+    }
+
+    public TooManyRequestsException(ErrorCodes errorCode, String customMessage) {
+        super(customMessage);
+        this.errorCode = errorCode;
+    }
+
+    public ErrorCodes getErrorCode() {
+        return errorCode;
+    }
+}
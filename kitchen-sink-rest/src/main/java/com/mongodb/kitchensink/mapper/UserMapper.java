@@ -4,6 +4,8 @@ import com.mongodb.kitchensink.dto.ProfileDto;
 import com.mongodb.kitchensink.dto.UserDto;
 import com.mongodb.kitchensink.model.Profile;
 import com.mongodb.kitchensink.model.User;
+import com.mongodb.kitchensink.projection.ProfileSummary;
+import com.mongodb.kitchensink.projection.UserSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -23,4 +25,17 @@ public interface UserMapper {
     ProfileDto toDto(Profile profile);
 
     User toEntity(UserDto userDto);
+
+    @Mapping(target = "profile", ignore = true)
+    @Mapping(target = "twoFactorSecret", ignore = true)
+    @Mapping(source = "isAccountVerificationPending", target = "accountVerificationPending")
+    @Mapping(source = "isFirstLogin", target = "firstLogin")
+    UserDto toDto(UserSummary user);
+
+    @Mapping(source = "address.street", target = "street")
+    @Mapping(source = "address.city", target = "city")
+    @Mapping(source = "address.state", target = "state")
+    @Mapping(source = "address.country", target = "country")
+    @Mapping(source = "address.pincode", target = "pincode")
+    ProfileDto toDto(ProfileSummary profile);
 }
\ No newline at end of file
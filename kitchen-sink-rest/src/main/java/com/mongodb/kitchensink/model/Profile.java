@@ -4,10 +4,19 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+// City and country searches are case-insensitive regexes: they scan these indexes instead of the documents,
+// which also return them in city or country order (see SortPlanner)
 @Document(collection = "profiles")
+@CompoundIndexes({
+        @CompoundIndex(name = "address_city", def = "{'address.city': 1, '_id': 1}"),
+        @CompoundIndex(name = "address_country", def = "{'address.country': 1, '_id': 1}")
+})
 public class Profile {
 
     @Id
@@ -41,6 +50,10 @@ public class Profile {
     @Indexed(unique = true)
     private String username;
 
+    // Optimistic lock for partial updates, see ProfileRepositoryCustom
+    @Version
+    private Long version;
+
     public Profile() {}
 
 
@@ -155,4 +168,12 @@ public class Profile {
     public void setUsername(String username) {
         this.username = username;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
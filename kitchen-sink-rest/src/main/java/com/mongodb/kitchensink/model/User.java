@@ -1,6 +1,9 @@
 package com.mongodb.kitchensink.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -15,7 +18,17 @@ import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
+// Secondary indexes for the dashboard counts and the default createdAt sort, built by SecondaryIndexMigration:
+// roles serves countByExactRoles, createdAt_id countByCreatedAtAfter and the sort, and the partial ones
+// countByIsAccountVerificationPendingTrue and countByIsFirstLoginTrue while holding only the users they count.
 @Document(collection = "users")
+@CompoundIndexes({
+        @CompoundIndex(name = "roles", def = "{'roles': 1}"),
+        @CompoundIndex(name = "createdAt_id", def = "{'createdAt': 1, '_id': 1}"),
+        @CompoundIndex(name = "pending_verification", def = "{'isAccountVerificationPending': 1}",
+                partialFilter = "{'isAccountVerificationPending': true}"),
+        @CompoundIndex(name = "first_login", def = "{'isFirstLogin': 1}", partialFilter = "{'isFirstLogin': true}")
+})
 public class User implements UserDetails {
     @Override
     public String toString() {
@@ -31,6 +44,7 @@ public class User implements UserDetails {
                 ", twoFactorSecret='" + twoFactorSecret + '\'' +
                 ", twoFactorEnabled=" + twoFactorEnabled +
                 ", createdAt=" + createdAt +
+                ", version=" + version +
                 '}';
     }
 
@@ -90,6 +104,18 @@ public class User implements UserDetails {
 
     private Instant createdAt = Instant.now();
 
+    // Optimistic lock for partial updates, see UserRepositoryCustom
+    @Version
+    private Long version;
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
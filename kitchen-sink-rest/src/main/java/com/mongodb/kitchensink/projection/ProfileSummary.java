@@ -0,0 +1,16 @@
+package com.mongodb.kitchensink.projection;
+
+import com.mongodb.kitchensink.model.Address;
+
+/**
+ * Read model of a {@code profiles} document carrying only what {@code ProfileDto} renders,
+ * plus the {@code email}/{@code username} keys used to join it to its user.
+ */
+public record ProfileSummary(String id,
+                             String email,
+                             String username,
+                             String firstName,
+                             String lastName,
+                             String phoneNumber,
+                             Address address) {
+}
@@ -0,0 +1,17 @@
+package com.mongodb.kitchensink.projection;
+
+/**
+ * Dashboard counters for the {@code users} collection, one count query per counter so each
+ * can use its own index (see {@code DashboardService}).
+ */
+public record UserCounts(long totalUsers,
+                         long activeUsers,
+                         long pendingVerifications,
+                         long firstTimeLogins,
+                         long newUsersThisMonth,
+                         long adminUsers,
+                         long regularUsers,
+                         long bothAdminAndUser) {
+
+    public static final UserCounts EMPTY = new UserCounts(0, 0, 0, 0, 0, 0, 0, 0);
+}
@@ -0,0 +1,25 @@
+package com.mongodb.kitchensink.projection;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Read model of a {@code users} document for list, search and export endpoints.
+ * <p>
+ * Spring Data derives the Mongo field projection from the record components, so only the
+ * fields rendered in {@code UserDto} are fetched; {@code passwordHash} and
+ * {@code twoFactorSecret} never leave the database on these paths. Component names
+ * must match the {@code User} field names.
+ * </p>
+ */
+public record UserSummary(String id,
+                          String email,
+                          String username,
+                          List<String> roles,
+                          boolean active,
+                          Instant createdAt,
+                          Boolean isAccountVerificationPending,
+                          Boolean isFirstLogin,
+                          boolean twoFactorEnabled,
+                          Long version) {
+}
@@ -0,0 +1,57 @@
+package com.mongodb.kitchensink.reactive;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.kitchensink.dto.DashboardStatsResponse;
+import com.mongodb.kitchensink.model.User;
+import com.mongodb.kitchensink.service.DashboardService;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link DashboardService}: the same count queries on the same indexed
+ * predicates, sent concurrently. The counts are not reused between calls.
+ */
+public class ReactiveDashboardService {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveDashboardService(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public Mono<DashboardStatsResponse> getDashboardStats() {
+        Instant startOfMonth = LocalDate.now().withDayOfMonth(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        return Mono.zip(
+                        mongoTemplate.count(new Query(), User.class),
+                        count(Criteria.where("active").is(true)),
+                        count(Criteria.where("isAccountVerificationPending").is(true)),
+                        count(Criteria.where("isFirstLogin").is(true)),
+                        count(Criteria.where("createdAt").gt(startOfMonth)),
+                        count(Criteria.where("roles").is(List.of("ADMIN"))),
+                        count(Criteria.where("roles").is(List.of("USER"))),
+                        count(Criteria.where("roles").all("ADMIN", "USER")))
+                .map(counts -> new DashboardStatsResponse(
+                        counts.getT1(),
+                        counts.getT2(),
+                        counts.getT3(),
+                        counts.getT4(),
+                        counts.getT5(),
+                        counts.getT6(),
+                        counts.getT7(),
+                        counts.getT8()));
+    }
+
+    // Dashboard counters tolerate replica lag, as their repository methods do
+    private Mono<Long> count(Criteria criteria) {
+        Query query = new Query(criteria);
+        query.withReadPreference(ReadPreference.secondaryPreferred());
+        return mongoTemplate.count(query, User.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.mongodb.kitchensink.reactive;
+
+import com.mongodb.kitchensink.config.JwtAuthenticationEntryPoint;
+import com.mongodb.kitchensink.dto.ErrorResponse;
+import com.mongodb.kitchensink.exception.GlobalExceptionHandler;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+
+/**
+ * Answers the errors of the reactive read routes with the servlet API's responses: authentication
+ * failures like {@link JwtAuthenticationEntryPoint}, everything else through the
+ * {@code @ExceptionHandler} method of {@link GlobalExceptionHandler} that Spring MVC would pick, so
+ * status codes and bodies stay the same as handlers are added there.
+ */
+public class ReactiveExceptionHandler implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    private final GlobalExceptionHandler exceptionHandler;
+    private final ExceptionHandlerMethodResolver methodResolver;
+
+    public ReactiveExceptionHandler(GlobalExceptionHandler exceptionHandler) {
+        this.exceptionHandler = exceptionHandler;
+        this.methodResolver = new ExceptionHandlerMethodResolver(ClassUtils.getUserClass(exceptionHandler));
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        return Mono.defer(() -> next.handle(request))
+                .onErrorResume(Exception.class, this::toResponse);
+    }
+
+    Mono<ServerResponse> toResponse(Exception error) {
+        if (error instanceof AuthenticationException) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new ErrorResponse(error.getMessage(), HttpStatus.BAD_REQUEST));
+        }
+        Method method = methodResolver.resolveMethod(error);
+        if (method == null) {
+            return Mono.error(error);
+        }
+        ResponseEntity<?> entity = (ResponseEntity<?>) ReflectionUtils.invokeMethod(method, exceptionHandler, error);
+        ServerResponse.BodyBuilder response = ServerResponse.status(entity.getStatusCode())
+                .headers(headers -> headers.addAll(entity.getHeaders()));
+        return entity.getBody() != null ? response.bodyValue(entity.getBody()) : response.build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.mongodb.kitchensink.reactive;
+
+import com.mongodb.kitchensink.constants.ErrorCodes;
+import com.mongodb.kitchensink.constants.ErrorMessageConstants;
+import com.mongodb.kitchensink.exception.AccountVerificationException;
+import com.mongodb.kitchensink.exception.JwtExpiredException;
+import com.mongodb.kitchensink.model.User;
+import com.mongodb.kitchensink.projection.UserSummary;
+import com.mongodb.kitchensink.util.JwtAuthenticationFilter;
+import com.mongodb.kitchensink.util.JwtTokenProvider;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link JwtAuthenticationFilter} for the reactive read routes: the token
+ * signature and expiry are checked in memory, the session in Redis and the roles in Mongo, without
+ * blocking the event loop. Every route needs a valid token; the {@link Authentication} is kept in
+ * the {@value #AUTHENTICATION_ATTRIBUTE} request attribute for {@link #hasRole(String)}.
+ * <p>
+ * Failures become {@link AuthenticationException}s with the messages of the servlet filter, which
+ * {@link ReactiveExceptionHandler} answers like {@code JwtAuthenticationEntryPoint}.
+ * </p>
+ */
+public class ReactiveJwtAuthenticationFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    static final String AUTHENTICATION_ATTRIBUTE = ReactiveJwtAuthenticationFilter.class.getName() + ".authentication";
+
+    /** Same observation as {@link JwtAuthenticationFilter}, tagged with the stage. */
+    static final String STAGE_OBSERVATION = "auth.filter.stage";
+
+    private final JwtTokenProvider tokenProvider;
+    private final ReactiveSessionService sessionService;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ObservationRegistry observationRegistry;
+    private final long appSessionExpirationSeconds;
+
+    public ReactiveJwtAuthenticationFilter(JwtTokenProvider tokenProvider,
+                                           ReactiveSessionService sessionService,
+                                           ReactiveMongoTemplate mongoTemplate,
+                                           ObservationRegistry observationRegistry,
+                                           long appSessionExpirationSeconds) {
+        this.tokenProvider = tokenProvider;
+        this.sessionService = sessionService;
+        this.mongoTemplate = mongoTemplate;
+        this.observationRegistry = observationRegistry;
+        this.appSessionExpirationSeconds = appSessionExpirationSeconds;
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        String authHeader = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return Mono.error(new InsufficientAuthenticationException("Full authentication is required to access this resource"));
+        }
+        return authenticate(authHeader.substring(7))
+                .flatMap(authentication -> {
+                    request.attributes().put(AUTHENTICATION_ATTRIBUTE, authentication);
+                    return next.handle(request);
+                });
+    }
+
+    /**
+     * Lets the request through only when its authentication has {@code ROLE_<role>}; otherwise fails
+     * like {@code @PreAuthorize("hasRole(...)")}, which {@code GlobalExceptionHandler} answers with a 403.
+     */
+    public static HandlerFilterFunction<ServerResponse, ServerResponse> hasRole(String role) {
+        String authority = "ROLE_" + role;
+        return (request, next) -> {
+            boolean granted = request.attribute(AUTHENTICATION_ATTRIBUTE)
+                    .map(Authentication.class::cast)
+                    .map(authentication -> authentication.getAuthorities().stream()
+                            .anyMatch(grantedAuthority -> authority.equals(grantedAuthority.getAuthority())))
+                    .orElse(false);
+            if (!granted) {
+                return Mono.error(new AuthorizationDeniedException("Access Denied", new AuthorizationDecision(false)));
+            }
+            return next.handle(request);
+        };
+    }
+
+    Mono<Authentication> authenticate(String token) {
+        return stage("parse", Mono.fromSupplier(() -> {
+                    tokenProvider.validateAccessToken(token);
+                    return tokenProvider.getEmailFromAccessToken(token);
+                }))
+                .flatMap(email -> stage("session", sessionService.validateAndRefreshSession(email, token, appSessionExpirationSeconds))
+                        .flatMap(valid -> valid
+                                ? stage("user-load", loadUser(email))
+                                : Mono.error(new JwtExpiredException(ErrorCodes.VALIDATION_ERROR, ErrorMessageConstants.TOKEN_EXPIRED))))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("User not found from token payload")))
+                .<Authentication>map(user -> new UsernamePasswordAuthenticationToken(user.email(), null,
+                        user.roles().stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList()))
+                .onErrorMap(error -> !(error instanceof AuthenticationException), ReactiveJwtAuthenticationFilter::toAuthenticationException);
+    }
+
+    private Mono<UserSummary> loadUser(String email) {
+        return mongoTemplate.query(User.class).as(UserSummary.class)
+                .matching(Query.query(Criteria.where("email").is(email)))
+                .one();
+    }
+
+    private <T> Mono<T> stage(String stage, Mono<T> work) {
+        return ReactiveObservation.observe(observationRegistry, STAGE_OBSERVATION, "stage", stage, work);
+    }
+
+    private static AuthenticationException toAuthenticationException(Throwable error) {
+        if (error instanceof AccountVerificationException || error instanceof JwtExpiredException) {
+            return new BadCredentialsException(error.getMessage(), error);
+        }
+        return new BadCredentialsException("JWT invalid or expired: " + error.getMessage(), error);
+    }
+}
@@ -0,0 +1,25 @@
+package com.mongodb.kitchensink.reactive;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Observes a {@link Mono} from subscription to completion, under the same names and tags as the
+ * servlet code observes the blocking call, so both servers feed the same timers.
+ */
+final class ReactiveObservation {
+
+    private ReactiveObservation() {
+    }
+
+    static <T> Mono<T> observe(ObservationRegistry registry, String name, String key, String value, Mono<T> work) {
+        return Mono.defer(() -> {
+            Observation observation = Observation.createNotStarted(name, registry)
+                    .lowCardinalityKeyValue(key, value)
+                    .start();
+            return work.doOnError(observation::error)
+                    .doFinally(signal -> observation.stop());
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package com.mongodb.kitchensink.reactive;
+
+import com.mongodb.kitchensink.controller.DashboardController;
+import com.mongodb.kitchensink.controller.UserController;
+import com.mongodb.kitchensink.util.SortPlanner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Routes of the reactive read server: the read endpoints of {@link UserController} and
+ * {@link DashboardController}, with the same paths, parameters, defaults and sort rules. Writes,
+ * exports and the Redis keyspace inventory stay on the servlet API.
+ */
+public class ReactiveReadRouter {
+
+    private final ReactiveUserService userService;
+    private final ReactiveDashboardService dashboardService;
+
+    public ReactiveReadRouter(ReactiveUserService userService, ReactiveDashboardService dashboardService) {
+        this.userService = userService;
+        this.dashboardService = dashboardService;
+    }
+
+    public RouterFunction<ServerResponse> routes(ReactiveJwtAuthenticationFilter authenticationFilter,
+                                                 ReactiveExceptionHandler exceptionHandler) {
+        RouterFunction<ServerResponse> adminRoutes = RouterFunctions.route()
+                .GET("/api/users", this::getAllUsers)
+                .filter(ReactiveJwtAuthenticationFilter.hasRole("ADMIN"))
+                .build();
+        // Fixed paths first: like Spring MVC, /api/users/getUserByName must not be read as a user id.
+        // Filters run in declaration order, so errors of the authentication filter are answered too.
+        return RouterFunctions.route()
+                .add(adminRoutes)
+                .GET("/api/users/getUserByName", request -> searchProfiles(request, "name", userService::getUsersByName))
+                .GET("/api/users/getUserByCity", request -> searchProfiles(request, "city", userService::getUsersByCity))
+                .GET("/api/users/getUserByCountry", request -> searchProfiles(request, "country", userService::getUsersByCountry))
+                .GET("/api/users/getUserByEmail", this::searchByEmail)
+                .GET("/api/users/email/{email}", request -> json(userService.getUserByEmail(request.pathVariable("email"))))
+                .GET("/api/users/city/{city}", this::getUsersByCity)
+                .GET("/api/users/{id}", request -> json(userService.getUserById(request.pathVariable("id"))))
+                .GET("/api/dashboard/dashboard-stats", request -> json(dashboardService.getDashboardStats()))
+                .filter(exceptionHandler)
+                .filter(authenticationFilter)
+                .build();
+    }
+
+    private Mono<ServerResponse> getAllUsers(ServerRequest request) {
+        return json(userService.getAllUsers(pageable(request, SortPlanner.forUsers(sortBy(request), direction(request)))));
+    }
+
+    private Mono<ServerResponse> searchByEmail(ServerRequest request) {
+        return required(request, "email", email ->
+                json(userService.getUsersByEmail(email, pageable(request, SortPlanner.forUsers(sortBy(request), direction(request))))));
+    }
+
+    private Mono<ServerResponse> searchProfiles(ServerRequest request, String parameter,
+                                                BiFunction<String, Pageable, Mono<?>> search) {
+        return required(request, parameter, term ->
+                json(search.apply(term, pageable(request, SortPlanner.forProfiles(sortBy(request), direction(request))))));
+    }
+
+    private Mono<ServerResponse> getUsersByCity(ServerRequest request) {
+        return json(userService.getUsersByCity(request.pathVariable("city"), pageable(request, Sort.unsorted())));
+    }
+
+    private static Mono<ServerResponse> json(Mono<?> body) {
+        return body.flatMap(value -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(value));
+    }
+
+    private static Pageable pageable(ServerRequest request, Sort sort) {
+        int page = Integer.parseInt(request.queryParam("page").orElse("0"));
+        int size = Integer.parseInt(request.queryParam("size").orElse("50"));
+        return PageRequest.of(page, size, sort);
+    }
+
+    private static String sortBy(ServerRequest request) {
+        return request.queryParam("sortBy").orElse("createdAt");
+    }
+
+    private static String direction(ServerRequest request) {
+        return request.queryParam("direction").orElse("asc");
+    }
+
+    // The servlet API's exception, so GlobalExceptionHandler answers a missing parameter identically
+    private static Mono<ServerResponse> required(ServerRequest request, String parameter,
+                                                 Function<String, Mono<ServerResponse>> handler) {
+        return request.queryParam(parameter)
+                .map(handler)
+                .orElseGet(() -> Mono.error(new MissingServletRequestParameterException(parameter, "String")));
+    }
+}
@@ -0,0 +1,57 @@
+package com.mongodb.kitchensink.reactive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+
+/**
+ * Runs the reactive read routes on their own Netty server next to the servlet container, started and
+ * stopped with the application context. A few event-loop threads serve every connection, as no stage
+ * of a read blocks.
+ */
+public class ReactiveReadServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveReadServer.class);
+
+    private final HttpHandler httpHandler;
+    private final int port;
+    private volatile WebServer webServer;
+
+    public ReactiveReadServer(HttpHandler httpHandler, int port) {
+        this.httpHandler = httpHandler;
+        this.port = port;
+    }
+
+    @Override
+    public void start() {
+        WebServer server = new NettyReactiveWebServerFactory(port).getWebServer(httpHandler);
+        server.start();
+        webServer = server;
+        log.info("Reactive read server started on port {}", server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        WebServer server = webServer;
+        if (server != null) {
+            server.stop();
+            webServer = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return webServer != null;
+    }
+
+    /**
+     * @return the port the server listens on, or -1 while it is stopped
+     */
+    public int getPort() {
+        WebServer server = webServer;
+        return server != null ? server.getPort() : -1;
+    }
+}
@@ -0,0 +1,68 @@
+package com.mongodb.kitchensink.reactive;
+
+import com.mongodb.kitchensink.config.RedisKeyspace;
+import com.mongodb.kitchensink.constants.RedisValue;
+import com.mongodb.kitchensink.service.SessionService;
+import com.mongodb.kitchensink.service.SessionStoreCircuitBreaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking counterpart of {@link SessionService#validateAndRefreshSession}: same keys, same stored
+ * {@link RedisValue}s and the same {@link SessionStoreCircuitBreaker}, so both servers see one session
+ * store and trip one circuit.
+ */
+public class ReactiveSessionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveSessionService.class);
+
+    private final ReactiveRedisTemplate<String, Object> redisTemplate;
+    private final SessionStoreCircuitBreaker circuitBreaker;
+
+    public ReactiveSessionService(ReactiveRedisTemplate<String, Object> redisTemplate, SessionStoreCircuitBreaker circuitBreaker) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Checks that {@code accessToken} is the user's current session token and slides the session
+     * expiry. The caller must already have verified the token's signature and expiry.
+     */
+    public Mono<Boolean> validateAndRefreshSession(String email, String accessToken, long accessTokenExpirationSeconds) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.allowRequest()) {
+                return Mono.fromSupplier(circuitBreaker::acceptDegraded);
+            }
+            String key = RedisKeyspace.ACCESS_TOKEN.key(email);
+            return redisTemplate.opsForValue().get(key)
+                    .flatMap(stored -> currentToken(key, stored))
+                    .filter(accessToken::equals)
+                    .flatMap(token -> redisTemplate.opsForValue()
+                            .set(key, new RedisValue<>(token, accessTokenExpirationSeconds), Duration.ofSeconds(accessTokenExpirationSeconds))
+                            .thenReturn(true))
+                    .defaultIfEmpty(false)
+                    .doOnSuccess(valid -> circuitBreaker.recordSuccess())
+                    // Redis answered but the entry was unreadable: not an outage, but the half-open probe goes back
+                    .doOnError(error -> !(error instanceof DataAccessException), error -> circuitBreaker.releaseProbe())
+                    .onErrorResume(DataAccessException.class, error -> {
+                        circuitBreaker.recordFailure();
+                        log.warn("Session store unavailable while validating session for {}", email, error);
+                        return Mono.fromSupplier(circuitBreaker::acceptDegraded);
+                    });
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<String> currentToken(String key, Object stored) {
+        RedisValue<String> sessionValue = (RedisValue<String>) stored;
+        if (sessionValue.isExpired()) {
+            return redisTemplate.delete(key).then(Mono.empty());
+        }
+        return Mono.justOrEmpty(sessionValue.getValue());
+    }
+}
@@ -0,0 +1,191 @@
+package com.mongodb.kitchensink.reactive;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.kitchensink.constants.ErrorCodes;
+import com.mongodb.kitchensink.constants.ErrorMessageConstants;
+import com.mongodb.kitchensink.dto.UserDto;
+import com.mongodb.kitchensink.exception.UserNotFoundException;
+import com.mongodb.kitchensink.mapper.UserMapper;
+import com.mongodb.kitchensink.model.Profile;
+import com.mongodb.kitchensink.model.User;
+import com.mongodb.kitchensink.projection.ProfileSummary;
+import com.mongodb.kitchensink.projection.UserSummary;
+import com.mongodb.kitchensink.service.UserService;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.MongoRegexCreator;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking counterpart of the read methods of {@link UserService}, on {@link ReactiveMongoTemplate}.
+ * <p>
+ * Each method sends the query the matching repository method derives (same filter, projection, sort
+ * and read preference), joins users and profiles with one {@code $in} query per page, and fails with
+ * the same {@link UserNotFoundException}s, so the responses and error codes match the servlet API.
+ * Unlike {@link UserService}, lookups by id and email are not cached.
+ * </p>
+ */
+public class ReactiveUserService {
+
+    /** Same observation as {@link UserService}, so both servers feed one timer per query. */
+    static final String QUERY_OBSERVATION = "user.query";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final UserMapper userMapper;
+    private final ObservationRegistry observationRegistry;
+
+    public ReactiveUserService(ReactiveMongoTemplate mongoTemplate, UserMapper userMapper, ObservationRegistry observationRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.userMapper = userMapper;
+        this.observationRegistry = observationRegistry;
+    }
+
+    public Mono<Page<UserDto>> getAllUsers(Pageable pageable) {
+        return query("all", page(User.class, UserSummary.class, new Criteria(), pageable))
+                .flatMap(users -> profilesByEmail(users.getContent())
+                        .map(profiles -> users.map(user -> toUserDto(user, profiles.get(user.email())))));
+    }
+
+    public Mono<UserDto> getUserById(String id) {
+        return query("by-id", mongoTemplate.findById(id, User.class))
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException(ErrorCodes.RESOURCE_NOT_FOUND, ErrorMessageConstants.ACCOUNT_NOT_FOUND_ID)))
+                .map(userMapper::toDto);
+    }
+
+    public Mono<UserDto> getUserByEmail(String email) {
+        if (email == null || email.isEmpty()) {
+            return Mono.error(new UserNotFoundException(ErrorCodes.RESOURCE_NOT_FOUND, ErrorMessageConstants.ACCOUNT_NOT_FOUND_EMAIL));
+        }
+        String lowerCaseEmail = email.toLowerCase();
+        return query("by-email", mongoTemplate.findOne(Query.query(Criteria.where("email").is(lowerCaseEmail)), User.class))
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException(ErrorCodes.RESOURCE_NOT_FOUND, ErrorMessageConstants.ACCOUNT_NOT_FOUND_EMAIL)))
+                .flatMap(user -> query("profile-by-email",
+                        mongoTemplate.findOne(Query.query(Criteria.where("email").is(user.getEmail())), Profile.class))
+                        .map(userMapper::toDto)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .map(profile -> {
+                            UserDto dto = userMapper.toDto(user);
+                            dto.setProfile(profile.orElse(null));
+                            return dto;
+                        }));
+    }
+
+    public Mono<Page<UserDto>> getUsersByCity(String city, Pageable pageable) {
+        return query("by-city", page(Profile.class, ProfileSummary.class, containing("address.city", city), pageable))
+                .flatMap(profiles -> query("by-emails", users("email", profiles.map(ProfileSummary::email).getContent(), UserSummary::email))
+                        .map(users -> profiles.map(profile -> {
+                            UserSummary user = Optional.ofNullable(users.get(profile.email()))
+                                    .orElseThrow(() -> new UserNotFoundException(ErrorCodes.RESOURCE_NOT_FOUND, ErrorMessageConstants.USERS_NOT_FOUND_BY_CITY));
+                            return toUserDto(user, profile);
+                        })));
+    }
+
+    public Mono<Page<UserDto>> getUsersByName(String name, Pageable pageable) {
+        Criteria byName = new Criteria().orOperator(containing("firstName", name), containing("lastName", name));
+        return query("by-name", page(Profile.class, ProfileSummary.class, byName, pageable))
+                .flatMap(profiles -> joinUsersByUsername(profiles, ErrorMessageConstants.USERS_NOT_FOUND_BY_NAME));
+    }
+
+    public Mono<Page<UserDto>> getUsersByEmail(String email, Pageable pageable) {
+        return query("search-email", page(User.class, UserSummary.class, containing("email", email), pageable))
+                .flatMap(users -> profilesByEmail(users.getContent())
+                        .map(profiles -> users.map(user -> {
+                            ProfileSummary profile = Optional.ofNullable(profiles.get(user.email()))
+                                    .orElseThrow(() -> new UserNotFoundException(ErrorCodes.RESOURCE_NOT_FOUND, ErrorMessageConstants.USER_NOT_FOUND_EMAIL));
+                            return toUserDto(user, profile);
+                        })));
+    }
+
+    public Mono<Page<UserDto>> getUsersByCountry(String country, Pageable pageable) {
+        return query("by-country", page(Profile.class, ProfileSummary.class, containing("address.country", country), pageable))
+                .flatMap(profiles -> joinUsersByUsername(profiles, ErrorMessageConstants.USERS_NOT_FOUND_BY_COUNTRY));
+    }
+
+    private Mono<Page<UserDto>> joinUsersByUsername(Page<ProfileSummary> profiles, String notFoundMessage) {
+        if (profiles.isEmpty()) {
+            return Mono.error(new UserNotFoundException(ErrorCodes.RESOURCE_NOT_FOUND, notFoundMessage));
+        }
+        return query("by-usernames", users("username", profiles.map(ProfileSummary::username).getContent(), UserSummary::username))
+                .map(users -> profiles.map(profile -> {
+                    UserSummary user = Optional.ofNullable(users.get(profile.username()))
+                            .orElseThrow(() -> new UserNotFoundException(ErrorCodes.RESOURCE_NOT_FOUND, ErrorMessageConstants.USERS_NOT_FOUND_BY_USER_ID));
+                    return toUserDto(user, profile);
+                }));
+    }
+
+    private <T> Mono<T> query(String query, Mono<T> work) {
+        return ReactiveObservation.observe(observationRegistry, QUERY_OBSERVATION, "query", query, work);
+    }
+
+    private UserDto toUserDto(UserSummary user, ProfileSummary profile) {
+        UserDto dto = userMapper.toDto(user);
+        dto.setProfile(profile != null ? userMapper.toDto(profile) : null);
+        return dto;
+    }
+
+    private Mono<Map<String, ProfileSummary>> profilesByEmail(List<UserSummary> users) {
+        if (users.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        List<String> emails = users.stream().map(UserSummary::email).collect(Collectors.toList());
+        return query("profiles-by-emails", mongoTemplate.query(Profile.class).as(ProfileSummary.class)
+                .matching(secondaryPreferred(Criteria.where("email").in(emails)))
+                .all()
+                .collectMap(ProfileSummary::email, Function.identity()));
+    }
+
+    private Mono<Map<String, UserSummary>> users(String field, List<String> values, Function<UserSummary, String> key) {
+        if (values.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return mongoTemplate.query(User.class).as(UserSummary.class)
+                .matching(secondaryPreferred(Criteria.where(field).in(values)))
+                .all()
+                .collectMap(key, Function.identity());
+    }
+
+    /**
+     * A page of {@code resultType}, counted the way Spring Data counts derived page queries: a short
+     * page already tells the total, so the count query only runs when the page is full or past the end.
+     */
+    private <T> Mono<Page<T>> page(Class<?> domainType, Class<T> resultType, Criteria criteria, Pageable pageable) {
+        return mongoTemplate.query(domainType).as(resultType)
+                .matching(secondaryPreferred(criteria).with(pageable))
+                .all()
+                .collectList()
+                .flatMap(content -> {
+                    if (content.size() < pageable.getPageSize() && (pageable.getOffset() == 0 || !content.isEmpty())) {
+                        return Mono.just(new PageImpl<>(content, pageable, pageable.getOffset() + content.size()));
+                    }
+                    return mongoTemplate.query(domainType)
+                            .matching(secondaryPreferred(criteria))
+                            .count()
+                            .map(total -> new PageImpl<>(content, pageable, total));
+                });
+    }
+
+    /** The {@code ...ContainingIgnoreCase} filter of the repositories: the quoted term anywhere, any case. */
+    private static Criteria containing(String field, String term) {
+        return Criteria.where(field).regex(
+                MongoRegexCreator.INSTANCE.toRegularExpression(term, MongoRegexCreator.MatchMode.CONTAINING), "i");
+    }
+
+    // List and search reads tolerate a lagging replica, as their @ReadPreference repository methods do
+    private static Query secondaryPreferred(Criteria criteria) {
+        Query query = new Query(criteria);
+        query.withReadPreference(ReadPreference.secondaryPreferred());
+        return query;
+    }
+}
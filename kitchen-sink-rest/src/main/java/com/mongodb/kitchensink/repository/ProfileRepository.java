@@ -1,17 +1,31 @@
 package com.mongodb.kitchensink.repository;
 
 import com.mongodb.kitchensink.model.Profile;
+import com.mongodb.kitchensink.projection.ProfileSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.ReadPreference;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface ProfileRepository extends MongoRepository<Profile, String> {
+public interface ProfileRepository extends MongoRepository<Profile, String>, ProfileRepositoryCustom {
 
     Optional<Profile> findByUsername(String username);
     Optional<Profile> findByEmail(String emailId);
     Page<Profile> findByAddress_CountryContainingIgnoreCase(String country, Pageable pageable);
     Page<Profile> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(String firstName, String lastName, Pageable pageable);
     Page<Profile> findByAddress_CityContainingIgnoreCase(String city, Pageable pageable);
+
+    // Projected reads for list, search and export endpoints; a replica lagging slightly is acceptable there
+    @ReadPreference("secondaryPreferred")
+    List<ProfileSummary> findSummariesByEmailIn(Collection<String> emails);
+    @ReadPreference("secondaryPreferred")
+    Page<ProfileSummary> findSummariesByAddress_CountryContainingIgnoreCase(String country, Pageable pageable);
+    @ReadPreference("secondaryPreferred")
+    Page<ProfileSummary> findSummariesByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(String firstName, String lastName, Pageable pageable);
+    @ReadPreference("secondaryPreferred")
+    Page<ProfileSummary> findSummariesByAddress_CityContainingIgnoreCase(String city, Pageable pageable);
 }
\ No newline at end of file
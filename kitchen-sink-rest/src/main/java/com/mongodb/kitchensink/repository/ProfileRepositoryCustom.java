@@ -0,0 +1,23 @@
+package com.mongodb.kitchensink.repository;
+
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Partial-update operations for the {@code profiles} collection.
+ * <p>
+ * Profiles are edited together with their user: the user's version (see {@link UserRepositoryCustom})
+ * rejects stale clients, and the profile's own {@code @Version} keeps two interleaving edits from
+ * overwriting each other's profile fields.
+ * </p>
+ */
+public interface ProfileRepositoryCustom {
+
+    /**
+     * Applies {@code changes} to the profile with the given id only if its version still equals
+     * {@code expectedVersion}, and bumps the version. Profiles written before versioning was
+     * introduced have no version and are matched with {@code null}.
+     *
+     * @return {@code false} when the profile is missing or was modified concurrently
+     */
+    boolean updateFields(String id, Long expectedVersion, Update changes);
+}
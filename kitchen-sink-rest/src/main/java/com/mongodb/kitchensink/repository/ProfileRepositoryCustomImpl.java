@@ -0,0 +1,25 @@
+package com.mongodb.kitchensink.repository;
+
+import com.mongodb.kitchensink.model.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+public class ProfileRepositoryCustomImpl implements ProfileRepositoryCustom {
+
+    private static final String VERSION = "version";
+
+    private final MongoTemplate mongoTemplate;
+
+    public ProfileRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean updateFields(String id, Long expectedVersion, Update changes) {
+        Query query = new Query(Criteria.where("_id").is(id).and(VERSION).is(expectedVersion));
+        changes.inc(VERSION, 1);
+        return mongoTemplate.updateFirst(query, changes, Profile.class).getMatchedCount() > 0;
+    }
+}
@@ -2,16 +2,19 @@ package com.mongodb.kitchensink.repository;
 
 import com.mongodb.kitchensink.exception.UserNotFoundException;
 import com.mongodb.kitchensink.model.User;
+import com.mongodb.kitchensink.projection.UserSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReadPreference;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
 
     Optional<User> findByEmail(String email) throws UserNotFoundException;
     boolean existsByUsername(String email);
@@ -19,14 +22,31 @@ public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByUsername(String username);
     Page<User> findByEmailContainingIgnoreCase(String email, Pageable pageable);
     Page<User> findByUsernameContainingIgnoreCase(String username, Pageable pageable);
+    // Dashboard counters tolerate replica lag, so they are read off the primary when possible
+    @ReadPreference("secondaryPreferred")
     long countByActiveTrue();
+    @ReadPreference("secondaryPreferred")
     long countByIsAccountVerificationPendingTrue();
+    @ReadPreference("secondaryPreferred")
     long countByIsFirstLoginTrue();
     long countByRoles(String role);
+    @ReadPreference("secondaryPreferred")
     @Query(value = "{ 'roles': ?0 }", count = true)
     long countByExactRoles(List<String> roles);
+    @ReadPreference("secondaryPreferred")
     long countByCreatedAtAfter(Instant date);
+    @ReadPreference("secondaryPreferred")
     @Query(value = "{ 'roles': { $all: [?0, ?1] } }", count = true)
     long countUsersWithRoles(String role1, String role2);
     List<User> findByEmailIn(List<String> emails);
+
+    // Projected reads for list, search and export endpoints; a replica lagging slightly is acceptable there
+    @ReadPreference("secondaryPreferred")
+    Page<UserSummary> findAllBy(Pageable pageable);
+    @ReadPreference("secondaryPreferred")
+    Page<UserSummary> findSummariesByEmailContainingIgnoreCase(String email, Pageable pageable);
+    @ReadPreference("secondaryPreferred")
+    List<UserSummary> findSummariesByEmailIn(Collection<String> emails);
+    @ReadPreference("secondaryPreferred")
+    List<UserSummary> findSummariesByUsernameIn(Collection<String> usernames);
 }
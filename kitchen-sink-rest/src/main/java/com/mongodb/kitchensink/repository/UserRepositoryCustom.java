@@ -0,0 +1,34 @@
+package com.mongodb.kitchensink.repository;
+
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+
+/**
+ * Partial-update operations for the {@code users} collection.
+ * <p>
+ * Every method issues a single {@code $set} for the supplied fields instead of
+ * re-writing the whole document through {@code save()}, and bumps the
+ * {@code @Version} field so concurrent editors can detect each other.
+ * </p>
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Applies {@code changes} to the user with the given id only if its version still equals
+     * {@code expectedVersion}. Documents written before versioning was introduced have no
+     * version and are matched with {@code null}.
+     *
+     * @return {@code false} when the user is missing or was modified concurrently
+     */
+    boolean updateFields(String id, Long expectedVersion, Update changes);
+
+    /**
+     * Applies {@code changes} to the user with the given email without a version check.
+     * The id comes back from the same round trip, for evicting the {@code userById} cache entry.
+     *
+     * @return the id of the updated user, empty when no user has this email
+     */
+    Optional<String> updateFieldsByEmail(String email, Update changes);
+
+}
@@ -0,0 +1,36 @@
+package com.mongodb.kitchensink.repository;
+
+import com.mongodb.kitchensink.model.User;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final String VERSION = "version";
+
+    private final MongoTemplate mongoTemplate;
+
+    public UserRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean updateFields(String id, Long expectedVersion, Update changes) {
+        Query query = new Query(Criteria.where("_id").is(id).and(VERSION).is(expectedVersion));
+        changes.inc(VERSION, 1);
+        return mongoTemplate.updateFirst(query, changes, User.class).getMatchedCount() > 0;
+    }
+
+    @Override
+    public Optional<String> updateFieldsByEmail(String email, Update changes) {
+        Query query = new Query(Criteria.where("email").is(email));
+        query.fields().include("_id");
+        changes.inc(VERSION, 1);
+        User updated = mongoTemplate.findAndModify(query, changes, User.class);
+        return Optional.ofNullable(updated).map(User::getId);
+    }
+}
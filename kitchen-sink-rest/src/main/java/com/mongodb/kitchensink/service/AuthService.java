@@ -1,14 +1,17 @@
 package com.mongodb.kitchensink.service;
 
+import com.mongodb.kitchensink.config.CacheConfig;
 import com.mongodb.kitchensink.constants.ErrorCodes;
 import com.mongodb.kitchensink.constants.SuccessMessageConstants;
 import com.mongodb.kitchensink.dto.*;
 import com.mongodb.kitchensink.exception.*;
-import com.mongodb.kitchensink.model.User;
 import com.mongodb.kitchensink.util.JwtTokenProvider;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
@@ -21,14 +24,23 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.mongodb.kitchensink.constants.AppContants.*;
 import static com.mongodb.kitchensink.constants.ErrorMessageConstants.*;
 import static com.mongodb.kitchensink.constants.SuccessMessageConstants.*;
 
+/**
+ * Login, logout, token refresh and OTP account verification. A login is observed as
+ * {@value #LOGIN_OBSERVATION}, and its user lookup, BCrypt check, token issue and session store as
+ * {@value #LOGIN_STAGE_OBSERVATION}, tagged with the stage.
+ */
 @Service
 public class AuthService {
+    static final String LOGIN_OBSERVATION = "auth.login";
+    static final String LOGIN_STAGE_OBSERVATION = "auth.login.stage";
+
     private final AuthenticationManager authenticationManager;
     private final UserDetailsService userDetailsService;
     private final UserService userService;
@@ -36,6 +48,8 @@ public class AuthService {
     private final EmailService emailService;
     private final SessionService sessionService;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RateLimitService rateLimitService;
+    private final ObservationRegistry observationRegistry;
     @Value("${otp.accountVerification.ttlSeconds}")
     private  long accountVerificationTtl;
 
@@ -55,7 +69,9 @@ public class AuthService {
             OtpService otpService,
             EmailService emailService,
             SessionService sessionService,
-            JwtTokenProvider jwtTokenProvider
+            JwtTokenProvider jwtTokenProvider,
+            RateLimitService rateLimitService,
+            ObservationRegistry observationRegistry
     ) {
         this.authenticationManager = authenticationManager;
         this.userDetailsService = userDetailsService;
@@ -64,47 +80,64 @@ public class AuthService {
         this.emailService = emailService;
         this.sessionService = sessionService;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.rateLimitService = rateLimitService;
+        this.observationRegistry = observationRegistry;
     }
 
     public LoginResponse login(LoginRequest loginRequest) throws UserAuthException, UserNotFoundException, Exception {
+        return Observation.createNotStarted(LOGIN_OBSERVATION, observationRegistry)
+                .observeChecked(() -> doLogin(loginRequest));
+    }
+
+    private LoginResponse doLogin(LoginRequest loginRequest) throws Exception {
         String email = loginRequest.getEmail();
         String password = loginRequest.getPassword();
         if(password == null || password.isEmpty()) {
             throw new InvalidRequestException(ErrorCodes.INVALID_CREDENTIALS);
         }
+        // Before the user lookup and BCrypt check, so throttled attempts cost nothing; only failures count
+        rateLimitService.checkLoginAttempt(email);
         try {
             email = email.toLowerCase();
-            UserDto user = userService.getUserByEmail(email);
-            Authentication auth = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(email, password)
-            );
+            String normalizedEmail = email;
+            UserDto user = stage("lookup", () -> userService.getUserByEmail(normalizedEmail));
+            Authentication auth = stage("bcrypt", () -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(normalizedEmail, password)
+            ));
             List<String> roles = auth.getAuthorities().stream()
                     .map(GrantedAuthority::getAuthority)
                     .collect(Collectors.toList());
             String fullName = getFullName(user);
 
             if (user.getAccountVerificationPending() && user.getFirstLogin()) {
-                User currentUser = userService.getUserByEmailForVerification(email);
-                currentUser.setFirstLogin(false);
-                userService.saveUpdatedUserAfterVerification(currentUser);
-                UserDto updatedUser = userService.getUserByEmail(email);
+                userService.markFirstLoginComplete(email);
                 return new LoginResponse(true, LOGGED_IN_SUCCESSFULLY, null,null, email, auth.getName(),
-                        fullName, roles, updatedUser.getAccountVerificationPending(), updatedUser.getFirstLogin());
+                        fullName, roles, user.getAccountVerificationPending(), false);
             }
             if(!user.isActive()) {
                 throw new UserAuthException(ErrorCodes.ACCOUNT_DISABLED, USERS_ACCOUNT_DISABLED);
             }
-            String accessToken = jwtTokenProvider.generateAccessToken(email, roles);
-            String refreshToken = jwtTokenProvider.generateRefreshToken(email);
+            JwtAuthenticationResponse tokens = stage("token", () -> new JwtAuthenticationResponse(
+                    jwtTokenProvider.generateAccessToken(normalizedEmail, roles),
+                    jwtTokenProvider.generateRefreshToken(normalizedEmail)));
+            String accessToken = tokens.getAccessToken();
+            String refreshToken = tokens.getRefreshToken();
 
-            sessionService.storeRefreshToken(email, refreshToken, refreshTokenExpirationSeconds);
-            sessionService.storeAccessToken(email, accessToken,accessTokenExpirationSeconds);
+            stage("session", () -> {
+                sessionService.storeRefreshToken(normalizedEmail, refreshToken, refreshTokenExpirationSeconds);
+                sessionService.storeAccessToken(normalizedEmail, accessToken, accessTokenExpirationSeconds);
+                return null;
+            });
             return new LoginResponse(true, "Login successful", accessToken,refreshToken, email, auth.getName(),
                     fullName, roles, user.getAccountVerificationPending(), user.getFirstLogin());
         }
         catch (BadCredentialsException | DisabledException e) {
+            if (e instanceof BadCredentialsException) {
+                rateLimitService.recordFailedLogin(email);
+            }
             throw mapAuthException(e);
         } catch (UserNotFoundException e) {
+            rateLimitService.recordFailedLogin(email);
             throw e;
         } catch (UserAuthException e) {
             throw e;
@@ -113,6 +146,12 @@ public class AuthService {
         }
     }
 
+    private <T> T stage(String stage, Supplier<T> work) {
+        return Observation.createNotStarted(LOGIN_STAGE_OBSERVATION, observationRegistry)
+                .lowCardinalityKeyValue("stage", stage)
+                .observe(work);
+    }
+
     public void validateLoginRequest(LoginRequest loginRequest) throws InvalidRequestException, BadRequestException {
         if (loginRequest.getPassword() == null || loginRequest.getPassword().isBlank()) {
             throw new BadRequestException(ErrorCodes.VALIDATION_ERROR, REQ_PASSWORD);
@@ -186,6 +225,7 @@ public class AuthService {
         return roles.contains(ROLE_ADMIN) || roles.contains(ROLE_USER);
     }
 
+    @Cacheable(cacheNames = CacheConfig.ROLES_BY_EMAIL, key = "#email.toLowerCase()", condition = "#email != null && !#email.isEmpty()")
     public List<String> getRolesByEmail(String email) {
         if (email == null || email.isEmpty()) {
             throw new UserNotFoundException(ErrorCodes.USER_NOT_FOUND, EMAIL_REQUIRED);
@@ -200,13 +240,20 @@ public class AuthService {
                 .collect(Collectors.toList());
     }
 
-    public void sendOtpForAccountVerification(String email) throws UserAuthException, Exception {
+    /**
+     * @return {@code false} when a code was issued within the resend cooldown, so no new one was sent
+     */
+    public boolean sendOtpForAccountVerification(String email) throws UserAuthException, Exception {
+        rateLimitService.checkOtpRequest(email, ACCOUNT_VERIFICATION);
         UserDto userDto = userService.getUserByEmail(email);
-        String otp = otpService.generateOtp(email, ACCOUNT_VERIFICATION, accountVerificationTtl);
-        emailService.sendEmail(
-                userDto.getEmail(),
-                ACCOUNT_VERIFICATION_SUBJECT,
-                String.format(ACCOUNT_VERIFICATION_BODY_TEMPLATE,userDto.getProfile().getFirstName()+" "+userDto.getProfile().getLastName(), otp));
+        Optional<String> otp = otpService.generateOtp(email, ACCOUNT_VERIFICATION, accountVerificationTtl);
+        otp.ifPresent(code -> otpService.awaitDelivery(
+                emailService.sendEmail(
+                        userDto.getEmail(),
+                        ACCOUNT_VERIFICATION_SUBJECT,
+                        String.format(ACCOUNT_VERIFICATION_BODY_TEMPLATE,userDto.getProfile().getFirstName()+" "+userDto.getProfile().getLastName(), code)),
+                email, ACCOUNT_VERIFICATION));
+        return otp.isPresent();
     }
     public ApiResponse verifyOtpForAccountVerification(OtpRequest request) throws UserAuthException, Exception {
         if(request== null) {
@@ -0,0 +1,148 @@
+package com.mongodb.kitchensink.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.kitchensink.config.CacheConfig;
+import com.mongodb.kitchensink.config.TwoLevelCache;
+import com.mongodb.kitchensink.dto.CacheInvalidationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the per-instance near caches consistent across replicas over Redis pub/sub.
+ * <p>
+ * After a write, the writing instance evicts both cache levels itself and publishes one
+ * {@link CacheInvalidationEvent} per changed key; every other instance drops the key from its near
+ * cache. Events carry the document version: an event older than one already applied for the same
+ * key arrived out of order and is ignored. Messages sent while this instance was disconnected are
+ * lost, so every (re)subscription clears all near caches.
+ * </p>
+ */
+@Component
+public class CacheInvalidationBus implements MessageListener, SubscriptionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    public static final String USER_EMAIL = "USER_EMAIL";
+    public static final String USER_ID = "USER_ID";
+
+    static final Map<String, List<String>> CACHES_BY_TYPE = Map.of(
+            USER_EMAIL, List.of(CacheConfig.USER_BY_EMAIL, CacheConfig.ROLES_BY_EMAIL),
+            USER_ID, List.of(CacheConfig.USER_BY_ID));
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String instanceId = UUID.randomUUID().toString();
+    private final String channel;
+
+    // Highest version applied per type and key; only needs to outlive the near-cache entries it guards
+    private final Cache<String, Long> appliedVersions;
+
+    public CacheInvalidationBus(CacheManager cacheManager,
+                                StringRedisTemplate redisTemplate,
+                                @Value("${app.cache.invalidation.channel:CACHE_INVALIDATION}") String channel,
+                                @Value("${app.cache.local.ttl-seconds:30}") long localTtlSeconds,
+                                @Value("${app.cache.local.max-size:10000}") long localMaxSize) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.appliedVersions = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds * 2))
+                .maximumSize(localMaxSize)
+                .build();
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    String getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * Tells the other instances to drop {@code key} from their near caches. Failures are logged;
+     * the near-cache TTL bounds how long the other instances can serve the old value.
+     */
+    public void publish(String type, String key, Long version) {
+        if (key == null) {
+            return;
+        }
+        try {
+            String payload = objectMapper.writeValueAsString(new CacheInvalidationEvent(type, key, version, instanceId));
+            redisTemplate.convertAndSend(channel, payload);
+        } catch (JsonProcessingException | DataAccessException e) {
+            log.warn("Failed to publish cache invalidation for {} {}", type, key, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationEvent event;
+        try {
+            event = objectMapper.readValue(message.getBody(), CacheInvalidationEvent.class);
+        } catch (IOException e) {
+            log.warn("Ignoring malformed cache invalidation message", e);
+            return;
+        }
+        if (instanceId.equals(event.origin())) {
+            return;
+        }
+        apply(event);
+    }
+
+    void apply(CacheInvalidationEvent event) {
+        List<String> cacheNames = CACHES_BY_TYPE.get(event.type());
+        if (cacheNames == null || event.key() == null) {
+            return;
+        }
+        String versionKey = event.type() + ":" + event.key();
+        if (event.version() == null) {
+            // Unversioned writes and deletes always apply; a re-created document starts counting again
+            appliedVersions.invalidate(versionKey);
+        } else {
+            Long applied = appliedVersions.asMap().merge(versionKey, event.version(), Math::max);
+            if (applied > event.version()) {
+                log.debug("Ignoring reordered invalidation for {} at version {}", versionKey, event.version());
+                return;
+            }
+        }
+        for (String cacheName : cacheNames) {
+            if (cacheManager.getCache(cacheName) instanceof TwoLevelCache cache) {
+                cache.evictLocal(event.key());
+            }
+        }
+    }
+
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        log.info("Subscribed to cache invalidations, clearing near caches");
+        clearNearCaches();
+    }
+
+    void clearNearCaches() {
+        appliedVersions.invalidateAll();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(cacheName) instanceof TwoLevelCache cache) {
+                cache.clearLocal();
+            }
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.mongodb.kitchensink.service;
 
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
 import com.mongodb.kitchensink.dto.DashboardStatsResponse;
+import com.mongodb.kitchensink.projection.UserCounts;
 import com.mongodb.kitchensink.repository.UserRepository;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -9,37 +12,88 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Dashboard counters. Each is its own count query on an indexed predicate ({@code roles}, the partial
+ * indexes on pending verification and first login, {@code createdAt}). While the {@code users} change
+ * stream is open, the counts are reused until the next change to a user; without a stream every call
+ * runs the queries.
+ */
 @Service
-public class DashboardService {
+public class DashboardService implements MongoChangeListener {
     @Autowired
     private final UserRepository userRepository;
 
+    private final AtomicLong generation = new AtomicLong();
+    private volatile boolean streamOpen;
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(long generation, Instant startOfMonth, UserCounts counts) {
+    }
+
     public DashboardService(UserRepository userRepository) {
         this.userRepository = userRepository;
     }
 
     public DashboardStatsResponse getDashboardStats() {
-        long totalUsers = userRepository.count();
-        long activeUsers = userRepository.countByActiveTrue();
-        long pendingVerifications = userRepository.countByIsAccountVerificationPendingTrue();
-        long firstTimeLogins = userRepository.countByIsFirstLoginTrue();
-        long adminUsers = userRepository.countByExactRoles(List.of("ADMIN"));
-        long regularUsers = userRepository.countByExactRoles(List.of("USER"));
-        long bothAdminAndUser= userRepository.countUsersWithRoles("ADMIN", "USER");
         LocalDate firstDayOfMonth = LocalDate.now().withDayOfMonth(1);
         Instant startOfMonth = firstDayOfMonth.atStartOfDay().toInstant(ZoneOffset.UTC);
-        long newUsersThisMonth = userRepository.countByCreatedAtAfter(startOfMonth);
+        UserCounts counts = countUsers(startOfMonth);
 
         return new DashboardStatsResponse(
-                totalUsers,
-                activeUsers,
-                pendingVerifications,
-                firstTimeLogins,
-                newUsersThisMonth,
-                adminUsers,
-                regularUsers,
-                bothAdminAndUser
+                counts.totalUsers(),
+                counts.activeUsers(),
+                counts.pendingVerifications(),
+                counts.firstTimeLogins(),
+                counts.newUsersThisMonth(),
+                counts.adminUsers(),
+                counts.regularUsers(),
+                counts.bothAdminAndUser()
         );
     }
+
+    private UserCounts countUsers(Instant startOfMonth) {
+        long current = generation.get();
+        Snapshot cached = snapshot;
+        if (streamOpen && cached != null && cached.generation() == current && cached.startOfMonth().equals(startOfMonth)) {
+            return cached.counts();
+        }
+        UserCounts counts = new UserCounts(
+                userRepository.count(),
+                userRepository.countByActiveTrue(),
+                userRepository.countByIsAccountVerificationPendingTrue(),
+                userRepository.countByIsFirstLoginTrue(),
+                userRepository.countByCreatedAtAfter(startOfMonth),
+                userRepository.countByExactRoles(List.of("ADMIN")),
+                userRepository.countByExactRoles(List.of("USER")),
+                userRepository.countUsersWithRoles("ADMIN", "USER"));
+        // Only keep the result if no change arrived while it was being computed
+        if (streamOpen && generation.get() == current) {
+            snapshot = new Snapshot(current, startOfMonth, counts);
+        }
+        return counts;
+    }
+
+    @Override
+    public boolean supports(String collection) {
+        return "users".equals(collection);
+    }
+
+    @Override
+    public void onChange(String collection, ChangeStreamDocument<Document> event) {
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public void onStreamOpened(String collection, boolean resumed) {
+        generation.incrementAndGet();
+        streamOpen = true;
+    }
+
+    @Override
+    public void onStreamInterrupted(String collection) {
+        streamOpen = false;
+        generation.incrementAndGet();
+    }
 }
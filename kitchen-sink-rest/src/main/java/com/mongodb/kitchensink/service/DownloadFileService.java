@@ -2,6 +2,8 @@ package com.mongodb.kitchensink.service;
 
 import com.mongodb.kitchensink.dto.ProfileDto;
 import com.mongodb.kitchensink.dto.UserDto;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.http.HttpHeaders;
@@ -13,9 +15,21 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.List;
 
+/**
+ * Builds the users Excel export. Each export is observed as {@value #EXPORT_OBSERVATION}; the row
+ * count goes on the span only, as it would make every export its own timer.
+ */
 @Service
 public class DownloadFileService {
 
+    static final String EXPORT_OBSERVATION = "export.excel";
+
+    private final ObservationRegistry observationRegistry;
+
+    public DownloadFileService(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
     // Header constants
     public static class UserExcelHeaders {
         public static final String[] HEADERS = {
@@ -26,6 +40,12 @@ public class DownloadFileService {
     }
 
     public ResponseEntity<byte[]> generateUserExcel(List<UserDto> users) {
+        return Observation.createNotStarted(EXPORT_OBSERVATION, observationRegistry)
+                .highCardinalityKeyValue("rows", String.valueOf(users.size()))
+                .observe(() -> writeUserExcel(users));
+    }
+
+    private ResponseEntity<byte[]> writeUserExcel(List<UserDto> users) {
         try (Workbook workbook = new XSSFWorkbook();
              ByteArrayOutputStream out = new ByteArrayOutputStream()) {
 
@@ -1,5 +1,13 @@
 package com.mongodb.kitchensink.service;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface EmailService {
-    void sendEmail(String to, String subject, String body);
+
+    /**
+     * Queues the mail for sending.
+     *
+     * @return completes once the SMTP server accepted the mail, exceptionally when it could not be sent
+     */
+    CompletableFuture<Void> sendEmail(String to, String subject, String body);
 }
@@ -1,16 +1,29 @@
 package com.mongodb.kitchensink.service;
 
+import com.mongodb.kitchensink.config.AsyncConfig;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 import jakarta.mail.*;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
 import org.springframework.beans.factory.annotation.Value;
 
+/**
+ * Sends mail over SMTP. Each send, including the SMTP round trip, is observed as
+ * {@value #SEND_OBSERVATION}.
+ */
 @Service
 public class EmailServiceImpl implements EmailService {
 
+    static final String SEND_OBSERVATION = "mail.send";
+
+    private final ObservationRegistry observationRegistry;
+
     @Value("${mail.username}")
     private String username;
 
@@ -23,34 +36,46 @@ public class EmailServiceImpl implements EmailService {
     @Value("${mail.port}")
     private int port;
 
+    public EmailServiceImpl(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    // SMTP round trips run on the mail pool; a failure completes the returned future exceptionally
+    @Async(AsyncConfig.MAIL_EXECUTOR)
     @Override
-    public void sendEmail(String to, String subject, String body) {
+    public CompletableFuture<Void> sendEmail(String to, String subject, String body) {
         try {
-            Properties props = new Properties();
-            props.put("mail.smtp.auth", "true");
-            props.put("mail.smtp.starttls.enable", "true");
-            props.put("mail.smtp.host", host);
-            props.put("mail.smtp.port", port);
-
-            Session session = Session.getInstance(props, new Authenticator() {
-                @Override
-                protected PasswordAuthentication getPasswordAuthentication() {
-                    return new PasswordAuthentication(username, password);
-                }
-            });
-
-            Message message = new MimeMessage(session);
-            message.setFrom(new InternetAddress(username));
-            message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(to));
-            message.setSubject(subject);
-
-            // Send as HTML instead of plain text
-            message.setContent(body, "text/html; charset=UTF-8");
-
-            Transport.send(message);
+            Observation.createNotStarted(SEND_OBSERVATION, observationRegistry)
+                    .observeChecked(() -> send(to, subject, body));
         } catch (MessagingException e) {
             throw new RuntimeException("Failed to send email", e);
         }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private void send(String to, String subject, String body) throws MessagingException {
+        Properties props = new Properties();
+        props.put("mail.smtp.auth", "true");
+        props.put("mail.smtp.starttls.enable", "true");
+        props.put("mail.smtp.host", host);
+        props.put("mail.smtp.port", port);
+
+        Session session = Session.getInstance(props, new Authenticator() {
+            @Override
+            protected PasswordAuthentication getPasswordAuthentication() {
+                return new PasswordAuthentication(username, password);
+            }
+        });
+
+        Message message = new MimeMessage(session);
+        message.setFrom(new InternetAddress(username));
+        message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(to));
+        message.setSubject(subject);
+
+        // Send as HTML instead of plain text
+        message.setContent(body, "text/html; charset=UTF-8");
+
+        Transport.send(message);
     }
 
 }
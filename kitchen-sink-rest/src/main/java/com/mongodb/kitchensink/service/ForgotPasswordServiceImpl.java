@@ -9,6 +9,7 @@ import com.mongodb.kitchensink.exception.UserNotFoundException;
 import com.mongodb.kitchensink.model.User;
 import com.mongodb.kitchensink.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -23,21 +24,28 @@ public class ForgotPasswordServiceImpl implements ForgotPasswordService   {
     private final OtpService otpService;
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
+    private final RateLimitService rateLimitService;
+    private final UserCacheEvictor userCacheEvictor;
 
     @Value("${otp.forgotPassword.ttlSeconds}")
     private long forgotPasswordTtl;
     public ForgotPasswordServiceImpl(UserRepository userRepository,
                                      OtpService otpService,
                                      EmailService emailService,
-                                     PasswordEncoder passwordEncoder) {
+                                     PasswordEncoder passwordEncoder,
+                                     RateLimitService rateLimitService,
+                                     UserCacheEvictor userCacheEvictor) {
         this.userRepository = userRepository;
         this.otpService = otpService;
         this.emailService = emailService;
         this.passwordEncoder = passwordEncoder;
+        this.rateLimitService = rateLimitService;
+        this.userCacheEvictor = userCacheEvictor;
     }
 
     @Override
     public ApiResponse sendOtpToEmail(String email) {
+        rateLimitService.checkOtpRequest(email, "FORGOT_PASSWORD");
 
         Optional<User> optionalUser = userRepository.findByEmail(email);
 
@@ -50,13 +58,17 @@ public class ForgotPasswordServiceImpl implements ForgotPasswordService   {
 
         User user = optionalUser.get();
 
-        String otp  = otpService.generateOtp(email, "FORGOT_PASSWORD", forgotPasswordTtl);
-
-    emailService.sendEmail(
+        // Empty when a duplicate request already issued a code moments ago
+        Optional<String> otp = otpService.generateOtp(email, "FORGOT_PASSWORD", forgotPasswordTtl);
+        if (otp.isEmpty()) {
+            return new ApiResponse(OTP_ALREADY_SENT + " : " + email + ".", true);
+        }
+        // Reports a failed send to the caller instead of claiming a code is on its way
+        otpService.awaitDelivery(emailService.sendEmail(
                 user.getEmail(),
                 PASSWORD_RESET_OTP_SUBJECT,
-                String.format(PASSWORD_RESET_OTP_BODY_TEMPLATE, user.getUsername(),otp)
-        );
+                String.format(PASSWORD_RESET_OTP_BODY_TEMPLATE, user.getUsername(), otp.get())),
+                email, "FORGOT_PASSWORD");
 
          return new ApiResponse(OTP_SENT_SUCCESS+ " : "+ email+ ".", true);
     }
@@ -72,12 +84,15 @@ public class ForgotPasswordServiceImpl implements ForgotPasswordService   {
 
     @Override
     public ApiResponse resetPassword(String email, String newPassword) {
-        User user = userRepository.findByEmail(email)
+        // Checked before encoding so unknown emails never pay for a BCrypt round
+        if (!userRepository.existsByEmail(email)) {
+            throw new UserNotFoundException(ErrorCodes.RESOURCE_NOT_FOUND, ErrorMessageConstants.ACCOUNT_NOT_FOUND_EMAIL);
+        }
+        Update changes = new Update().set("passwordHash", passwordEncoder.encode(newPassword));
+        String id = userRepository.updateFieldsByEmail(email, changes)
                 .orElseThrow(() -> new UserNotFoundException(ErrorCodes.RESOURCE_NOT_FOUND, ErrorMessageConstants.ACCOUNT_NOT_FOUND_EMAIL));
-
-        user.setPasswordHash(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
         otpService.clearOtp(email,"FORGOT_PASSWORD");
+        userCacheEvictor.evictUser(email, id, null);
 
         return new ApiResponse(PASSWORD_RESET_SUCCESS, true);
     }
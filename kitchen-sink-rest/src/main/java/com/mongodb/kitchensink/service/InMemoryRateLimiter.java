@@ -0,0 +1,122 @@
+package com.mongodb.kitchensink.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Executor;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets in a bounded Caffeine cache. A bucket left alone for its refill period is full again,
+ * so it expires then; {@code app.rate-limit.memory.max-keys} caps the number of buckets, so keys an
+ * attacker makes up (random emails) cost a constant amount of work and memory per request.
+ */
+@Service
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private final Cache<String, Bucket> buckets;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public InMemoryRateLimiter(@Value("${app.rate-limit.memory.max-keys:100000}") int maxKeys) {
+        this(System::nanoTime, maxKeys, null);
+    }
+
+    InMemoryRateLimiter(LongSupplier nanoClock, int maxKeys, Executor maintenanceExecutor) {
+        this.nanoClock = nanoClock;
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .ticker(nanoClock::getAsLong);
+        if (maintenanceExecutor != null) {
+            builder.executor(maintenanceExecutor);
+        }
+        this.buckets = builder
+                .expireAfter(new Expiry<String, Bucket>() {
+                    @Override
+                    public long expireAfterCreate(String key, Bucket bucket, long currentTime) {
+                        return bucket.refillNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Bucket bucket, long currentTime, long currentDuration) {
+                        return bucket.refillNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Bucket bucket, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public boolean tryConsume(String key, Bandwidth bandwidth) {
+        long now = nanoClock.getAsLong();
+        boolean[] allowed = new boolean[1];
+        // compute() serialises callers per key without holding a monitor across threads
+        buckets.asMap().compute(key, (k, bucket) -> {
+            Bucket current = bucket != null ? bucket : new Bucket(bandwidth, now);
+            allowed[0] = current.tryConsume(now);
+            return current;
+        });
+        return allowed[0];
+    }
+
+    @Override
+    public boolean hasToken(String key, Bandwidth bandwidth) {
+        long now = nanoClock.getAsLong();
+        boolean[] available = {true};
+        buckets.asMap().computeIfPresent(key, (k, bucket) -> {
+            available[0] = bucket.hasToken(now);
+            return bucket;
+        });
+        return available[0];
+    }
+
+    long size() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private static final class Bucket {
+        private final Bandwidth bandwidth;
+        private final long refillNanos;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        Bucket(Bandwidth bandwidth, long now) {
+            this.bandwidth = bandwidth;
+            this.refillNanos = bandwidth.refillPeriod().toNanos();
+            this.tokensPerNano = (double) bandwidth.capacity() / refillNanos;
+            this.tokens = bandwidth.capacity();
+            this.lastRefill = now;
+        }
+
+        boolean tryConsume(long now) {
+            refill(now);
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        boolean hasToken(long now) {
+            refill(now);
+            return tokens >= 1;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(bandwidth.capacity(), tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.mongodb.kitchensink.service;
+
+import com.mongodb.kitchensink.config.PrefixedKeySerializer;
+import com.mongodb.kitchensink.config.RedisKeyspace;
+import com.mongodb.kitchensink.dto.KeyspaceInventoryResponse;
+import com.mongodb.kitchensink.dto.KeyspaceInventoryResponse.NamespaceStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports how many keys and how much memory each {@link RedisKeyspace} namespace takes.
+ * <p>
+ * Visits at most {@code app.redis.keyspace.sample-size} keys with incremental {@code SCAN}, and
+ * measures {@code MEMORY USAGE} and TTL for the first {@code memory-samples} keys of each namespace.
+ * When the sample does not cover the whole database, counts are scaled up by {@code DBSIZE}.
+ * </p>
+ */
+@Service
+public class KeyspaceInventoryService {
+
+    static final String OTHER = "(other)";
+
+    private static final byte[] MEMORY_USAGE_SCRIPT =
+            "return redis.call('MEMORY', 'USAGE', KEYS[1])".getBytes(StandardCharsets.UTF_8);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${app.redis.keyspace.sample-size:10000}")
+    private long sampleSize = 10000;
+
+    @Value("${app.redis.keyspace.memory-samples:50}")
+    private int memorySamples = 50;
+
+    @Value("${app.redis.keyspace.scan-count:500}")
+    private int scanCount = 500;
+
+    public KeyspaceInventoryService(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public KeyspaceInventoryResponse inventory() {
+        return redisTemplate.execute((RedisCallback<KeyspaceInventoryResponse>) this::inventory);
+    }
+
+    KeyspaceInventoryResponse inventory(RedisConnection connection) {
+        String prefix = redisTemplate.getKeySerializer() instanceof PrefixedKeySerializer keys ? keys.getPrefix() : "";
+        Long dbSize = connection.serverCommands().dbSize();
+        Map<RedisKeyspace, Tally> tallies = new EnumMap<>(RedisKeyspace.class);
+        for (RedisKeyspace keyspace : RedisKeyspace.values()) {
+            tallies.put(keyspace, new Tally());
+        }
+        Tally other = new Tally();
+
+        long sampled = 0;
+        boolean complete;
+        try (Cursor<byte[]> cursor = connection.keyCommands().scan(ScanOptions.scanOptions().count(scanCount).build())) {
+            while (sampled < sampleSize && cursor.hasNext()) {
+                byte[] rawKey = cursor.next();
+                sampled++;
+                String key = new String(rawKey, StandardCharsets.UTF_8);
+                RedisKeyspace keyspace = key.startsWith(prefix) ? RedisKeyspace.of(key.substring(prefix.length())) : null;
+                Tally tally = keyspace != null ? tallies.get(keyspace) : other;
+                tally.keys++;
+                if (tally.measured < memorySamples) {
+                    measure(connection, rawKey, tally);
+                }
+            }
+            complete = !cursor.hasNext();
+        }
+
+        long total = dbSize != null ? dbSize : sampled;
+        List<NamespaceStats> namespaces = new ArrayList<>();
+        for (Map.Entry<RedisKeyspace, Tally> entry : tallies.entrySet()) {
+            RedisKeyspace keyspace = entry.getKey();
+            namespaces.add(entry.getValue().toStats(keyspace.getNamespace(), keyspace.getTtlPolicy().name(),
+                    keyspace.getTtlProperty(), complete, sampled, total));
+        }
+        namespaces.add(other.toStats(OTHER, null, null, complete, sampled, total));
+        return new KeyspaceInventoryResponse(prefix, total, sampled, complete, namespaces);
+    }
+
+    private void measure(RedisConnection connection, byte[] rawKey, Tally tally) {
+        Long bytes = connection.scriptingCommands().eval(MEMORY_USAGE_SCRIPT, ReturnType.INTEGER, 1, rawKey);
+        Long ttl = connection.keyCommands().pTtl(rawKey);
+        if (bytes == null) {
+            // Expired between SCAN and MEMORY USAGE
+            return;
+        }
+        tally.measured++;
+        tally.bytes += bytes;
+        if (ttl != null && ttl == -1) {
+            tally.withoutTtl++;
+        }
+    }
+
+    private static final class Tally {
+        long keys;
+        long measured;
+        long bytes;
+        long withoutTtl;
+
+        NamespaceStats toStats(String namespace, String ttlPolicy, String ttlProperty, boolean complete,
+                               long sampled, long total) {
+            long estimatedKeys = complete || sampled == 0 ? keys : Math.round((double) total * keys / sampled);
+            long averageBytes = measured == 0 ? 0 : bytes / measured;
+            return new NamespaceStats(namespace, ttlPolicy, ttlProperty, keys, estimatedKeys, withoutTtl,
+                    averageBytes, averageBytes * estimatedKeys);
+        }
+    }
+}
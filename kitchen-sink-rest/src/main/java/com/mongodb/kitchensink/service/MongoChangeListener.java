@@ -0,0 +1,39 @@
+package com.mongodb.kitchensink.service;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import org.bson.Document;
+
+/**
+ * In-process consumer of change events from {@link MongoChangeStreamConsumer}. Every Spring bean
+ * implementing this interface is registered automatically.
+ * <p>
+ * Delivery is at-least-once: a reopened stream replays events since the last saved resume token,
+ * so handlers must be idempotent. Across restarts only a consumer that persists its tokens resumes;
+ * elsewhere the stream starts from "now" and {@link #onStreamOpened} says so. Callbacks run on the
+ * stream's own thread and should not block.
+ * </p>
+ */
+public interface MongoChangeListener {
+
+    /**
+     * @return whether this listener wants events for the given collection
+     */
+    boolean supports(String collection);
+
+    void onChange(String collection, ChangeStreamDocument<Document> event);
+
+    /**
+     * Called each time the stream for {@code collection} is opened.
+     *
+     * @param resumed {@code false} when the stream started from "now" rather than from a saved
+     *                resume token, so changes made while no stream was open were not seen
+     */
+    default void onStreamOpened(String collection, boolean resumed) {
+    }
+
+    /**
+     * Called when the stream for {@code collection} fails; events are delayed until it reopens.
+     */
+    default void onStreamInterrupted(String collection) {
+    }
+}
@@ -0,0 +1,259 @@
+package com.mongodb.kitchensink.service;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.mongodb.client.model.Filters.eq;
+
+/**
+ * Tails the {@code users} and {@code profiles} collections with change streams and fans the events
+ * out to every {@link MongoChangeListener}, so derived state follows writes made by any process,
+ * including ops scripts.
+ * <p>
+ * Each collection is tailed on its own daemon thread, which keeps the last resume token so a
+ * failed stream reopens where it stopped. Only a consumer with
+ * {@code app.change-streams.persist-resume-tokens} (on where {@code app.change-streams.evict-shared-cache}
+ * is) also saves it to {@value #TOKEN_COLLECTION}, under {@code app.change-streams.consumer-name}, at
+ * most every {@code app.change-streams.token-save-interval-ms} and on shutdown, so it picks up where it
+ * stopped after a restart. The other replicas only hold near caches, which a restart empties anyway;
+ * were they to save under the same name they would overwrite its position with their own. If the
+ * oplog no longer holds the saved position the stream starts from "now" and listeners are told that
+ * events were missed. Change streams need a replica set, so the consumer only runs with
+ * {@code app.change-streams.enabled=true}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "app.change-streams.enabled", havingValue = "true")
+public class MongoChangeStreamConsumer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoChangeStreamConsumer.class);
+
+    static final String TOKEN_COLLECTION = "change_stream_resume_tokens";
+    static final List<String> COLLECTIONS = List.of("users", "profiles");
+
+    // ChangeStreamHistoryLost, InvalidResumeToken, ChangeStreamFatalError: resuming cannot succeed
+    private static final Set<Integer> NON_RESUMABLE_CODES = Set.of(286, 260, 280);
+
+    private final MongoTemplate mongoTemplate;
+    private final List<MongoChangeListener> listeners;
+    private final List<Thread> workers = new ArrayList<>();
+    private final Map<String, BsonDocument> lastTokens = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    @Value("${app.change-streams.consumer-name:${spring.application.name}}")
+    private String consumerName = "kitchensink";
+
+    @Value("${app.change-streams.persist-resume-tokens:${app.change-streams.evict-shared-cache:false}}")
+    private boolean persistTokens;
+
+    @Value("${app.change-streams.token-save-interval-ms:1000}")
+    private long tokenSaveIntervalMs = 1000;
+
+    @Value("${app.change-streams.retry-delay-ms:5000}")
+    private long retryDelayMs = 5000;
+
+    public MongoChangeStreamConsumer(MongoTemplate mongoTemplate, List<MongoChangeListener> listeners) {
+        this.mongoTemplate = mongoTemplate;
+        this.listeners = listeners;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (String collection : COLLECTIONS) {
+            if (listeners.stream().anyMatch(listener -> listener.supports(collection))) {
+                workers.add(Thread.ofPlatform()
+                        .daemon()
+                        .name("change-stream-" + collection)
+                        .start(() -> tail(collection)));
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                // tryNext() returns within the max await time, after which the loop sees running == false
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        workers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void tail(String collection) {
+        while (running) {
+            try {
+                BsonDocument resumeToken = loadToken(collection);
+                try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = open(collection, resumeToken)) {
+                    notifyOpened(collection, resumeToken != null);
+                    consume(collection, cursor);
+                }
+            } catch (MongoCommandException e) {
+                if (NON_RESUMABLE_CODES.contains(e.getErrorCode())) {
+                    log.warn("Cannot resume change stream on {}, next attempt starts from now", collection);
+                    deleteToken(collection);
+                }
+                interrupted(collection, e);
+            } catch (MongoException e) {
+                interrupted(collection, e);
+            } catch (RuntimeException e) {
+                // e.g. a document the codec cannot decode; retrying beats losing the thread for good
+                interrupted(collection, e);
+            }
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> open(String collection, BsonDocument resumeToken) {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(collection)
+                .watch()
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+        return stream.cursor();
+    }
+
+    private void consume(String collection, MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor) {
+        BsonDocument savedToken = null;
+        long savedAt = 0;
+        while (running) {
+            ChangeStreamDocument<Document> event = cursor.tryNext();
+            if (event != null) {
+                dispatch(collection, event);
+            }
+            BsonDocument token = cursor.getResumeToken();
+            long now = System.currentTimeMillis();
+            if (token != null && !token.equals(savedToken) && (!running || now - savedAt >= tokenSaveIntervalMs)) {
+                saveToken(collection, token);
+                savedToken = token;
+                savedAt = now;
+            }
+        }
+        BsonDocument token = cursor.getResumeToken();
+        if (token != null && !token.equals(savedToken)) {
+            saveToken(collection, token);
+        }
+    }
+
+    private void dispatch(String collection, ChangeStreamDocument<Document> event) {
+        notify(collection, "event", listener -> listener.onChange(collection, event));
+    }
+
+    private void notifyOpened(String collection, boolean resumed) {
+        notify(collection, "stream open", listener -> listener.onStreamOpened(collection, resumed));
+    }
+
+    /**
+     * A failing listener is logged and skipped; letting the exception through would end the
+     * stream's thread and stop every other listener too.
+     */
+    private void notify(String collection, String what, Consumer<MongoChangeListener> callback) {
+        for (MongoChangeListener listener : listeners) {
+            try {
+                if (listener.supports(collection)) {
+                    callback.accept(listener);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Change listener {} failed on {} {}", listener.getClass().getSimpleName(), collection, what, e);
+            }
+        }
+    }
+
+    private void interrupted(String collection, RuntimeException e) {
+        if (!running) {
+            return;
+        }
+        log.warn("Change stream on {} failed, retrying in {} ms", collection, retryDelayMs, e);
+        notify(collection, "stream interruption", listener -> listener.onStreamInterrupted(collection));
+        try {
+            Thread.sleep(retryDelayMs);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private String tokenId(String collection) {
+        return consumerName + ":" + collection;
+    }
+
+    private MongoCollection<Document> tokens() {
+        return mongoTemplate.getCollection(TOKEN_COLLECTION);
+    }
+
+    BsonDocument loadToken(String collection) {
+        BsonDocument last = lastTokens.get(collection);
+        if (last != null || !persistTokens) {
+            return last;
+        }
+        Document stored = tokens().find(eq("_id", tokenId(collection))).first();
+        if (stored == null || stored.get("token") == null) {
+            return null;
+        }
+        return stored.get("token", Document.class).toBsonDocument();
+    }
+
+    void saveToken(String collection, BsonDocument token) {
+        lastTokens.put(collection, token);
+        if (!persistTokens) {
+            return;
+        }
+        Document stored = new Document("_id", tokenId(collection))
+                .append("token", token)
+                .append("updatedAt", Date.from(Instant.now()));
+        try {
+            tokens().replaceOne(eq("_id", tokenId(collection)), stored, new ReplaceOptions().upsert(true));
+        } catch (MongoException e) {
+            // The next save catches up; a restart in between only replays a few idempotent events
+            log.warn("Failed to save resume token for {}", collection, e);
+        }
+    }
+
+    private void deleteToken(String collection) {
+        lastTokens.remove(collection);
+        if (!persistTokens) {
+            return;
+        }
+        try {
+            tokens().deleteOne(eq("_id", tokenId(collection)));
+        } catch (MongoException e) {
+            log.warn("Failed to delete resume token for {}", collection, e);
+        }
+    }
+}
@@ -1,63 +1,223 @@
 package com.mongodb.kitchensink.service;
 
-import com.mongodb.kitchensink.constants.RedisValue;
+import com.mongodb.kitchensink.config.RedisKeyspace;
+import com.mongodb.kitchensink.constants.ErrorCodes;
+import com.mongodb.kitchensink.exception.EmailDeliveryException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * Single OTP engine for account verification and password reset.
+ * <p>
+ * Each OTP is a Redis hash {@code OTP:<TYPE>:{<email>}} holding an HMAC of the code (never the code
+ * itself), the number of wrong attempts and the issue time. Issue and verify are Lua scripts, so
+ * every operation is one atomic round trip: two concurrent "resend" clicks cannot both issue a
+ * code, and a correct code cannot be consumed twice.
+ * </p>
+ */
 @Service
 public class OtpService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    static final long VERIFIED = 1L;
+
+    private static final Logger log = LoggerFactory.getLogger(OtpService.class);
+
+    /**
+     * KEYS[1] otp key; ARGV: code hash, ttl millis, now millis, resend cooldown millis.
+     * Returns 1 when a new code was stored, 0 when one was issued less than the cooldown ago.
+     * Entries in the old JSON string format are replaced.
+     */
+    static final RedisScript<Long> ISSUE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('TYPE', KEYS[1]).ok ~= 'hash' then
+              redis.call('DEL', KEYS[1])
+            end
+            local issuedAt = tonumber(redis.call('HGET', KEYS[1], 'issuedAt'))
+            if issuedAt and tonumber(ARGV[3]) - issuedAt < tonumber(ARGV[4]) then
+              return 0
+            end
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], 'hash', ARGV[1], 'attempts', 0, 'issuedAt', ARGV[3])
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS[1] otp key; ARGV: submitted code hash, max attempts.
+     * Returns 1 and deletes the OTP on a match, 0 on a mismatch (deleting it once the attempts
+     * are used up), -1 when there is no OTP.
+     */
+    static final RedisScript<Long> VERIFY_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('TYPE', KEYS[1]).ok ~= 'hash' then
+              return -1
+            end
+            local stored = redis.call('HGET', KEYS[1], 'hash')
+            if not stored then
+              return -1
+            end
+            if stored == ARGV[1] then
+              redis.call('DEL', KEYS[1])
+              return 1
+            end
+            if redis.call('HINCRBY', KEYS[1], 'attempts', 1) >= tonumber(ARGV[2]) then
+              redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
     private final SecureRandom secureRandom = new SecureRandom();
+    private Clock clock = Clock.systemUTC();
+
     @Value("${otp.accountVerification.ttlSeconds}")
     private long accountVerificationTtl;
 
     @Value("${otp.forgotPassword.ttlSeconds}")
     private long forgotPasswordTtl;
-    public OtpService(RedisTemplate<String, Object> redisTemplate) {
+
+    @Value("${app.otp.expiration-seconds:300}")
+    private long defaultTtl = 300;
+
+    @Value("${app.otp.length:6}")
+    private int otpLength = 6;
+
+    @Value("${otp.max-attempts:5}")
+    private long maxAttempts = 5;
+
+    @Value("${otp.resend-cooldown-seconds:30}")
+    private long resendCooldownSeconds = 30;
+
+    @Value("${otp.hash-secret:${jwt.secret}}")
+    private String hashSecret;
+
+    @Value("${otp.delivery-timeout-seconds:30}")
+    private long deliveryTimeoutSeconds = 30;
+
+    public OtpService(StringRedisTemplate redisTemplate) {
         this.redisTemplate = redisTemplate;
     }
 
-    public String generateOtp(String email, String type, Long ttlSeconds) {
-        String redisKey = buildRedisKey(email, type);
-        RedisValue<String> existingValue = (RedisValue<String>) redisTemplate.opsForValue().get(redisKey);
-        if (existingValue != null && existingValue.isValid()) {
-            return existingValue.getValue();
-        }
-        String otp = String.format("%06d", secureRandom.nextInt(1_000_000));
+    /**
+     * Issues a new OTP, replacing any previous one.
+     *
+     * @return the code to send, or empty when a code for the same email and type was issued
+     * within the resend cooldown (a duplicate request whose code is already on its way)
+     */
+    public Optional<String> generateOtp(String email, String type, Long ttlSeconds) {
+        String otp = randomCode();
         long ttl = (ttlSeconds != null) ? ttlSeconds : getDefaultTtl(type);
-        RedisValue<String> redisValue = new RedisValue<>(otp, ttl);
-        redisTemplate.opsForValue().set(redisKey, redisValue, ttl, TimeUnit.SECONDS);
-
-        return otp;
+        String redisKey = buildRedisKey(email, type);
+        Long issued = redisTemplate.execute(ISSUE_SCRIPT, List.of(redisKey),
+                hash(redisKey, otp),
+                String.valueOf(ttl * 1000),
+                String.valueOf(clock.millis()),
+                String.valueOf(resendCooldownSeconds * 1000));
+        return issued != null && issued == 1L ? Optional.of(otp) : Optional.empty();
     }
 
+    /**
+     * Checks and consumes the OTP. Every wrong code counts as an attempt; after
+     * {@code otp.max-attempts} the OTP is burned and a new one has to be requested.
+     */
     public boolean verifyOtp(String email, String type, String otp) {
-        String redisKey = buildRedisKey(email, type);
-        RedisValue<String> storedValue = (RedisValue<String>) redisTemplate.opsForValue().get(redisKey);
-        boolean isValid = storedValue != null && storedValue.isValid() && storedValue.getValue().equals(otp);
-        if (isValid) {
-            redisTemplate.delete(redisKey);
+        if (otp == null) {
+            return false;
         }
-        return isValid;
+        String redisKey = buildRedisKey(email, type);
+        Long result = redisTemplate.execute(VERIFY_SCRIPT, List.of(redisKey),
+                hash(redisKey, otp),
+                String.valueOf(maxAttempts));
+        return result != null && result == VERIFIED;
     }
 
     public void clearOtp(String email, String type) {
         redisTemplate.delete(buildRedisKey(email, type));
     }
 
+    /**
+     * Waits up to {@code otp.delivery-timeout-seconds} for the mail carrying a code. A code whose mail
+     * failed or timed out is cleared, so the resend cooldown does not hold back the next request.
+     *
+     * @throws EmailDeliveryException when the mail was not sent
+     */
+    public void awaitDelivery(CompletableFuture<?> delivery, String email, String type) {
+        try {
+            delivery.get(deliveryTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            undelivered(email, type, e);
+            throw new EmailDeliveryException(ErrorCodes.EMAIL_DELIVERY_FAILED);
+        } catch (ExecutionException | TimeoutException e) {
+            undelivered(email, type, e instanceof ExecutionException ? e.getCause() : e);
+            throw new EmailDeliveryException(ErrorCodes.EMAIL_DELIVERY_FAILED);
+        }
+    }
+
+    /**
+     * Like {@link #awaitDelivery} for flows that must not fail on mail: returns at once and clears
+     * the code if its mail fails later.
+     */
+    public void clearIfUndelivered(CompletableFuture<?> delivery, String email, String type) {
+        delivery.whenComplete((sent, failure) -> {
+            if (failure != null) {
+                undelivered(email, type, failure);
+            }
+        });
+    }
+
+    private void undelivered(String email, String type, Throwable cause) {
+        log.warn("{} code mail was not sent, clearing the code", type, cause);
+        clearOtp(email, type);
+    }
+
+    private String randomCode() {
+        StringBuilder code = new StringBuilder(otpLength);
+        for (int i = 0; i < otpLength; i++) {
+            code.append(secureRandom.nextInt(10));
+        }
+        return code.toString();
+    }
+
+    // Keyed by a server secret and the Redis key, so a leaked hash cannot be brute-forced offline
+    // or replayed for another account
+    private String hash(String redisKey, String otp) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(hashSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            mac.update(redisKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(mac.doFinal(otp.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
     private String buildRedisKey(String email, String type) {
-        return String.format("OTP:%s:%s", type.toUpperCase(), email.toLowerCase());
+        return RedisKeyspace.OTP.key(type.toUpperCase(), email.toLowerCase());
     }
+
     private long getDefaultTtl(String type) {
         return switch (type) {
             case "ACCOUNT_VERIFICATION" -> accountVerificationTtl;
             case "FORGOT_PASSWORD" -> forgotPasswordTtl;
-            default -> 300L;
+            default -> defaultTtl;
         };
     }
 }
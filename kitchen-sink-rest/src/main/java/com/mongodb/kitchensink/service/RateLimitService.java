@@ -0,0 +1,126 @@
+package com.mongodb.kitchensink.service;
+
+import com.mongodb.kitchensink.constants.ErrorCodes;
+import com.mongodb.kitchensink.exception.TooManyRequestsException;
+import com.mongodb.kitchensink.service.RateLimiter.Bandwidth;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static com.mongodb.kitchensink.constants.ErrorMessageConstants.*;
+
+/**
+ * Rate-limit policies for the unauthenticated auth endpoints.
+ * <p>
+ * Per-client buckets are enforced by {@code RateLimitFilter} before the request body is read;
+ * per-account buckets are checked by the services before any BCrypt or Mongo work. The client address
+ * is only taken from {@code X-Forwarded-For} when the request comes from one of
+ * {@code server.tomcat.remoteip.internal-proxies}; otherwise it is the peer address, whatever the
+ * headers say.
+ * </p>
+ */
+@Service
+public class RateLimitService {
+
+    private final RateLimiter rateLimiter;
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.rate-limit.login.per-ip.capacity:20}")
+    private int loginPerIpCapacity = 20;
+    @Value("${app.rate-limit.login.per-ip.period-seconds:60}")
+    private long loginPerIpPeriod = 60;
+
+    @Value("${app.rate-limit.login.per-email.capacity:5}")
+    private int loginPerEmailCapacity = 5;
+    @Value("${app.rate-limit.login.per-email.period-seconds:300}")
+    private long loginPerEmailPeriod = 300;
+
+    @Value("${app.rate-limit.login.per-account.capacity:20}")
+    private int loginPerAccountCapacity = 20;
+    @Value("${app.rate-limit.login.per-account.period-seconds:900}")
+    private long loginPerAccountPeriod = 900;
+
+    @Value("${app.rate-limit.otp.per-ip.capacity:10}")
+    private int otpPerIpCapacity = 10;
+    @Value("${app.rate-limit.otp.per-ip.period-seconds:60}")
+    private long otpPerIpPeriod = 60;
+
+    @Value("${app.rate-limit.otp.request-per-email.capacity:3}")
+    private int otpRequestPerEmailCapacity = 3;
+    @Value("${app.rate-limit.otp.request-per-email.period-seconds:900}")
+    private long otpRequestPerEmailPeriod = 900;
+
+    public RateLimitService(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    public boolean tryLoginFromClient(String clientIp) {
+        return consume("LOGIN:IP:" + clientIp, Bandwidth.of(loginPerIpCapacity, loginPerIpPeriod));
+    }
+
+    public boolean tryOtpFromClient(String clientIp) {
+        return consume("OTP:IP:" + clientIp, Bandwidth.of(otpPerIpCapacity, otpPerIpPeriod));
+    }
+
+    /**
+     * Rejects a login once this client has used up its failed attempts for the account, or once the account
+     * has had too many failures from all clients together. Only failures take tokens
+     * ({@link #recordFailedLogin(String)}). The per-client bucket stops one client early; the per-account
+     * bucket is larger, so other clients of the owner keep working while a single client guesses, and it
+     * bounds guessing spread over many addresses, at the cost of locking the account for its refill period.
+     */
+    public void checkLoginAttempt(String email) {
+        if (enabled && (!rateLimiter.hasToken(loginKey(email), loginPerEmail())
+                || !rateLimiter.hasToken(accountKey(email), loginPerAccount()))) {
+            throw new TooManyRequestsException(ErrorCodes.TOO_MANY_REQUESTS, TOO_MANY_LOGIN_ATTEMPTS);
+        }
+    }
+
+    public void recordFailedLogin(String email) {
+        consume(loginKey(email), loginPerEmail());
+        consume(accountKey(email), loginPerAccount());
+    }
+
+    public void checkOtpRequest(String email, String type) {
+        String key = "OTP_REQUEST:" + type.toUpperCase() + ":" + normalize(email);
+        if (!consume(key, Bandwidth.of(otpRequestPerEmailCapacity, otpRequestPerEmailPeriod))) {
+            throw new TooManyRequestsException(ErrorCodes.TOO_MANY_REQUESTS, TOO_MANY_OTP_REQUESTS);
+        }
+    }
+
+    private static String loginKey(String email) {
+        return "LOGIN:EMAIL:" + currentClientIp() + ":" + normalize(email);
+    }
+
+    private static String accountKey(String email) {
+        return "LOGIN:ACCOUNT:" + normalize(email);
+    }
+
+    private Bandwidth loginPerEmail() {
+        return Bandwidth.of(loginPerEmailCapacity, loginPerEmailPeriod);
+    }
+
+    private Bandwidth loginPerAccount() {
+        return Bandwidth.of(loginPerAccountCapacity, loginPerAccountPeriod);
+    }
+
+    /**
+     * Address of the client of the current request, as resolved by the {@code RemoteIpValve}.
+     */
+    private static String currentClientIp() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest().getRemoteAddr()
+                : "";
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.toLowerCase();
+    }
+
+    private boolean consume(String key, Bandwidth bandwidth) {
+        return !enabled || rateLimiter.tryConsume(key, bandwidth);
+    }
+}
@@ -0,0 +1,37 @@
+package com.mongodb.kitchensink.service;
+
+import java.time.Duration;
+
+/**
+ * Token-bucket rate limiter keyed by an arbitrary string (client IP, email, ...).
+ * <p>
+ * {@link InMemoryRateLimiter} keeps buckets per JVM; {@link RedisRateLimiter} shares them
+ * across instances and is selected with {@code app.rate-limit.store=redis}.
+ * </p>
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes one token from the bucket for {@code key}, creating a full bucket on first use.
+     *
+     * @return {@code false} when the bucket is empty and the call must be rejected
+     */
+    boolean tryConsume(String key, Bandwidth bandwidth);
+
+    /**
+     * Checks the bucket for {@code key} without taking a token, for limits that only count some outcomes.
+     *
+     * @return {@code false} when the bucket is empty
+     */
+    boolean hasToken(String key, Bandwidth bandwidth);
+
+    /**
+     * Bucket size and the time it takes to refill an empty bucket completely.
+     */
+    record Bandwidth(int capacity, Duration refillPeriod) {
+
+        public static Bandwidth of(int capacity, long refillPeriodSeconds) {
+            return new Bandwidth(capacity, Duration.ofSeconds(refillPeriodSeconds));
+        }
+    }
+}
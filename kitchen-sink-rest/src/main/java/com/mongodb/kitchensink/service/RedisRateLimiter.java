@@ -0,0 +1,101 @@
+package com.mongodb.kitchensink.service;
+
+import com.mongodb.kitchensink.config.RedisKeyspace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.List;
+
+/**
+ * Token buckets stored as Redis hashes so every instance behind the load balancer shares them.
+ * Refill and consume run in one Lua script, so concurrent callers cannot both take the last token.
+ */
+@Service
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "redis")
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisRateLimiter.class);
+
+    static final RedisScript<Long> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local period = tonumber(ARGV[2])
+            local now = tonumber(ARGV[3])
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1])
+            local ts = tonumber(state[2])
+            if tokens == nil then
+              tokens = capacity
+              ts = now
+            end
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * capacity / period)
+            local allowed = 0
+            if tokens >= 1 then
+              tokens = tokens - 1
+              allowed = 1
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], period)
+            return allowed
+            """, Long.class);
+
+    static final RedisScript<Long> TOKEN_PEEK_SCRIPT = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local period = tonumber(ARGV[2])
+            local now = tonumber(ARGV[3])
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1])
+            if tokens == nil then
+              return 1
+            end
+            tokens = math.min(capacity, tokens + math.max(0, now - tonumber(state[2])) * capacity / period)
+            if tokens >= 1 then
+              return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Clock clock;
+
+    @Autowired
+    public RedisRateLimiter(StringRedisTemplate redisTemplate) {
+        this(redisTemplate, Clock.systemUTC());
+    }
+
+    RedisRateLimiter(StringRedisTemplate redisTemplate, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean tryConsume(String key, Bandwidth bandwidth) {
+        return run(TOKEN_BUCKET_SCRIPT, key, bandwidth);
+    }
+
+    @Override
+    public boolean hasToken(String key, Bandwidth bandwidth) {
+        return run(TOKEN_PEEK_SCRIPT, key, bandwidth);
+    }
+
+    private boolean run(RedisScript<Long> script, String key, Bandwidth bandwidth) {
+        try {
+            Long allowed = redisTemplate.execute(script, List.of(RedisKeyspace.RATE_LIMIT.key(key)),
+                    String.valueOf(bandwidth.capacity()),
+                    String.valueOf(bandwidth.refillPeriod().toMillis()),
+                    String.valueOf(clock.millis()));
+            return allowed == null || allowed == 1L;
+        } catch (DataAccessException e) {
+            // Fail open: an unavailable limiter must not take the login endpoints down with it
+            log.warn("Rate limiter unavailable, allowing request for {}", key, e);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.mongodb.kitchensink.service;
+
+import com.github.javafaker.Faker;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.kitchensink.model.Address;
+import com.mongodb.kitchensink.model.Profile;
+import com.mongodb.kitchensink.model.User;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Generates synthetic users and profiles in bulk, for demo data and for perf environments with millions of users.
+ * <p>
+ * User {@code i} (1-based) is {@code <prefix><i>@example.com} with username {@code <prefix><i>}. The shared
+ * password is hashed once. Names and addresses are picked per user from pools built by a seeded Faker, so the
+ * same plan always produces the same data, whatever the number of producers. Producers build batches of
+ * {@code app.seed.batch-size} users in parallel, convert them with the application's mapping and insert them
+ * with unordered {@code insertMany}. Users and profiles that already exist are skipped independently, so an
+ * interrupted run can be resumed, even one that stopped between a batch's users and its profiles, and a
+ * population can be grown by re-running with a larger count.
+ * </p>
+ */
+@Service
+public class SeedDataGeneratorService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeedDataGeneratorService.class);
+
+    private static final String EMAIL_DOMAIN = "@example.com";
+    /** Profile names are validated as letters and spaces. */
+    private static final Pattern LETTERS = Pattern.compile("^[A-Za-z ]+$");
+
+    private final MongoTemplate mongoTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${app.seed.batch-size:1000}")
+    private int batchSize = 1000;
+
+    @Value("${app.seed.producers:0}")
+    private int producers = 0;
+
+    /**
+     * @param prefix     email and username prefix
+     * @param users      number of users, numbered from 1
+     * @param admins     how many of the first users get the ADMIN role instead of USER
+     * @param password   password shared by every user
+     * @param randomSeed seed for names and addresses
+     */
+    public record SeedPlan(String prefix, int users, int admins, String password, long randomSeed) {
+
+        public String email(int index) {
+            return username(index) + EMAIL_DOMAIN;
+        }
+
+        public String username(int index) {
+            return prefix + index;
+        }
+    }
+
+    /**
+     * @param inserted         users inserted
+     * @param skipped          users that already existed
+     * @param profilesInserted profiles inserted, which after an interrupted run can exceed {@code inserted}
+     */
+    public record SeedResult(long inserted, long skipped, long profilesInserted, Duration elapsed) {
+
+        /**
+         * @return users plus profiles written per second
+         */
+        public double documentsPerSecond() {
+            double seconds = elapsed.toNanos() / 1e9;
+            return seconds > 0 ? (inserted + profilesInserted) / seconds : 0;
+        }
+    }
+
+    /**
+     * Documents written by one batch.
+     */
+    record BatchResult(int users, int profiles) {
+    }
+
+    /**
+     * Value pools a {@link SeedPlan} draws from, for callers that want to search for generated data.
+     */
+    public record Pools(List<String> firstNames, List<String> lastNames, List<String> streets,
+                        List<String> cities, List<String> states, List<String> countries) {
+    }
+
+    public SeedDataGeneratorService(MongoTemplate mongoTemplate, PasswordEncoder passwordEncoder) {
+        this.mongoTemplate = mongoTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    public static Pools pools(long randomSeed) {
+        Faker faker = new Faker(Locale.ENGLISH, new Random(randomSeed));
+        return new Pools(
+                distinct(500, () -> faker.name().firstName(), true),
+                distinct(500, () -> faker.name().lastName(), true),
+                distinct(1000, () -> faker.address().streetAddress(), false),
+                distinct(1000, () -> faker.address().city(), false),
+                distinct(50, () -> faker.address().state(), false),
+                distinct(100, () -> faker.address().country(), false));
+    }
+
+    public SeedResult generate(SeedPlan plan) {
+        long start = System.nanoTime();
+        String passwordHash = passwordEncoder.encode(plan.password());
+        Pools pools = pools(plan.randomSeed());
+        Instant createdFrom = Instant.now().minusSeconds(plan.users());
+        int batches = (plan.users() + batchSize - 1) / batchSize;
+        int threads = Math.min(batches, producers > 0 ? producers : Runtime.getRuntime().availableProcessors());
+
+        AtomicInteger nextBatch = new AtomicInteger();
+        AtomicLong inserted = new AtomicLong();
+        AtomicLong skipped = new AtomicLong();
+        AtomicLong profilesInserted = new AtomicLong();
+        AtomicInteger completedBatches = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    for (int batch = nextBatch.getAndIncrement(); batch < batches; batch = nextBatch.getAndIncrement()) {
+                        int from = batch * batchSize + 1;
+                        int to = Math.min(plan.users(), from + batchSize - 1);
+                        BatchResult written = insertBatch(plan, pools, passwordHash, createdFrom, from, to);
+                        inserted.addAndGet(written.users());
+                        skipped.addAndGet(to - from + 1 - written.users());
+                        profilesInserted.addAndGet(written.profiles());
+                        logProgress(completedBatches.incrementAndGet(), batches, inserted.get() + profilesInserted.get(), start);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Seeding interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Seeding failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        SeedResult result = new SeedResult(inserted.get(), skipped.get(), profilesInserted.get(),
+                Duration.ofNanos(System.nanoTime() - start));
+        log.info("Seeded {} users ({} already present) and {} profiles in {} ms with {} producers, {} docs/s",
+                result.inserted(), result.skipped(), result.profilesInserted(), result.elapsed().toMillis(), threads,
+                Math.round(result.documentsPerSecond()));
+        return result;
+    }
+
+    /**
+     * Inserts the whole batch into both collections. Profiles are not filtered by which users were new: a run
+     * interrupted after a batch's users leaves them without profiles, and the unique email index on profiles
+     * already skips the ones that exist.
+     */
+    BatchResult insertBatch(SeedPlan plan, Pools pools, String passwordHash, Instant createdFrom, int from, int to) {
+        List<Document> users = new ArrayList<>(to - from + 1);
+        List<Document> profiles = new ArrayList<>(to - from + 1);
+        for (int index = from; index <= to; index++) {
+            users.add(toDocument(user(plan, index, passwordHash, createdFrom)));
+            profiles.add(toDocument(profile(plan, pools, index)));
+        }
+
+        int newUsers = users.size() - insertSkippingDuplicates(User.class, users);
+        int newProfiles = profiles.size() - insertSkippingDuplicates(Profile.class, profiles);
+        return new BatchResult(newUsers, newProfiles);
+    }
+
+    /**
+     * @return how many documents were skipped as duplicates
+     */
+    private int insertSkippingDuplicates(Class<?> entityClass, List<Document> documents) {
+        try {
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(entityClass))
+                    .insertMany(documents, new InsertManyOptions().ordered(false));
+            return 0;
+        } catch (MongoBulkWriteException e) {
+            for (BulkWriteError error : e.getWriteErrors()) {
+                if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+            return e.getWriteErrors().size();
+        }
+    }
+
+    private static User user(SeedPlan plan, int index, String passwordHash, Instant createdFrom) {
+        User user = User.builder()
+                .email(plan.email(index))
+                .username(plan.username(index))
+                .passwordHash(passwordHash)
+                .roles(List.of(index <= plan.admins() ? "ADMIN" : "USER"))
+                .active(true)
+                .createdAt(createdFrom.plusSeconds(index))
+                .accountVerificationPending(false)
+                .isFirstLogin(false)
+                .twoFactorEnabled(false)
+                .build();
+        // What save() would have set; a null version makes the next save() an insert
+        user.setVersion(0L);
+        return user;
+    }
+
+    private static Profile profile(SeedPlan plan, Pools pools, int index) {
+        SplittableRandom random = new SplittableRandom(plan.randomSeed() * 0x9E3779B97F4A7C15L + index);
+        Address address = new Address();
+        address.setStreet(pick(pools.streets(), random));
+        address.setCity(pick(pools.cities(), random));
+        address.setState(pick(pools.states(), random));
+        address.setCountry(pick(pools.countries(), random));
+        address.setPincode(String.format("%06d", random.nextInt(1_000_000)));
+
+        return Profile.builder()
+                .firstName(pick(pools.firstNames(), random))
+                .lastName(pick(pools.lastNames(), random))
+                .email(plan.email(index))
+                .username(plan.username(index))
+                .phoneNumber(String.format("9%09d", index))
+                .address(address)
+                .build();
+    }
+
+    private Document toDocument(Object entity) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(entity, document);
+        return document;
+    }
+
+    private static String pick(List<String> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static List<String> distinct(int size, Supplier<String> generator, boolean lettersOnly) {
+        Set<String> values = new LinkedHashSet<>();
+        for (int attempt = 0; values.size() < size && attempt < size * 20; attempt++) {
+            String value = generator.get();
+            if (!lettersOnly || LETTERS.matcher(value).matches()) {
+                values.add(value);
+            }
+        }
+        return List.copyOf(values);
+    }
+
+    private static void logProgress(int completed, int batches, long documents, long start) {
+        if (batches >= 10 && completed % (batches / 10) == 0) {
+            long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            log.info("Seeding {}% ({} documents, {} docs/s)", completed * 100 / batches, documents, documents * 1000 / millis);
+        }
+    }
+}
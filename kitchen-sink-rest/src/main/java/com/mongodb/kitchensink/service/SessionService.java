@@ -1,76 +1,52 @@
 package com.mongodb.kitchensink.service;
 
+import com.mongodb.kitchensink.config.RedisKeyspace;
 import com.mongodb.kitchensink.constants.ErrorCodes;
 import com.mongodb.kitchensink.constants.RedisValue;
 import com.mongodb.kitchensink.exception.JwtExpiredException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.security.SecureRandom;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 
-import static com.mongodb.kitchensink.constants.AppContants.ACTIVE_ACCESS_TOKEN;
-import static com.mongodb.kitchensink.constants.AppContants.REFRESH_TOKEN;
 import static com.mongodb.kitchensink.constants.ErrorMessageConstants.TOKEN_EXPIRED;
 
 @Service
 public class SessionService {
-    @Value("${app.otp.length}")
-    private int otpLength;
-
-    @Value("${app.otp.expiration-seconds}")
-    private long otpExpirationSeconds;
     @Value("${jwt.refresh-expiration-seconds}")
     private long refreshTokenExpirationSeconds;
 
 
+    private static final Logger log = LoggerFactory.getLogger(SessionService.class);
+
     private final RedisTemplate<String, Object> redisTemplate;
+    private final SessionStoreCircuitBreaker circuitBreaker;
 
 
-    public SessionService(RedisTemplate<String, Object> redisTemplate) {
+    public SessionService(RedisTemplate<String, Object> redisTemplate, SessionStoreCircuitBreaker circuitBreaker) {
         this.redisTemplate = redisTemplate;
-    }
-    private final SecureRandom secureRandom = new SecureRandom();
-
-
-
-    public String generateOtp(String email) {
-        String redisKey = "OTP:" + email;
-        RedisValue<String> existing = (RedisValue<String>) redisTemplate.opsForValue().get(redisKey);
-
-        if (existing != null && !existing.isExpired()) {
-            return existing.getValue();
-        }
-
-        String otp = String.format("%06d", secureRandom.nextInt(1_000_000));
-        RedisValue<String> value = new RedisValue<>(otp, otpExpirationSeconds);
-        redisTemplate.opsForValue().set(redisKey, value, Duration.ofSeconds(otpExpirationSeconds));
-        return otp;
+        this.circuitBreaker = circuitBreaker;
     }
 
-    public boolean validateOtp(String email, String otp) {
-        String redisKey = "OTP:" + email;
-        RedisValue<String> value = (RedisValue<String>) redisTemplate.opsForValue().get(redisKey);
-
-        if (value == null || value.isExpired()) return false;
-        return value.getValue().equals(otp);
-    }
     public void storeRefreshToken(String email, String refreshToken, long expirationSeconds) {
         RedisValue<String> sessionValue = new RedisValue<>(refreshToken, expirationSeconds);
-        String key = REFRESH_TOKEN+":" + email;
+        String key = RedisKeyspace.REFRESH_TOKEN.key(email);
         redisTemplate.opsForValue().set(key, sessionValue, Duration.ofSeconds(expirationSeconds));
     }
     public void storeAccessToken(String email, String accessToken, long expirationSeconds) {
         RedisValue<String> sessionValue = new RedisValue<>(accessToken, expirationSeconds);
-        String key = ACTIVE_ACCESS_TOKEN+":" + email;
+        String key = RedisKeyspace.ACCESS_TOKEN.key(email);
         redisTemplate.opsForValue().set(key, sessionValue, Duration.ofSeconds(expirationSeconds));
     }
     public boolean validateAndConsumeRefreshToken(String email, String refreshToken) {
 
-        String redisKey = REFRESH_TOKEN+":" + email;
+        String redisKey = RedisKeyspace.REFRESH_TOKEN.key(email);
         RedisValue<String> storedValue = (RedisValue<String>) redisTemplate.opsForValue().get(redisKey);
         if (storedValue == null || storedValue.isExpired()) {
             return false;
@@ -83,8 +59,8 @@ public class SessionService {
         return false;
     }
     public void invalidateSession(String email) {
-        String keyRefreshToken =REFRESH_TOKEN+":" + email;
-        String keyAccessToken = ACTIVE_ACCESS_TOKEN+":" + email;
+        String keyRefreshToken =RedisKeyspace.REFRESH_TOKEN.key(email);
+        String keyAccessToken = RedisKeyspace.ACCESS_TOKEN.key(email);
         if(this.doesSessionExist(email)) {
             redisTemplate.delete(List.of(keyRefreshToken,keyAccessToken));
         }
@@ -93,13 +69,13 @@ public class SessionService {
         if (accessToken == null) {
             return false;
         }
-        String key = ACTIVE_ACCESS_TOKEN + ":" + email;
+        String key = RedisKeyspace.ACCESS_TOKEN.key(email);
         Object storedToken = redisTemplate.opsForValue().get(key);
         return accessToken.equals(storedToken);
     }
     public void validateAndRefreshExistingSessionExpiry(String email, long accessTokenExpirationSeconds) {
         if(doesSessionExist(email)){
-            String key = ACTIVE_ACCESS_TOKEN+":" + email;
+            String key = RedisKeyspace.ACCESS_TOKEN.key(email);
             RedisValue<String> sessionValue = (RedisValue<String>) redisTemplate.opsForValue().get(key);
             if (sessionValue != null) {
                 storeAccessToken(email,sessionValue.getValue(), accessTokenExpirationSeconds);
@@ -113,7 +89,7 @@ public class SessionService {
     }
     public boolean  doesSessionExist(String email) {
         try {
-            String key = ACTIVE_ACCESS_TOKEN+":" + email;
+            String key = RedisKeyspace.ACCESS_TOKEN.key(email);
             RedisValue<String> sessionValue = (RedisValue<String>) redisTemplate.opsForValue().get(key);
             if (sessionValue == null) {
                 return false;
@@ -127,8 +103,35 @@ public class SessionService {
         }
         return true;
     }
+    /**
+     * Checks that {@code accessToken} is the user's current session token and slides the session
+     * expiry. The caller must already have verified the token's signature and expiry: while Redis is
+     * failing, that check alone is trusted for a bounded grace window (see {@link SessionStoreCircuitBreaker}).
+     */
+    public boolean validateAndRefreshSession(String email, String accessToken, long accessTokenExpirationSeconds) {
+        if (circuitBreaker.allowRequest()) {
+            try {
+                String storedAccessToken = getTokenForExistingSession(email);
+                boolean valid = storedAccessToken != null && storedAccessToken.equals(accessToken);
+                if (valid) {
+                    storeAccessToken(email, storedAccessToken, accessTokenExpirationSeconds);
+                }
+                circuitBreaker.recordSuccess();
+                return valid;
+            } catch (DataAccessException e) {
+                circuitBreaker.recordFailure();
+                log.warn("Session store unavailable while validating session for {}", email, e);
+            } catch (RuntimeException e) {
+                // Redis answered but the entry was unreadable (serialization, unexpected type): not an outage,
+                // but a half-open probe must be handed back or no request would ever probe again
+                circuitBreaker.releaseProbe();
+                throw e;
+            }
+        }
+        return circuitBreaker.acceptDegraded();
+    }
     public String getTokenForExistingSession(String email) {
-        String key = ACTIVE_ACCESS_TOKEN+":" + email;
+        String key = RedisKeyspace.ACCESS_TOKEN.key(email);
         RedisValue<String> sessionValue = (RedisValue<String>) redisTemplate.opsForValue().get(key);
         if (sessionValue == null) {
             return null;
@@ -0,0 +1,147 @@
+package com.mongodb.kitchensink.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker for the Redis session store.
+ * <p>
+ * After {@code failure-threshold} consecutive failures the circuit opens and session lookups are
+ * skipped for {@code open-seconds}; then a single probe is let through, which closes the circuit on
+ * success or reopens it on failure. While lookups fail or are skipped, {@link #acceptDegraded()}
+ * allows JWT-signature-only validation, but only until {@code degraded-grace-seconds} after the
+ * first failure, so a long outage still locks clients out rather than ignoring logouts forever.
+ * </p>
+ */
+@Component
+public class SessionStoreCircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionStoreCircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final LongSupplier nanoClock;
+    private final Counter degradedAccepted;
+    private final Counter degradedRejected;
+
+    @Value("${app.session.store.circuit.failure-threshold:5}")
+    private int failureThreshold = 5;
+
+    @Value("${app.session.store.circuit.open-seconds:10}")
+    private long openSeconds = 10;
+
+    @Value("${app.session.store.degraded-grace-seconds:300}")
+    private long degradedGraceSeconds = 300;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private long firstFailureAt;
+    private boolean failing;
+    private boolean probeInFlight;
+
+    @Autowired
+    public SessionStoreCircuitBreaker(MeterRegistry meterRegistry) {
+        this(meterRegistry, System::nanoTime);
+    }
+
+    SessionStoreCircuitBreaker(MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        Gauge.builder("session.store.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("Session store circuit: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+        this.degradedAccepted = Counter.builder("session.validation.degraded")
+                .tag("result", "accepted")
+                .description("Requests authenticated by JWT signature only because the session store failed")
+                .register(meterRegistry);
+        this.degradedRejected = Counter.builder("session.validation.degraded")
+                .tag("result", "rejected")
+                .description("Requests rejected because the session store failed beyond the grace window")
+                .register(meterRegistry);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return whether the session store should be called; in the half-open state only one caller
+     * at a time gets {@code true}
+     */
+    public synchronized boolean allowRequest() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (nanoClock.getAsLong() - openedAt < TimeUnit.SECONDS.toNanos(openSeconds)) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            log.info("Session store recovered, closing circuit");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        failing = false;
+        probeInFlight = false;
+    }
+
+    /**
+     * Ends a call that neither proved nor disproved that the store is up, such as one that read an
+     * entry it could not deserialise. A half-open circuit stays half-open and lets the next caller probe.
+     */
+    public synchronized void releaseProbe() {
+        probeInFlight = false;
+    }
+
+    public synchronized void recordFailure() {
+        long now = nanoClock.getAsLong();
+        if (!failing) {
+            failing = true;
+            firstFailureAt = now;
+        }
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                log.warn("Session store failing, opening circuit for {}s", openSeconds);
+            }
+            state = State.OPEN;
+            openedAt = now;
+            probeInFlight = false;
+        }
+    }
+
+    /**
+     * Decides whether a request whose JWT already passed signature and expiry checks may proceed
+     * without a session lookup.
+     */
+    public boolean acceptDegraded() {
+        boolean accepted;
+        synchronized (this) {
+            accepted = failing && nanoClock.getAsLong() - firstFailureAt <= TimeUnit.SECONDS.toNanos(degradedGraceSeconds);
+        }
+        (accepted ? degradedAccepted : degradedRejected).increment();
+        return accepted;
+    }
+}
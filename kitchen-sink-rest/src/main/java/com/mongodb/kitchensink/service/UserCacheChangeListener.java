@@ -0,0 +1,78 @@
+package com.mongodb.kitchensink.service;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import org.bson.BsonObjectId;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached user lookups for writes this service did not make itself (data loaders, ops
+ * scripts, other services). Every instance tails the stream, so nothing is broadcast and each one
+ * only evicts its own near cache. The Redis cache is shared, so it is evicted only where
+ * {@code app.change-streams.evict-shared-cache} is on, which should be a single instance.
+ */
+@Component
+public class UserCacheChangeListener implements MongoChangeListener {
+
+    private final UserCacheEvictor userCacheEvictor;
+    private final boolean evictSharedCache;
+
+    public UserCacheChangeListener(UserCacheEvictor userCacheEvictor,
+                                   @Value("${app.change-streams.evict-shared-cache:false}") boolean evictSharedCache) {
+        this.userCacheEvictor = userCacheEvictor;
+        this.evictSharedCache = evictSharedCache;
+    }
+
+    @Override
+    public boolean supports(String collection) {
+        return "users".equals(collection) || "profiles".equals(collection);
+    }
+
+    @Override
+    public void onChange(String collection, ChangeStreamDocument<Document> event) {
+        OperationType type = event.getOperationType();
+        if (type == OperationType.DROP || type == OperationType.RENAME || type == OperationType.INVALIDATE) {
+            clearAll();
+            return;
+        }
+        Document document = event.getFullDocument();
+        String email = document != null ? document.getString("email") : null;
+        // Profiles are only cached inside the user-by-email entry
+        String id = "users".equals(collection) ? documentId(event, document) : null;
+        // A delete carries only the _id, so the email-keyed entries of a deleted user expire by TTL
+        // unless the delete came through UserService, which evicts them itself
+        if (evictSharedCache) {
+            userCacheEvictor.evictUserWithoutBroadcast(email, id);
+        } else {
+            userCacheEvictor.evictUserLocally(email, id);
+        }
+    }
+
+    @Override
+    public void onStreamOpened(String collection, boolean resumed) {
+        if (!resumed) {
+            clearAll();
+        }
+    }
+
+    private void clearAll() {
+        if (evictSharedCache) {
+            userCacheEvictor.clearAll();
+        } else {
+            userCacheEvictor.clearAllLocally();
+        }
+    }
+
+    private static String documentId(ChangeStreamDocument<Document> event, Document document) {
+        Object id = document != null ? document.get("_id") : null;
+        if (id == null && event.getDocumentKey() != null) {
+            BsonValue key = event.getDocumentKey().get("_id");
+            id = key instanceof BsonObjectId objectId ? objectId.getValue() : key != null && key.isString() ? key.asString().getValue() : null;
+        }
+        return id instanceof ObjectId objectId ? objectId.toHexString() : id != null ? id.toString() : null;
+    }
+}
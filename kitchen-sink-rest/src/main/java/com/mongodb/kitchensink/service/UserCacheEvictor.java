@@ -0,0 +1,123 @@
+package com.mongodb.kitchensink.service;
+
+import com.mongodb.kitchensink.config.CacheConfig;
+import com.mongodb.kitchensink.config.TwoLevelCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Evicts a user's cached lookups after a write, on this instance and, through
+ * {@link CacheInvalidationBus}, on every other one. Eviction runs after the Mongo write has
+ * succeeded, and a cache failure is logged rather than failing a write that has already happened.
+ */
+@Component
+public class UserCacheEvictor {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCacheEvictor.class);
+
+    private static final List<String> USER_CACHES = List.of(CacheConfig.USER_BY_EMAIL, CacheConfig.ROLES_BY_EMAIL, CacheConfig.USER_BY_ID);
+
+    private final CacheManager cacheManager;
+    private final CacheInvalidationBus invalidationBus;
+
+    public UserCacheEvictor(CacheManager cacheManager, CacheInvalidationBus invalidationBus) {
+        this.cacheManager = cacheManager;
+        this.invalidationBus = invalidationBus;
+    }
+
+    /**
+     * @param email   the user's email, in any case
+     * @param id      the user's id, or {@code null} when the caller does not have it loaded
+     * @param version the user's version after the write, or {@code null} when unknown or deleted
+     */
+    public void evictUser(String email, String id, Long version) {
+        evictUserWithoutBroadcast(email, id);
+        if (email != null) {
+            invalidationBus.publish(CacheInvalidationBus.USER_EMAIL, email.toLowerCase(), version);
+        }
+        if (id != null) {
+            invalidationBus.publish(CacheInvalidationBus.USER_ID, id, version);
+        }
+    }
+
+    /**
+     * Evicts both cache levels without notifying other instances, for changes the other instances
+     * see themselves, such as the change-stream listener with {@code app.change-streams.evict-shared-cache} on.
+     */
+    public void evictUserWithoutBroadcast(String email, String id) {
+        if (email != null) {
+            String key = email.toLowerCase();
+            evict(CacheConfig.USER_BY_EMAIL, key);
+            evict(CacheConfig.ROLES_BY_EMAIL, key);
+        }
+        if (id != null) {
+            evict(CacheConfig.USER_BY_ID, id);
+        }
+    }
+
+    /**
+     * Evicts only this instance's near caches, leaving the Redis entries shared with the other
+     * instances alone.
+     */
+    public void evictUserLocally(String email, String id) {
+        if (email != null) {
+            String key = email.toLowerCase();
+            evictLocal(CacheConfig.USER_BY_EMAIL, key);
+            evictLocal(CacheConfig.ROLES_BY_EMAIL, key);
+        }
+        if (id != null) {
+            evictLocal(CacheConfig.USER_BY_ID, id);
+        }
+    }
+
+    /**
+     * Drops every cached user lookup, e.g. after changes may have been missed.
+     */
+    public void clearAll() {
+        for (String cacheName : USER_CACHES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache == null) {
+                continue;
+            }
+            try {
+                cache.clear();
+            } catch (RuntimeException e) {
+                log.warn("Failed to clear cache {}", cacheName, e);
+            }
+        }
+    }
+
+    /**
+     * Drops every user lookup from this instance's near caches only.
+     */
+    public void clearAllLocally() {
+        for (String cacheName : USER_CACHES) {
+            if (cacheManager.getCache(cacheName) instanceof TwoLevelCache cache) {
+                cache.clearLocal();
+            }
+        }
+    }
+
+    private void evictLocal(String cacheName, String key) {
+        if (cacheManager.getCache(cacheName) instanceof TwoLevelCache cache) {
+            cache.evictLocal(key);
+        }
+    }
+
+    private void evict(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.evict(key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict {} from cache {}", key, cacheName, e);
+        }
+    }
+}
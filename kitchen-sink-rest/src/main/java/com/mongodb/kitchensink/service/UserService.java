@@ -1,23 +1,30 @@
 package com.mongodb.kitchensink.service;
 
+import com.mongodb.kitchensink.config.CacheConfig;
 import com.mongodb.kitchensink.constants.ErrorCodes;
 import com.mongodb.kitchensink.constants.ErrorMessageConstants;
 import com.mongodb.kitchensink.constants.UserAccountType;
 import com.mongodb.kitchensink.dto.*;
 import com.mongodb.kitchensink.exception.AccountVerificationException;
+import com.mongodb.kitchensink.exception.ConcurrentUpdateException;
 import com.mongodb.kitchensink.exception.UserNotFoundException;
 import com.mongodb.kitchensink.mapper.ProfileMapper;
 import com.mongodb.kitchensink.mapper.UserMapper;
 import com.mongodb.kitchensink.model.Address;
 import com.mongodb.kitchensink.model.Profile;
 import com.mongodb.kitchensink.model.User;
+import com.mongodb.kitchensink.projection.ProfileSummary;
+import com.mongodb.kitchensink.projection.UserSummary;
 import com.mongodb.kitchensink.repository.ProfileRepository;
 import com.mongodb.kitchensink.repository.UserRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -26,14 +33,24 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.mongodb.kitchensink.constants.AppContants.ACCOUNT_VERIFICATION;
 import static com.mongodb.kitchensink.constants.SuccessMessageConstants.*;
 
+/**
+ * User and profile reads and writes. The read paths are observed as {@value #QUERY_OBSERVATION},
+ * tagged with the query.
+ */
 @Service
 public class UserService {
+    static final String QUERY_OBSERVATION = "user.query";
+
     private  final OtpService otpService;
     private final UserRepository userRepository;
     private final ProfileRepository profileRepository;
@@ -42,7 +59,8 @@ public class UserService {
     private final UserMapper userMapper;
     private final EmailService emailService;
     private final UsernameGeneratorService usernameGeneratorService;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final UserCacheEvictor userCacheEvictor;
+    private final ObservationRegistry observationRegistry;
     @Value("${otp.accountVerification.ttlSeconds}")
     private long accountVerificationTtl;
     @Autowired
@@ -52,7 +70,8 @@ public class UserService {
                        ProfileMapper profileMapper,
                        UserMapper userMapper, UsernameGeneratorService usernameGeneratorService,
                        EmailService emailService, EmailService emailService1,
-                       RedisTemplate<String, Object> redisTemplate) {
+                       UserCacheEvictor userCacheEvictor,
+                       ObservationRegistry observationRegistry) {
         this.otpService = otpService;
         this.userRepository = userRepository;
         this.profileRepository = profileRepository;
@@ -61,7 +80,8 @@ public class UserService {
         this.userMapper = userMapper;
         this.usernameGeneratorService = usernameGeneratorService;
         this.emailService = emailService1;
-        this.redisTemplate = redisTemplate;
+        this.userCacheEvictor = userCacheEvictor;
+        this.observationRegistry = observationRegistry;
     }
 
     public RegistrationResponse registerUser(RegistrationRequest request, Authentication authentication) {
@@ -98,24 +118,23 @@ public class UserService {
         Profile profile = profileMapper.toProfile(request);
         profile.setUsername(user.getUsername());
         profileRepository.save(profile);
-        String otp  = otpService.generateOtp(request.getEmail(), ACCOUNT_VERIFICATION, accountVerificationTtl);
-        emailService.sendEmail(
-                user.getEmail(),
-                ACCOUNT_VERIFICATION_SUBJECT,
-                String.format(ACCOUNT_VERIFICATION_BODY_TEMPLATE,profile.getFirstName()+" "+profile.getLastName(), otp));
+        // The account exists whether or not the mail goes out; a failed code is cleared so it can be requested again at once
+        otpService.generateOtp(request.getEmail(), ACCOUNT_VERIFICATION, accountVerificationTtl).ifPresent(otp ->
+                otpService.clearIfUndelivered(emailService.sendEmail(
+                        user.getEmail(),
+                        ACCOUNT_VERIFICATION_SUBJECT,
+                        String.format(ACCOUNT_VERIFICATION_BODY_TEMPLATE,profile.getFirstName()+" "+profile.getLastName(), otp)),
+                        request.getEmail(), ACCOUNT_VERIFICATION));
 
         return new RegistrationResponse(true, ACCOUNT_CREATED_SUCCESSFULLY);
     }
 
     public Page<UserDto> getAllUsers(Pageable pageable) {
-        return userRepository.findAll(pageable)
-                .map(user -> {
-                    Profile profile = profileRepository.findByEmail(user.getEmail())
-                            .orElse(null);
-                    UserDto dto = userMapper.toDto(user);
-                    dto.setProfile(profile != null ? userMapper.toDto(profile) : null);
-                    return dto;
-                });
+        return query("all", () -> {
+            Page<UserSummary> users = userRepository.findAllBy(pageable);
+            Map<String, ProfileSummary> profiles = profilesByEmail(users.getContent());
+            return users.map(user -> toUserDto(user, profiles.get(user.email())));
+        });
     }
     public List<UserDto> getAllUsersByEmailIds(List<String> emailIds) {
         if (emailIds == null || emailIds.isEmpty()) {
@@ -123,37 +142,34 @@ public class UserService {
         }
 
         ArrayList<String> emaildIdSLowerCase = emailIds.stream().map(String::toLowerCase).collect(Collectors.toCollection(ArrayList::new));
-        List<User> users = userRepository.findByEmailIn(emaildIdSLowerCase);
-        List<UserDto> userDtos = users.stream()
-                .map(user -> {
-                    Optional<Profile> profileOptional = profileRepository.findByEmail(user.getEmail());
-                    UserDto dto = userMapper.toDto(user);
-                    profileOptional.ifPresent(profile -> dto.setProfile(userMapper.toDto(profile)));
-                    return dto;
-                })
-                .collect(Collectors.toList());
-
-        return userDtos;
+        return query("by-emails", () -> {
+            List<UserSummary> users = userRepository.findSummariesByEmailIn(emaildIdSLowerCase);
+            Map<String, ProfileSummary> profiles = profilesByEmail(users);
+            return users.stream()
+                    .map(user -> toUserDto(user, profiles.get(user.email())))
+                    .collect(Collectors.toList());
+        });
     }
 
+    @Cacheable(cacheNames = CacheConfig.USER_BY_ID, key = "#id", condition = "#id != null")
     public UserDto getUserById(String id) {
-        User user = userRepository.findById(id)
+        User user = query("by-id", () -> userRepository.findById(id))
                 .orElseThrow(() -> new  UserNotFoundException(ErrorCodes.RESOURCE_NOT_FOUND, ErrorMessageConstants.ACCOUNT_NOT_FOUND_ID));
         return userMapper.toDto(user);
     }
 
-
+    @Cacheable(cacheNames = CacheConfig.USER_BY_EMAIL, key = "#email.toLowerCase()", condition = "#email != null && !#email.isEmpty()")
     public UserDto getUserByEmail(String email) {
         if(email == null || email.isEmpty()) {
             throw new UserNotFoundException(ErrorCodes.RESOURCE_NOT_FOUND, ErrorMessageConstants.ACCOUNT_NOT_FOUND_EMAIL);
         }
-        email = email.toLowerCase();
-        User user = userRepository.findByEmail(email)
+        String lowerCaseEmail = email.toLowerCase();
+        User user = query("by-email", () -> userRepository.findByEmail(lowerCaseEmail))
                 .orElseThrow(() -> new UserNotFoundException(
                         ErrorCodes.RESOURCE_NOT_FOUND,
                         ErrorMessageConstants.ACCOUNT_NOT_FOUND_EMAIL
                 ));
-        Profile profile = profileRepository.findByEmail(user.getEmail()).orElse(null);
+        Profile profile = query("profile-by-email", () -> profileRepository.findByEmail(user.getEmail())).orElse(null);
         UserDto dto = userMapper.toDto(user);
         dto.setProfile(profile != null ? userMapper.toDto(profile) : null);
 
@@ -169,9 +185,6 @@ public class UserService {
 
         return user;
     }
-    public void saveUser(User user) {
-        userRepository.save(user);
-    }
     public User getUserByEmailForVerification(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException(
@@ -180,28 +193,50 @@ public class UserService {
                 ));
     }
     public Page<UserDto> getUsersByCity(String city, Pageable pageable) {
-        return profileRepository.findByAddress_CityContainingIgnoreCase(city, pageable)
-                .map(profile -> {
-                    User user = userRepository.findByEmail(profile.getEmail())
-                            .orElseThrow(() -> new UserNotFoundException(ErrorCodes.RESOURCE_NOT_FOUND, ErrorMessageConstants.USERS_NOT_FOUND_BY_CITY));
-                    return getUserDto(profile, user);
-                });
+        Page<ProfileSummary> profiles = query("by-city", () ->
+                profileRepository.findSummariesByAddress_CityContainingIgnoreCase(city, pageable));
+        Map<String, UserSummary> users = query("by-emails", () ->
+                userRepository.findSummariesByEmailIn(profiles.map(ProfileSummary::email).getContent()))
+                .stream()
+                .collect(Collectors.toMap(UserSummary::email, Function.identity(), (first, second) -> first));
+        return profiles.map(profile -> {
+            UserSummary user = Optional.ofNullable(users.get(profile.email()))
+                    .orElseThrow(() -> new UserNotFoundException(ErrorCodes.RESOURCE_NOT_FOUND, ErrorMessageConstants.USERS_NOT_FOUND_BY_CITY));
+            return toUserDto(user, profile);
+        });
     }
 
-    private UserDto getUserDto(Profile profile, User user) {
-        ProfileDto profileDto = profileMapper.toDto(profile);
-        if (profile.getAddress() != null) {
-            profileDto.setStreet(profile.getAddress().getStreet());
-            profileDto.setCity(profile.getAddress().getCity());
-            profileDto.setState(profile.getAddress().getState());
-            profileDto.setCountry(profile.getAddress().getCountry());
-            profileDto.setPincode(profile.getAddress().getPincode());
-        }
+    private <T> T query(String query, Supplier<T> work) {
+        return Observation.createNotStarted(QUERY_OBSERVATION, observationRegistry)
+                .lowCardinalityKeyValue("query", query)
+                .observe(work);
+    }
+
+    private UserDto toUserDto(UserSummary user, ProfileSummary profile) {
         UserDto dto = userMapper.toDto(user);
-        dto.setProfile(profileDto);
+        dto.setProfile(profile != null ? userMapper.toDto(profile) : null);
         return dto;
     }
 
+    // One $in query per page instead of a profile lookup per user
+    private Map<String, ProfileSummary> profilesByEmail(List<UserSummary> users) {
+        if (users.isEmpty()) {
+            return Map.of();
+        }
+        List<String> emails = users.stream().map(UserSummary::email).collect(Collectors.toList());
+        return query("profiles-by-emails", () -> profileRepository.findSummariesByEmailIn(emails)).stream()
+                .collect(Collectors.toMap(ProfileSummary::email, Function.identity(), (first, second) -> first));
+    }
+
+    private Map<String, UserSummary> usersByUsername(Page<ProfileSummary> profiles) {
+        if (profiles.isEmpty()) {
+            return Map.of();
+        }
+        return query("by-usernames", () ->
+                userRepository.findSummariesByUsernameIn(profiles.map(ProfileSummary::username).getContent())).stream()
+                .collect(Collectors.toMap(UserSummary::username, Function.identity(), (first, second) -> first));
+    }
+
     public void activateAccount(String email,boolean firstLogin) {
         if(email == null || email.isEmpty()) {
             throw new UserNotFoundException(ErrorCodes.RESOURCE_NOT_FOUND, ErrorMessageConstants.ACCOUNT_NOT_FOUND_EMAIL);
@@ -213,7 +248,10 @@ public class UserService {
             throw new AccountVerificationException(ErrorCodes.ACCOUNT_VERIFICATION_FAILED, ErrorMessageConstants.ACCOUNT_VERFIED);
         }
         user.setAccountVerificationPending(false);
-        userRepository.save(user);
+        if (!userRepository.updateFields(user.getId(), user.getVersion(), new Update().set("isAccountVerificationPending", false))) {
+            throw new ConcurrentUpdateException(ErrorCodes.CONCURRENT_UPDATE, ErrorMessageConstants.USER_UPDATED_CONCURRENTLY);
+        }
+        userCacheEvictor.evictUser(email, user.getId(), user.getVersion() == null ? 1L : user.getVersion() + 1);
     }
     @Transactional
     public ResourceDeleteResponse deleteUserByEmail(String email) {
@@ -233,20 +271,17 @@ public class UserService {
         if (profile != null) {
             profileRepository.delete(profile);
         }
-        String redisKey = "USER::" + email;
-        redisTemplate.delete(redisKey);
+        userCacheEvictor.evictUser(email, user.getId(), null);
         return new ResourceDeleteResponse(true, ACCOUNT_DELETED_SUCCESSFULLY);
     }
-    public void saveUpdatedUser(UserDto userDto) throws Exception{
-        User user = userMapper.toEntity(userDto);
-        userRepository.save(user);
-    }
-    public void saveUpdatedUserAfterVerification(User user) throws Exception{
-        userRepository.save(user);
+    public void markFirstLoginComplete(String email) {
+        String id = userRepository.updateFieldsByEmail(email, new Update().set("isFirstLogin", false))
+                .orElseThrow(() -> new UserNotFoundException(ErrorCodes.RESOURCE_NOT_FOUND, ErrorMessageConstants.ACCOUNT_NOT_FOUND_EMAIL));
+        userCacheEvictor.evictUser(email, id, null);
     }
     public Page<UserDto> getUsersByName(String name, Pageable pageable) {
-        Page<Profile> profiles = profileRepository
-                .findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(name, name, pageable);
+        Page<ProfileSummary> profiles = query("by-name", () -> profileRepository
+                .findSummariesByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(name, name, pageable));
 
         if (profiles.isEmpty()) {
             throw new UserNotFoundException(
@@ -255,28 +290,31 @@ public class UserService {
             );
         }
 
+        Map<String, UserSummary> users = usersByUsername(profiles);
         return profiles.map(profile -> {
-            User user = userRepository.findByUsername(profile.getUsername())
+            UserSummary user = Optional.ofNullable(users.get(profile.username()))
                     .orElseThrow(() -> new UserNotFoundException(
                             ErrorCodes.RESOURCE_NOT_FOUND,
                             ErrorMessageConstants.USERS_NOT_FOUND_BY_USER_ID
                     ));
-            return getUserDto(profile, user);
+            return toUserDto(user, profile);
         });
     }
 
     public Page<UserDto> getUsersByEmail(String email, Pageable pageable) {
-        return userRepository.findByEmailContainingIgnoreCase(email, pageable)
-                .map(user -> {
-                    Profile profile = profileRepository.findByEmail(user.getEmail()).orElseThrow(() -> new UserNotFoundException(ErrorCodes.RESOURCE_NOT_FOUND, ErrorMessageConstants.USER_NOT_FOUND_EMAIL));
-                    UserDto dto = userMapper.toDto(user);
-                    dto.setProfile(profile != null ? profileMapper.toDto(profile) : null);
-                    return dto;
-                });
+        Page<UserSummary> users = query("search-email", () ->
+                userRepository.findSummariesByEmailContainingIgnoreCase(email, pageable));
+        Map<String, ProfileSummary> profiles = profilesByEmail(users.getContent());
+        return users.map(user -> {
+            ProfileSummary profile = Optional.ofNullable(profiles.get(user.email()))
+                    .orElseThrow(() -> new UserNotFoundException(ErrorCodes.RESOURCE_NOT_FOUND, ErrorMessageConstants.USER_NOT_FOUND_EMAIL));
+            return toUserDto(user, profile);
+        });
     }
 
     public Page<UserDto> getUsersByCountry(String country, Pageable pageable) {
-        Page<Profile> profiles = profileRepository.findByAddress_CountryContainingIgnoreCase(country, pageable);
+        Page<ProfileSummary> profiles = query("by-country", () ->
+                profileRepository.findSummariesByAddress_CountryContainingIgnoreCase(country, pageable));
         if (profiles.isEmpty()) {
             throw new UserNotFoundException(
                     ErrorCodes.RESOURCE_NOT_FOUND,
@@ -284,10 +322,11 @@ public class UserService {
             );
         }
 
+        Map<String, UserSummary> users = usersByUsername(profiles);
         return profiles.map(profile -> {
-            User user = userRepository.findByUsername(profile.getUsername())
+            UserSummary user = Optional.ofNullable(users.get(profile.username()))
                     .orElseThrow(() -> new UserNotFoundException(ErrorCodes.RESOURCE_NOT_FOUND, ErrorMessageConstants.USERS_NOT_FOUND_BY_USER_ID));
-            return getUserDto(profile, user);
+            return toUserDto(user, profile);
         });
     }
 
@@ -307,6 +346,11 @@ public class UserService {
         if (existingProfile == null) {
             throw new AccountVerificationException(ErrorCodes.VALIDATION_ERROR, ErrorMessageConstants.USERS_NOT_FOUND_BY_USER_ID);
         }
+        // Clients that echo back the version they loaded get lost-update protection across requests
+        Long expectedVersion = updateRequest.getVersion() != null ? updateRequest.getVersion() : existingUser.getVersion();
+        Update userChanges = new Update();
+        Update profileChanges = new Update();
+
         if (updateRequest.getUsername() != null && !updateRequest.getUsername().equals(existingUser.getUsername())) {
             Optional<Profile> profileExist = profileRepository.findByUsername(updateRequest.getUsername());
             if (!profileExist.isEmpty()) {
@@ -314,24 +358,29 @@ public class UserService {
             }
             existingUser.setUsername(updateRequest.getUsername());
             existingProfile.setUsername(updateRequest.getUsername());
+            userChanges.set("username", updateRequest.getUsername());
+            profileChanges.set("username", updateRequest.getUsername());
         }
-        if (updateRequest.getRoles() != null)
+        if (updateRequest.getRoles() != null && setIfChanged(userChanges, "roles", existingUser.getRoles(), updateRequest.getRoles()))
             existingUser.setRoles(updateRequest.getRoles());
-
-        existingUser.setActive(updateRequest.isActive());
-        if(updateRequest.getRoles() != null) {
-            existingUser.setRoles(updateRequest.getRoles());
-        }
-        if (updateRequest.getFirstLogin() != null) existingUser.setFirstLogin(updateRequest.getFirstLogin());
-        if (updateRequest.getAccountVerificationPending() != null)
+        if (setIfChanged(userChanges, "active", existingUser.isActive(), updateRequest.isActive()))
+            existingUser.setActive(updateRequest.isActive());
+        if (updateRequest.getFirstLogin() != null
+                && setIfChanged(userChanges, "isFirstLogin", existingUser.getFirstLogin(), updateRequest.getFirstLogin()))
+            existingUser.setFirstLogin(updateRequest.getFirstLogin());
+        if (updateRequest.getAccountVerificationPending() != null
+                && setIfChanged(userChanges, "isAccountVerificationPending", existingUser.getAccountVerificationPending(), updateRequest.getAccountVerificationPending()))
             existingUser.setAccountVerificationPending(updateRequest.getAccountVerificationPending());
 
         // 4. Update Profile fields
         ProfileDto profileDto = updateRequest.getProfile();
         if (profileDto != null) {
-            if (profileDto.getFirstName() != null) existingProfile.setFirstName(profileDto.getFirstName());
-            if (profileDto.getLastName() != null) existingProfile.setLastName(profileDto.getLastName());
-            if (profileDto.getPhoneNumber() != null) existingProfile.setPhoneNumber(profileDto.getPhoneNumber());
+            if (profileDto.getFirstName() != null && setIfChanged(profileChanges, "firstName", existingProfile.getFirstName(), profileDto.getFirstName()))
+                existingProfile.setFirstName(profileDto.getFirstName());
+            if (profileDto.getLastName() != null && setIfChanged(profileChanges, "lastName", existingProfile.getLastName(), profileDto.getLastName()))
+                existingProfile.setLastName(profileDto.getLastName());
+            if (profileDto.getPhoneNumber() != null && setIfChanged(profileChanges, "phoneNumber", existingProfile.getPhoneNumber(), profileDto.getPhoneNumber()))
+                existingProfile.setPhoneNumber(profileDto.getPhoneNumber());
 
             if (profileDto.getStreet() != null || profileDto.getCity() != null
                     || profileDto.getState() != null || profileDto.getCountry() != null
@@ -339,18 +388,46 @@ public class UserService {
 
                 Address existingAddress = existingProfile.getAddress() != null ? existingProfile.getAddress() : new Address();
 
-                if (profileDto.getStreet() != null) existingAddress.setStreet(profileDto.getStreet());
-                if (profileDto.getCity() != null) existingAddress.setCity(profileDto.getCity());
-                if (profileDto.getState() != null) existingAddress.setState(profileDto.getState());
-                if (profileDto.getCountry() != null) existingAddress.setCountry(profileDto.getCountry());
-                if (profileDto.getPincode() != null) existingAddress.setPincode(profileDto.getPincode());
+                if (profileDto.getStreet() != null && setIfChanged(profileChanges, "address.street", existingAddress.getStreet(), profileDto.getStreet()))
+                    existingAddress.setStreet(profileDto.getStreet());
+                if (profileDto.getCity() != null && setIfChanged(profileChanges, "address.city", existingAddress.getCity(), profileDto.getCity()))
+                    existingAddress.setCity(profileDto.getCity());
+                if (profileDto.getState() != null && setIfChanged(profileChanges, "address.state", existingAddress.getState(), profileDto.getState()))
+                    existingAddress.setState(profileDto.getState());
+                if (profileDto.getCountry() != null && setIfChanged(profileChanges, "address.country", existingAddress.getCountry(), profileDto.getCountry()))
+                    existingAddress.setCountry(profileDto.getCountry());
+                if (profileDto.getPincode() != null && setIfChanged(profileChanges, "address.pincode", existingAddress.getPincode(), profileDto.getPincode()))
+                    existingAddress.setPincode(profileDto.getPincode());
 
                 existingProfile.setAddress(existingAddress);
             }
         }
 
-        profileRepository.save(existingProfile);
-        userRepository.save(existingUser);
+        // The user version is the one clients echo back, so it is checked first and bumped even when
+        // only profile fields changed. The profile write is then guarded by the profile version read
+        // above: an admin whose edit interleaves with ours gets a conflict instead of overwriting our
+        // profile fields. The two writes are not atomic; on that conflict the user fields are already
+        // stored and retrying the request re-applies the same values.
+        boolean changed = !userChanges.getUpdateObject().isEmpty() || !profileChanges.getUpdateObject().isEmpty();
+        if (changed || !Objects.equals(expectedVersion, existingUser.getVersion())) {
+            if (!userRepository.updateFields(existingUser.getId(), expectedVersion, userChanges)) {
+                throw new ConcurrentUpdateException(ErrorCodes.CONCURRENT_UPDATE, ErrorMessageConstants.USER_UPDATED_CONCURRENTLY);
+            }
+            existingUser.setVersion(expectedVersion == null ? 1L : expectedVersion + 1);
+            if (!profileChanges.getUpdateObject().isEmpty()) {
+                if (!profileRepository.updateFields(existingProfile.getId(), existingProfile.getVersion(), profileChanges)) {
+                    userCacheEvictor.evictUser(existingUser.getEmail(), existingUser.getId(), existingUser.getVersion());
+                    throw new ConcurrentUpdateException(ErrorCodes.CONCURRENT_UPDATE, ErrorMessageConstants.USER_UPDATED_CONCURRENTLY);
+                }
+                existingProfile.setVersion(existingProfile.getVersion() == null ? 1L : existingProfile.getVersion() + 1);
+            }
+            userCacheEvictor.evictUser(existingUser.getEmail(), existingUser.getId(), existingUser.getVersion());
+        }
+        return toUpdatedDto(existingUser, existingProfile);
+    }
+
+    // Copies only what was just written, without another read or a mapper round trip
+    static UserDto toUpdatedDto(User existingUser, Profile existingProfile) {
         UserDto updatedDto = new UserDto();
         updatedDto.setId(existingUser.getId());
         updatedDto.setEmail(existingUser.getEmail());
@@ -360,6 +437,7 @@ public class UserService {
         updatedDto.setFirstLogin(existingUser.getFirstLogin());
         updatedDto.setAccountVerificationPending(existingUser.getAccountVerificationPending());
         updatedDto.setCreatedAt(existingUser.getCreatedAt());
+        updatedDto.setVersion(existingUser.getVersion());
         ProfileDto updatedProfile = new ProfileDto();
         updatedProfile.setFirstName(existingProfile.getFirstName());
         updatedProfile.setLastName(existingProfile.getLastName());
@@ -375,6 +453,13 @@ public class UserService {
         return updatedDto;
     }
 
+    private static boolean setIfChanged(Update update, String field, Object current, Object incoming) {
+        if (Objects.equals(current, incoming)) {
+            return false;
+        }
+        update.set(field, incoming);
+        return true;
+    }
 
     private String extractUsernameFromEmail(String email) {
         if (email != null && email.contains("@")) return email.substring(0, email.indexOf("@"));
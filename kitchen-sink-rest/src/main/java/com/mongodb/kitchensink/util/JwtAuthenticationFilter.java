@@ -7,6 +7,8 @@ import com.mongodb.kitchensink.exception.JwtExpiredException;
 import com.mongodb.kitchensink.model.User;
 import com.mongodb.kitchensink.repository.UserRepository;
 import com.mongodb.kitchensink.service.SessionService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,30 +26,40 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.mongodb.kitchensink.constants.AppContants.ACTIVE_ACCESS_TOKEN;
 
+/**
+ * Authenticates requests carrying a bearer access token. Each stage (token parse, Redis session
+ * check, user load) is observed as {@value #STAGE_OBSERVATION}, tagged with the stage.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    static final String STAGE_OBSERVATION = "auth.filter.stage";
+
     private final JwtTokenProvider tokenProvider;
     private final UserRepository userRepository;
     private final com.mongodb.kitchensink.config.JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final RedisTemplate<String, Object> redisTemplate;
     private final SessionService sessionService;
+    private final ObservationRegistry observationRegistry;
     @Value("${app.session.expiration-seconds}")
     private long appSessionExpirationSeconds;
     public JwtAuthenticationFilter(JwtTokenProvider tokenProvider,
                                    UserRepository userRepository,
                                    com.mongodb.kitchensink.config.JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint,
                                    RedisTemplate<String, Object> redisTemplate,
-                                   SessionService sessionService) {
+                                   SessionService sessionService,
+                                   ObservationRegistry observationRegistry) {
         this.tokenProvider = tokenProvider;
         this.userRepository = userRepository;
         this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
         this.redisTemplate = redisTemplate;
         this.sessionService = sessionService;
+        this.observationRegistry = observationRegistry;
     }
 
     @Override
@@ -63,15 +75,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             if (accessToken != null) {
-                tokenProvider.validateAccessToken(accessToken);
-                String email = tokenProvider.getEmailFromAccessToken(accessToken);
+                String token = accessToken;
+                String email = stage("parse", () -> {
+                    tokenProvider.validateAccessToken(token);
+                    return tokenProvider.getEmailFromAccessToken(token);
+                });
 
-                String storedAccessToken = sessionService.getTokenForExistingSession(email);
-                if (storedAccessToken == null || !storedAccessToken.equals(accessToken)) {
+                if (!stage("session", () -> sessionService.validateAndRefreshSession(email, token, appSessionExpirationSeconds))) {
                     throw new JwtExpiredException(ErrorCodes.VALIDATION_ERROR, ErrorMessageConstants.TOKEN_EXPIRED);
                 }
-                sessionService.validateAndRefreshExistingSessionExpiry(email,appSessionExpirationSeconds);
-                User currentUser = userRepository.findByEmail(email)
+                User currentUser = stage("user-load", () -> userRepository.findByEmail(email))
                         .orElseThrow(() -> new RuntimeException("User not found from token payload"));
                 List<GrantedAuthority> authorities = currentUser.getRoles().stream()
                         .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
@@ -102,6 +115,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
+    private <T> T stage(String stage, Supplier<T> work) {
+        return Observation.createNotStarted(STAGE_OBSERVATION, observationRegistry)
+                .lowCardinalityKeyValue("stage", stage)
+                .observe(work);
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
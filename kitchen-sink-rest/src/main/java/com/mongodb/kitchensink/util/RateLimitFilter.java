@@ -0,0 +1,69 @@
+package com.mongodb.kitchensink.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.kitchensink.constants.ErrorCodes;
+import com.mongodb.kitchensink.dto.ErrorResponse;
+import com.mongodb.kitchensink.service.RateLimitService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+import static com.mongodb.kitchensink.constants.ErrorMessageConstants.TOO_MANY_REQUESTS_FROM_CLIENT;
+
+/**
+ * Rejects bursts against the login and OTP endpoints per client IP, before the body is
+ * deserialised and before any password hashing or database lookups happen.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String LOGIN_PATH = "/api/auth/login";
+    static final Set<String> OTP_PATHS = Set.of(
+            "/api/auth/forgot-password/request-otp",
+            "/api/auth/forgot-password/verify-otp",
+            "/api/auth/account-verification/request-otp",
+            "/api/auth/account-verification/verify-otp");
+
+    private final RateLimitService rateLimitService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public RateLimitFilter(RateLimitService rateLimitService) {
+        this.rateLimitService = rateLimitService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI();
+        String clientIp = request.getRemoteAddr();
+        boolean allowed = LOGIN_PATH.equals(path)
+                ? rateLimitService.tryLoginFromClient(clientIp)
+                : rateLimitService.tryOtpFromClient(clientIp);
+        if (!allowed) {
+            ErrorCodes errorCode = ErrorCodes.TOO_MANY_REQUESTS;
+            response.setStatus(errorCode.getStatus().value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getWriter(), new ErrorResponse(TOO_MANY_REQUESTS_FROM_CLIENT, errorCode.getStatus()));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return !LOGIN_PATH.equals(path) && !OTP_PATHS.contains(path);
+    }
+}
@@ -0,0 +1,66 @@
+package com.mongodb.kitchensink.util;
+
+import com.mongodb.kitchensink.constants.ErrorCodes;
+import com.mongodb.kitchensink.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static com.mongodb.kitchensink.constants.ErrorMessageConstants.UNSUPPORTED_SORT;
+import static com.mongodb.kitchensink.constants.ErrorMessageConstants.UNSUPPORTED_SORT_DIRECTION;
+
+/**
+ * Turns the {@code sortBy} and {@code direction} parameters of the list endpoints into a {@link Sort}
+ * that an index returns in order, so Mongo never sorts a page in memory (and never hits its 100 MB
+ * sort limit). Only the logical names below are accepted; each maps to the properties of an index,
+ * in index order. Non-unique keys end with {@code _id}, so pages stay stable when values repeat; a
+ * unique key already is. Anything else is rejected with a 400.
+ */
+public final class SortPlanner {
+
+    /**
+     * Sorts of user lists: {@code createdAt_id}, the unique {@code email} and {@code username}, {@code _id}.
+     */
+    public static final Map<String, List<String>> USER_SORTS = Map.of(
+            "createdAt", List.of("createdAt", "id"),
+            "email", List.of("email"),
+            "username", List.of("username"),
+            "id", List.of("id"));
+
+    /**
+     * Sorts of profile searches. Profiles have no creation date, but their generated ids grow with
+     * insertion time, so {@code createdAt} orders by {@code _id}.
+     */
+    public static final Map<String, List<String>> PROFILE_SORTS = Map.of(
+            "createdAt", List.of("id"),
+            "email", List.of("email"),
+            "username", List.of("username"),
+            "city", List.of("address.city", "id"),
+            "country", List.of("address.country", "id"),
+            "id", List.of("id"));
+
+    private SortPlanner() {
+    }
+
+    public static Sort forUsers(String sortBy, String direction) {
+        return plan(USER_SORTS, sortBy, direction);
+    }
+
+    public static Sort forProfiles(String sortBy, String direction) {
+        return plan(PROFILE_SORTS, sortBy, direction);
+    }
+
+    private static Sort plan(Map<String, List<String>> sorts, String sortBy, String direction) {
+        List<String> properties = sorts.get(sortBy);
+        if (properties == null) {
+            throw new BadRequestException(ErrorCodes.VALIDATION_ERROR,
+                    String.format(UNSUPPORTED_SORT, sortBy, String.join(", ", new TreeSet<>(sorts.keySet()))));
+        }
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new BadRequestException(ErrorCodes.VALIDATION_ERROR,
+                        String.format(UNSUPPORTED_SORT_DIRECTION, direction)));
+        return Sort.by(sortDirection, properties.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,182 @@
+package com.mongodb.kitchensink.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.ObservationView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AsyncConfig class.
+ */
+class AsyncConfigTest {
+
+    private AsyncConfig asyncConfig;
+
+    @BeforeEach
+    void setUp() {
+        asyncConfig = new AsyncConfig(new DefaultListableBeanFactory().getBeanProvider(Executor.class));
+        ReflectionTestUtils.setField(asyncConfig, "mailPoolSize", 2);
+        ReflectionTestUtils.setField(asyncConfig, "mailQueueCapacity", 10);
+    }
+
+    @Test
+    @DisplayName("mail executor should run on a bounded pool of platform threads")
+    void mailExecutor_shouldUsePlatformThreads() throws Exception {
+        ThreadPoolTaskExecutor executor = asyncConfig.mailExecutor();
+        executor.initialize();
+        try {
+            assertEquals(2, executor.getCorePoolSize());
+            assertEquals(2, executor.getMaxPoolSize());
+            assertEquals(10, executor.getQueueCapacity());
+
+            Thread worker = CompletableFuture.supplyAsync(Thread::currentThread, executor).get();
+            assertFalse(worker.isVirtual(), "SMTP I/O must not run on a virtual thread");
+            assertTrue(worker.getName().startsWith("mail-"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("mail executor should run tasks under the caller's observation")
+    void mailExecutor_shouldPropagateCallerObservation() throws Exception {
+        // Given
+        ObservationRegistry registry = observationRegistry();
+        ThreadPoolTaskExecutor executor = asyncConfig.mailExecutor();
+        executor.initialize();
+        Observation request = Observation.start("http.server.requests", registry);
+        try {
+            // When
+            ObservationView parent;
+            try (Observation.Scope scope = request.openScope()) {
+                parent = CompletableFuture.supplyAsync(() -> {
+                    Observation send = Observation.start("mail.send", registry);
+                    send.stop();
+                    return send.getContext().getParentObservation();
+                }, executor).get();
+            }
+
+            // Then
+            assertSame(request, parent);
+        } finally {
+            request.stop();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("uncaught async exceptions should be logged, not rethrown")
+    void asyncUncaughtExceptionHandler_shouldSwallowException() throws Exception {
+        assertNotNull(asyncConfig.getAsyncUncaughtExceptionHandler());
+        assertDoesNotThrow(() -> asyncConfig.getAsyncUncaughtExceptionHandler().handleUncaughtException(
+                new RuntimeException("Failed to send email"),
+                Object.class.getMethod("toString")));
+    }
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(PropertyPlaceholderAutoConfiguration.class, TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(AsyncConfig.class, AsyncProbeConfig.class)
+            .withPropertyValues("spring.task.execution.mode=force");
+
+    @Test
+    @DisplayName("with virtual threads enabled, @Async and MVC async should run on virtual threads next to the mail pool")
+    void defaultExecutor_virtualThreadsEnabled_shouldUseVirtualThreads() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            // Given
+            AsyncProbe probe = context.getBean(AsyncProbe.class);
+
+            // When
+            Thread worker = probe.currentThread().get();
+
+            // Then
+            assertTrue(worker.isVirtual(), "default @Async executor must use virtual threads");
+            assertInstanceOf(SimpleAsyncTaskExecutor.class,
+                    context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME));
+            assertInstanceOf(ThreadPoolTaskExecutor.class, context.getBean(AsyncConfig.MAIL_EXECUTOR));
+        });
+    }
+
+    @Test
+    @DisplayName("@Async methods on Boot's executor should run under the caller's observation")
+    void defaultExecutor_shouldPropagateCallerObservation() {
+        for (String virtual : new String[] {"true", "false"}) {
+            contextRunner.withPropertyValues("spring.threads.virtual.enabled=" + virtual).run(context -> {
+                // Given
+                ObservationRegistry registry = observationRegistry();
+                Observation request = Observation.start("http.server.requests", registry);
+
+                // When
+                Observation current;
+                try (Observation.Scope scope = request.openScope()) {
+                    current = context.getBean(AsyncProbe.class).currentObservation(registry).get();
+                } finally {
+                    request.stop();
+                }
+
+                // Then
+                assertSame(request, current, "virtual threads " + virtual);
+            });
+        }
+    }
+
+    private static ObservationRegistry observationRegistry() {
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(context -> true);
+        return registry;
+    }
+
+    @Test
+    @DisplayName("with virtual threads disabled, @Async should run on Boot's pool rather than a thread per call")
+    void defaultExecutor_virtualThreadsDisabled_shouldUseApplicationPool() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=false").run(context -> {
+            // When
+            Thread worker = context.getBean(AsyncProbe.class).currentThread().get();
+
+            // Then
+            assertFalse(worker.isVirtual());
+            assertTrue(worker.getName().startsWith("task-"), worker.getName());
+            assertInstanceOf(ThreadPoolTaskExecutor.class,
+                    context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME));
+        });
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class AsyncProbeConfig {
+
+        @Bean
+        AsyncProbe asyncProbe() {
+            return new AsyncProbe();
+        }
+    }
+
+    static class AsyncProbe {
+
+        @Async
+        public CompletableFuture<Thread> currentThread() {
+            return CompletableFuture.completedFuture(Thread.currentThread());
+        }
+
+        @Async
+        public CompletableFuture<Observation> currentObservation(ObservationRegistry registry) {
+            return CompletableFuture.completedFuture(registry.getCurrentObservation());
+        }
+    }
+}
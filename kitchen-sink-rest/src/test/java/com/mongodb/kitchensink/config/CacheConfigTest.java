@@ -0,0 +1,62 @@
+package com.mongodb.kitchensink.config;
+
+import com.mongodb.kitchensink.dto.ProfileDto;
+import com.mongodb.kitchensink.dto.UserDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for the CacheConfig class.
+ */
+class CacheConfigTest {
+
+    @Test
+    @DisplayName("cache manager should expose the user caches as two-level caches")
+    void cacheManager_shouldCreateTwoLevelCaches() {
+        CacheManager cacheManager = new CacheConfig().cacheManager(mock(RedisConnectionFactory.class));
+
+        for (String name : List.of(CacheConfig.USER_BY_EMAIL, CacheConfig.USER_BY_ID, CacheConfig.ROLES_BY_EMAIL)) {
+            assertInstanceOf(TwoLevelCache.class, cacheManager.getCache(name));
+        }
+        assertNull(cacheManager.getCache("unknown"));
+    }
+
+    @Test
+    @DisplayName("cached values should survive a round trip through the Redis serializer")
+    void redisSerializer_shouldRoundTripCachedValues() {
+        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(RedisConfig.redisObjectMapper());
+        UserDto user = new UserDto();
+        user.setId("id-1");
+        user.setEmail("a@example.com");
+        user.setRoles(new ArrayList<>(List.of("ROLE_USER")));
+        user.setCreatedAt(Instant.parse("2025-08-17T10:00:00Z"));
+        user.setFirstLogin(true);
+        user.setAccountVerificationPending(false);
+        user.setVersion(2L);
+        ProfileDto profile = new ProfileDto();
+        profile.setFirstName("Arpit");
+        profile.setCity("Pune");
+        user.setProfile(profile);
+
+        UserDto copy = (UserDto) serializer.deserialize(serializer.serialize(user));
+        Object roles = serializer.deserialize(serializer.serialize(new ArrayList<>(List.of("ROLE_ADMIN"))));
+
+        assertEquals("a@example.com", copy.getEmail());
+        assertEquals(List.of("ROLE_USER"), copy.getRoles());
+        assertEquals(user.getCreatedAt(), copy.getCreatedAt());
+        assertTrue(copy.getFirstLogin());
+        assertEquals(2L, copy.getVersion());
+        assertEquals("Pune", copy.getProfile().getCity());
+        assertEquals(List.of("ROLE_ADMIN"), roles);
+    }
+}
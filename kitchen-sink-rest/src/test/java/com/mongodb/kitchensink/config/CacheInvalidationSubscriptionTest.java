@@ -0,0 +1,92 @@
+package com.mongodb.kitchensink.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the CacheInvalidationSubscription class.
+ */
+class CacheInvalidationSubscriptionTest {
+
+    @Test
+    @DisplayName("start should return at once and retry the subscription until Redis accepts it")
+    void start_shouldRetryInBackground() {
+        // Given
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+        doThrow(new RedisConnectionFailureException("down"))
+                .doThrow(new RedisConnectionFailureException("down"))
+                .doNothing()
+                .when(container).start();
+        CacheInvalidationSubscription subscription = new CacheInvalidationSubscription(container, new FixedBackOff(1, FixedBackOff.UNLIMITED_ATTEMPTS));
+
+        // When
+        subscription.start();
+
+        // Then
+        assertTrue(subscription.isRunning());
+        verify(container, timeout(2000).times(3)).start();
+        verify(container, times(2)).stop();
+        subscription.stop();
+    }
+
+    @Test
+    @DisplayName("stop should end the retries while Redis is down")
+    void stop_shouldEndRetries() {
+        // Given
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+        doThrow(new RedisConnectionFailureException("down")).when(container).start();
+        CacheInvalidationSubscription subscription = new CacheInvalidationSubscription(container, new FixedBackOff(60_000, FixedBackOff.UNLIMITED_ATTEMPTS));
+        subscription.start();
+        verify(container, timeout(2000)).start();
+
+        // When
+        subscription.stop();
+
+        // Then
+        assertFalse(subscription.isRunning());
+        verify(container, times(1)).start();
+    }
+
+    @Test
+    @DisplayName("an unreachable Redis should not fail start")
+    void start_shouldNotThrowWhenRedisIsUnreachable() throws Exception {
+        // Given
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", closedPort));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(mock(MessageListener.class), new ChannelTopic("CACHE_INVALIDATION"));
+        container.afterPropertiesSet();
+        CacheInvalidationSubscription subscription = new CacheInvalidationSubscription(container, new FixedBackOff(50, FixedBackOff.UNLIMITED_ATTEMPTS));
+
+        // When
+        assertDoesNotThrow(subscription::start);
+
+        // Then
+        assertTrue(subscription.isRunning());
+        assertFalse(subscription.isSubscribed());
+        subscription.stop();
+        subscription.destroy();
+        connectionFactory.destroy();
+    }
+}
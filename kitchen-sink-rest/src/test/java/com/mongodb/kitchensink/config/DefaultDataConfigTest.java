@@ -4,7 +4,6 @@ import com.mongodb.kitchensink.model.Profile;
 import com.mongodb.kitchensink.model.User;
 import com.mongodb.kitchensink.repository.ProfileRepository;
 import com.mongodb.kitchensink.repository.UserRepository;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,8 +15,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import java.io.ByteArrayOutputStream;
-import java.io.PrintStream;
 import java.util.Optional;
 import java.util.List;
 
@@ -51,46 +48,31 @@ class DefaultDataConfigTest {
     @InjectMocks
     private DefaultDataConfig defaultDataConfig;
 
-    // To capture System.out.println output for verification
-    private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
-    private final PrintStream originalOut = System.out;
-
     private final String ADMIN_EMAIL = "admin@example.com";
     private final String ADMIN_PASSWORD = "admin";
     private final String ENCODED_PASSWORD = "encodedPassword123";
 
     /**
-     * Set up necessary mocks and redirect System.out before each test.
+     * Set up the admin credentials before each test.
      */
     @BeforeEach
     void setUp() {
-        // Redirect System.out to capture console output
-        System.setOut(new PrintStream(outContent));
-
         // Use ReflectionTestUtils to inject @Value fields for testing purposes
         // In a real Spring Boot test, these would be provided via @TestPropertySource
         ReflectionTestUtils.setField(defaultDataConfig, "adminEmail", ADMIN_EMAIL);
         ReflectionTestUtils.setField(defaultDataConfig, "adminPassword", ADMIN_PASSWORD);
     }
 
-    /**
-     * Restore original System.out after each test.
-     */
-    @AfterEach
-    void restoreStreams() {
-        System.setOut(originalOut);
-    }
-
     /**
      * Tests the scenario where the admin user does not exist in the database.
-     * Verifies that a new admin user and profile are created and saved,
-     * and the appropriate success message is printed to the console.
+     * Verifies that a new admin user and profile are created and saved.
      */
     @Test
     @DisplayName("should create admin user and profile if they do not exist")
     void run_adminUserDoesNotExist_shouldCreateNewUserAndProfile() {
         // Given: userRepository.findByEmail returns an empty Optional (user does not exist)
         when(userRepository.findByEmail(ADMIN_EMAIL)).thenReturn(Optional.empty());
+        when(profileRepository.findByEmail(ADMIN_EMAIL)).thenReturn(Optional.empty());
         // Given: passwordEncoder encodes the admin password
         when(passwordEncoder.encode(ADMIN_PASSWORD)).thenReturn(ENCODED_PASSWORD);
         // Given: userRepository.save and profileRepository.save return the saved objects
@@ -136,19 +118,14 @@ class DefaultDataConfigTest {
         assertEquals("12345678", savedProfile.getPhoneNumber());
         assertNull(savedProfile.getAddress());
         assertEquals(savedUser.getUsername(), savedProfile.getUsername()); // Ensure username matches the user
-
-        // Verify that the success message was printed
-        assertTrue(outContent.toString().contains("✅ Default admin user created: " + ADMIN_EMAIL + " / password: admin"),
-                "Success message not found in console output");
     }
 
     /**
      * Tests the scenario where the admin user already exists in the database.
-     * Verifies that no new user or profile is created or saved,
-     * and the appropriate message indicating existence is printed.
+     * Verifies that no new user or profile is created or saved.
      */
     @Test
-    @DisplayName("should not create admin user if it already exists")
+    @DisplayName("should not create admin user or profile if they already exist")
     void run_adminUserAlreadyExists_shouldSkipCreation() {
         // Given: userRepository.findByEmail returns an Optional with an existing user
         User existingAdminUser = User.builder()
@@ -158,6 +135,7 @@ class DefaultDataConfigTest {
                 .twoFactorEnabled(true)
                 .build();
         when(userRepository.findByEmail(ADMIN_EMAIL)).thenReturn(Optional.of(existingAdminUser));
+        when(profileRepository.findByEmail(ADMIN_EMAIL)).thenReturn(Optional.of(new Profile()));
 
         // When: the run method is executed
         assertDoesNotThrow(() -> defaultDataConfig.run());
@@ -170,9 +148,58 @@ class DefaultDataConfigTest {
         verify(profileRepository, never()).save(any(Profile.class));
         // Verify that passwordEncoder was NEVER used
         verify(passwordEncoder, never()).encode(anyString());
+    }
+
+    /**
+     * Tests the scenario where a previous run saved the admin user but failed to save its profile.
+     * Verifies that the next run creates the missing profile for the existing user.
+     */
+    @Test
+    @DisplayName("should create the missing profile of an existing admin user")
+    void run_adminUserExistsWithoutProfile_shouldCreateProfile() {
+        // Given: the admin user exists under a custom username, its profile does not
+        User existingAdminUser = User.builder()
+                .email(ADMIN_EMAIL)
+                .username("root")
+                .twoFactorEnabled(true)
+                .build();
+        when(userRepository.findByEmail(ADMIN_EMAIL)).thenReturn(Optional.of(existingAdminUser));
+        when(profileRepository.findByEmail(ADMIN_EMAIL)).thenReturn(Optional.empty());
+
+        // When: the run method is executed
+        assertDoesNotThrow(() -> defaultDataConfig.run());
+
+        // Then: only the profile is saved, for the existing user
+        verify(userRepository, never()).save(any(User.class));
+        ArgumentCaptor<Profile> profileCaptor = ArgumentCaptor.forClass(Profile.class);
+        verify(profileRepository, times(1)).save(profileCaptor.capture());
+        assertEquals(ADMIN_EMAIL, profileCaptor.getValue().getEmail());
+        assertEquals("root", profileCaptor.getValue().getUsername());
+    }
+
+    /**
+     * Tests a retry after the profile save failed: the first run fails, the second one
+     * finds the saved user and only creates the profile.
+     */
+    @Test
+    @DisplayName("should complete the admin profile on the run after a failed profile save")
+    void run_profileSaveFailed_shouldCreateProfileOnRetry() {
+        // Given: the first profile save fails after the user was saved
+        User[] savedUser = new User[1];
+        when(passwordEncoder.encode(ADMIN_PASSWORD)).thenReturn(ENCODED_PASSWORD);
+        when(userRepository.findByEmail(ADMIN_EMAIL)).thenAnswer(invocation -> Optional.ofNullable(savedUser[0]));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> savedUser[0] = invocation.getArgument(0));
+        when(profileRepository.findByEmail(ADMIN_EMAIL)).thenReturn(Optional.empty());
+        when(profileRepository.save(any(Profile.class)))
+                .thenThrow(new IllegalStateException("write failed"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        assertThrows(IllegalStateException.class, () -> defaultDataConfig.run());
+
+        // When: the startup task is retried
+        assertDoesNotThrow(() -> defaultDataConfig.run());
 
-        // Verify that the "already exists" message was printed
-        assertTrue(outContent.toString().contains("Admin user already exists. Skipping creation."),
-                "Admin exists message not found in console output");
+        // Then: the user was saved once and the profile on the retry
+        verify(userRepository, times(1)).save(any(User.class));
+        verify(profileRepository, times(2)).save(any(Profile.class));
     }
 }
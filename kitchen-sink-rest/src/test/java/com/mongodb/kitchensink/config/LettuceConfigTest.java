@@ -0,0 +1,63 @@
+package com.mongodb.kitchensink.config;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.metrics.MicrometerOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the LettuceConfig class.
+ */
+class LettuceConfigTest {
+
+    private final LettuceConfig lettuceConfig = new LettuceConfig();
+
+    @Test
+    @DisplayName("client options should reconnect, fail fast while disconnected and time out every command")
+    void lettuceClientTuning_shouldApplyClientOptions() {
+        ClientOptions.Builder builder = ClientOptions.builder();
+
+        lettuceConfig.lettuceClientTuning().customize(builder);
+        ClientOptions options = builder.build();
+
+        assertTrue(options.isAutoReconnect());
+        assertEquals(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS, options.getDisconnectedBehavior());
+        assertEquals(10000, options.getRequestQueueSize());
+        assertEquals(Duration.ofSeconds(2), options.getSocketOptions().getConnectTimeout());
+        assertTrue(options.getSocketOptions().isKeepAlive());
+        assertTrue(options.getTimeoutOptions().isTimeoutCommands());
+    }
+
+    @Test
+    @DisplayName("cluster options prepared by Spring Boot should keep their topology refresh settings")
+    void lettuceClientTuning_shouldKeepClusterOptions() {
+        ClusterClientOptions.Builder builder = ClusterClientOptions.builder()
+                .topologyRefreshOptions(ClusterTopologyRefreshOptions.builder()
+                        .enablePeriodicRefresh(Duration.ofSeconds(30))
+                        .enableAllAdaptiveRefreshTriggers()
+                        .build());
+
+        lettuceConfig.lettuceClientTuning().customize(builder);
+        ClusterClientOptions options = builder.build();
+
+        assertTrue(options.getTopologyRefreshOptions().isPeriodicRefreshEnabled());
+        assertFalse(options.getTopologyRefreshOptions().getAdaptiveRefreshTriggers().isEmpty());
+        assertEquals(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS, options.getDisconnectedBehavior());
+        assertTrue(options.getSocketOptions().isKeepAlive());
+    }
+
+    @Test
+    @DisplayName("command latency metrics should record histograms")
+    void lettuceMicrometerOptions_shouldEnableHistograms() {
+        MicrometerOptions options = lettuceConfig.lettuceMicrometerOptions();
+
+        assertTrue(options.isEnabled());
+        assertTrue(options.isHistogram());
+    }
+}
@@ -0,0 +1,66 @@
+package com.mongodb.kitchensink.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the MongoClientConfig class.
+ */
+class MongoClientConfigTest {
+
+    private MongoClientConfig mongoClientConfig;
+
+    @BeforeEach
+    void setUp() {
+        mongoClientConfig = new MongoClientConfig();
+    }
+
+    @Test
+    @DisplayName("customizer should apply pool, timeout, read preference and compression settings")
+    void mongoClientTuning_shouldApplySettings() {
+        ReflectionTestUtils.setField(mongoClientConfig, "poolMaxSize", 20);
+        ReflectionTestUtils.setField(mongoClientConfig, "readPreference", "secondaryPreferred");
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+
+        mongoClientConfig.mongoClientTuning().customize(builder);
+        MongoClientSettings settings = builder.build();
+
+        assertEquals(5, settings.getConnectionPoolSettings().getMinSize());
+        assertEquals(20, settings.getConnectionPoolSettings().getMaxSize());
+        assertEquals(2, settings.getConnectionPoolSettings().getMaxConnecting());
+        assertEquals(2000, settings.getConnectionPoolSettings().getMaxWaitTime(TimeUnit.MILLISECONDS));
+        assertEquals(5000, settings.getSocketSettings().getConnectTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(15000, settings.getSocketSettings().getReadTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(5000, settings.getClusterSettings().getServerSelectionTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(ReadPreference.secondaryPreferred(), settings.getReadPreference());
+        assertEquals(List.of("zstd", "snappy"),
+                settings.getCompressorList().stream().map(MongoCompressor::getName).toList());
+    }
+
+    @Test
+    @DisplayName("compressors should keep the configured order and accept zlib")
+    void compressors_shouldKeepOrder() {
+        ReflectionTestUtils.setField(mongoClientConfig, "compressors", List.of("snappy", " zlib "));
+
+        assertEquals(List.of("snappy", "zlib"),
+                mongoClientConfig.compressors().stream().map(MongoCompressor::getName).toList());
+    }
+
+    @Test
+    @DisplayName("compressors should reject unknown names")
+    void compressors_shouldRejectUnknownNames() {
+        ReflectionTestUtils.setField(mongoClientConfig, "compressors", List.of("lz4"));
+
+        assertThrows(IllegalArgumentException.class, () -> mongoClientConfig.compressors());
+    }
+}
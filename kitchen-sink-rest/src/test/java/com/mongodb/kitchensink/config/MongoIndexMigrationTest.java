@@ -0,0 +1,149 @@
+package com.mongodb.kitchensink.config;
+
+import com.mongodb.kitchensink.model.Profile;
+import com.mongodb.kitchensink.model.User;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MongoIndexMigration Tests")
+class MongoIndexMigrationTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private IndexOperations userIndexOps;
+    @Mock
+    private IndexOperations profileIndexOps;
+
+    private MongoIndexMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.indexOps(User.class)).thenReturn(userIndexOps);
+        lenient().when(mongoTemplate.indexOps(Profile.class)).thenReturn(profileIndexOps);
+        migration = new MongoIndexMigration(mongoTemplate);
+    }
+
+    private static String nameOf(IndexDefinition index) {
+        return index.getIndexOptions().getString("name");
+    }
+
+    private static Map<String, Document> created(IndexOperations indexOps) {
+        ArgumentCaptor<IndexDefinition> indexes = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps, atLeastOnce()).createIndex(indexes.capture());
+        return indexes.getAllValues().stream()
+                .collect(Collectors.toMap(MongoIndexMigrationTest::nameOf, IndexDefinition::getIndexOptions));
+    }
+
+    @Test
+    @DisplayName("should create the unique email and username indexes of users and profiles")
+    void run_createsDeclaredIndexes() {
+        // Given
+        when(userIndexOps.getIndexInfo()).thenReturn(List.of(new IndexInfo(List.of(), "_id_", false, false, null)));
+        when(profileIndexOps.getIndexInfo()).thenReturn(List.of());
+        when(userIndexOps.createIndex(any())).thenAnswer(invocation -> nameOf(invocation.getArgument(0)));
+        when(profileIndexOps.createIndex(any())).thenAnswer(invocation -> nameOf(invocation.getArgument(0)));
+        when(mongoTemplate.getCollectionName(any())).thenReturn("collection");
+
+        // When
+        migration.run();
+
+        // Then
+        for (IndexOperations indexOps : List.of(userIndexOps, profileIndexOps)) {
+            Map<String, Document> indexes = created(indexOps);
+            assertEquals(2, indexes.size());
+            assertEquals(true, indexes.get("email").get("unique"));
+            assertEquals(true, indexes.get("username").get("unique"));
+        }
+        assertEquals("index-migration", migration.name());
+        assertTrue(migration.gatesReadiness());
+    }
+
+    @Test
+    @DisplayName("should build the secondary and partial indexes in a task that does not gate readiness")
+    void secondaryIndexes_createsNonUniqueIndexes() {
+        // Given
+        SecondaryIndexMigration secondary = new SecondaryIndexMigration(mongoTemplate);
+        when(userIndexOps.getIndexInfo()).thenReturn(List.of());
+        when(profileIndexOps.getIndexInfo()).thenReturn(List.of());
+        when(userIndexOps.createIndex(any())).thenAnswer(invocation -> nameOf(invocation.getArgument(0)));
+        when(profileIndexOps.createIndex(any())).thenAnswer(invocation -> nameOf(invocation.getArgument(0)));
+        when(mongoTemplate.getCollectionName(any())).thenReturn("collection");
+
+        // When
+        secondary.run();
+
+        // Then
+        Map<String, Document> users = created(userIndexOps);
+        assertEquals(Set.of("roles", "createdAt_id", "pending_verification", "first_login"), users.keySet());
+        assertEquals(new Document("isAccountVerificationPending", true),
+                users.get("pending_verification").get("partialFilterExpression"));
+        assertEquals(new Document("isFirstLogin", true), users.get("first_login").get("partialFilterExpression"));
+        assertNull(users.get("roles").get("unique"));
+        assertEquals(Set.of("address_city", "address_country"), created(profileIndexOps).keySet());
+        assertEquals("secondary-indexes", secondary.name());
+        assertFalse(secondary.gatesReadiness());
+    }
+
+    @Test
+    @DisplayName("should leave existing indexes alone on the next start")
+    void run_indexesExist_noNewIndexes() {
+        // Given
+        List<IndexInfo> existing = List.of(new IndexInfo(List.of(), "email", true, false, null),
+                new IndexInfo(List.of(), "username", true, false, null));
+        when(userIndexOps.getIndexInfo()).thenReturn(existing);
+        when(profileIndexOps.getIndexInfo()).thenReturn(existing);
+        when(userIndexOps.createIndex(any())).thenAnswer(invocation -> nameOf(invocation.getArgument(0)));
+        when(profileIndexOps.createIndex(any())).thenAnswer(invocation -> nameOf(invocation.getArgument(0)));
+
+        // When
+        migration.run();
+
+        // Then
+        verify(mongoTemplate, never()).getCollectionName(any());
+        verify(userIndexOps, never()).dropIndex(any());
+        verify(profileIndexOps, never()).dropIndex(any());
+    }
+
+    @Test
+    @DisplayName("should fail when an existing index conflicts with its declaration")
+    void run_conflictingIndex_fails() {
+        // Given
+        when(userIndexOps.getIndexInfo()).thenReturn(List.of(new IndexInfo(List.of(), "email", false, false, null)));
+        when(userIndexOps.createIndex(any()))
+                .thenThrow(new DataIntegrityViolationException("Index with name: email already exists with different options"));
+
+        // When / Then
+        assertThrows(DataIntegrityViolationException.class, () -> migration.run());
+        verifyNoInteractions(profileIndexOps);
+    }
+}
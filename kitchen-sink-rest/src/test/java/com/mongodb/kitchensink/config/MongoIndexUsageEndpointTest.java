@@ -0,0 +1,76 @@
+package com.mongodb.kitchensink.config;
+
+import com.mongodb.kitchensink.model.Profile;
+import com.mongodb.kitchensink.model.User;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MongoIndexUsageEndpoint Tests")
+class MongoIndexUsageEndpointTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private MongoIndexUsageEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.getCollectionName(Profile.class)).thenReturn("profiles");
+        endpoint = new MongoIndexUsageEndpoint(mongoTemplate);
+    }
+
+    private static Document stat(String name, long ops) {
+        return new Document("name", name)
+                .append("key", new Document(name, 1))
+                .append("accesses", new Document("ops", ops).append("since", new Date()));
+    }
+
+    private void stubStats(String collection, Document... stats) {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(collection), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(stats), new Document()));
+    }
+
+    @Test
+    @DisplayName("should report unused, undeclared and missing indexes")
+    void indexes_reportsUsageAgainstDeclarations() {
+        // Given
+        stubStats("users", stat("_id_", 0), stat("email", 120), stat("username", 3), stat("roles", 0),
+                stat("createdAt_id", 40), stat("pending_verification", 2), stat("first_login", 2), stat("legacy_name", 9));
+        stubStats("profiles", stat("_id_", 5), stat("email", 7), stat("username", 1), stat("address_city", 4));
+
+        // When
+        Map<String, Object> report = endpoint.indexes();
+
+        // Then
+        assertEquals(List.of("users.roles"), report.get("unused"));
+        assertEquals(List.of("users.legacy_name"), report.get("undeclared"));
+        assertEquals(List.of("profiles.address_country"), report.get("missing"));
+        assertEquals(12, ((List<?>) report.get("indexes")).size());
+    }
+}
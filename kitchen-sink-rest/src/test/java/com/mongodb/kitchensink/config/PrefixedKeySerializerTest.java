@@ -0,0 +1,39 @@
+package com.mongodb.kitchensink.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PrefixedKeySerializer Tests")
+class PrefixedKeySerializerTest {
+
+    private final PrefixedKeySerializer serializer = new PrefixedKeySerializer("kitchensink");
+
+    @Test
+    @DisplayName("should write keys under the prefix and read them back without it")
+    void serialize_roundTripsWithoutPrefix() {
+        byte[] raw = serializer.serialize("OTP:LOGIN:a@b.com");
+
+        assertEquals("kitchensink:OTP:LOGIN:a@b.com", new String(raw, StandardCharsets.UTF_8));
+        assertEquals("OTP:LOGIN:a@b.com", serializer.deserialize(raw));
+    }
+
+    @Test
+    @DisplayName("should leave keys untouched when no prefix is configured")
+    void emptyPrefix_leavesKeysUntouched() {
+        PrefixedKeySerializer unprefixed = new PrefixedKeySerializer("");
+
+        assertEquals("OTP:x", new String(unprefixed.serialize("OTP:x"), StandardCharsets.UTF_8));
+        assertEquals("OTP:x", unprefixed.deserialize("OTP:x".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("should pass nulls through")
+    void nulls_passThrough() {
+        assertNull(serializer.serialize(null));
+        assertNull(serializer.deserialize(null));
+    }
+}
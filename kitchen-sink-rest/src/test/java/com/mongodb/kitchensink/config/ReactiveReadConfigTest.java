@@ -0,0 +1,37 @@
+package com.mongodb.kitchensink.config;
+
+import com.mongodb.kitchensink.reactive.ReactiveReadServer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"app.reactive-read.enabled=true", "app.reactive-read.port=0"})
+@ActiveProfiles("test")
+@DisplayName("ReactiveReadConfig Test")
+class ReactiveReadConfigTest {
+
+    @Autowired
+    private ReactiveReadServer reactiveReadServer;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Test
+    @DisplayName("should start the reactive read server with the application and protect its routes")
+    void reactiveReadServer_started_rejectsAnonymousReads() {
+        assertThat(reactiveReadServer.isRunning()).isTrue();
+        assertThat(reactiveMongoTemplate).isNotNull();
+
+        WebTestClient.bindToServer().baseUrl("http://localhost:" + reactiveReadServer.getPort()).build()
+                .get().uri("/api/dashboard/dashboard-stats").exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Full authentication is required to access this resource");
+    }
+}
@@ -0,0 +1,90 @@
+package com.mongodb.kitchensink.config;
+
+import com.mongodb.kitchensink.service.SessionService;
+import com.mongodb.kitchensink.service.SessionStoreCircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against a real Redis Cluster, e.g. the {@code redis-cluster} service in docker-compose.yml:
+ * {@code REDIS_CLUSTER_NODES=localhost:7000,localhost:7001,localhost:7002 mvn test -Dtest=RedisClusterTopologyTest}.
+ */
+@EnabledIfEnvironmentVariable(named = "REDIS_CLUSTER_NODES", matches = ".+")
+@DisplayName("Redis Cluster topology Tests")
+class RedisClusterTopologyTest {
+
+    private static final String EMAIL = "cluster-test@example.com";
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisConfig redisConfig;
+    private static RedisTemplate<String, Object> redisTemplate;
+
+    @BeforeAll
+    static void connect() {
+        List<String> nodes = List.of(System.getenv("REDIS_CLUSTER_NODES").split(","));
+        connectionFactory = new LettuceConnectionFactory(new RedisClusterConfiguration(nodes));
+        connectionFactory.afterPropertiesSet();
+        redisConfig = new RedisConfig();
+        ReflectionTestUtils.setField(redisConfig, "keyPrefix", "it-" + UUID.randomUUID());
+        redisTemplate = redisConfig.redisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void cleanUpAndDisconnect() {
+        if (redisTemplate != null) {
+            new RedisConfig.RedisCleanup(redisTemplate, true, List.of("*"), 500, 200).clearRedisOnShutdown();
+        }
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("a user's access and refresh tokens should share a slot and be deleted together")
+    void invalidateSession_deletesBothTokensInOneCommand() {
+        SessionService sessionService = new SessionService(redisTemplate,
+                new SessionStoreCircuitBreaker(new SimpleMeterRegistry()));
+        sessionService.storeAccessToken(EMAIL, "access", 60);
+        sessionService.storeRefreshToken(EMAIL, "refresh", 60);
+
+        try (RedisClusterConnection connection = connectionFactory.getClusterConnection()) {
+            PrefixedKeySerializer keys = (PrefixedKeySerializer) redisTemplate.getKeySerializer();
+            assertEquals(connection.clusterGetSlotForKey(keys.serialize(RedisKeyspace.ACCESS_TOKEN.key(EMAIL))),
+                    connection.clusterGetSlotForKey(keys.serialize(RedisKeyspace.REFRESH_TOKEN.key(EMAIL))));
+        }
+
+        sessionService.invalidateSession(EMAIL);
+
+        assertFalse(sessionService.doesSessionExist(EMAIL));
+        assertFalse(sessionService.validateAndConsumeRefreshToken(EMAIL, "refresh"));
+    }
+
+    @Test
+    @DisplayName("the shutdown cleanup should find and unlink keys on every master")
+    void redisCleanup_scansWholeCluster() {
+        for (int i = 0; i < 50; i++) {
+            redisTemplate.opsForValue().set(RedisKeyspace.RATE_LIMIT.key("cleanup:" + i), "x");
+        }
+
+        new RedisConfig.RedisCleanup(redisTemplate, true, List.of(RedisKeyspace.RATE_LIMIT.pattern()), 100, 20)
+                .clearRedisOnShutdown();
+
+        for (int i = 0; i < 50; i++) {
+            assertNull(redisTemplate.opsForValue().get(RedisKeyspace.RATE_LIMIT.key("cleanup:" + i)));
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.mongodb.kitchensink.config;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -10,11 +11,17 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
@@ -26,7 +33,7 @@ class RedisConfigTest {
     @MockBean
     private RedisConnectionFactory mockConnectionFactory;
 
-    // Mock RedisConnection to verify the flushDb() call.
+    // Mock RedisConnection to verify the flushDb() call is never made.
     @MockBean
     private RedisConnection mockConnection;
 
@@ -43,24 +50,87 @@ class RedisConfigTest {
     @DisplayName("RedisTemplate bean should be correctly configured")
     void redisTemplate_shouldBeCorrectlyConfigured() {
         assertThat(redisTemplate).isNotNull();
-        assertThat(redisTemplate.getKeySerializer()).isInstanceOf(StringRedisSerializer.class);
+        assertThat(redisTemplate.getKeySerializer()).isInstanceOf(PrefixedKeySerializer.class);
         assertThat(redisTemplate.getHashKeySerializer()).isInstanceOf(StringRedisSerializer.class);
         assertThat(redisTemplate.getValueSerializer()).isInstanceOf(GenericJackson2JsonRedisSerializer.class);
         assertThat(redisTemplate.getHashValueSerializer()).isInstanceOf(GenericJackson2JsonRedisSerializer.class);
     }
 
 
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
     @Test
-    @DisplayName("RedisCleanup should flush the database on shutdown")
-    void redisCleanup_shouldFlushDbOnShutdown() {
-        // Given a mock RedisConnectionFactory that returns a mock connection
-        when(mockConnectionFactory.getConnection()).thenReturn(mockConnection);
+    @DisplayName("Both templates should place keys under the deployment prefix")
+    void templates_shouldPrefixKeys() {
+        assertThat(redisTemplate.getKeySerializer()).isInstanceOf(PrefixedKeySerializer.class);
+        assertThat(stringRedisTemplate.getKeySerializer()).isInstanceOf(PrefixedKeySerializer.class);
+        assertThat(((PrefixedKeySerializer) redisTemplate.getKeySerializer()).getPrefix()).isEqualTo("kitchensink:");
+        assertThat(stringRedisTemplate.getStringSerializer()).isInstanceOf(StringRedisSerializer.class);
+    }
 
+    @Test
+    @DisplayName("RedisCleanup should do nothing on shutdown unless enabled")
+    void redisCleanup_disabledByDefault_shouldNotTouchRedis() {
         // When the clearRedisOnShutdown() method is called
         redisCleanup.clearRedisOnShutdown();
 
-        // Then verify the interaction with the mocked objects
-        verify(mockConnectionFactory, times(1)).getConnection();
-        verify(mockConnection, times(1)).flushDb();
+        // Then no connection is opened, let alone flushed
+        verify(mockConnectionFactory, never()).getConnection();
+        verify(mockConnection, never()).flushDb();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("RedisCleanup should scan only prefixed keys and unlink them in batches")
+    void redisCleanup_enabled_shouldScanAndUnlinkPrefixedKeys() {
+        // Given three prefixed keys and a batch size of two
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisKeyCommands keyCommands = mock(RedisKeyCommands.class);
+        Cursor<byte[]> cursor = mock(Cursor.class);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        when(keyCommands.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(true, true, true, false);
+        when(cursor.next()).thenReturn("app:OTP:1".getBytes(), "app:OTP:2".getBytes(), "app:OTP:3".getBytes());
+        when(keyCommands.unlink(any(byte[][].class))).thenReturn(2L, 1L);
+
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new PrefixedKeySerializer("app"));
+        template.afterPropertiesSet();
+        RedisConfig.RedisCleanup cleanup = new RedisConfig.RedisCleanup(template, true, List.of("OTP:*"), 100, 2);
+
+        // When
+        cleanup.clearRedisOnShutdown();
+
+        // Then the scan is limited to the prefix and keys are unlinked, never flushed
+        ArgumentCaptor<ScanOptions> options = ArgumentCaptor.forClass(ScanOptions.class);
+        verify(keyCommands).scan(options.capture());
+        assertThat(options.getValue().getPattern()).isEqualTo("app:OTP:*");
+        assertThat(options.getValue().getCount()).isEqualTo(100L);
+        verify(keyCommands, times(2)).unlink(any(byte[][].class));
+        verify(cursor).close();
+        verify(connection, never()).flushDb();
+        verify(connection, never()).flushAll();
+    }
+
+    @Test
+    @DisplayName("RedisCleanup should refuse to run without a key prefix")
+    void redisCleanup_withoutPrefix_shouldSkip() {
+        // Given
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new PrefixedKeySerializer(""));
+        template.afterPropertiesSet();
+        RedisConfig.RedisCleanup cleanup = new RedisConfig.RedisCleanup(template, true, List.of("*"), 100, 2);
+
+        // When
+        cleanup.clearRedisOnShutdown();
+
+        // Then
+        verify(connectionFactory, never()).getConnection();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,59 @@
+package com.mongodb.kitchensink.config;
+
+import io.lettuce.core.cluster.SlotHash;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RedisKeyspace Tests")
+class RedisKeyspaceTest {
+
+    @Test
+    @DisplayName("should hash-tag the email in per-user keys")
+    void key_perUserNamespaces_areHashTagged() {
+        assertEquals("ACTIVE_ACCESS_TOKEN:{a@b.com}", RedisKeyspace.ACCESS_TOKEN.key("a@b.com"));
+        assertEquals("REFRESH_TOKEN:{a@b.com}", RedisKeyspace.REFRESH_TOKEN.key("a@b.com"));
+        assertEquals("OTP:FORGOT_PASSWORD:{a@b.com}", RedisKeyspace.OTP.key("FORGOT_PASSWORD", "a@b.com"));
+    }
+
+    @Test
+    @DisplayName("should build plain keys for namespaces that are not per user")
+    void key_sharedNamespaces_areNotHashTagged() {
+        assertEquals("RATE_LIMIT:LOGIN:IP:1.2.3.4", RedisKeyspace.RATE_LIMIT.key("LOGIN:IP:1.2.3.4"));
+        assertEquals("RATE_LIMIT:*", RedisKeyspace.RATE_LIMIT.pattern());
+    }
+
+    @Test
+    @DisplayName("should resolve the namespace of a key, including cache keys")
+    void of_resolvesNamespace() {
+        assertEquals(RedisKeyspace.ACCESS_TOKEN, RedisKeyspace.of("ACTIVE_ACCESS_TOKEN:{a@b.com}"));
+        assertEquals(RedisKeyspace.OTP, RedisKeyspace.of("OTP:LOGIN:{a@b.com}"));
+        assertEquals(RedisKeyspace.USER_BY_EMAIL_CACHE, RedisKeyspace.of("userByEmail::a@b.com"));
+        assertNull(RedisKeyspace.of("OTPX:a"));
+        assertNull(RedisKeyspace.of("unrelated"));
+    }
+
+    @Test
+    @DisplayName("should cover every Redis cache")
+    void registry_coversEveryCache() {
+        for (String cacheName : CacheConfig.CACHE_NAMES) {
+            assertTrue(Arrays.stream(RedisKeyspace.values()).anyMatch(k -> k.getNamespace().equals(cacheName)), cacheName);
+        }
+    }
+
+    @Test
+    @DisplayName("should place all of a user's session and OTP keys in one cluster slot")
+    void perUserKeys_shareOneClusterSlot() {
+        PrefixedKeySerializer serializer = new PrefixedKeySerializer("kitchensink");
+        String email = "a@b.com";
+
+        int slot = SlotHash.getSlot(serializer.serialize(RedisKeyspace.ACCESS_TOKEN.key(email)));
+
+        assertEquals(slot, SlotHash.getSlot(serializer.serialize(RedisKeyspace.REFRESH_TOKEN.key(email))));
+        assertEquals(slot, SlotHash.getSlot(serializer.serialize(RedisKeyspace.OTP.key("LOGIN", email))));
+        assertEquals(slot, SlotHash.getSlot(serializer.serialize(RedisKeyspace.OTP.key("FORGOT_PASSWORD", email))));
+    }
+}
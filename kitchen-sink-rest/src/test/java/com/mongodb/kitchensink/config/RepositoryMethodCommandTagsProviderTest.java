@@ -0,0 +1,72 @@
+package com.mongodb.kitchensink.config;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.kitchensink.repository.UserRepository;
+import io.micrometer.core.instrument.Tag;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RepositoryMethodCommandTagsProvider and RepositoryMethodContext.
+ */
+class RepositoryMethodCommandTagsProviderTest {
+
+    private final RepositoryMethodCommandTagsProvider provider = new RepositoryMethodCommandTagsProvider();
+    private final ConnectionDescription connection = new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private String tag(Iterable<Tag> tags, String key) {
+        return StreamSupport.stream(tags.spliterator(), false)
+                .filter(tag -> tag.getKey().equals(key))
+                .map(Tag::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private Iterable<Tag> runFind(int requestId) {
+        BsonDocument command = new BsonDocument("find", new BsonString("users"));
+        provider.commandStarted(new CommandStartedEvent(null, 1L, requestId, connection, "kitchensinkdb", "find", command));
+        return provider.commandTags(new CommandSucceededEvent(null, 1L, requestId, connection, "kitchensinkdb", "find", new BsonDocument(), 1000L));
+    }
+
+    @Test
+    @DisplayName("commands issued inside a repository method should be tagged with it")
+    void commandTags_shouldIncludeRepositoryMethod() throws Throwable {
+        MethodInterceptor interceptor = RepositoryMethodContext.interceptor(UserRepository.class);
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(UserRepository.class.getMethod("findByEmail", String.class));
+        AtomicReference<Iterable<Tag>> tags = new AtomicReference<>();
+        when(invocation.proceed()).thenAnswer(call -> {
+            tags.set(runFind(7));
+            return null;
+        });
+
+        interceptor.invoke(invocation);
+
+        assertEquals("UserRepository.findByEmail", tag(tags.get(), RepositoryMethodCommandTagsProvider.TAG));
+        assertEquals("users", tag(tags.get(), "collection"));
+        assertEquals("find", tag(tags.get(), "command"));
+        assertEquals(RepositoryMethodContext.NONE, RepositoryMethodContext.current());
+    }
+
+    @Test
+    @DisplayName("commands issued outside a repository should be tagged as none")
+    void commandTags_shouldFallBackToNone() {
+        assertEquals(RepositoryMethodContext.NONE, tag(runFind(8), RepositoryMethodCommandTagsProvider.TAG));
+    }
+}
@@ -3,6 +3,8 @@ package com.mongodb.kitchensink.config;
 import com.mongodb.kitchensink.dto.UserDto;
 import com.mongodb.kitchensink.service.UserService;
 import com.mongodb.kitchensink.util.JwtAuthenticationFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,6 +21,8 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
@@ -82,4 +86,69 @@ class SecurityConfigTest {
                         .with(user("testuser").roles("USER")))
                 .andExpect(status().isOk()); // 200
     }
-}
\ No newline at end of file
+
+    /**
+     * The mocked JWT filter and entry point do nothing by default; these let the request reach the
+     * authorization rules and answer 401 when they reject an anonymous caller.
+     */
+    private void passThroughJwtFilter() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<FilterChain>getArgument(2).doFilter(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(jwtAuthenticationFilter).doFilter(any(), any(), any());
+        doAnswer(invocation -> {
+            invocation.<HttpServletResponse>getArgument(1).sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return null;
+        }).when(jwtAuthenticationEntryPoint).commence(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("actuator info should stay public")
+    void actuatorInfo_shouldPermitAll() throws Exception {
+        passThroughJwtFilter();
+        mockMvc.perform(get("/actuator/info"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("actuator metrics and prometheus should require authentication")
+    void actuatorMetrics_shouldDenyAnonymous() throws Exception {
+        passThroughJwtFilter();
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("actuator metrics should be forbidden to non-admin users and open to admins")
+    void actuatorMetrics_shouldRequireAdmin() throws Exception {
+        passThroughJwtFilter();
+        mockMvc.perform(get("/actuator/metrics").with(user("testuser").roles("USER")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("actuator slowqueries should only be open to admins, as shapes name collections and fields")
+    void actuatorSlowQueries_shouldRequireAdmin() throws Exception {
+        passThroughJwtFilter();
+        mockMvc.perform(get("/actuator/slowqueries"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/slowqueries").with(user("testuser").roles("USER")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/slowqueries").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("actuator indexes should be closed to anonymous and non-admin users")
+    void actuatorIndexes_shouldRequireAdmin() throws Exception {
+        passThroughJwtFilter();
+        mockMvc.perform(get("/actuator/indexes"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/indexes").with(user("testuser").roles("USER")))
+                .andExpect(status().isForbidden());
+    }
+}
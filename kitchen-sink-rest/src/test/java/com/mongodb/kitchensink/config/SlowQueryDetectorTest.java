@@ -0,0 +1,262 @@
+package com.mongodb.kitchensink.config;
+
+import com.mongodb.MongoException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.kitchensink.repository.ProfileRepository;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SlowQueryDetector Tests")
+class SlowQueryDetectorTest {
+
+    private static final String DATABASE = "kitchensinkdb";
+    private static final String CITY_FIND = "{\"find\": \"profiles\", \"filter\": {\"address.city\": {\"$regex\": \"pune\", \"$options\": \"i\"}},"
+            + " \"sort\": {\"_id\": 1}, \"limit\": 20, \"lsid\": {\"id\": 1}, \"$db\": \"kitchensinkdb\"}";
+    private static final Document COLLSCAN_PLAN = Document.parse(
+            "{\"queryPlanner\": {\"winningPlan\": {\"stage\": \"LIMIT\", \"inputStage\": {\"stage\": \"SORT\","
+                    + " \"inputStage\": {\"stage\": \"COLLSCAN\"}}}}}");
+
+    @Mock
+    private ObjectProvider<MongoClient> mongoClientProvider;
+    @Mock
+    private MongoClient mongoClient;
+    @Mock
+    private MongoDatabase database;
+
+    private SlowQueryDetector detector;
+    private final ConnectionDescription connection = new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    @BeforeEach
+    void setUp() {
+        detector = new SlowQueryDetector(mongoClientProvider, Runnable::run);
+        ReflectionTestUtils.setField(detector, "thresholdMs", 100L);
+    }
+
+    private void stubExplain(Document plan) {
+        when(mongoClientProvider.getObject()).thenReturn(mongoClient);
+        when(mongoClient.getDatabase(DATABASE)).thenReturn(database);
+        when(database.runCommand(any(Document.class))).thenReturn(plan);
+    }
+
+    private void run(int requestId, String json, long millis) {
+        BsonDocument command = BsonDocument.parse(json);
+        String commandName = command.getFirstKey();
+        detector.commandStarted(new CommandStartedEvent(null, 1L, requestId, connection, DATABASE, commandName, command));
+        detector.commandSucceeded(new CommandSucceededEvent(null, 1L, requestId, connection, DATABASE, commandName,
+                new BsonDocument(), TimeUnit.MILLISECONDS.toNanos(millis)));
+    }
+
+    private void runInRepository(int requestId, String json, long millis) throws Throwable {
+        MethodInterceptor interceptor = RepositoryMethodContext.interceptor(ProfileRepository.class);
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(ProfileRepository.class.getMethod(
+                "findSummariesByAddress_CityContainingIgnoreCase", String.class, Pageable.class));
+        when(invocation.proceed()).thenAnswer(call -> {
+            run(requestId, json, millis);
+            return null;
+        });
+        interceptor.invoke(invocation);
+    }
+
+    @Test
+    @DisplayName("should record a slow read with its repository method and flag its collection scan")
+    void commandSucceeded_slowFind_explainedAndFlagged() throws Throwable {
+        // Given
+        stubExplain(COLLSCAN_PLAN);
+
+        // When
+        runInRepository(1, CITY_FIND, 250);
+
+        // Then
+        List<SlowQueryDetector.SlowQuery> slowQueries = detector.slowQueries();
+        assertEquals(1, slowQueries.size());
+        SlowQueryDetector.SlowQuery slowQuery = slowQueries.get(0);
+        assertEquals("ProfileRepository.findSummariesByAddress_CityContainingIgnoreCase", slowQuery.getMethod());
+        assertFalse(slowQuery.getShape().contains("pune"));
+        assertEquals(250, slowQuery.getMaxMillis());
+        assertTrue(slowQuery.isCollectionScan());
+        assertEquals(List.of("LIMIT", "SORT", "COLLSCAN"), slowQuery.getPlan().stages());
+
+        ArgumentCaptor<Document> explain = ArgumentCaptor.forClass(Document.class);
+        verify(database).runCommand(explain.capture());
+        BsonDocument explained = (BsonDocument) explain.getValue().get("explain");
+        assertEquals("queryPlanner", explain.getValue().get("verbosity"));
+        assertEquals("profiles", explained.getString("find").getValue());
+        assertFalse(explained.containsKey("lsid"));
+        assertFalse(explained.containsKey("$db"));
+    }
+
+    @Test
+    @DisplayName("should explain a shape once per interval, whatever its values")
+    void commandSucceeded_sameShapeTwice_explainedOnce() {
+        // Given
+        stubExplain(COLLSCAN_PLAN);
+
+        // When
+        run(1, CITY_FIND, 250);
+        run(2, CITY_FIND.replace("pune", "delhi"), 400);
+
+        // Then
+        SlowQueryDetector.SlowQuery slowQuery = detector.slowQueries().get(0);
+        assertEquals(1, detector.slowQueries().size());
+        assertEquals(2, slowQuery.getCount());
+        assertEquals(400, slowQuery.getMaxMillis());
+        assertEquals(RepositoryMethodContext.NONE, slowQuery.getMethod());
+        verify(database, times(1)).runCommand(any(Document.class));
+    }
+
+    @Test
+    @DisplayName("should ignore fast commands and not explain writes")
+    void commandSucceeded_fastOrWrite_notRecorded() {
+        // When
+        run(1, CITY_FIND, 20);
+        run(2, "{\"insert\": \"users\", \"documents\": [{\"email\": \"a@example.com\"}]}", 500);
+
+        // Then
+        assertTrue(detector.slowQueries().isEmpty());
+        verifyNoInteractions(mongoClientProvider);
+    }
+
+    @Test
+    @DisplayName("should record slow failed reads and survive a failing explain")
+    void commandFailed_slowFind_recordedWithoutPlan() {
+        // Given
+        when(mongoClientProvider.getObject()).thenThrow(new MongoException("not connected"));
+        BsonDocument command = BsonDocument.parse(CITY_FIND);
+
+        // When
+        detector.commandStarted(new CommandStartedEvent(null, 1L, 1, connection, DATABASE, "find", command));
+        detector.commandFailed(new CommandFailedEvent(null, 1L, 1, connection, DATABASE, "find",
+                TimeUnit.MILLISECONDS.toNanos(15000), new MongoException("operation exceeded time limit")));
+
+        // Then
+        SlowQueryDetector.SlowQuery slowQuery = detector.slowQueries().get(0);
+        assertEquals(15000, slowQuery.getMaxMillis());
+        assertNull(slowQuery.getPlan());
+        assertFalse(slowQuery.isCollectionScan());
+    }
+
+    @Test
+    @DisplayName("should keep its own copy of a read, as the driver reuses the command's buffer")
+    void commandStarted_commandReleased_slowFindStillExplained() {
+        // Given
+        stubExplain(COLLSCAN_PLAN);
+        BsonDocument command = BsonDocument.parse(CITY_FIND);
+
+        // When
+        detector.commandStarted(new CommandStartedEvent(null, 1L, 1, connection, DATABASE, "find", command));
+        command.clear();
+        detector.commandSucceeded(new CommandSucceededEvent(null, 1L, 1, connection, DATABASE, "find",
+                new BsonDocument(), TimeUnit.MILLISECONDS.toNanos(250)));
+
+        // Then
+        SlowQueryDetector.SlowQuery slowQuery = detector.slowQueries().get(0);
+        assertEquals("find profiles {\"filter\": {\"address.city\": \"?\"}, \"sort\": {\"_id\": 1}}", slowQuery.getShape());
+        assertTrue(slowQuery.isCollectionScan());
+    }
+
+    @Test
+    @DisplayName("copyOf should copy the command's bytes as they are")
+    void copyOf_keepsEveryField() {
+        // Given
+        BsonDocument command = BsonDocument.parse(CITY_FIND);
+
+        // When
+        RawBsonDocument copy = SlowQueryDetector.copyOf(command);
+
+        // Then
+        assertEquals(command, copy);
+    }
+
+    @Test
+    @DisplayName("should stop adding shapes at the configured maximum")
+    void commandSucceeded_maxShapesReached_newShapesDropped() {
+        // Given
+        stubExplain(COLLSCAN_PLAN);
+        ReflectionTestUtils.setField(detector, "maxShapes", 1);
+
+        // When
+        run(1, CITY_FIND, 250);
+        run(2, "{\"count\": \"users\", \"query\": {\"roles\": \"ADMIN\"}}", 250);
+
+        // Then
+        assertEquals(1, detector.slowQueries().size());
+    }
+
+    @Test
+    @DisplayName("shape should drop values, keep operators, $or branches and sort directions")
+    void shape_replacesValues() {
+        // Given
+        BsonDocument command = BsonDocument.parse("{\"find\": \"users\", \"filter\": {\"$or\": [{\"email\": \"a@example.com\"},"
+                + " {\"username\": {\"$in\": [\"a\", \"b\"]}}]}, \"sort\": {\"createdAt\": -1}}");
+
+        // When
+        String shape = SlowQueryDetector.shape("find", command);
+
+        // Then
+        assertEquals("find users {\"filter\": {\"$or\": [{\"email\": \"?\"}, {\"username\": {\"$in\": \"?\"}}]},"
+                + " \"sort\": {\"createdAt\": -1}}", shape);
+    }
+
+    @Test
+    @DisplayName("planOf should find the plan of an aggregation run by the slot-based engine")
+    void planOf_aggregationWithQueryPlan_findsIndex() {
+        // Given
+        Document explain = Document.parse("{\"stages\": [{\"$cursor\": {\"queryPlanner\": {\"winningPlan\": {\"queryPlan\":"
+                + " {\"stage\": \"FETCH\", \"inputStage\": {\"stage\": \"IXSCAN\", \"indexName\": \"roles\"}}}}}},"
+                + " {\"$group\": {}}]}");
+
+        // When
+        SlowQueryDetector.Plan plan = SlowQueryDetector.planOf(explain);
+
+        // Then
+        assertEquals(List.of("FETCH", "IXSCAN"), plan.stages());
+        assertEquals(List.of("roles"), plan.indexes());
+        assertFalse(plan.collectionScan());
+    }
+
+    @Test
+    @DisplayName("endpoint should list the shapes and count the collection scans")
+    void endpoint_countsCollectionScans() {
+        // Given
+        stubExplain(COLLSCAN_PLAN);
+        run(1, CITY_FIND, 250);
+
+        // When
+        Map<String, Object> result = new SlowQueryEndpoint(detector).slowQueries();
+
+        // Then
+        assertEquals(1L, result.get("collectionScans"));
+        assertEquals(detector.slowQueries(), result.get("queries"));
+    }
+}
@@ -0,0 +1,187 @@
+package com.mongodb.kitchensink.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("StartupTaskRunner Tests")
+class StartupTaskRunnerTest {
+
+    private final List<String> ran = new ArrayList<>();
+
+    private StartupTaskRunner runner(StartupTask... tasks) {
+        StartupTaskRunner runner = new StartupTaskRunner(List.of(tasks));
+        ReflectionTestUtils.setField(runner, "maxAttempts", 3);
+        ReflectionTestUtils.setField(runner, "retryDelayMs", 0L);
+        return runner;
+    }
+
+    private StartupTask task(String name, boolean gatesReadiness, boolean fails) {
+        return task(name, gatesReadiness, fails ? Integer.MAX_VALUE : 0);
+    }
+
+    private StartupTask task(String name, boolean gatesReadiness, int failures) {
+        return new StartupTask() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public boolean gatesReadiness() {
+                return gatesReadiness;
+            }
+
+            @Override
+            public void run() {
+                ran.add(name);
+                if (ran.stream().filter(name::equals).count() <= failures) {
+                    throw new IllegalStateException(name + " failed");
+                }
+            }
+        };
+    }
+
+    private static Health health(StartupTaskRunner runner) {
+        return new StartupTasksHealthIndicator(runner).health();
+    }
+
+    @Test
+    @DisplayName("should run the tasks in order and become ready once the gating tasks have succeeded")
+    void runTasks_allSucceed_readyWithTimings() {
+        // Given
+        StartupTaskRunner runner = runner(
+                task("index-migration", true, false), task("admin-user", true, false), task("demo-data", false, false));
+        assertEquals(Status.OUT_OF_SERVICE, health(runner).getStatus());
+
+        // When
+        runner.runTasks();
+
+        // Then
+        assertEquals(List.of("index-migration", "admin-user", "demo-data"), ran);
+        assertTrue(runner.isReady());
+        assertTrue(runner.isFinished());
+        assertEquals(List.of("index-migration", "admin-user", "demo-data"), List.copyOf(runner.phasesMillis().keySet()));
+        Health health = health(runner);
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(runner.phasesMillis(), health.getDetails().get("phasesMillis"));
+    }
+
+    @Test
+    @DisplayName("should retry a failing gating task up to the limit, then report down and mark liveness broken")
+    void runTasks_gatingTaskFails_notReady() {
+        // Given
+        StartupTaskRunner runner = runner(task("index-migration", true, true), task("admin-user", true, false));
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        ReflectionTestUtils.setField(runner, "publisher", context);
+
+        // When
+        runner.runTasks();
+
+        // Then
+        assertEquals(List.of("index-migration", "index-migration", "index-migration"), ran);
+        assertFalse(runner.isReady());
+        assertTrue(runner.isFinished());
+        Health health = health(runner);
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals("index-migration", health.getDetails().get("failedTask"));
+        ArgumentCaptor<AvailabilityChangeEvent<?>> published = ArgumentCaptor.forClass(AvailabilityChangeEvent.class);
+        verify(context).publishEvent(published.capture());
+        assertEquals(LivenessState.BROKEN, published.getValue().getState());
+    }
+
+    @Test
+    @DisplayName("should keep retrying a gating task without a limit until it succeeds")
+    void runTasks_unlimitedAttempts_retriesUntilSuccess() {
+        // Given
+        StartupTaskRunner runner = runner(task("index-migration", true, 25));
+        ReflectionTestUtils.setField(runner, "maxAttempts", 0);
+
+        // When
+        runner.runTasks();
+
+        // Then
+        assertEquals(26, ran.size());
+        assertTrue(runner.isReady());
+        assertNull(runner.getFailedTask());
+    }
+
+    @Test
+    @DisplayName("should become ready when a gating task succeeds on a retry")
+    void runTasks_gatingTaskRecovers_ready() {
+        // Given
+        StartupTaskRunner runner = runner(task("index-migration", true, 2));
+
+        // When
+        runner.runTasks();
+
+        // Then
+        assertEquals(3, ran.size());
+        assertTrue(runner.isReady());
+        assertNull(runner.getFailedTask());
+    }
+
+    @Test
+    @DisplayName("should stay ready when a task that does not gate readiness fails")
+    void runTasks_nonGatingTaskFails_stillReady() {
+        // Given
+        StartupTaskRunner runner = runner(task("demo-data", false, true), task("admin-user", true, false));
+
+        // When
+        runner.runTasks();
+
+        // Then
+        assertEquals(List.of("demo-data", "admin-user"), ran);
+        assertTrue(runner.isReady());
+        assertNull(runner.getFailedTask());
+    }
+
+    @Test
+    @DisplayName("should be ready straight away when no task gates readiness")
+    void runTasks_noGatingTasks_readyImmediately() {
+        // Given
+        StartupTaskRunner runner = runner();
+
+        // When
+        runner.runTasks();
+
+        // Then
+        assertTrue(runner.isReady());
+    }
+
+    @Test
+    @DisplayName("should record the JVM and context phases and run the tasks only once")
+    void onApplicationEvent_foreground_recordsPhasesOnce() {
+        // Given
+        StartupTaskRunner runner = runner(task("admin-user", true, false));
+        ReflectionTestUtils.setField(runner, "background", false);
+        ApplicationStartedEvent event = new ApplicationStartedEvent(new SpringApplication(), new String[0],
+                mock(ConfigurableApplicationContext.class), Duration.ofMillis(1500));
+
+        // When
+        runner.onApplicationEvent(event);
+        runner.onApplicationEvent(event);
+
+        // Then
+        assertEquals(List.of("admin-user"), ran);
+        assertEquals(List.of("jvm", "context", "admin-user"), List.copyOf(runner.phasesMillis().keySet()));
+        assertEquals(1500L, runner.phasesMillis().get("context"));
+        assertTrue(runner.isReady());
+    }
+}
@@ -0,0 +1,132 @@
+package com.mongodb.kitchensink.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    @Mock
+    private Cache remote;
+
+    private CaffeineCache local;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        local = new CaffeineCache("userByEmail", Caffeine.newBuilder().recordStats().build(), false);
+        cache = new TwoLevelCache("userByEmail", local, remote);
+    }
+
+    @Test
+    @DisplayName("should serve near-cache hits without calling Redis")
+    void get_shouldServeFromNearCache() {
+        // Given
+        local.put("a@example.com", "cached");
+        // When
+        Cache.ValueWrapper value = cache.get("a@example.com");
+        // Then
+        assertEquals("cached", value.get());
+        verifyNoInteractions(remote);
+        assertEquals(1, cache.getLocalHits());
+    }
+
+    @Test
+    @DisplayName("should copy Redis hits into the near cache")
+    void get_shouldPopulateNearCacheFromRedis() {
+        // Given
+        when(remote.get("a@example.com")).thenReturn(new SimpleValueWrapper("shared"));
+        // When
+        Cache.ValueWrapper first = cache.get("a@example.com");
+        Cache.ValueWrapper second = cache.get("a@example.com");
+        // Then
+        assertEquals("shared", first.get());
+        assertEquals("shared", second.get());
+        verify(remote, times(1)).get("a@example.com");
+        assertEquals(1, cache.getRemoteHits());
+        assertEquals(1, cache.getLocalHits());
+    }
+
+    @Test
+    @DisplayName("should count a miss when neither level has the key")
+    void get_shouldReturnNullOnMiss() {
+        assertNull(cache.get("missing@example.com"));
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("should write through to both levels")
+    void put_shouldWriteBothLevels() {
+        // When
+        cache.put("a@example.com", "value");
+        // Then
+        verify(remote).put("a@example.com", "value");
+        assertEquals("value", local.get("a@example.com").get());
+        assertEquals(1, cache.getPuts());
+    }
+
+    @Test
+    @DisplayName("should evict from both levels")
+    void evict_shouldEvictBothLevels() {
+        // Given
+        local.put("a@example.com", "value");
+        // When
+        cache.evict("a@example.com");
+        // Then
+        verify(remote).evict("a@example.com");
+        assertNull(local.get("a@example.com"));
+    }
+
+    @Test
+    @DisplayName("should still evict the near cache when Redis fails, and report the failure")
+    void evict_redisDown_stillEvictsNearCache() {
+        // Given
+        local.put("a@example.com", "before update");
+        doThrow(new RedisConnectionFailureException("down")).when(remote).evict("a@example.com");
+        // When
+        assertThrows(RedisConnectionFailureException.class, () -> cache.evict("a@example.com"));
+        // Then
+        assertNull(local.get("a@example.com"));
+    }
+
+    @Test
+    @DisplayName("should still clear the near cache when Redis fails")
+    void clear_redisDown_stillClearsNearCache() {
+        // Given
+        local.put("a@example.com", "before update");
+        doThrow(new RedisConnectionFailureException("down")).when(remote).clear();
+        // When
+        assertThrows(RedisConnectionFailureException.class, () -> cache.clear());
+        // Then
+        assertNull(local.get("a@example.com"));
+    }
+
+    @Test
+    @DisplayName("should load and store the value on a miss when given a loader")
+    void getWithLoader_shouldLoadOnMiss() {
+        // When
+        String value = cache.get("a@example.com", () -> "loaded");
+        // Then
+        assertEquals("loaded", value);
+        verify(remote).put("a@example.com", "loaded");
+    }
+
+    @Test
+    @DisplayName("should reject a cached value of the wrong type")
+    void getWithType_shouldRejectWrongType() {
+        local.put("a@example.com", 42);
+        assertThrows(IllegalStateException.class, () -> cache.get("a@example.com", String.class));
+    }
+}
@@ -14,6 +14,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static com.mongodb.kitchensink.constants.SuccessMessageConstants.OTP_ALREADY_SENT;
+import static com.mongodb.kitchensink.constants.SuccessMessageConstants.OTP_SENT_SUCCESS;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -126,15 +128,28 @@ class AuthControllerTest {
     void requestOtpForAccountVerification_shouldReturnApiResponse() throws Exception {
         ForgotPasswordRequest request = new ForgotPasswordRequest();
         request.setEmail("test@example.com");
-        doNothing().when(authService).sendOtpForAccountVerification("test@example.com");
+        when(authService.sendOtpForAccountVerification("test@example.com")).thenReturn(true);
 
         ResponseEntity<ApiResponse> result = authController.requestOtpForAccountVerification(request);
 
         assertEquals(HttpStatus.OK, result.getStatusCode());
         assertTrue(result.getBody().isSuccess());
+        assertTrue(result.getBody().getMessage().startsWith(OTP_SENT_SUCCESS));
         verify(authService).sendOtpForAccountVerification("test@example.com");
     }
 
+    @Test
+    void requestOtpForAccountVerification_withinCooldown_shouldSayNoNewOtpWasSent() throws Exception {
+        ForgotPasswordRequest request = new ForgotPasswordRequest();
+        request.setEmail("test@example.com");
+        when(authService.sendOtpForAccountVerification("test@example.com")).thenReturn(false);
+
+        ResponseEntity<ApiResponse> result = authController.requestOtpForAccountVerification(request);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(OTP_ALREADY_SENT + " : test@example.com.", result.getBody().getMessage());
+    }
+
     @Test
     void verify_shouldReturnApiResponse() throws Exception {
         OtpRequest request = new OtpRequest();
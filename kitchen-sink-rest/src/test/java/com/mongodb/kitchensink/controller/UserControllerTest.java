@@ -1,6 +1,8 @@
 package com.mongodb.kitchensink.controller;
 
+import com.mongodb.kitchensink.constants.ErrorCodes;
 import com.mongodb.kitchensink.dto.*;
+import com.mongodb.kitchensink.exception.BadRequestException;
 import com.mongodb.kitchensink.model.User;
 import com.mongodb.kitchensink.service.DownloadFileService;
 import com.mongodb.kitchensink.service.UserService;
@@ -126,6 +128,33 @@ class UserControllerTest {
         assertEquals(Sort.Direction.DESC, capturedPageable.getSort().getOrderFor(sortBy).getDirection());
     }
 
+    @Test
+    @DisplayName("getAllUsers should sort by createdAt then _id so pages stay stable")
+    void getAllUsers_shouldAppendIdToCreatedAtSort() {
+        // Given
+        when(userService.getAllUsers(any(Pageable.class))).thenReturn(userDtoPage);
+
+        // When
+        userController.getAllUsers(0, 10, "createdAt", "desc");
+
+        // Then
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(userService).getAllUsers(pageableCaptor.capture());
+        assertEquals(Sort.by(Sort.Direction.DESC, "createdAt", "id"), pageableCaptor.getValue().getSort());
+    }
+
+    @Test
+    @DisplayName("getAllUsers should reject a sort no index can serve before querying")
+    void getAllUsers_shouldRejectUnsupportedSort() {
+        // When
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> userController.getAllUsers(0, 10, "passwordHash", "asc"));
+
+        // Then
+        assertEquals(ErrorCodes.VALIDATION_ERROR, exception.getErrorCode());
+        verifyNoInteractions(userService);
+    }
+
     // --- getUserById Endpoint Tests ---
 
     @Test
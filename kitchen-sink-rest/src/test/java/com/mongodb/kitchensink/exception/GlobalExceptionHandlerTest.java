@@ -92,6 +92,56 @@ class GlobalExceptionHandlerTest {
         assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getBody().getStatus());
     }
 
+    @Test
+    @DisplayName("should handle ConcurrentUpdateException and return CONFLICT status")
+    void handleConcurrentUpdate_shouldReturnConflict() {
+        // Given
+        ConcurrentUpdateException ex = new ConcurrentUpdateException(ErrorCodes.CONCURRENT_UPDATE, "Modified concurrently.");
+
+        // When
+        ResponseEntity<ErrorResponse> responseEntity = globalExceptionHandler.handleConcurrentUpdate(ex);
+
+        // Then
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.CONFLICT, responseEntity.getStatusCode());
+        assertNotNull(responseEntity.getBody());
+        assertEquals("Modified concurrently.", responseEntity.getBody().getMessage());
+        assertEquals(HttpStatus.CONFLICT, responseEntity.getBody().getStatus());
+    }
+
+    @Test
+    @DisplayName("should handle TooManyRequestsException and return TOO_MANY_REQUESTS status")
+    void handleTooManyRequests_shouldReturnTooManyRequests() {
+        // Given
+        TooManyRequestsException ex = new TooManyRequestsException(ErrorCodes.TOO_MANY_REQUESTS, "Slow down.");
+
+        // When
+        ResponseEntity<ErrorResponse> responseEntity = globalExceptionHandler.handleTooManyRequests(ex);
+
+        // Then
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, responseEntity.getStatusCode());
+        assertNotNull(responseEntity.getBody());
+        assertEquals("Slow down.", responseEntity.getBody().getMessage());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, responseEntity.getBody().getStatus());
+    }
+
+    @Test
+    @DisplayName("should handle EmailDeliveryException and return SERVICE_UNAVAILABLE status")
+    void handleEmailDelivery_shouldReturnServiceUnavailable() {
+        // Given
+        EmailDeliveryException ex = new EmailDeliveryException(ErrorCodes.EMAIL_DELIVERY_FAILED);
+
+        // When
+        ResponseEntity<ErrorResponse> responseEntity = globalExceptionHandler.handleEmailDelivery(ex);
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, responseEntity.getStatusCode());
+        assertNotNull(responseEntity.getBody());
+        assertEquals(ErrorCodes.EMAIL_DELIVERY_FAILED.getMessage(), responseEntity.getBody().getMessage());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, responseEntity.getBody().getStatus());
+    }
+
     @Test
     @DisplayName("should handle JwtExpiredException and return BAD_REQUEST status")
     void handleJwtExpired_shouldReturnBadRequest() {
@@ -0,0 +1,237 @@
+package com.mongodb.kitchensink.reactive;
+
+import com.mongodb.kitchensink.constants.ErrorCodes;
+import com.mongodb.kitchensink.constants.ErrorMessageConstants;
+import com.mongodb.kitchensink.dto.DashboardStatsResponse;
+import com.mongodb.kitchensink.dto.UserDto;
+import com.mongodb.kitchensink.exception.GlobalExceptionHandler;
+import com.mongodb.kitchensink.exception.UserNotFoundException;
+import com.mongodb.kitchensink.model.User;
+import com.mongodb.kitchensink.projection.UserSummary;
+import com.mongodb.kitchensink.util.JwtTokenProvider;
+import com.mongodb.kitchensink.util.SortPlanner;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+import static com.mongodb.kitchensink.constants.ErrorMessageConstants.INVALID_OR_EXPIRED_SESSION;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveReadRouter Tests")
+class ReactiveReadRouterTest {
+
+    private static final String TOKEN = "access-token";
+    private static final String EMAIL = "admin@example.com";
+
+    @Mock
+    private ReactiveUserService userService;
+
+    @Mock
+    private ReactiveDashboardService dashboardService;
+
+    @Mock
+    private JwtTokenProvider tokenProvider;
+
+    @Mock
+    private ReactiveSessionService sessionService;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        ReactiveJwtAuthenticationFilter authenticationFilter = new ReactiveJwtAuthenticationFilter(
+                tokenProvider, sessionService, mongoTemplate, ObservationRegistry.NOOP, 3600);
+        client = WebTestClient.bindToRouterFunction(new ReactiveReadRouter(userService, dashboardService)
+                        .routes(authenticationFilter, new ReactiveExceptionHandler(new GlobalExceptionHandler())))
+                .build();
+    }
+
+    private void signedInAs(String... roles) {
+        when(tokenProvider.getEmailFromAccessToken(TOKEN)).thenReturn(EMAIL);
+        when(sessionService.validateAndRefreshSession(EMAIL, TOKEN, 3600)).thenReturn(Mono.just(true));
+        when(mongoTemplate.query(User.class).as(UserSummary.class).matching(any(Query.class)).one())
+                .thenReturn(Mono.just(new UserSummary("u1", EMAIL, "admin", List.of(roles), true, Instant.now(),
+                        false, false, false, 0L)));
+    }
+
+    private WebTestClient.RequestHeadersSpec<?> get(String uri) {
+        return client.get().uri(uri).header("Authorization", "Bearer " + TOKEN);
+    }
+
+    private static UserDto user(String email) {
+        UserDto dto = new UserDto();
+        dto.setEmail(email);
+        dto.setRoles(List.of("USER"));
+        return dto;
+    }
+
+    @Test
+    @DisplayName("should answer a request without a token like the JWT entry point")
+    void noToken_unauthorized() {
+        client.get().uri("/api/users/u1").exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Full authentication is required to access this resource")
+                .jsonPath("$.status").isEqualTo("BAD_REQUEST");
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @DisplayName("should reject a token with a bad signature with the servlet filter's message")
+    void invalidToken_unauthorized() {
+        // Given
+        doThrow(new RuntimeException(INVALID_OR_EXPIRED_SESSION)).when(tokenProvider).validateAccessToken(TOKEN);
+
+        // When & Then
+        get("/api/users/u1").exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("JWT invalid or expired: " + INVALID_OR_EXPIRED_SESSION);
+        verifyNoInteractions(sessionService, userService);
+    }
+
+    @Test
+    @DisplayName("should reject a token that is no longer the active session")
+    void loggedOutToken_unauthorized() {
+        // Given
+        when(tokenProvider.getEmailFromAccessToken(TOKEN)).thenReturn(EMAIL);
+        when(sessionService.validateAndRefreshSession(EMAIL, TOKEN, 3600)).thenReturn(Mono.just(false));
+
+        // When & Then
+        get("/api/dashboard/dashboard-stats").exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo(ErrorMessageConstants.TOKEN_EXPIRED);
+        verifyNoInteractions(dashboardService);
+    }
+
+    @Test
+    @DisplayName("should answer a non-admin listing all users with GlobalExceptionHandler's 403")
+    void allUsers_notAdmin_forbidden() {
+        // Given
+        signedInAs("USER");
+
+        // When & Then
+        get("/api/users").exchange()
+                .expectStatus().isForbidden()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(403)
+                .jsonPath("$.message").isEqualTo("Access denied. Insufficient permissions.");
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @DisplayName("should list all users for an admin, with the sort planned like UserController")
+    void allUsers_admin_pageOfUsers() {
+        // Given
+        signedInAs("ADMIN", "USER");
+        Pageable pageable = PageRequest.of(1, 10, SortPlanner.forUsers("email", "desc"));
+        when(userService.getAllUsers(pageable)).thenReturn(Mono.just(new PageImpl<>(List.of(user("a@example.com")), pageable, 11)));
+
+        // When & Then
+        get("/api/users?page=1&size=10&sortBy=email&direction=desc").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.content[0].email").isEqualTo("a@example.com")
+                .jsonPath("$.totalElements").isEqualTo(11)
+                .jsonPath("$.number").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should reject an unsupported sort with the 400 of SortPlanner")
+    void search_unsupportedSort_badRequest() {
+        // Given
+        signedInAs("USER");
+
+        // When & Then
+        get("/api/users/getUserByEmail?email=a&sortBy=passwordHash").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(ErrorCodes.VALIDATION_ERROR.getStatus().name());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @DisplayName("should answer a missing search term like the servlet API")
+    void search_missingTerm_errorResponse() {
+        // Given
+        signedInAs("USER");
+
+        // When & Then
+        get("/api/users/getUserByCity").exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Required request parameter 'city' for method parameter type String is not present")
+                .jsonPath("$.status").isEqualTo(ErrorCodes.INTERNAL_SERVER_ERROR.getStatus().name());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @DisplayName("should route the fixed search paths before the user id path")
+    void searchByName_notReadAsUserId() {
+        // Given
+        signedInAs("USER");
+        Pageable pageable = PageRequest.of(0, 50, SortPlanner.forProfiles("createdAt", "asc"));
+        when(userService.getUsersByName("john", pageable)).thenReturn(Mono.just(new PageImpl<>(List.of(user("john@example.com")), pageable, 1)));
+
+        // When & Then
+        get("/api/users/getUserByName?name=john").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].email").isEqualTo("john@example.com");
+        verify(userService, never()).getUserById(any());
+    }
+
+    @Test
+    @DisplayName("should answer an unknown user with GlobalExceptionHandler's 404")
+    void userById_unknown_notFound() {
+        // Given
+        signedInAs("USER");
+        when(userService.getUserById("missing")).thenReturn(Mono.error(
+                new UserNotFoundException(ErrorCodes.RESOURCE_NOT_FOUND, ErrorMessageConstants.ACCOUNT_NOT_FOUND_ID)));
+
+        // When & Then
+        get("/api/users/missing").exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo(ErrorMessageConstants.ACCOUNT_NOT_FOUND_ID)
+                .jsonPath("$.status").isEqualTo(ErrorCodes.RESOURCE_NOT_FOUND.getStatus().name());
+    }
+
+    @Test
+    @DisplayName("should serve the dashboard counters")
+    void dashboardStats_ok() {
+        // Given
+        signedInAs("USER");
+        when(dashboardService.getDashboardStats()).thenReturn(Mono.just(new DashboardStatsResponse(10, 8, 1, 2, 3, 1, 9, 1)));
+
+        // When & Then
+        get("/api/dashboard/dashboard-stats").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalUsers").isEqualTo(10)
+                .jsonPath("$.regularUsers").isEqualTo(9);
+    }
+}
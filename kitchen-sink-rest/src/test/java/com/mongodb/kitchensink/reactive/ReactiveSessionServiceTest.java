@@ -0,0 +1,152 @@
+package com.mongodb.kitchensink.reactive;
+
+import com.mongodb.kitchensink.constants.RedisValue;
+import com.mongodb.kitchensink.service.SessionStoreCircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveSessionService Tests")
+class ReactiveSessionServiceTest {
+
+    private static final String EMAIL = "test@example.com";
+    private static final String ACCESS_KEY = "ACTIVE_ACCESS_TOKEN:{" + EMAIL + "}";
+    private static final long SESSION_EXPIRATION_SECONDS = 3600L;
+
+    @Mock
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private SessionStoreCircuitBreaker circuitBreaker;
+
+    private ReactiveSessionService sessionService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        sessionService = new ReactiveSessionService(redisTemplate, circuitBreaker);
+    }
+
+    @Test
+    @DisplayName("validateAndRefreshSession slides the session and records success when the token matches")
+    void validateAndRefreshSession_matchingToken_refreshesAndRecordsSuccess() {
+        // Given
+        when(circuitBreaker.allowRequest()).thenReturn(true);
+        when(valueOperations.get(ACCESS_KEY)).thenReturn(Mono.just(new RedisValue<>("token", SESSION_EXPIRATION_SECONDS)));
+        when(valueOperations.set(eq(ACCESS_KEY), any(), eq(Duration.ofSeconds(SESSION_EXPIRATION_SECONDS)))).thenReturn(Mono.just(true));
+
+        // When
+        Boolean valid = sessionService.validateAndRefreshSession(EMAIL, "token", SESSION_EXPIRATION_SECONDS).block();
+
+        // Then
+        assertTrue(valid);
+        ArgumentCaptor<Object> stored = ArgumentCaptor.forClass(Object.class);
+        verify(valueOperations).set(eq(ACCESS_KEY), stored.capture(), eq(Duration.ofSeconds(SESSION_EXPIRATION_SECONDS)));
+        assertEquals("token", ((RedisValue<?>) stored.getValue()).getValue());
+        verify(circuitBreaker).recordSuccess();
+        verify(circuitBreaker, never()).acceptDegraded();
+    }
+
+    @Test
+    @DisplayName("validateAndRefreshSession rejects a token that is not the active one")
+    void validateAndRefreshSession_mismatchedToken_returnsFalse() {
+        // Given
+        when(circuitBreaker.allowRequest()).thenReturn(true);
+        when(valueOperations.get(ACCESS_KEY)).thenReturn(Mono.just(new RedisValue<>("other", SESSION_EXPIRATION_SECONDS)));
+
+        // When
+        Boolean valid = sessionService.validateAndRefreshSession(EMAIL, "token", SESSION_EXPIRATION_SECONDS).block();
+
+        // Then
+        assertFalse(valid);
+        verify(valueOperations, never()).set(anyString(), any(), any(Duration.class));
+        verify(circuitBreaker).recordSuccess();
+    }
+
+    @Test
+    @DisplayName("validateAndRefreshSession deletes an expired entry and rejects the token")
+    void validateAndRefreshSession_expiredEntry_deletedAndRejected() {
+        // Given
+        RedisValue<String> expired = new RedisValue<>("token", SESSION_EXPIRATION_SECONDS);
+        expired.setExpired(true);
+        when(circuitBreaker.allowRequest()).thenReturn(true);
+        when(valueOperations.get(ACCESS_KEY)).thenReturn(Mono.just(expired));
+        when(redisTemplate.delete(ACCESS_KEY)).thenReturn(Mono.just(1L));
+
+        // When
+        Boolean valid = sessionService.validateAndRefreshSession(EMAIL, "token", SESSION_EXPIRATION_SECONDS).block();
+
+        // Then
+        assertFalse(valid);
+        verify(redisTemplate).delete(ACCESS_KEY);
+        verify(valueOperations, never()).set(anyString(), any(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("validateAndRefreshSession records a failure and falls back to the degraded decision when Redis fails")
+    void validateAndRefreshSession_redisFailure_fallsBackToDegraded() {
+        // Given
+        when(circuitBreaker.allowRequest()).thenReturn(true);
+        when(valueOperations.get(ACCESS_KEY)).thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+        when(circuitBreaker.acceptDegraded()).thenReturn(true);
+
+        // When
+        Boolean valid = sessionService.validateAndRefreshSession(EMAIL, "token", SESSION_EXPIRATION_SECONDS).block();
+
+        // Then
+        assertTrue(valid);
+        verify(circuitBreaker).recordFailure();
+        verify(circuitBreaker, never()).recordSuccess();
+        verify(circuitBreaker, never()).releaseProbe();
+    }
+
+    @Test
+    @DisplayName("validateAndRefreshSession releases the probe when the stored entry cannot be read")
+    void validateAndRefreshSession_unreadableEntry_releasesProbe() {
+        // Given
+        when(circuitBreaker.allowRequest()).thenReturn(true);
+        when(valueOperations.get(ACCESS_KEY)).thenReturn(Mono.just("not a RedisValue"));
+
+        // When & Then
+        assertThrows(ClassCastException.class, () ->
+                sessionService.validateAndRefreshSession(EMAIL, "token", SESSION_EXPIRATION_SECONDS).block());
+        verify(circuitBreaker).releaseProbe();
+        verify(circuitBreaker, never()).recordSuccess();
+        verify(circuitBreaker, never()).recordFailure();
+    }
+
+    @Test
+    @DisplayName("validateAndRefreshSession skips Redis while the circuit is open")
+    void validateAndRefreshSession_circuitOpen_skipsRedis() {
+        // Given
+        when(circuitBreaker.allowRequest()).thenReturn(false);
+        when(circuitBreaker.acceptDegraded()).thenReturn(false);
+
+        // When
+        Boolean valid = sessionService.validateAndRefreshSession(EMAIL, "token", SESSION_EXPIRATION_SECONDS).block();
+
+        // Then
+        assertFalse(valid);
+        verifyNoInteractions(redisTemplate);
+    }
+}
@@ -0,0 +1,214 @@
+package com.mongodb.kitchensink.reactive;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.kitchensink.constants.ErrorCodes;
+import com.mongodb.kitchensink.constants.ErrorMessageConstants;
+import com.mongodb.kitchensink.dto.UserDto;
+import com.mongodb.kitchensink.exception.UserNotFoundException;
+import com.mongodb.kitchensink.mapper.UserMapperImpl;
+import com.mongodb.kitchensink.model.Address;
+import com.mongodb.kitchensink.model.Profile;
+import com.mongodb.kitchensink.model.User;
+import com.mongodb.kitchensink.projection.ProfileSummary;
+import com.mongodb.kitchensink.projection.UserSummary;
+import com.mongodb.kitchensink.util.SortPlanner;
+import io.micrometer.observation.ObservationRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveUserService Tests")
+class ReactiveUserServiceTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private ReactiveUserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userService = new ReactiveUserService(mongoTemplate, new UserMapperImpl(), ObservationRegistry.NOOP);
+    }
+
+    private static UserSummary userSummary(int i) {
+        return new UserSummary("u" + i, "user" + i + "@example.com", "user" + i, List.of("USER"), true,
+                Instant.parse("2025-08-17T00:00:00Z"), false, false, false, 0L);
+    }
+
+    private static ProfileSummary profileSummary(int i) {
+        return new ProfileSummary("p" + i, "user" + i + "@example.com", "user" + i, "First" + i, "Last",
+                "9876543210", new Address("India", "411001", "MH", "Pune", "Main Street"));
+    }
+
+    private void stubUsers(Flux<UserSummary> users) {
+        when(mongoTemplate.query(User.class).as(UserSummary.class).matching(any(Query.class)).all()).thenReturn(users);
+    }
+
+    private void stubProfiles(Flux<ProfileSummary> profiles) {
+        when(mongoTemplate.query(Profile.class).as(ProfileSummary.class).matching(any(Query.class)).all()).thenReturn(profiles);
+    }
+
+    // The stubbing call is recorded too, with a null query, so only the service's queries are kept
+    private List<Query> usersQueries() {
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate.query(User.class).as(UserSummary.class), atLeastOnce()).matching(queries.capture());
+        return queries.getAllValues().stream().filter(Objects::nonNull).toList();
+    }
+
+    private List<Query> profileQueries() {
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate.query(Profile.class).as(ProfileSummary.class), atLeastOnce()).matching(queries.capture());
+        return queries.getAllValues().stream().filter(Objects::nonNull).toList();
+    }
+
+    @Test
+    @DisplayName("getAllUsers should join the page's profiles with one $in query and skip the count on a short first page")
+    void getAllUsers_shortPage_joinsProfilesWithoutCount() {
+        // Given
+        stubUsers(Flux.just(userSummary(1), userSummary(2)));
+        stubProfiles(Flux.just(profileSummary(1)));
+        PageRequest pageable = PageRequest.of(0, 50, SortPlanner.forUsers("createdAt", "asc"));
+
+        // When
+        Page<UserDto> page = userService.getAllUsers(pageable).block();
+
+        // Then
+        assertEquals(2, page.getTotalElements());
+        assertEquals("First1", page.getContent().get(0).getProfile().getFirstName());
+        assertNull(page.getContent().get(1).getProfile());
+        Query usersQuery = usersQueries().get(0);
+        assertEquals(new Document("createdAt", 1).append("id", 1), usersQuery.getSortObject());
+        assertEquals(50, usersQuery.getLimit());
+        assertEquals(ReadPreference.secondaryPreferred(), usersQuery.getReadPreference());
+        Query profilesQuery = profileQueries().get(0);
+        assertEquals(List.of("user1@example.com", "user2@example.com"),
+                profilesQuery.getQueryObject().get("email", Document.class).get("$in"));
+        verify(mongoTemplate.query(User.class), never()).matching(any(Query.class));
+    }
+
+    @Test
+    @DisplayName("getAllUsers should count the matches when the page is full")
+    void getAllUsers_fullPage_counts() {
+        // Given
+        stubUsers(Flux.fromStream(IntStream.range(0, 2).mapToObj(ReactiveUserServiceTest::userSummary)));
+        stubProfiles(Flux.empty());
+        when(mongoTemplate.query(User.class).matching(any(Query.class)).count()).thenReturn(Mono.just(7L));
+
+        // When
+        Page<UserDto> page = userService.getAllUsers(PageRequest.of(0, 2)).block();
+
+        // Then
+        assertEquals(7, page.getTotalElements());
+        assertEquals(4, page.getTotalPages());
+    }
+
+    @Test
+    @DisplayName("getUsersByName should search both names case-insensitively and fail like UserService when nothing matches")
+    void getUsersByName_noMatch_throwsUserNotFound() {
+        // Given
+        stubProfiles(Flux.empty());
+
+        // When
+        UserNotFoundException ex = assertThrows(UserNotFoundException.class,
+                () -> userService.getUsersByName("a.b", PageRequest.of(0, 50)).block());
+
+        // Then
+        assertEquals(ErrorCodes.RESOURCE_NOT_FOUND, ex.getErrorCode());
+        assertEquals(ErrorMessageConstants.USERS_NOT_FOUND_BY_NAME, ex.getMessage());
+        List<?> or = profileQueries().get(0).getQueryObject().getList("$or", Object.class);
+        Pattern firstName = (Pattern) ((Document) or.get(0)).get("firstName");
+        assertEquals(".*\\Qa.b\\E.*", firstName.pattern());
+        assertEquals(Pattern.CASE_INSENSITIVE, firstName.flags() & Pattern.CASE_INSENSITIVE);
+        verify(mongoTemplate.query(User.class).as(UserSummary.class), never()).matching(any(Query.class));
+    }
+
+    @Test
+    @DisplayName("getUsersByCountry should join users by username")
+    void getUsersByCountry_joinsUsersByUsername() {
+        // Given
+        stubProfiles(Flux.just(profileSummary(1)));
+        stubUsers(Flux.just(userSummary(1)));
+
+        // When
+        Page<UserDto> page = userService.getUsersByCountry("ind", PageRequest.of(0, 50)).block();
+
+        // Then
+        UserDto dto = page.getContent().get(0);
+        assertEquals("user1@example.com", dto.getEmail());
+        assertEquals("Pune", dto.getProfile().getCity());
+        assertEquals(List.of("user1"), usersQueries().get(0).getQueryObject().get("username", Document.class).get("$in"));
+    }
+
+    @Test
+    @DisplayName("getUsersByEmail should fail like UserService when a user has no profile")
+    void getUsersByEmail_missingProfile_throwsUserNotFound() {
+        // Given
+        stubUsers(Flux.just(userSummary(1)));
+        stubProfiles(Flux.empty());
+
+        // When
+        UserNotFoundException ex = assertThrows(UserNotFoundException.class,
+                () -> userService.getUsersByEmail("user1", PageRequest.of(0, 50)).block());
+
+        // Then
+        assertEquals(ErrorMessageConstants.USER_NOT_FOUND_EMAIL, ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("getUserById should fail with RESOURCE_NOT_FOUND for an unknown id")
+    void getUserById_unknown_throwsUserNotFound() {
+        // Given
+        when(mongoTemplate.findById("missing", User.class)).thenReturn(Mono.empty());
+
+        // When
+        UserNotFoundException ex = assertThrows(UserNotFoundException.class,
+                () -> userService.getUserById("missing").block());
+
+        // Then
+        assertEquals(ErrorCodes.RESOURCE_NOT_FOUND, ex.getErrorCode());
+        assertEquals(ErrorMessageConstants.ACCOUNT_NOT_FOUND_ID, ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("getUserByEmail should look the user up in lower case and attach the profile when there is one")
+    void getUserByEmail_withoutProfile_returnsUser() {
+        // Given
+        User user = User.builder().email("user1@example.com").username("user1")
+                .roles(List.of("USER")).twoFactorEnabled(false).build();
+        when(mongoTemplate.findOne(any(Query.class), eq(User.class))).thenReturn(Mono.just(user));
+        when(mongoTemplate.findOne(any(Query.class), eq(Profile.class))).thenReturn(Mono.empty());
+
+        // When
+        UserDto dto = userService.getUserByEmail("User1@Example.com").block();
+
+        // Then
+        assertEquals("user1", dto.getUsername());
+        assertNull(dto.getProfile());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(query.capture(), eq(User.class));
+        assertEquals("user1@example.com", query.getValue().getQueryObject().get("email"));
+    }
+}
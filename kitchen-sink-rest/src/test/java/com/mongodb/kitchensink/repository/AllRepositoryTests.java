@@ -13,6 +13,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.Instant;
@@ -22,7 +23,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@DataMongoTest
+@DataMongoTest(properties = "spring.autoconfigure.exclude=")
 @ActiveProfiles("test")
 @Import(EmbeddedMongoConfig.class)
 public class AllRepositoryTests {
@@ -346,4 +347,30 @@ public class AllRepositoryTests {
         List<User> foundUsers = userRepository.findByEmailIn(emails);
         assertThat(foundUsers).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("should $set only the given fields and bump the version")
+    void shouldUpdateFieldsAndBumpVersion() {
+        User stored = userRepository.findByEmail("john.doe@example.com").orElseThrow();
+        boolean updated = userRepository.updateFields(stored.getId(), stored.getVersion(),
+                new Update().set("active", false));
+        assertThat(updated).isTrue();
+
+        User reloaded = userRepository.findByEmail("john.doe@example.com").orElseThrow();
+        assertThat(reloaded.isActive()).isFalse();
+        assertThat(reloaded.getRoles()).containsExactly("USER");
+        assertThat(reloaded.getVersion()).isEqualTo(stored.getVersion() + 1);
+    }
+
+    @Test
+    @DisplayName("should reject an update carrying a stale version")
+    void shouldRejectUpdateWithStaleVersion() {
+        User stored = userRepository.findByEmail("jane.doe@example.com").orElseThrow();
+        userRepository.updateFields(stored.getId(), stored.getVersion(), new Update().set("active", false));
+
+        boolean updated = userRepository.updateFields(stored.getId(), stored.getVersion(),
+                new Update().set("active", true));
+        assertThat(updated).isFalse();
+        assertThat(userRepository.findByEmail("jane.doe@example.com").orElseThrow().isActive()).isFalse();
+    }
+}
@@ -0,0 +1,176 @@
+package com.mongodb.kitchensink.repository;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.kitchensink.config.EmbeddedMongoConfig;
+import com.mongodb.kitchensink.config.MongoIndexMigration;
+import com.mongodb.kitchensink.config.SecondaryIndexMigration;
+import com.mongodb.kitchensink.config.SlowQueryDetector;
+import com.mongodb.kitchensink.model.Address;
+import com.mongodb.kitchensink.model.Profile;
+import com.mongodb.kitchensink.model.User;
+import com.mongodb.kitchensink.util.SortPlanner;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every list and search query of the repositories with every sort {@link SortPlanner} allows
+ * against a real mongod with the declared indexes, and explains the {@code find} it sent, filter
+ * included: the winning plan must read an index in order, without a blocking {@code SORT} or a
+ * collection scan.
+ * <p>
+ * The mongod is the embedded one of the {@code test} profile, so the matrix runs with every {@code mvn test}.
+ * </p>
+ */
+@DataMongoTest(properties = "spring.autoconfigure.exclude=")
+@ActiveProfiles("test")
+@Import({EmbeddedMongoConfig.class, SortPlannerIndexTests.CaptureFinds.class})
+public class SortPlannerIndexTests {
+
+    /** Search terms matching every seeded document, so the filter never narrows the plan choice. */
+    private static final Map<String, BiConsumer<Repositories, Pageable>> USER_QUERIES = Map.of(
+            "all users", (repositories, pageable) -> repositories.users().findAllBy(pageable),
+            "email search", (repositories, pageable) ->
+                    repositories.users().findSummariesByEmailContainingIgnoreCase("EXAMPLE", pageable));
+
+    private static final Map<String, BiConsumer<Repositories, Pageable>> PROFILE_QUERIES = Map.of(
+            "name search", (repositories, pageable) -> repositories.profiles()
+                    .findSummariesByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase("irst", "irst", pageable),
+            "city search", (repositories, pageable) ->
+                    repositories.profiles().findSummariesByAddress_CityContainingIgnoreCase("city", pageable),
+            "country search", (repositories, pageable) ->
+                    repositories.profiles().findSummariesByAddress_CountryContainingIgnoreCase("country", pageable));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private CapturedFind capturedFind;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(User.class);
+        mongoTemplate.dropCollection(Profile.class);
+        new MongoIndexMigration(mongoTemplate).run();
+        new SecondaryIndexMigration(mongoTemplate).run();
+        IntStream.range(0, 50).forEach(i -> {
+            User user = new User();
+            user.setEmail("user" + i + "@example.com");
+            user.setUsername("user" + i);
+            user.setRoles(List.of("USER"));
+            mongoTemplate.insert(user);
+            mongoTemplate.insert(Profile.builder()
+                    .email(user.getEmail())
+                    .username(user.getUsername())
+                    .firstName("First")
+                    .lastName("Last")
+                    .address(new Address("Country" + i % 5, "12345", "State", "City" + i % 7, "Street"))
+                    .build());
+        });
+    }
+
+    static Stream<Arguments> queriesAndAllowedSorts() {
+        List<Arguments> cases = new ArrayList<>();
+        for (String direction : List.of("asc", "desc")) {
+            USER_QUERIES.forEach((name, query) -> SortPlanner.USER_SORTS.keySet().forEach(sortBy ->
+                    cases.add(Arguments.of(name, sortBy, direction, query, SortPlanner.forUsers(sortBy, direction)))));
+            PROFILE_QUERIES.forEach((name, query) -> SortPlanner.PROFILE_SORTS.keySet().forEach(sortBy ->
+                    cases.add(Arguments.of(name, sortBy, direction, query, SortPlanner.forProfiles(sortBy, direction)))));
+        }
+        return cases.stream();
+    }
+
+    @ParameterizedTest(name = "{0} sorted by {1} {2}")
+    @MethodSource("queriesAndAllowedSorts")
+    void allowedSort_readsIndexInOrder(String query, String sortBy, String direction,
+                                       BiConsumer<Repositories, Pageable> run, Sort sort) {
+        capturedFind.clear();
+        run.accept(new Repositories(userRepository, profileRepository), PageRequest.of(0, 20, sort));
+        BsonDocument find = capturedFind.get();
+        assertThat(find).as("find sent by the %s", query).isNotNull();
+
+        BsonDocument filter = find.getDocument("filter", new BsonDocument());
+        BsonDocument mappedSort = find.getDocument("sort", new BsonDocument());
+        Document explain = mongoTemplate.getCollection(find.getString("find").getValue())
+                .find(filter)
+                .sort(mappedSort)
+                .limit(find.getNumber("limit", new BsonInt32(0)).intValue())
+                .explain();
+        SlowQueryDetector.Plan plan = SlowQueryDetector.planOf(explain);
+
+        assertThat(plan.stages()).as("plan of %s sorted by %s", filter.toJson(), mappedSort.toJson())
+                .contains("IXSCAN")
+                .doesNotContain("SORT", "COLLSCAN");
+    }
+
+    record Repositories(UserRepository users, ProfileRepository profiles) {
+    }
+
+    /**
+     * The last {@code find} the repositories sent, copied before the driver releases its buffer.
+     */
+    static class CapturedFind implements CommandListener {
+
+        private volatile BsonDocument command;
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            if ("find".equals(event.getCommandName())) {
+                command = event.getCommand().clone();
+            }
+        }
+
+        BsonDocument get() {
+            return command;
+        }
+
+        void clear() {
+            command = null;
+        }
+    }
+
+    @TestConfiguration
+    static class CaptureFinds {
+
+        @Bean
+        CapturedFind capturedFind() {
+            return new CapturedFind();
+        }
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer captureFindCommands(CapturedFind capturedFind) {
+            return builder -> builder.addCommandListener(capturedFind);
+        }
+    }
+}
@@ -5,6 +5,9 @@ import com.mongodb.kitchensink.dto.*;
 import com.mongodb.kitchensink.exception.*;
 import com.mongodb.kitchensink.model.User;
 import com.mongodb.kitchensink.util.JwtTokenProvider;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,6 +16,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -30,6 +34,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static com.mongodb.kitchensink.constants.AppContants.ACCOUNT_VERIFICATION;
@@ -63,6 +68,14 @@ class AuthServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private RateLimitService rateLimitService;
+
+    @Spy
+    private ObservationRegistry observationRegistry = ObservationRegistry.create();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private AuthService authService;
 
@@ -79,6 +92,7 @@ class AuthServiceTest {
     void setUp() {
         ReflectionTestUtils.setField(authService, "accountVerificationTtl", 300L);
         ReflectionTestUtils.setField(authService, "forgotPasswordTtl", 300L);
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
 
         loginRequest = new LoginRequest(EMAIL, PASSWORD);
 
@@ -387,6 +401,7 @@ class AuthServiceTest {
     void login_shouldRethrowUserNotFoundException() {
         when(userService.getUserByEmail(anyString())).thenThrow(new UserNotFoundException(ErrorCodes.USER_NOT_FOUND, "not found"));
         assertThrows(UserNotFoundException.class, () -> authService.login(loginRequest));
+        verify(rateLimitService).recordFailedLogin(EMAIL);
     }
 
     @Test
@@ -416,6 +431,39 @@ class AuthServiceTest {
         assertEquals("Login successful", response.getMessage());
         assertEquals(TOKEN, response.getAccessToken());
         assertEquals("Test User", response.getFullName());
+        verify(rateLimitService).checkLoginAttempt(EMAIL);
+        verify(rateLimitService, never()).recordFailedLogin(anyString());
+    }
+
+    @Test
+    @DisplayName("should time the login and each of its stages")
+    void login_shouldRecordLoginAndStageTimers() throws Exception {
+        // Given
+        when(jwtTokenProvider.generateAccessToken(anyString(), anyList())).thenReturn(TOKEN);
+
+        // When
+        authService.login(loginRequest);
+
+        // Then
+        assertEquals(1, meterRegistry.get(AuthService.LOGIN_OBSERVATION).timer().count());
+        for (String stage : List.of("lookup", "bcrypt", "token", "session")) {
+            assertEquals(1, meterRegistry.get(AuthService.LOGIN_STAGE_OBSERVATION).tag("stage", stage).timer().count(), stage);
+        }
+    }
+
+    @Test
+    @DisplayName("should time a failed login with its error")
+    void login_badCredentials_shouldRecordErrorTag() {
+        // Given
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new BadCredentialsException("Invalid password"));
+
+        // When
+        assertThrows(UserAuthException.class, () -> authService.login(loginRequest));
+
+        // Then
+        assertEquals(1, meterRegistry.get(AuthService.LOGIN_OBSERVATION).tag("error", "UserAuthException").timer().count());
+        assertEquals(0, meterRegistry.find(AuthService.LOGIN_STAGE_OBSERVATION).tag("stage", "token").timers().size());
     }
 
     @Test
@@ -428,7 +476,6 @@ class AuthServiceTest {
         updatedUserDto.setFirstLogin(false);
         updatedUserDto.setProfile(userDto.getProfile());
         when(userService.getUserByEmail(anyString())).thenReturn(userDto);
-        when(userService.getUserByEmailForVerification(anyString())).thenReturn(new User());
 
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authentication);
         when(sessionService.doesSessionExist(anyString())).thenReturn(false);
@@ -438,8 +485,9 @@ class AuthServiceTest {
         assertEquals("Logged in successfully", response.getMessage());
         assertNull(response.getAccessToken());
         assertTrue(response.getAccountVerificationPending());
-        assertTrue(response.getFirstLogin());
-        verify(userService, times(1)).saveUpdatedUserAfterVerification(any(User.class));
+        assertFalse(response.getFirstLogin());
+        verify(userService, times(1)).markFirstLoginComplete(EMAIL);
+        verify(userService, times(1)).getUserByEmail(anyString());
     }
 
     @Test
@@ -450,6 +498,20 @@ class AuthServiceTest {
                 .thenThrow(new BadCredentialsException("Invalid password"));
         UserAuthException exception = assertThrows(UserAuthException.class, () -> authService.login(loginRequest));
         assertEquals(ErrorCodes.INVALID_CREDENTIALS, exception.getErrorCode());
+        verify(rateLimitService).recordFailedLogin(EMAIL);
+    }
+
+    @Test
+    @DisplayName("should reject throttled login before user lookup and password check")
+    void login_shouldRejectThrottledAttemptBeforeAuthentication() {
+        doThrow(new TooManyRequestsException(ErrorCodes.TOO_MANY_REQUESTS, TOO_MANY_LOGIN_ATTEMPTS))
+                .when(rateLimitService).checkLoginAttempt(EMAIL);
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class, () -> authService.login(loginRequest));
+
+        assertEquals(TOO_MANY_LOGIN_ATTEMPTS, exception.getMessage());
+        verify(userService, never()).getUserByEmail(anyString());
+        verify(authenticationManager, never()).authenticate(any());
     }
 
     @Test
@@ -526,10 +588,21 @@ class AuthServiceTest {
     @DisplayName("should generate and send OTP for account verification")
     void sendOtpForAccountVerification_shouldSucceed() throws Exception {
         when(userService.getUserByEmail(anyString())).thenReturn(userDto);
-        when(otpService.generateOtp(anyString(), anyString(), anyLong())).thenReturn("123456");
-        assertDoesNotThrow(() -> authService.sendOtpForAccountVerification(EMAIL));
+        when(otpService.generateOtp(anyString(), anyString(), anyLong())).thenReturn(Optional.of("123456"));
+        assertTrue(assertDoesNotThrow(() -> authService.sendOtpForAccountVerification(EMAIL)));
         verify(otpService, times(1)).generateOtp(eq(EMAIL), eq(ACCOUNT_VERIFICATION), anyLong());
         verify(emailService, times(1)).sendEmail(eq(EMAIL), anyString(), anyString());
+        verify(otpService, times(1)).awaitDelivery(any(), eq(EMAIL), eq(ACCOUNT_VERIFICATION));
+    }
+
+    @Test
+    @DisplayName("should report that no OTP was sent within the resend cooldown")
+    void sendOtpForAccountVerification_withinCooldown_shouldReturnFalse() throws Exception {
+        when(userService.getUserByEmail(anyString())).thenReturn(userDto);
+        when(otpService.generateOtp(anyString(), anyString(), anyLong())).thenReturn(Optional.empty());
+
+        assertFalse(authService.sendOtpForAccountVerification(EMAIL));
+        verify(emailService, never()).sendEmail(anyString(), anyString(), anyString());
     }
 
     @Test
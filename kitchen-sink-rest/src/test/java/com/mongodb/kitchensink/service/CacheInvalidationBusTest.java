@@ -0,0 +1,157 @@
+package com.mongodb.kitchensink.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.kitchensink.config.CacheConfig;
+import com.mongodb.kitchensink.config.TwoLevelCache;
+import com.mongodb.kitchensink.dto.CacheInvalidationEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    private static final String EMAIL = "test@example.com";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private Cache remote;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TwoLevelCache byEmail;
+    private TwoLevelCache roles;
+    private TwoLevelCache byId;
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        byEmail = twoLevelCache(CacheConfig.USER_BY_EMAIL);
+        roles = twoLevelCache(CacheConfig.ROLES_BY_EMAIL);
+        byId = twoLevelCache(CacheConfig.USER_BY_ID);
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(byEmail, roles, byId));
+        cacheManager.initializeCaches();
+        bus = new CacheInvalidationBus(cacheManager, redisTemplate, "CACHE_INVALIDATION", 30, 100);
+    }
+
+    private TwoLevelCache twoLevelCache(String name) {
+        return new TwoLevelCache(name, new CaffeineCache(name, Caffeine.newBuilder().build(), false), remote);
+    }
+
+    private DefaultMessage message(CacheInvalidationEvent event) throws Exception {
+        return new DefaultMessage("CACHE_INVALIDATION".getBytes(), objectMapper.writeValueAsBytes(event));
+    }
+
+    @Test
+    @DisplayName("should publish a compact event tagged with this instance")
+    void publish_shouldSendEventOnChannel() throws Exception {
+        // When
+        bus.publish(CacheInvalidationBus.USER_EMAIL, EMAIL, 3L);
+        // Then
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq("CACHE_INVALIDATION"), payload.capture());
+        CacheInvalidationEvent event = objectMapper.readValue(payload.getValue(), CacheInvalidationEvent.class);
+        assertEquals(new CacheInvalidationEvent(CacheInvalidationBus.USER_EMAIL, EMAIL, 3L, bus.getInstanceId()), event);
+    }
+
+    @Test
+    @DisplayName("should not fail the write when Redis is unavailable")
+    void publish_shouldSwallowRedisFailures() {
+        // Given
+        doThrow(new RedisConnectionFailureException("down")).when(redisTemplate).convertAndSend(anyString(), anyString());
+        // When / Then
+        assertDoesNotThrow(() -> bus.publish(CacheInvalidationBus.USER_EMAIL, EMAIL, 3L));
+    }
+
+    @Test
+    @DisplayName("should evict only the near caches for the event's key")
+    void onMessage_shouldEvictNearCaches() throws Exception {
+        // Given
+        byEmail.getLocalCache().put(EMAIL, "user");
+        roles.getLocalCache().put(EMAIL, "roles");
+        byId.getLocalCache().put("id-1", "user");
+        // When
+        bus.onMessage(message(new CacheInvalidationEvent(CacheInvalidationBus.USER_EMAIL, EMAIL, 2L, "other")), null);
+        // Then
+        assertNull(byEmail.getLocalCache().get(EMAIL));
+        assertNull(roles.getLocalCache().get(EMAIL));
+        assertNotNull(byId.getLocalCache().get("id-1"));
+        verifyNoInteractions(remote);
+    }
+
+    @Test
+    @DisplayName("should ignore its own events")
+    void onMessage_shouldIgnoreOwnEvents() throws Exception {
+        // Given
+        byEmail.getLocalCache().put(EMAIL, "user");
+        // When
+        bus.onMessage(message(new CacheInvalidationEvent(CacheInvalidationBus.USER_EMAIL, EMAIL, 2L, bus.getInstanceId())), null);
+        // Then
+        assertNotNull(byEmail.getLocalCache().get(EMAIL));
+    }
+
+    @Test
+    @DisplayName("should ignore an event older than one already applied")
+    void onMessage_shouldIgnoreReorderedEvents() throws Exception {
+        // Given
+        bus.onMessage(message(new CacheInvalidationEvent(CacheInvalidationBus.USER_EMAIL, EMAIL, 5L, "other")), null);
+        byEmail.getLocalCache().put(EMAIL, "user v5");
+        // When
+        bus.onMessage(message(new CacheInvalidationEvent(CacheInvalidationBus.USER_EMAIL, EMAIL, 4L, "other")), null);
+        // Then
+        assertNotNull(byEmail.getLocalCache().get(EMAIL));
+    }
+
+    @Test
+    @DisplayName("should always apply unversioned events and reset the version")
+    void onMessage_shouldApplyUnversionedEvents() throws Exception {
+        // Given
+        bus.onMessage(message(new CacheInvalidationEvent(CacheInvalidationBus.USER_EMAIL, EMAIL, 5L, "other")), null);
+        bus.onMessage(message(new CacheInvalidationEvent(CacheInvalidationBus.USER_EMAIL, EMAIL, null, "other")), null);
+        byEmail.getLocalCache().put(EMAIL, "re-registered user");
+        // When
+        bus.onMessage(message(new CacheInvalidationEvent(CacheInvalidationBus.USER_EMAIL, EMAIL, 1L, "other")), null);
+        // Then
+        assertNull(byEmail.getLocalCache().get(EMAIL));
+    }
+
+    @Test
+    @DisplayName("should ignore malformed messages")
+    void onMessage_shouldIgnoreMalformedMessages() {
+        assertDoesNotThrow(() -> bus.onMessage(new DefaultMessage("CACHE_INVALIDATION".getBytes(), "not json".getBytes()), null));
+    }
+
+    @Test
+    @DisplayName("should clear every near cache after (re)subscribing")
+    void onChannelSubscribed_shouldClearNearCaches() {
+        // Given
+        byEmail.getLocalCache().put(EMAIL, "user");
+        byId.getLocalCache().put("id-1", "user");
+        // When
+        bus.onChannelSubscribed("CACHE_INVALIDATION".getBytes(), 1);
+        // Then
+        assertNull(byEmail.getLocalCache().get(EMAIL));
+        assertNull(byId.getLocalCache().get("id-1"));
+        verifyNoInteractions(remote);
+    }
+}
@@ -31,6 +31,8 @@ class DashboardServiceTest {
     @DisplayName("getDashboardStats should return correct stats when data exists")
     void getDashboardStats_shouldReturnCorrectStatsWhenDataExists() {
         // Given
+        LocalDate firstDayOfMonth = LocalDate.now().withDayOfMonth(1);
+        Instant startOfMonth = firstDayOfMonth.atStartOfDay().toInstant(ZoneOffset.UTC);
         when(userRepository.count()).thenReturn(100L);
         when(userRepository.countByActiveTrue()).thenReturn(80L);
         when(userRepository.countByIsAccountVerificationPendingTrue()).thenReturn(5L);
@@ -38,9 +40,6 @@ class DashboardServiceTest {
         when(userRepository.countByExactRoles(List.of("ADMIN"))).thenReturn(10L);
         when(userRepository.countByExactRoles(List.of("USER"))).thenReturn(90L);
         when(userRepository.countUsersWithRoles("ADMIN", "USER")).thenReturn(5L);
-
-        LocalDate firstDayOfMonth = LocalDate.now().withDayOfMonth(1);
-        Instant startOfMonth = firstDayOfMonth.atStartOfDay().toInstant(ZoneOffset.UTC);
         when(userRepository.countByCreatedAtAfter(startOfMonth)).thenReturn(25L);
 
 
@@ -104,4 +103,38 @@ class DashboardServiceTest {
         verify(userRepository, times(1)).countUsersWithRoles("ADMIN", "USER");
         verify(userRepository, times(1)).countByCreatedAtAfter(startOfMonth);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("getDashboardStats should reuse the counts while the change stream reports no user changes")
+    void getDashboardStats_shouldReuseCountsUntilUsersChange() {
+        // Given
+        when(userRepository.count()).thenReturn(1L).thenReturn(2L);
+        dashboardService.onStreamOpened("users", true);
+
+        // When
+        dashboardService.getDashboardStats();
+        DashboardStatsResponse cached = dashboardService.getDashboardStats();
+        dashboardService.onChange("users", null);
+        DashboardStatsResponse refreshed = dashboardService.getDashboardStats();
+
+        // Then
+        assertEquals(1L, cached.getTotalUsers());
+        assertEquals(2L, refreshed.getTotalUsers());
+        verify(userRepository, times(2)).count();
+    }
+
+    @Test
+    @DisplayName("getDashboardStats should count on every call while the change stream is down")
+    void getDashboardStats_shouldNotCacheWithoutStream() {
+        // Given
+        dashboardService.onStreamOpened("users", true);
+        dashboardService.onStreamInterrupted("users");
+
+        // When
+        dashboardService.getDashboardStats();
+        dashboardService.getDashboardStats();
+
+        // Then
+        verify(userRepository, times(2)).count();
+    }
+}
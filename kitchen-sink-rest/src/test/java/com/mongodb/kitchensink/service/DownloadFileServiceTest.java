@@ -2,6 +2,9 @@ package com.mongodb.kitchensink.service;
 
 import com.mongodb.kitchensink.dto.ProfileDto;
 import com.mongodb.kitchensink.dto.UserDto;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -36,10 +39,14 @@ import static org.junit.jupiter.api.Assertions.*;
 class DownloadFileServiceTest {
 
     private DownloadFileService downloadFileService;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
-        downloadFileService = new DownloadFileService();
+        meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        downloadFileService = new DownloadFileService(observationRegistry);
     }
 
     /**
@@ -256,6 +263,21 @@ class DownloadFileServiceTest {
         }
     }
 
+    /**
+     * Tests that every export is timed, without the row count as a meter tag.
+     */
+    @Test
+    @DisplayName("Generate Excel should record the export timer")
+    void generateUserExcel_recordsExportTimer() {
+        // When
+        downloadFileService.generateUserExcel(Collections.emptyList());
+        downloadFileService.generateUserExcel(Collections.emptyList());
+
+        // Then
+        assertEquals(2, meterRegistry.get(DownloadFileService.EXPORT_OBSERVATION).timer().count());
+        assertNull(meterRegistry.get(DownloadFileService.EXPORT_OBSERVATION).timer().getId().getTag("rows"));
+    }
+
     /**
      * Tests that generating an Excel file for a user with a null profile
      * handles gracefully, writing empty strings for profile-related fields.
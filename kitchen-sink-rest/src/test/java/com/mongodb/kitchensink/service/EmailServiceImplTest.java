@@ -1,5 +1,8 @@
 package com.mongodb.kitchensink.service;
 
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.activation.DataHandler;
 import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
@@ -11,11 +14,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 
@@ -23,11 +31,17 @@ import static org.mockito.Mockito.verify;
 @DisplayName("EmailServiceImpl Tests")
 class EmailServiceImplTest {
 
+    @Spy
+    private ObservationRegistry observationRegistry = ObservationRegistry.create();
+
     @InjectMocks
     private EmailServiceImpl emailService;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @BeforeEach
     void setUp() {
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
         ReflectionTestUtils.setField(emailService, "username", "testuser@example.com");
         ReflectionTestUtils.setField(emailService, "password", "testpassword");
         ReflectionTestUtils.setField(emailService, "host", "smtp.test.com");
@@ -45,9 +59,11 @@ class EmailServiceImplTest {
             ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
 
             // When
-            emailService.sendEmail(to, subject, body);
+            CompletableFuture<Void> sent = emailService.sendEmail(to, subject, body);
 
             // Then
+            assertTrue(sent.isDone());
+            assertFalse(sent.isCompletedExceptionally());
             mockedTransport.verify(() -> Transport.send(messageCaptor.capture()));
 
             Message capturedMessage = messageCaptor.getValue();
@@ -79,4 +95,21 @@ class EmailServiceImplTest {
             assertEquals(MessagingException.class, thrown.getCause().getClass());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("sendEmail should time each send and tag failed ones with the error")
+    void sendEmail_shouldRecordSendTimer() {
+        try (MockedStatic<Transport> mockedTransport = org.mockito.Mockito.mockStatic(Transport.class)) {
+            // Given
+            emailService.sendEmail("recipient@example.com", "Subject", "Body");
+            mockedTransport.when(() -> Transport.send(any(Message.class))).thenThrow(new MessagingException("Connection failed"));
+
+            // When
+            assertThrows(RuntimeException.class, () -> emailService.sendEmail("recipient@example.com", "Subject", "Body"));
+
+            // Then
+            assertEquals(1, meterRegistry.get(EmailServiceImpl.SEND_OBSERVATION).tag("error", "none").timer().count());
+            assertEquals(1, meterRegistry.get(EmailServiceImpl.SEND_OBSERVATION).tag("error", "MessagingException").timer().count());
+        }
+    }
+}
@@ -4,22 +4,29 @@ import com.mongodb.kitchensink.constants.ErrorCodes;
 import com.mongodb.kitchensink.constants.ErrorMessageConstants;
 import com.mongodb.kitchensink.constants.SuccessMessageConstants;
 import com.mongodb.kitchensink.dto.ApiResponse;
+import com.mongodb.kitchensink.exception.EmailDeliveryException;
 import com.mongodb.kitchensink.exception.InvalidOtpException;
+import com.mongodb.kitchensink.exception.TooManyRequestsException;
 import com.mongodb.kitchensink.exception.UserNotFoundException;
 import com.mongodb.kitchensink.model.User;
 import com.mongodb.kitchensink.repository.UserRepository;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
+import static com.mongodb.kitchensink.constants.SuccessMessageConstants.OTP_ALREADY_SENT;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -39,6 +46,12 @@ class ForgotPasswordServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private RateLimitService rateLimitService;
+
+    @Mock
+    private UserCacheEvictor userCacheEvictor;
+
     @InjectMocks
     private ForgotPasswordServiceImpl forgotPasswordService;
 
@@ -63,7 +76,7 @@ class ForgotPasswordServiceImplTest {
     void sendOtpToEmail_existingUser_shouldSendOtpAndReturnSuccess() {
         // Given
         when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(mockUser));
-        when(otpService.generateOtp(eq(EMAIL), eq("FORGOT_PASSWORD"), anyLong())).thenReturn(OTP);
+        when(otpService.generateOtp(eq(EMAIL), eq("FORGOT_PASSWORD"), anyLong())).thenReturn(Optional.of(OTP));
 
         // When
         ApiResponse response = forgotPasswordService.sendOtpToEmail(EMAIL);
@@ -77,6 +90,25 @@ class ForgotPasswordServiceImplTest {
                 eq(SuccessMessageConstants.PASSWORD_RESET_OTP_SUBJECT),
                 anyString()
         );
+        verify(otpService, times(1)).awaitDelivery(any(), eq(EMAIL), eq("FORGOT_PASSWORD"));
+    }
+
+    @Test
+    @DisplayName("should report a failed OTP mail instead of claiming it was sent")
+    void sendOtpToEmail_mailFailed_shouldThrowEmailDeliveryException() {
+        // Given
+        CompletableFuture<Void> failed = CompletableFuture.failedFuture(new RuntimeException("Failed to send email"));
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(mockUser));
+        when(otpService.generateOtp(eq(EMAIL), eq("FORGOT_PASSWORD"), anyLong())).thenReturn(Optional.of(OTP));
+        when(emailService.sendEmail(anyString(), anyString(), anyString())).thenReturn(failed);
+        doThrow(new EmailDeliveryException(ErrorCodes.EMAIL_DELIVERY_FAILED))
+                .when(otpService).awaitDelivery(failed, EMAIL, "FORGOT_PASSWORD");
+
+        // When
+        EmailDeliveryException ex = assertThrows(EmailDeliveryException.class, () -> forgotPasswordService.sendOtpToEmail(EMAIL));
+
+        // Then
+        assertEquals(ErrorCodes.EMAIL_DELIVERY_FAILED, ex.getErrorCode());
     }
 
     @Test
@@ -96,6 +128,35 @@ class ForgotPasswordServiceImplTest {
         verify(emailService, never()).sendEmail(anyString(), anyString(), anyString());
     }
 
+    @Test
+    @DisplayName("should not send a second email when a duplicate request already issued the code")
+    void sendOtpToEmail_duplicateRequest_shouldNotSendEmail() {
+        // Given
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(mockUser));
+        when(otpService.generateOtp(eq(EMAIL), eq("FORGOT_PASSWORD"), anyLong())).thenReturn(Optional.empty());
+
+        // When
+        ApiResponse response = forgotPasswordService.sendOtpToEmail(EMAIL);
+
+        // Then
+        assertTrue(response.isSuccess());
+        assertEquals(OTP_ALREADY_SENT + " : " + EMAIL + ".", response.getMessage());
+        verify(emailService, never()).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("should reject throttled OTP requests before looking up the user")
+    void sendOtpToEmail_throttled_shouldThrowBeforeLookup() {
+        // Given
+        doThrow(new TooManyRequestsException(ErrorCodes.TOO_MANY_REQUESTS, ErrorMessageConstants.TOO_MANY_OTP_REQUESTS))
+                .when(rateLimitService).checkOtpRequest(EMAIL, "FORGOT_PASSWORD");
+
+        // When / Then
+        assertThrows(TooManyRequestsException.class, () -> forgotPasswordService.sendOtpToEmail(EMAIL));
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(emailService, never()).sendEmail(anyString(), anyString(), anyString());
+    }
+
     // --- verifyOtp Tests ---
     @Test
     @DisplayName("should return success for valid OTP")
@@ -133,8 +194,9 @@ class ForgotPasswordServiceImplTest {
     @DisplayName("should reset password for valid user")
     void resetPassword_validUser_shouldResetPassword() {
         // Given
-        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(mockUser));
+        when(userRepository.existsByEmail(EMAIL)).thenReturn(true);
         when(passwordEncoder.encode(NEW_PASSWORD)).thenReturn(ENCODED_PASSWORD);
+        when(userRepository.updateFieldsByEmail(eq(EMAIL), any(Update.class))).thenReturn(Optional.of("user-1"));
 
         // When
         ApiResponse response = forgotPasswordService.resetPassword(EMAIL, NEW_PASSWORD);
@@ -142,16 +204,19 @@ class ForgotPasswordServiceImplTest {
         // Then
         assertTrue(response.isSuccess());
         assertEquals(SuccessMessageConstants.PASSWORD_RESET_SUCCESS, response.getMessage());
-        assertEquals(ENCODED_PASSWORD, mockUser.getPasswordHash());
-        verify(userRepository, times(1)).save(mockUser);
+        ArgumentCaptor<Update> changes = ArgumentCaptor.forClass(Update.class);
+        verify(userRepository, times(1)).updateFieldsByEmail(eq(EMAIL), changes.capture());
+        assertEquals(ENCODED_PASSWORD, changes.getValue().getUpdateObject().get("$set", Document.class).get("passwordHash"));
+        verify(userRepository, never()).save(any(User.class));
         verify(otpService, times(1)).clearOtp(EMAIL, "FORGOT_PASSWORD");
+        verify(userCacheEvictor, times(1)).evictUser(EMAIL, "user-1", null);
     }
 
     @Test
     @DisplayName("should throw UserNotFoundException for non-existing user")
     void resetPassword_nonExistingUser_shouldThrowException() {
         // Given
-        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+        when(userRepository.existsByEmail(EMAIL)).thenReturn(false);
 
         // When & Then
         UserNotFoundException exception = assertThrows(UserNotFoundException.class, () -> {
@@ -161,7 +226,7 @@ class ForgotPasswordServiceImplTest {
         assertEquals(ErrorCodes.RESOURCE_NOT_FOUND, exception.getErrorCode());
         assertEquals(ErrorMessageConstants.ACCOUNT_NOT_FOUND_EMAIL, exception.getMessage());
         verify(passwordEncoder, never()).encode(anyString());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).updateFieldsByEmail(anyString(), any(Update.class));
         verify(otpService, never()).clearOtp(anyString(), anyString());
     }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.mongodb.kitchensink.service;
+
+import com.mongodb.kitchensink.service.RateLimiter.Bandwidth;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InMemoryRateLimiter Tests")
+class InMemoryRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final Bandwidth threePerMinute = Bandwidth.of(3, 60);
+    private InMemoryRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new InMemoryRateLimiter(clock::get, 100, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("should allow a full bucket and then reject")
+    void tryConsume_shouldRejectWhenBucketIsEmpty() {
+        assertTrue(rateLimiter.tryConsume("ip", threePerMinute));
+        assertTrue(rateLimiter.tryConsume("ip", threePerMinute));
+        assertTrue(rateLimiter.tryConsume("ip", threePerMinute));
+        assertFalse(rateLimiter.tryConsume("ip", threePerMinute));
+    }
+
+    @Test
+    @DisplayName("should refill tokens proportionally to elapsed time")
+    void tryConsume_shouldRefillOverTime() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryConsume("ip", threePerMinute);
+        }
+        clock.addAndGet(Duration.ofSeconds(20).toNanos());
+
+        assertTrue(rateLimiter.tryConsume("ip", threePerMinute));
+        assertFalse(rateLimiter.tryConsume("ip", threePerMinute));
+    }
+
+    @Test
+    @DisplayName("should keep separate buckets per key")
+    void tryConsume_shouldIsolateKeys() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryConsume("a", threePerMinute);
+        }
+        assertFalse(rateLimiter.tryConsume("a", threePerMinute));
+        assertTrue(rateLimiter.tryConsume("b", threePerMinute));
+    }
+
+    @Test
+    @DisplayName("should check a bucket without taking a token")
+    void hasToken_shouldNotConsume() {
+        assertTrue(rateLimiter.hasToken("ip", threePerMinute));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(rateLimiter.hasToken("ip", threePerMinute));
+            rateLimiter.tryConsume("ip", threePerMinute);
+        }
+
+        assertFalse(rateLimiter.hasToken("ip", threePerMinute));
+        clock.addAndGet(Duration.ofSeconds(20).toNanos());
+        assertTrue(rateLimiter.hasToken("ip", threePerMinute));
+    }
+
+    @Test
+    @DisplayName("should drop a bucket once it has had time to refill completely")
+    void tryConsume_shouldExpireRefilledBuckets() {
+        rateLimiter.tryConsume("a", threePerMinute);
+        rateLimiter.tryConsume("b", threePerMinute);
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        rateLimiter.tryConsume("b", threePerMinute);
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertEquals(1, rateLimiter.size());
+    }
+
+    @Test
+    @DisplayName("should never hold more buckets than the key limit, however many keys are used")
+    void tryConsume_shouldCapBuckets() {
+        InMemoryRateLimiter bounded = new InMemoryRateLimiter(clock::get, 50, Runnable::run);
+
+        for (int i = 0; i < 10_000; i++) {
+            bounded.tryConsume("random-" + i + "@example.com", threePerMinute);
+        }
+
+        assertTrue(bounded.size() <= 50, () -> "buckets: " + bounded.size());
+    }
+}
@@ -0,0 +1,117 @@
+package com.mongodb.kitchensink.service;
+
+import com.mongodb.kitchensink.config.PrefixedKeySerializer;
+import com.mongodb.kitchensink.dto.KeyspaceInventoryResponse;
+import com.mongodb.kitchensink.dto.KeyspaceInventoryResponse.NamespaceStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.RedisServerCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KeyspaceInventoryService Tests")
+class KeyspaceInventoryServiceTest {
+
+    private static final byte[] ACCESS_KEY = bytes("kitchensink:ACTIVE_ACCESS_TOKEN:{a@b.com}");
+    private static final byte[] OTP_KEY = bytes("kitchensink:OTP:LOGIN:{a@b.com}");
+    private static final byte[] CACHE_KEY = bytes("kitchensink:userByEmail::a@b.com");
+    private static final byte[] FOREIGN_KEY = bytes("otherapp:ACTIVE_ACCESS_TOKEN:{a@b.com}");
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+    @Mock
+    private RedisConnection connection;
+    @Mock
+    private RedisKeyCommands keyCommands;
+    @Mock
+    private RedisServerCommands serverCommands;
+    @Mock
+    private RedisScriptingCommands scriptingCommands;
+    @Mock
+    private Cursor<byte[]> cursor;
+
+    private KeyspaceInventoryService inventoryService;
+
+    private static byte[] bytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @BeforeEach
+    void setUp() {
+        inventoryService = new KeyspaceInventoryService(redisTemplate);
+        doReturn(new PrefixedKeySerializer("kitchensink")).when(redisTemplate).getKeySerializer();
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        when(connection.serverCommands()).thenReturn(serverCommands);
+        lenient().when(connection.scriptingCommands()).thenReturn(scriptingCommands);
+        when(keyCommands.scan(any(ScanOptions.class))).thenReturn(cursor);
+    }
+
+    private NamespaceStats stats(KeyspaceInventoryResponse response, String namespace) {
+        return response.namespaces().stream().filter(s -> s.namespace().equals(namespace)).findFirst().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("should count and measure keys per namespace when the scan covers the database")
+    void inventory_completeScan_reportsExactCounts() {
+        // Given
+        when(serverCommands.dbSize()).thenReturn(4L);
+        when(cursor.hasNext()).thenReturn(true, true, true, true, false);
+        when(cursor.next()).thenReturn(ACCESS_KEY, OTP_KEY, CACHE_KEY, FOREIGN_KEY);
+        when(scriptingCommands.eval(any(byte[].class), eq(ReturnType.INTEGER), eq(1), any(byte[].class))).thenReturn(120L);
+        when(keyCommands.pTtl(any(byte[].class))).thenReturn(1000L);
+        when(keyCommands.pTtl(OTP_KEY)).thenReturn(-1L);
+
+        // When
+        KeyspaceInventoryResponse response = inventoryService.inventory(connection);
+
+        // Then
+        assertTrue(response.complete());
+        assertEquals("kitchensink:", response.prefix());
+        assertEquals(4, response.sampledKeys());
+        NamespaceStats access = stats(response, "ACTIVE_ACCESS_TOKEN");
+        assertEquals(1, access.estimatedKeys());
+        assertEquals(120, access.averageBytes());
+        assertEquals("SLIDING", access.ttlPolicy());
+        assertEquals(1, stats(response, "OTP").sampledWithoutTtl());
+        assertEquals(1, stats(response, "userByEmail").estimatedKeys());
+        assertEquals(1, stats(response, KeyspaceInventoryService.OTHER).estimatedKeys());
+        assertEquals(0, stats(response, "REFRESH_TOKEN").estimatedKeys());
+        verify(cursor).close();
+    }
+
+    @Test
+    @DisplayName("should stop at the sample size and scale counts by DBSIZE")
+    void inventory_partialScan_extrapolates() {
+        // Given
+        ReflectionTestUtils.setField(inventoryService, "sampleSize", 2L);
+        ReflectionTestUtils.setField(inventoryService, "memorySamples", 0);
+        when(serverCommands.dbSize()).thenReturn(100L);
+        when(cursor.hasNext()).thenReturn(true);
+        when(cursor.next()).thenReturn(ACCESS_KEY, OTP_KEY);
+
+        // When
+        KeyspaceInventoryResponse response = inventoryService.inventory(connection);
+
+        // Then
+        assertFalse(response.complete());
+        assertEquals(50, stats(response, "ACTIVE_ACCESS_TOKEN").estimatedKeys());
+        assertEquals(50, stats(response, "OTP").estimatedKeys());
+        verify(scriptingCommands, never()).eval(any(byte[].class), any(), anyInt(), any(byte[].class));
+    }
+}
@@ -0,0 +1,273 @@
+package com.mongodb.kitchensink.service;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MongoChangeStreamConsumerTest {
+
+    private static final BsonDocument TOKEN = new BsonDocument("_data", new BsonString("8263A1"));
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> users;
+
+    @Mock
+    private MongoCollection<Document> tokens;
+
+    @Mock
+    private FindIterable<Document> storedTokens;
+
+    @Mock
+    private ChangeStreamIterable<Document> stream;
+
+    @Mock
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+
+    @Mock
+    private ChangeStreamDocument<Document> event;
+
+    @Mock
+    private MongoChangeListener listener;
+
+    private MongoChangeStreamConsumer consumer;
+
+    private MongoChangeStreamConsumer newConsumer(List<MongoChangeListener> listeners, String name, boolean persistTokens) {
+        MongoChangeStreamConsumer newConsumer = new MongoChangeStreamConsumer(mongoTemplate, listeners);
+        ReflectionTestUtils.setField(newConsumer, "consumerName", name);
+        ReflectionTestUtils.setField(newConsumer, "persistTokens", persistTokens);
+        ReflectionTestUtils.setField(newConsumer, "retryDelayMs", 0L);
+        ReflectionTestUtils.setField(newConsumer, "running", true);
+        return newConsumer;
+    }
+
+    @BeforeEach
+    void setUp() {
+        consumer = newConsumer(List.of(listener), "kitchensink", true);
+        lenient().when(mongoTemplate.getCollection("users")).thenReturn(users);
+        lenient().when(mongoTemplate.getCollection(MongoChangeStreamConsumer.TOKEN_COLLECTION)).thenReturn(tokens);
+        lenient().when(tokens.find(any(Bson.class))).thenReturn(storedTokens);
+        lenient().when(users.watch()).thenReturn(stream);
+        lenient().when(stream.fullDocument(FullDocument.UPDATE_LOOKUP)).thenReturn(stream);
+        lenient().when(stream.maxAwaitTime(anyLong(), any(TimeUnit.class))).thenReturn(stream);
+        lenient().when(stream.resumeAfter(any(BsonDocument.class))).thenReturn(stream);
+        lenient().when(stream.cursor()).thenReturn(cursor);
+    }
+
+    private void stopAfterFirstEvent() {
+        when(cursor.tryNext()).thenReturn(event).thenAnswer(invocation -> {
+            consumer.stop();
+            return null;
+        });
+    }
+
+    @Test
+    @DisplayName("should fan out events and persist the resume token")
+    void tail_shouldDispatchEventsAndSaveToken() {
+        // Given
+        when(listener.supports("users")).thenReturn(true);
+        when(storedTokens.first()).thenReturn(null);
+        when(cursor.getResumeToken()).thenReturn(TOKEN);
+        stopAfterFirstEvent();
+        // When
+        consumer.tail("users");
+        // Then
+        verify(listener).onStreamOpened("users", false);
+        verify(listener).onChange("users", event);
+        verify(stream, never()).resumeAfter(any(BsonDocument.class));
+        ArgumentCaptor<Document> saved = ArgumentCaptor.forClass(Document.class);
+        verify(tokens, atLeastOnce()).replaceOne(any(Bson.class), saved.capture(), any(ReplaceOptions.class));
+        assertEquals("kitchensink:users", saved.getValue().get("_id"));
+        assertEquals(TOKEN, saved.getValue().get("token"));
+    }
+
+    @Test
+    @DisplayName("should resume after the saved token")
+    void tail_shouldResumeFromSavedToken() {
+        // Given
+        when(listener.supports("users")).thenReturn(true);
+        when(storedTokens.first()).thenReturn(new Document("_id", "kitchensink:users").append("token", new Document("_data", "8263A1")));
+        stopAfterFirstEvent();
+        // When
+        consumer.tail("users");
+        // Then
+        verify(stream).resumeAfter(TOKEN);
+        verify(listener).onStreamOpened("users", true);
+    }
+
+    @Test
+    @DisplayName("should drop a token the oplog no longer covers and tell listeners")
+    void tail_shouldRestartWhenHistoryIsLost() {
+        // Given
+        when(listener.supports("users")).thenReturn(true);
+        when(storedTokens.first()).thenReturn(new Document("token", new Document("_data", "8263A1")));
+        BsonDocument response = new BsonDocument("ok", new BsonInt32(0))
+                .append("code", new BsonInt32(286))
+                .append("errmsg", new BsonString("ChangeStreamHistoryLost"));
+        when(stream.cursor()).thenThrow(new MongoCommandException(response, new ServerAddress()));
+        doAnswer(invocation -> {
+            consumer.stop();
+            return null;
+        }).when(listener).onStreamInterrupted("users");
+        // When
+        consumer.tail("users");
+        // Then
+        verify(tokens).deleteOne(any(Bson.class));
+        verify(listener).onStreamInterrupted("users");
+    }
+
+    @Test
+    @DisplayName("should keep dispatching when a listener fails")
+    void tail_shouldIsolateListenerFailures() {
+        // Given
+        MongoChangeListener failing = mock(MongoChangeListener.class);
+        consumer = newConsumer(List.of(failing, listener), "kitchensink", true);
+        when(failing.supports("users")).thenReturn(true);
+        when(listener.supports("users")).thenReturn(true);
+        doThrow(new IllegalStateException("boom")).when(failing).onChange("users", event);
+        when(storedTokens.first()).thenReturn(null);
+        stopAfterFirstEvent();
+        // When
+        consumer.tail("users");
+        // Then
+        verify(listener).onChange("users", event);
+    }
+
+    @Test
+    @DisplayName("should keep tailing when a listener fails on stream open")
+    void tail_shouldIsolateStreamOpenedFailures() {
+        // Given
+        MongoChangeListener failing = mock(MongoChangeListener.class);
+        consumer = newConsumer(List.of(failing, listener), "kitchensink", true);
+        when(failing.supports("users")).thenReturn(true);
+        when(listener.supports("users")).thenReturn(true);
+        doThrow(new IllegalStateException("boom")).when(failing).onStreamOpened("users", false);
+        when(storedTokens.first()).thenReturn(null);
+        stopAfterFirstEvent();
+        // When
+        consumer.tail("users");
+        // Then
+        verify(listener).onStreamOpened("users", false);
+        verify(listener).onChange("users", event);
+    }
+
+    @Test
+    @DisplayName("should retry after a non-Mongo failure instead of ending the thread")
+    void tail_shouldRetryAfterRuntimeException() {
+        // Given
+        when(listener.supports("users")).thenReturn(true);
+        when(storedTokens.first()).thenReturn(null);
+        when(stream.cursor()).thenThrow(new IllegalStateException("cannot decode")).thenReturn(cursor);
+        stopAfterFirstEvent();
+        // When
+        consumer.tail("users");
+        // Then
+        verify(listener).onStreamInterrupted("users");
+        verify(listener).onChange("users", event);
+    }
+
+    @Test
+    @DisplayName("a replica that does not persist tokens should not move the position of the one that does")
+    void saveToken_twoConsumersOneTokenCollection_evictorResumesFromItsOwnToken() {
+        // Given one token collection and both instances under the default consumer name, only the evictor persisting
+        BsonDocument evictorToken = new BsonDocument("_data", new BsonString("8263A1"));
+        BsonDocument replicaToken = new BsonDocument("_data", new BsonString("8263B7"));
+        Map<String, Document> store = new HashMap<>();
+        AtomicReference<String> lookedUp = new AtomicReference<>();
+        when(tokens.find(any(Bson.class))).thenAnswer(invocation -> {
+            lookedUp.set(invocation.<Bson>getArgument(0).toBsonDocument().getString("_id").getValue());
+            return storedTokens;
+        });
+        when(storedTokens.first()).thenAnswer(invocation -> store.get(lookedUp.get()));
+        when(tokens.replaceOne(any(Bson.class), any(Document.class), any(ReplaceOptions.class))).thenAnswer(invocation -> {
+            Document saved = invocation.getArgument(1);
+            store.put(saved.getString("_id"), new Document("_id", saved.getString("_id"))
+                    .append("token", Document.parse(((BsonDocument) saved.get("token")).toJson())));
+            return null;
+        });
+        when(listener.supports("users")).thenReturn(true);
+
+        consumer = newConsumer(List.of(listener), "kitchensink", true);
+        when(cursor.getResumeToken()).thenReturn(evictorToken);
+        stopAfterFirstEvent();
+        consumer.tail("users");
+
+        consumer = newConsumer(List.of(listener), "kitchensink", false);
+        when(cursor.getResumeToken()).thenReturn(replicaToken);
+        stopAfterFirstEvent();
+        consumer.tail("users");
+
+        // When the evictor restarts
+        consumer = newConsumer(List.of(listener), "kitchensink", true);
+        stopAfterFirstEvent();
+        consumer.tail("users");
+
+        // Then
+        assertEquals(Set.of("kitchensink:users"), store.keySet());
+        verify(stream).resumeAfter(evictorToken);
+        verify(stream, never()).resumeAfter(replicaToken);
+    }
+
+    @Test
+    @DisplayName("a consumer that does not persist tokens should resume from memory after a failure, without Mongo")
+    void tail_notPersisting_resumesFromLastTokenInMemory() {
+        // Given
+        consumer = newConsumer(List.of(listener), "kitchensink", false);
+        when(listener.supports("users")).thenReturn(true);
+        when(cursor.getResumeToken()).thenReturn(TOKEN);
+        when(cursor.tryNext())
+                .thenReturn(event)
+                .thenThrow(new MongoException("connection reset"))
+                .thenAnswer(invocation -> {
+                    consumer.stop();
+                    return null;
+                });
+
+        // When
+        consumer.tail("users");
+
+        // Then
+        verify(listener).onStreamOpened("users", false);
+        verify(listener).onStreamInterrupted("users");
+        verify(listener).onStreamOpened("users", true);
+        verify(stream).resumeAfter(TOKEN);
+        verify(mongoTemplate, never()).getCollection(MongoChangeStreamConsumer.TOKEN_COLLECTION);
+    }
+}
+
@@ -1,20 +1,29 @@
 package com.mongodb.kitchensink.service;
 
-import com.mongodb.kitchensink.constants.RedisValue;
+import com.mongodb.kitchensink.constants.ErrorCodes;
+import com.mongodb.kitchensink.exception.EmailDeliveryException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
-import java.security.SecureRandom;
-import java.util.concurrent.TimeUnit;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,193 +31,196 @@ import static org.mockito.Mockito.*;
 class OtpServiceTest {
 
     @Mock
-    private RedisTemplate<String, Object> redisTemplate;
-
-    @Mock
-    private ValueOperations<String, Object> valueOperations;
-
-    @Mock
-    private SecureRandom secureRandom;
+    private StringRedisTemplate redisTemplate;
 
     @InjectMocks
     private OtpService otpService;
 
-    private final String EMAIL = "test@example.com";
+    private final String EMAIL = "Test@Example.com";
     private final String OTP_TYPE = "ACCOUNT_VERIFICATION";
-    private final String REDIS_KEY = "OTP:ACCOUNT_VERIFICATION:test@example.com";
+    private final String REDIS_KEY = "OTP:ACCOUNT_VERIFICATION:{test@example.com}";
+    private final List<String> KEYS = List.of(REDIS_KEY);
 
     @BeforeEach
     void setUp() {
-        // Use lenient() to suppress UnnecessaryStubbingException for this shared setup
-        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-
-        ReflectionTestUtils.setField(otpService, "secureRandom", secureRandom);
         ReflectionTestUtils.setField(otpService, "accountVerificationTtl", 600L);
         ReflectionTestUtils.setField(otpService, "forgotPasswordTtl", 900L);
+        ReflectionTestUtils.setField(otpService, "hashSecret", "test-secret");
+        ReflectionTestUtils.setField(otpService, "clock", Clock.fixed(Instant.ofEpochMilli(5_000L), ZoneOffset.UTC));
+    }
+
+    /** Issues an OTP against the mocked script and returns the code and the hash that was stored. */
+    private String[] issue(String type, Long ttl, String key, String expectedTtlMillis) {
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        when(redisTemplate.execute(eq(OtpService.ISSUE_SCRIPT), eq(List.of(key)),
+                hash.capture(), eq(expectedTtlMillis), eq("5000"), eq("30000"))).thenReturn(1L);
+        String otp = otpService.generateOtp(EMAIL, type, ttl).orElseThrow();
+        return new String[]{otp, hash.getValue()};
     }
 
     // --- generateOtp Tests ---
 
     @Test
-    @DisplayName("generateOtp should return existing OTP when not expired")
-    void generateOtp_shouldReturnExistingOtpWhenNotExpired() {
-        // Given
-        RedisValue<String> existingValue = mock(RedisValue.class);
-        when(existingValue.isValid()).thenReturn(true);
-        when(existingValue.getValue()).thenReturn("123456");
-        when(valueOperations.get(REDIS_KEY)).thenReturn(existingValue);
-
+    @DisplayName("generateOtp should store only a hash of a new numeric code in one script call")
+    void generateOtp_shouldStoreHashOfNewCode() {
         // When
-        String result = otpService.generateOtp(EMAIL, OTP_TYPE, null);
+        String[] issued = issue(OTP_TYPE, null, REDIS_KEY, "600000");
 
         // Then
-        assertEquals("123456", result);
-        verify(secureRandom, never()).nextInt(anyInt());
-        verify(valueOperations, never()).set(anyString(), any(), anyLong(), any());
+        assertTrue(issued[0].matches("\\d{6}"));
+        assertNotEquals(issued[0], issued[1]);
+        assertEquals(64, issued[1].length());
+        verifyNoMoreInteractions(redisTemplate);
     }
 
     @Test
-    @DisplayName("generateOtp should generate new OTP when no existing OTP")
-    void generateOtp_shouldGenerateNewOtpWhenNoExistingOtp() {
+    @DisplayName("generateOtp should return empty when a code was issued within the resend cooldown")
+    void generateOtp_shouldReturnEmptyForDuplicateRequest() {
         // Given
-        when(valueOperations.get(REDIS_KEY)).thenReturn(null);
-        when(secureRandom.nextInt(anyInt())).thenReturn(123456);
+        when(redisTemplate.execute(eq(OtpService.ISSUE_SCRIPT), eq(KEYS), any(), any(), any(), any())).thenReturn(0L);
 
         // When
-        String result = otpService.generateOtp(EMAIL, OTP_TYPE, null);
+        Optional<String> result = otpService.generateOtp(EMAIL, OTP_TYPE, null);
 
         // Then
-        assertEquals("123456", result);
-        verify(valueOperations, times(1)).set(eq(REDIS_KEY), any(RedisValue.class), eq(600L), eq(TimeUnit.SECONDS));
+        assertTrue(result.isEmpty());
     }
 
     @Test
-    @DisplayName("generateOtp should generate new OTP when existing OTP is expired")
-    void generateOtp_shouldGenerateNewOtpWhenExistingOtpIsExpired() {
-        // Given
-        RedisValue<String> existingValue = mock(RedisValue.class);
-        when(existingValue.isValid()).thenReturn(false);
-        when(valueOperations.get(REDIS_KEY)).thenReturn(existingValue);
-        when(secureRandom.nextInt(anyInt())).thenReturn(123456);
+    @DisplayName("generateOtp should use provided TTL when not null")
+    void generateOtp_shouldUseProvidedTtlWhenNotNull() {
+        assertNotNull(issue(OTP_TYPE, 120L, REDIS_KEY, "120000")[0]);
+    }
 
-        // When
-        String result = otpService.generateOtp(EMAIL, OTP_TYPE, null);
+    @Test
+    @DisplayName("generateOtp should use default TTL for 'forgotPassword' type")
+    void generateOtp_shouldUseDefaultTtlForForgotPasswordType() {
+        assertNotNull(issue("FORGOT_PASSWORD", null, "OTP:FORGOT_PASSWORD:{test@example.com}", "900000")[0]);
+    }
 
-        // Then
-        assertEquals("123456", result);
-        verify(valueOperations, times(1)).set(eq(REDIS_KEY), any(RedisValue.class), eq(600L), eq(TimeUnit.SECONDS));
+    @Test
+    @DisplayName("generateOtp should honour the configured code length")
+    void generateOtp_shouldHonourCodeLength() {
+        ReflectionTestUtils.setField(otpService, "otpLength", 8);
+        assertTrue(issue(OTP_TYPE, null, REDIS_KEY, "600000")[0].matches("\\d{8}"));
     }
 
+    // --- verifyOtp Tests ---
+
     @Test
-    @DisplayName("generateOtp should use provided TTL when not null")
-    void generateOtp_shouldUseProvidedTtlWhenNotNull() {
+    @DisplayName("verifyOtp should send the same hash that was stored and accept a match")
+    void verifyOtp_shouldReturnTrueForIssuedCode() {
         // Given
-        long customTtl = 120L; // 2 minutes
-        when(valueOperations.get(REDIS_KEY)).thenReturn(null);
-        when(secureRandom.nextInt(anyInt())).thenReturn(123456);
-
-        // When
-        otpService.generateOtp(EMAIL, OTP_TYPE, customTtl);
+        String[] issued = issue(OTP_TYPE, null, REDIS_KEY, "600000");
+        when(redisTemplate.execute(OtpService.VERIFY_SCRIPT, KEYS, issued[1], "5")).thenReturn(1L);
 
-        // Then
-        verify(valueOperations, times(1)).set(eq(REDIS_KEY), any(RedisValue.class), eq(customTtl), eq(TimeUnit.SECONDS));
+        // When / Then
+        assertTrue(otpService.verifyOtp(EMAIL, OTP_TYPE, issued[0]));
     }
 
     @Test
-    @DisplayName("generateOtp should use default TTL for 'forgotPassword' type")
-    void generateOtp_shouldUseDefaultTtlForForgotPasswordType() {
+    @DisplayName("verifyOtp should return false when the script rejects the code")
+    void verifyOtp_shouldReturnFalseForInvalidOtp() {
         // Given
-        String forgotPasswordType = "FORGOT_PASSWORD";
-        String forgotPasswordKey = "OTP:FORGOT_PASSWORD:test@example.com";
-        when(valueOperations.get(forgotPasswordKey)).thenReturn(null);
-        when(secureRandom.nextInt(anyInt())).thenReturn(123456);
-
-        // When
-        otpService.generateOtp(EMAIL, forgotPasswordType, null);
+        when(redisTemplate.execute(eq(OtpService.VERIFY_SCRIPT), eq(KEYS), anyString(), eq("5"))).thenReturn(0L);
 
-        // Then
-        verify(valueOperations, times(1)).set(eq(forgotPasswordKey), any(RedisValue.class), eq(900L), eq(TimeUnit.SECONDS));
+        // When / Then
+        assertFalse(otpService.verifyOtp(EMAIL, OTP_TYPE, "654321"));
     }
 
-    // --- verifyOtp Tests ---
+    @Test
+    @DisplayName("verifyOtp should return false when no OTP exists")
+    void verifyOtp_shouldReturnFalseWhenNoStoredOtpFound() {
+        // Given
+        when(redisTemplate.execute(eq(OtpService.VERIFY_SCRIPT), eq(KEYS), anyString(), eq("5"))).thenReturn(-1L);
+
+        // When / Then
+        assertFalse(otpService.verifyOtp(EMAIL, OTP_TYPE, "123456"));
+    }
 
     @Test
-    @DisplayName("verifyOtp should return true and clear key for valid OTP")
-    void verifyOtp_shouldReturnTrueAndClearKeyForValidOtp() {
+    @DisplayName("verifyOtp should pass the configured attempt limit to the script")
+    void verifyOtp_shouldPassMaxAttempts() {
         // Given
-        String otp = "123456";
-        RedisValue<String> storedValue = mock(RedisValue.class);
-        when(storedValue.isValid()).thenReturn(true);
-        when(storedValue.getValue()).thenReturn(otp);
-        when(valueOperations.get(REDIS_KEY)).thenReturn(storedValue);
+        ReflectionTestUtils.setField(otpService, "maxAttempts", 3L);
+        when(redisTemplate.execute(eq(OtpService.VERIFY_SCRIPT), eq(KEYS), anyString(), eq("3"))).thenReturn(0L);
 
+        // When / Then
+        assertFalse(otpService.verifyOtp(EMAIL, OTP_TYPE, "123456"));
+    }
+
+    @Test
+    @DisplayName("verifyOtp should reject a null code without calling Redis")
+    void verifyOtp_shouldRejectNullCode() {
+        assertFalse(otpService.verifyOtp(EMAIL, OTP_TYPE, null));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    // --- clearOtp Test ---
+
+    @Test
+    @DisplayName("clearOtp should delete the OTP key from Redis")
+    void clearOtp_shouldDeleteOtpKeyFromRedis() {
         // When
-        boolean isValid = otpService.verifyOtp(EMAIL, OTP_TYPE, otp);
+        otpService.clearOtp(EMAIL, OTP_TYPE);
 
         // Then
-        assertTrue(isValid);
         verify(redisTemplate, times(1)).delete(REDIS_KEY);
     }
 
-    @Test
-    @DisplayName("verifyOtp should return false for invalid OTP")
-    void verifyOtp_shouldReturnFalseForInvalidOtp() {
-        // Given
-        String correctOtp = "123456";
-        String invalidOtp = "654321";
-        RedisValue<String> storedValue = mock(RedisValue.class);
-        when(storedValue.isValid()).thenReturn(true);
-        when(storedValue.getValue()).thenReturn(correctOtp);
-        when(valueOperations.get(REDIS_KEY)).thenReturn(storedValue);
+    // --- delivery Tests ---
 
+    @Test
+    @DisplayName("awaitDelivery should keep the OTP once its mail was sent")
+    void awaitDelivery_sent_keepsOtp() {
         // When
-        boolean isValid = otpService.verifyOtp(EMAIL, OTP_TYPE, invalidOtp);
+        assertDoesNotThrow(() -> otpService.awaitDelivery(CompletableFuture.completedFuture(null), EMAIL, OTP_TYPE));
 
         // Then
-        assertFalse(isValid);
-        verify(redisTemplate, never()).delete(anyString());
+        verifyNoInteractions(redisTemplate);
     }
 
     @Test
-    @DisplayName("verifyOtp should return false when stored OTP is expired")
-    void verifyOtp_shouldReturnFalseWhenStoredOtpIsExpired() {
+    @DisplayName("awaitDelivery should clear the OTP and report a failed mail")
+    void awaitDelivery_failed_clearsOtpAndThrows() {
         // Given
-        String otp = "123456";
-        RedisValue<String> storedValue = mock(RedisValue.class);
-        when(storedValue.isValid()).thenReturn(false);
-        when(valueOperations.get(REDIS_KEY)).thenReturn(storedValue);
+        CompletableFuture<Void> delivery = CompletableFuture.failedFuture(new RuntimeException("Failed to send email"));
 
         // When
-        boolean isValid = otpService.verifyOtp(EMAIL, OTP_TYPE, otp);
+        EmailDeliveryException ex = assertThrows(EmailDeliveryException.class,
+                () -> otpService.awaitDelivery(delivery, EMAIL, OTP_TYPE));
 
         // Then
-        assertFalse(isValid);
-        verify(redisTemplate, never()).delete(anyString());
+        assertEquals(ErrorCodes.EMAIL_DELIVERY_FAILED, ex.getErrorCode());
+        verify(redisTemplate).delete(REDIS_KEY);
     }
 
     @Test
-    @DisplayName("verifyOtp should return false when no stored OTP found")
-    void verifyOtp_shouldReturnFalseWhenNoStoredOtpFound() {
+    @DisplayName("awaitDelivery should clear the OTP and report a mail that is still queued after the timeout")
+    void awaitDelivery_timedOut_clearsOtpAndThrows() {
         // Given
-        when(valueOperations.get(REDIS_KEY)).thenReturn(null);
+        ReflectionTestUtils.setField(otpService, "deliveryTimeoutSeconds", 0L);
 
         // When
-        boolean isValid = otpService.verifyOtp(EMAIL, OTP_TYPE, "123456");
+        assertThrows(EmailDeliveryException.class,
+                () -> otpService.awaitDelivery(new CompletableFuture<Void>(), EMAIL, OTP_TYPE));
 
         // Then
-        assertFalse(isValid);
-        verify(redisTemplate, never()).delete(anyString());
+        verify(redisTemplate).delete(REDIS_KEY);
     }
 
-    // --- clearOtp Test ---
-
     @Test
-    @DisplayName("clearOtp should delete the OTP key from Redis")
-    void clearOtp_shouldDeleteOtpKeyFromRedis() {
+    @DisplayName("clearIfUndelivered should return at once and clear the OTP when the mail fails later")
+    void clearIfUndelivered_failsLater_clearsOtp() {
+        // Given
+        CompletableFuture<Void> delivery = new CompletableFuture<>();
+
         // When
-        otpService.clearOtp(EMAIL, OTP_TYPE);
+        otpService.clearIfUndelivered(delivery, EMAIL, OTP_TYPE);
+        verifyNoInteractions(redisTemplate);
+        delivery.completeExceptionally(new RuntimeException("Failed to send email"));
 
         // Then
-        verify(redisTemplate, times(1)).delete(REDIS_KEY);
+        verify(redisTemplate).delete(REDIS_KEY);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,145 @@
+package com.mongodb.kitchensink.service;
+
+import com.mongodb.kitchensink.constants.ErrorCodes;
+import com.mongodb.kitchensink.exception.TooManyRequestsException;
+import com.mongodb.kitchensink.service.RateLimiter.Bandwidth;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+import static com.mongodb.kitchensink.constants.ErrorMessageConstants.TOO_MANY_LOGIN_ATTEMPTS;
+import static com.mongodb.kitchensink.constants.ErrorMessageConstants.TOO_MANY_OTP_REQUESTS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RateLimitService Tests")
+class RateLimitServiceTest {
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @InjectMocks
+    private RateLimitService rateLimitService;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static void requestFrom(String clientIp) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(clientIp);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @Test
+    @DisplayName("checkLoginAttempt should only check the client and account buckets, without taking a token")
+    void checkLoginAttempt_shouldPeekClientAndAccountBuckets() {
+        // Given
+        requestFrom("10.0.0.7");
+        when(rateLimiter.hasToken(anyString(), any())).thenReturn(true);
+
+        // When
+        assertDoesNotThrow(() -> rateLimitService.checkLoginAttempt("Test@Example.com"));
+
+        // Then
+        verify(rateLimiter).hasToken("LOGIN:EMAIL:10.0.0.7:test@example.com", new Bandwidth(5, Duration.ofSeconds(300)));
+        verify(rateLimiter).hasToken("LOGIN:ACCOUNT:test@example.com", new Bandwidth(20, Duration.ofSeconds(900)));
+        verify(rateLimiter, never()).tryConsume(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("recordFailedLogin should take a token from the client bucket and from the account bucket")
+    void recordFailedLogin_shouldConsumeClientAndAccountBuckets() {
+        // Given
+        requestFrom("10.0.0.7");
+
+        // When
+        rateLimitService.recordFailedLogin("Test@Example.com");
+
+        // Then
+        verify(rateLimiter).tryConsume("LOGIN:EMAIL:10.0.0.7:test@example.com", new Bandwidth(5, Duration.ofSeconds(300)));
+        verify(rateLimiter).tryConsume("LOGIN:ACCOUNT:test@example.com", new Bandwidth(20, Duration.ofSeconds(900)));
+    }
+
+    @Test
+    @DisplayName("checkLoginAttempt should throw for a fresh client once the account bucket is empty")
+    void checkLoginAttempt_shouldThrowWhenAccountThrottledFromOtherClients() {
+        // Given
+        requestFrom("203.0.113.99");
+        when(rateLimiter.hasToken(eq("LOGIN:EMAIL:203.0.113.99:test@example.com"), any())).thenReturn(true);
+        when(rateLimiter.hasToken(eq("LOGIN:ACCOUNT:test@example.com"), any())).thenReturn(false);
+
+        // When
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> rateLimitService.checkLoginAttempt("test@example.com"));
+
+        // Then
+        assertEquals(TOO_MANY_LOGIN_ATTEMPTS, ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("checkLoginAttempt should throw when the failed-login bucket is empty")
+    void checkLoginAttempt_shouldThrowWhenThrottled() {
+        when(rateLimiter.hasToken(anyString(), any())).thenReturn(false);
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> rateLimitService.checkLoginAttempt("test@example.com"));
+        assertEquals(ErrorCodes.TOO_MANY_REQUESTS, ex.getErrorCode());
+        assertEquals(TOO_MANY_LOGIN_ATTEMPTS, ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("rotating client addresses should not reset the failed logins of an account")
+    void recordFailedLogin_rotatingClients_accountThrottled() {
+        // Given
+        RateLimitService service = new RateLimitService(new InMemoryRateLimiter(1000));
+        for (int i = 0; i < 20; i++) {
+            requestFrom("203.0.113." + i);
+            service.checkLoginAttempt("victim@example.com");
+            service.recordFailedLogin("victim@example.com");
+        }
+
+        // When
+        requestFrom("198.51.100.1");
+
+        // Then
+        assertThrows(TooManyRequestsException.class, () -> service.checkLoginAttempt("victim@example.com"));
+        assertDoesNotThrow(() -> service.checkLoginAttempt("owner-of-another-account@example.com"));
+    }
+
+    @Test
+    @DisplayName("checkOtpRequest should throttle per OTP type and email")
+    void checkOtpRequest_shouldThrowWhenThrottled() {
+        when(rateLimiter.tryConsume(eq("OTP_REQUEST:FORGOT_PASSWORD:test@example.com"), any())).thenReturn(false);
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> rateLimitService.checkOtpRequest("test@example.com", "FORGOT_PASSWORD"));
+        assertEquals(TOO_MANY_OTP_REQUESTS, ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("should allow everything without touching the limiter when disabled")
+    void disabled_shouldBypassLimiter() {
+        ReflectionTestUtils.setField(rateLimitService, "enabled", false);
+
+        assertTrue(rateLimitService.tryLoginFromClient("10.0.0.1"));
+        assertTrue(rateLimitService.tryOtpFromClient("10.0.0.1"));
+        assertDoesNotThrow(() -> rateLimitService.checkLoginAttempt("test@example.com"));
+        rateLimitService.recordFailedLogin("test@example.com");
+        verifyNoInteractions(rateLimiter);
+    }
+}
@@ -0,0 +1,63 @@
+package com.mongodb.kitchensink.service;
+
+import com.mongodb.kitchensink.service.RateLimiter.Bandwidth;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RedisRateLimiter Tests")
+class RedisRateLimiterTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private RedisRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new RedisRateLimiter(redisTemplate, Clock.fixed(Instant.ofEpochMilli(1_000L), ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("should run the token bucket script with capacity, period in millis and current time")
+    void tryConsume_shouldPassBucketArgumentsToScript() {
+        when(redisTemplate.execute(eq(RedisRateLimiter.TOKEN_BUCKET_SCRIPT), eq(List.of("RATE_LIMIT:LOGIN:IP:1.2.3.4")),
+                eq("5"), eq("60000"), eq("1000"))).thenReturn(0L);
+
+        assertFalse(rateLimiter.tryConsume("LOGIN:IP:1.2.3.4", Bandwidth.of(5, 60)));
+    }
+
+    @Test
+    @DisplayName("should check the bucket with the peek script, which takes no token")
+    void hasToken_shouldRunPeekScript() {
+        when(redisTemplate.execute(eq(RedisRateLimiter.TOKEN_PEEK_SCRIPT), eq(List.of("RATE_LIMIT:LOGIN:EMAIL:1.2.3.4:a@b.c")),
+                eq("5"), eq("300000"), eq("1000"))).thenReturn(1L);
+
+        assertTrue(rateLimiter.hasToken("LOGIN:EMAIL:1.2.3.4:a@b.c", Bandwidth.of(5, 300)));
+        verify(redisTemplate, never()).execute(eq(RedisRateLimiter.TOKEN_BUCKET_SCRIPT), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("should fail open when Redis is unavailable")
+    void tryConsume_shouldAllowWhenRedisIsDown() {
+        when(redisTemplate.execute(eq(RedisRateLimiter.TOKEN_BUCKET_SCRIPT), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertTrue(rateLimiter.tryConsume("LOGIN:IP:1.2.3.4", Bandwidth.of(5, 60)));
+    }
+}
@@ -0,0 +1,187 @@
+package com.mongodb.kitchensink.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.kitchensink.model.Profile;
+import com.mongodb.kitchensink.model.User;
+import com.mongodb.kitchensink.service.SeedDataGeneratorService.SeedPlan;
+import com.mongodb.kitchensink.service.SeedDataGeneratorService.SeedResult;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeedDataGeneratorService Tests")
+class SeedDataGeneratorServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private MongoCollection<Document> usersCollection;
+    @Mock
+    private MongoCollection<Document> profilesCollection;
+
+    private SeedDataGeneratorService generatorService;
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        lenient().when(mongoTemplate.getCollectionName(Profile.class)).thenReturn("profiles");
+        when(mongoTemplate.getCollection("users")).thenReturn(usersCollection);
+        lenient().when(mongoTemplate.getCollection("profiles")).thenReturn(profilesCollection);
+        when(passwordEncoder.encode("Secret@123")).thenReturn("hashed");
+
+        generatorService = new SeedDataGeneratorService(mongoTemplate, passwordEncoder);
+        ReflectionTestUtils.setField(generatorService, "batchSize", 1000);
+        ReflectionTestUtils.setField(generatorService, "producers", 3);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Document> inserted(MongoCollection<Document> collection) {
+        ArgumentCaptor<List<Document>> batches = ArgumentCaptor.forClass(List.class);
+        verify(collection, atLeastOnce()).insertMany(batches.capture(), any(InsertManyOptions.class));
+        return batches.getAllValues().stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(document -> document.getString("email")))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("should hash the shared password once and insert users and profiles in unordered batches")
+    void generate_insertsAllUsersInUnorderedBatches() {
+        // Given
+        SeedPlan plan = new SeedPlan("user", 2500, 2, "Secret@123", 7L);
+
+        // When
+        SeedResult result = generatorService.generate(plan);
+
+        // Then
+        assertEquals(2500, result.inserted());
+        assertEquals(0, result.skipped());
+        verify(passwordEncoder, times(1)).encode("Secret@123");
+        ArgumentCaptor<InsertManyOptions> options = ArgumentCaptor.forClass(InsertManyOptions.class);
+        verify(usersCollection, times(3)).insertMany(anyList(), options.capture());
+        assertTrue(options.getAllValues().stream().noneMatch(InsertManyOptions::isOrdered));
+
+        List<Document> users = inserted(usersCollection);
+        assertEquals(2500, users.size());
+        Document first = users.stream().filter(user -> user.getString("email").equals("user1@example.com")).findFirst().orElseThrow();
+        assertEquals("user1", first.getString("username"));
+        assertEquals("hashed", first.getString("passwordHash"));
+        assertEquals(List.of("ADMIN"), first.getList("roles", String.class));
+        assertEquals(0L, first.getLong("version"));
+        assertEquals(List.of("USER"), users.stream()
+                .filter(user -> user.getString("email").equals("user3@example.com"))
+                .findFirst().orElseThrow().getList("roles", String.class));
+        assertEquals(2500, inserted(profilesCollection).size());
+        assertEquals(2500, result.profilesInserted());
+    }
+
+    @Test
+    @DisplayName("should generate the same profiles for the same seed whatever the number of producers")
+    void generate_sameSeed_sameProfiles() {
+        // Given
+        SeedPlan plan = new SeedPlan("user", 1500, 0, "Secret@123", 7L);
+        generatorService.generate(plan);
+        List<Document> firstRun = inserted(profilesCollection);
+        clearInvocations(profilesCollection);
+        ReflectionTestUtils.setField(generatorService, "producers", 1);
+
+        // When
+        generatorService.generate(plan);
+
+        // Then
+        assertEquals(firstRun, inserted(profilesCollection));
+        assertTrue(firstRun.get(0).getString("firstName").matches("^[A-Za-z ]+$"));
+    }
+
+    private static MongoBulkWriteException duplicateKeyAt(int index) {
+        return new MongoBulkWriteException(BulkWriteResult.unacknowledged(),
+                List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), index)), null,
+                new ServerAddress(), Set.of());
+    }
+
+    @Test
+    @DisplayName("should skip users that already exist and still write every profile of the batch")
+    void generate_existingUsers_areSkipped() {
+        // Given: user 1 exists, but a run interrupted between the collections never wrote its profile
+        doThrow(duplicateKeyAt(0)).when(usersCollection).insertMany(anyList(), any(InsertManyOptions.class));
+
+        // When
+        SeedResult result = generatorService.generate(new SeedPlan("user", 10, 0, "Secret@123", 7L));
+
+        // Then
+        assertEquals(9, result.inserted());
+        assertEquals(1, result.skipped());
+        assertEquals(10, result.profilesInserted());
+        List<Document> profiles = inserted(profilesCollection);
+        assertEquals(10, profiles.size());
+        assertTrue(profiles.stream().anyMatch(profile -> profile.getString("email").equals("user1@example.com")));
+    }
+
+    @Test
+    @DisplayName("should count profiles that already exist as skipped rather than failing")
+    void generate_existingProfiles_areSkipped() {
+        // Given
+        doThrow(duplicateKeyAt(0)).when(usersCollection).insertMany(anyList(), any(InsertManyOptions.class));
+        doThrow(duplicateKeyAt(0)).when(profilesCollection).insertMany(anyList(), any(InsertManyOptions.class));
+
+        // When
+        SeedResult result = generatorService.generate(new SeedPlan("user", 10, 0, "Secret@123", 7L));
+
+        // Then
+        assertEquals(9, result.inserted());
+        assertEquals(9, result.profilesInserted());
+    }
+
+    @Test
+    @DisplayName("should fail on write errors other than duplicate keys")
+    void generate_otherWriteError_fails() {
+        // Given
+        MongoBulkWriteException failure = new MongoBulkWriteException(BulkWriteResult.unacknowledged(),
+                List.of(new BulkWriteError(121, "document failed validation", new BsonDocument(), 0)), null,
+                new ServerAddress(), Set.of());
+        doThrow(failure).when(usersCollection).insertMany(anyList(), any(InsertManyOptions.class));
+
+        // When / Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> generatorService.generate(new SeedPlan("user", 10, 0, "Secret@123", 7L)));
+        assertSame(failure, exception.getCause());
+        verifyNoInteractions(profilesCollection);
+    }
+}
@@ -11,16 +11,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import java.security.SecureRandom;
 import java.time.Duration;
 import java.util.List;
 
-import static com.mongodb.kitchensink.constants.AppContants.ACTIVE_ACCESS_TOKEN;
-import static com.mongodb.kitchensink.constants.AppContants.REFRESH_TOKEN;
 import static com.mongodb.kitchensink.constants.ErrorMessageConstants.TOKEN_EXPIRED;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -36,106 +34,21 @@ class SessionServiceTest {
     private ValueOperations<String, Object> valueOperations;
 
     @Mock
-    private SecureRandom secureRandom;
+    private SessionStoreCircuitBreaker circuitBreaker;
 
     @InjectMocks
     @Spy
     private SessionService sessionService;
 
     private final String EMAIL = "test@example.com";
-    private final String OTP_KEY = "OTP:" + EMAIL;
-    private final String ACCESS_KEY = "ACTIVE_ACCESS_TOKEN:" + EMAIL;
-    private final String REFRESH_KEY = "REFRESH_TOKEN:" + EMAIL;
-    private final long OTP_EXPIRATION_SECONDS = 300L;
+    private final String ACCESS_KEY = "ACTIVE_ACCESS_TOKEN:{" + EMAIL + "}";
+    private final String REFRESH_KEY = "REFRESH_TOKEN:{" + EMAIL + "}";
     private final long SESSION_EXPIRATION_SECONDS = 3600L;
 
     @BeforeEach
     void setUp() {
         lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        ReflectionTestUtils.setField(sessionService, "otpLength", 6);
-        ReflectionTestUtils.setField(sessionService, "otpExpirationSeconds", OTP_EXPIRATION_SECONDS);
         ReflectionTestUtils.setField(sessionService, "refreshTokenExpirationSeconds", 7200L);
-        ReflectionTestUtils.setField(sessionService, "secureRandom", secureRandom);
-    }
-
-    @Test
-    @DisplayName("generateOtp returns existing OTP if not expired")
-    void generateOtp_returnsExistingOtpIfNotExpired() {
-        RedisValue<String> existing = mock(RedisValue.class);
-        when(existing.isExpired()).thenReturn(false);
-        when(existing.getValue()).thenReturn("123456");
-        when(valueOperations.get(OTP_KEY)).thenReturn(existing);
-
-        String result = sessionService.generateOtp(EMAIL);
-
-        assertEquals("123456", result);
-        verify(secureRandom, never()).nextInt(anyInt());
-    }
-
-    @Test
-    @DisplayName("generateOtp generates new OTP if expired")
-    void generateOtp_generatesNewOtpIfExpired() {
-        RedisValue<String> existing = mock(RedisValue.class);
-        when(existing.isExpired()).thenReturn(true);
-        when(valueOperations.get(OTP_KEY)).thenReturn(existing);
-        when(secureRandom.nextInt(anyInt())).thenReturn(654321);
-
-        String result = sessionService.generateOtp(EMAIL);
-
-        assertEquals("654321", result);
-        verify(valueOperations).set(eq(OTP_KEY), any(RedisValue.class), eq(Duration.ofSeconds(OTP_EXPIRATION_SECONDS)));
-    }
-
-    @Test
-    @DisplayName("generateOtp generates new OTP if none exists")
-    void generateOtp_generatesNewOtpIfNoneExists() {
-        when(valueOperations.get(OTP_KEY)).thenReturn(null);
-        when(secureRandom.nextInt(anyInt())).thenReturn(111222);
-
-        String result = sessionService.generateOtp(EMAIL);
-
-        assertEquals("111222", result);
-        verify(valueOperations).set(eq(OTP_KEY), any(RedisValue.class), eq(Duration.ofSeconds(OTP_EXPIRATION_SECONDS)));
-    }
-
-    @Test
-    @DisplayName("validateOtp returns true for valid, non-expired OTP")
-    void validateOtp_returnsTrueForValidOtp() {
-        RedisValue<String> value = mock(RedisValue.class);
-        when(value.isExpired()).thenReturn(false);
-        when(value.getValue()).thenReturn("123456");
-        when(valueOperations.get(OTP_KEY)).thenReturn(value);
-
-        assertTrue(sessionService.validateOtp(EMAIL, "123456"));
-    }
-
-    @Test
-    @DisplayName("validateOtp returns false for invalid OTP")
-    void validateOtp_returnsFalseForInvalidOtp() {
-        RedisValue<String> value = mock(RedisValue.class);
-        when(value.isExpired()).thenReturn(false);
-        when(value.getValue()).thenReturn("654321");
-        when(valueOperations.get(OTP_KEY)).thenReturn(value);
-
-        assertFalse(sessionService.validateOtp(EMAIL, "123456"));
-    }
-
-    @Test
-    @DisplayName("validateOtp returns false for expired OTP")
-    void validateOtp_returnsFalseForExpiredOtp() {
-        RedisValue<String> value = mock(RedisValue.class);
-        when(value.isExpired()).thenReturn(true);
-        when(valueOperations.get(OTP_KEY)).thenReturn(value);
-
-        assertFalse(sessionService.validateOtp(EMAIL, "123456"));
-    }
-
-    @Test
-    @DisplayName("validateOtp returns false for non-existent OTP")
-    void validateOtp_returnsFalseForNonExistentOtp() {
-        when(valueOperations.get(OTP_KEY)).thenReturn(null);
-
-        assertFalse(sessionService.validateOtp(EMAIL, "123456"));
     }
 
     @Test
@@ -157,7 +70,7 @@ class SessionServiceTest {
         long expirationSeconds = 7200; // PT2H is 7200 seconds
         sessionService.storeRefreshToken(EMAIL, refreshToken, expirationSeconds);
         ArgumentCaptor<RedisValue> captor = ArgumentCaptor.forClass(RedisValue.class);
-        verify(valueOperations).set(eq("REFRESH_TOKEN:" + EMAIL), captor.capture(), eq(Duration.ofSeconds(expirationSeconds)));
+        verify(valueOperations).set(eq("REFRESH_TOKEN:{" + EMAIL + "}"), captor.capture(), eq(Duration.ofSeconds(expirationSeconds)));
         RedisValue<String> capturedValue = captor.getValue();
         assertNotNull(capturedValue, "RedisValue should not be null");
         assertEquals(refreshToken, capturedValue.getValue(), "The RedisValue should contain the correct token");
@@ -248,8 +161,8 @@ class SessionServiceTest {
     @DisplayName("invalidateSession should delete both access and refresh tokens if session exists")
     void invalidateSession_sessionExists_deletesTokens() {
         // Arrange
-        String keyRefreshToken = REFRESH_TOKEN + ":" + EMAIL;
-        String keyAccessToken = ACTIVE_ACCESS_TOKEN + ":" + EMAIL;
+        String keyRefreshToken = REFRESH_KEY;
+        String keyAccessToken = ACCESS_KEY;
 
         // Mock doesSessionExist to return true so the delete branch is taken
         doReturn(true).when(sessionService).doesSessionExist(EMAIL);
@@ -291,7 +204,7 @@ class SessionServiceTest {
     @DisplayName("validateSessionToken should return false if stored token is null")
     void validateSessionToken_storedTokenIsNull_returnsFalse() {
         // Arrange
-        String key = ACTIVE_ACCESS_TOKEN + ":" + EMAIL;
+        String key = ACCESS_KEY;
         when(valueOperations.get(key)).thenReturn(null); // Simulate no token in Redis
 
         // Act
@@ -306,7 +219,7 @@ class SessionServiceTest {
     @DisplayName("validateSessionToken should return false if accessToken does not match stored token")
     void validateSessionToken_tokenMismatch_returnsFalse() {
         // Arrange
-        String key = ACTIVE_ACCESS_TOKEN + ":" + EMAIL;
+        String key = ACCESS_KEY;
         when(valueOperations.get(key)).thenReturn("mismatchedToken");
         boolean result = sessionService.validateSessionToken(EMAIL, "ACCESS_TOKEN");
 
@@ -319,7 +232,7 @@ class SessionServiceTest {
     @DisplayName("validateSessionToken should return true if accessToken matches stored token")
     void validateSessionToken_tokenMatches_returnsTrue() {
         // Arrange
-        String key = ACTIVE_ACCESS_TOKEN + ":" + EMAIL;
+        String key = ACCESS_KEY;
         when(valueOperations.get(key)).thenReturn("ACCESS_TOKEN");
 
         // Act
@@ -351,7 +264,7 @@ class SessionServiceTest {
     @DisplayName("validateAndRefreshExistingSessionExpiry should throw JwtExpiredException if session exists but stored RedisValue is null")
     void validateAndRefreshExpiry_storedRedisValueIsNull_throwsException() {
         // Arrange
-        String key = ACTIVE_ACCESS_TOKEN + ":" + EMAIL;
+        String key = ACCESS_KEY;
         doReturn(true).when(sessionService).doesSessionExist(EMAIL);
         when(valueOperations.get(key)).thenReturn(null); // Simulate Redis entry gone bad or expired
 
@@ -369,7 +282,7 @@ class SessionServiceTest {
     @DisplayName("validateAndRefreshExistingSessionExpiry should refresh token expiry if session exists and RedisValue is valid")
     void validateAndRefreshExpiry_sessionExistsAndRedisValueValid_refreshesExpiry() {
         // Arrange
-        String key = ACTIVE_ACCESS_TOKEN + ":" + EMAIL;
+        String key = ACCESS_KEY;
         RedisValue<String> existingSessionValue = new RedisValue<>("ACCESS_TOKEN", SESSION_EXPIRATION_SECONDS);
 
         // Use doReturn() to mock the spy's method call
@@ -388,4 +301,84 @@ class SessionServiceTest {
         // Verify that the mocked method was called exactly once with the correct arguments
         verify(sessionService, times(1)).storeAccessToken(EMAIL, "ACCESS_TOKEN", SESSION_EXPIRATION_SECONDS);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("validateAndRefreshSession refreshes the session and records success when the token matches")
+    void validateAndRefreshSession_matchingToken_refreshesAndRecordsSuccess() {
+        // Given
+        when(circuitBreaker.allowRequest()).thenReturn(true);
+        when(valueOperations.get(ACCESS_KEY)).thenReturn(new RedisValue<>("token", SESSION_EXPIRATION_SECONDS));
+
+        // When
+        boolean valid = sessionService.validateAndRefreshSession(EMAIL, "token", SESSION_EXPIRATION_SECONDS);
+
+        // Then
+        assertTrue(valid);
+        verify(valueOperations).set(eq(ACCESS_KEY), any(RedisValue.class), eq(Duration.ofSeconds(SESSION_EXPIRATION_SECONDS)));
+        verify(circuitBreaker).recordSuccess();
+        verify(circuitBreaker, never()).acceptDegraded();
+    }
+
+    @Test
+    @DisplayName("validateAndRefreshSession rejects a token that is not the active one")
+    void validateAndRefreshSession_mismatchedToken_returnsFalse() {
+        // Given
+        when(circuitBreaker.allowRequest()).thenReturn(true);
+        when(valueOperations.get(ACCESS_KEY)).thenReturn(new RedisValue<>("other", SESSION_EXPIRATION_SECONDS));
+
+        // When
+        boolean valid = sessionService.validateAndRefreshSession(EMAIL, "token", SESSION_EXPIRATION_SECONDS);
+
+        // Then
+        assertFalse(valid);
+        verify(valueOperations, never()).set(anyString(), any(), any(Duration.class));
+        verify(circuitBreaker).recordSuccess();
+    }
+
+    @Test
+    @DisplayName("validateAndRefreshSession records a failure and falls back to the degraded decision when Redis fails")
+    void validateAndRefreshSession_redisFailure_fallsBackToDegraded() {
+        // Given
+        when(circuitBreaker.allowRequest()).thenReturn(true);
+        when(valueOperations.get(ACCESS_KEY)).thenThrow(new RedisConnectionFailureException("down"));
+        when(circuitBreaker.acceptDegraded()).thenReturn(true);
+
+        // When
+        boolean valid = sessionService.validateAndRefreshSession(EMAIL, "token", SESSION_EXPIRATION_SECONDS);
+
+        // Then
+        assertTrue(valid);
+        verify(circuitBreaker).recordFailure();
+        verify(circuitBreaker, never()).recordSuccess();
+    }
+
+    @Test
+    @DisplayName("validateAndRefreshSession releases the probe when the stored entry cannot be read")
+    void validateAndRefreshSession_unreadableEntry_releasesProbe() {
+        // Given
+        when(circuitBreaker.allowRequest()).thenReturn(true);
+        when(valueOperations.get(ACCESS_KEY)).thenReturn("not a RedisValue");
+
+        // When & Then
+        assertThrows(ClassCastException.class, () ->
+                sessionService.validateAndRefreshSession(EMAIL, "token", SESSION_EXPIRATION_SECONDS));
+        verify(circuitBreaker).releaseProbe();
+        verify(circuitBreaker, never()).recordSuccess();
+        verify(circuitBreaker, never()).recordFailure();
+    }
+
+    @Test
+    @DisplayName("validateAndRefreshSession skips Redis while the circuit is open")
+    void validateAndRefreshSession_circuitOpen_skipsRedis() {
+        // Given
+        when(circuitBreaker.allowRequest()).thenReturn(false);
+        when(circuitBreaker.acceptDegraded()).thenReturn(false);
+
+        // When
+        boolean valid = sessionService.validateAndRefreshSession(EMAIL, "token", SESSION_EXPIRATION_SECONDS);
+
+        // Then
+        assertFalse(valid);
+        verifyNoInteractions(valueOperations);
+    }
+}
@@ -0,0 +1,129 @@
+package com.mongodb.kitchensink.service;
+
+import com.mongodb.kitchensink.service.SessionStoreCircuitBreaker.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SessionStoreCircuitBreaker Tests")
+class SessionStoreCircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private SessionStoreCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new SessionStoreCircuitBreaker(meterRegistry, clock::get);
+        ReflectionTestUtils.setField(circuitBreaker, "failureThreshold", 3);
+        ReflectionTestUtils.setField(circuitBreaker, "openSeconds", 10L);
+        ReflectionTestUtils.setField(circuitBreaker, "degradedGraceSeconds", 60L);
+    }
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    private void failTimes(int times) {
+        for (int i = 0; i < times; i++) {
+            circuitBreaker.recordFailure();
+        }
+    }
+
+    @Test
+    @DisplayName("should stay closed below the failure threshold")
+    void recordFailure_belowThreshold_staysClosed() {
+        failTimes(2);
+
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    @DisplayName("should open at the failure threshold and reject calls until the open period elapses")
+    void recordFailure_atThreshold_opensCircuit() {
+        failTimes(3);
+
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest());
+        assertEquals(1.0, meterRegistry.get("session.store.circuit.state").gauge().value());
+    }
+
+    @Test
+    @DisplayName("should let a single probe through once half-open")
+    void allowRequest_afterOpenPeriod_allowsSingleProbe() {
+        failTimes(3);
+        advanceSeconds(10);
+
+        assertTrue(circuitBreaker.allowRequest());
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    @DisplayName("should close when the probe succeeds and reopen when it fails")
+    void probeOutcome_closesOrReopensCircuit() {
+        failTimes(3);
+        advanceSeconds(10);
+        circuitBreaker.allowRequest();
+
+        circuitBreaker.recordFailure();
+        assertEquals(State.OPEN, circuitBreaker.getState());
+
+        advanceSeconds(10);
+        circuitBreaker.allowRequest();
+        circuitBreaker.recordSuccess();
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    @DisplayName("should let the next caller probe when a probe ends without an outcome")
+    void releaseProbe_letsNextCallerProbe() {
+        failTimes(3);
+        advanceSeconds(10);
+        assertTrue(circuitBreaker.allowRequest());
+
+        circuitBreaker.releaseProbe();
+
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.allowRequest());
+        assertFalse(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    @DisplayName("should accept degraded validation only within the grace window after the first failure")
+    void acceptDegraded_boundedByGraceWindow() {
+        assertFalse(circuitBreaker.acceptDegraded());
+
+        circuitBreaker.recordFailure();
+        advanceSeconds(60);
+        assertTrue(circuitBreaker.acceptDegraded());
+
+        failTimes(5);
+        advanceSeconds(1);
+        assertFalse(circuitBreaker.acceptDegraded());
+
+        assertEquals(1.0, meterRegistry.get("session.validation.degraded").tag("result", "accepted").counter().count());
+        assertEquals(2.0, meterRegistry.get("session.validation.degraded").tag("result", "rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("should restart the grace window after the store recovers")
+    void recordSuccess_resetsGraceWindow() {
+        circuitBreaker.recordFailure();
+        advanceSeconds(120);
+        circuitBreaker.recordSuccess();
+
+        circuitBreaker.recordFailure();
+        assertTrue(circuitBreaker.acceptDegraded());
+    }
+}
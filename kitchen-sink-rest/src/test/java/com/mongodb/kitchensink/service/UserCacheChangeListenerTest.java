@@ -0,0 +1,114 @@
+package com.mongodb.kitchensink.service;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheChangeListenerTest {
+
+    private static final ObjectId ID = new ObjectId();
+
+    @Mock
+    private UserCacheEvictor userCacheEvictor;
+
+    @Mock
+    private ChangeStreamDocument<Document> event;
+
+    private UserCacheChangeListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new UserCacheChangeListener(userCacheEvictor, false);
+    }
+
+    @Test
+    @DisplayName("should evict a changed user from the near caches only, without broadcasting")
+    void onChange_shouldEvictChangedUser() {
+        // Given
+        when(event.getOperationType()).thenReturn(OperationType.UPDATE);
+        when(event.getFullDocument()).thenReturn(new Document("_id", ID).append("email", "test@example.com"));
+        // When
+        listener.onChange("users", event);
+        // Then
+        verify(userCacheEvictor).evictUserLocally("test@example.com", ID.toHexString());
+        verify(userCacheEvictor, never()).evictUserWithoutBroadcast(any(), any());
+        verify(userCacheEvictor, never()).evictUser(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("should also evict the shared Redis entries on the instance that owns them")
+    void onChange_shouldEvictSharedCacheWhenEnabled() {
+        // Given
+        listener = new UserCacheChangeListener(userCacheEvictor, true);
+        when(event.getOperationType()).thenReturn(OperationType.UPDATE);
+        when(event.getFullDocument()).thenReturn(new Document("_id", ID).append("email", "test@example.com"));
+        // When
+        listener.onChange("users", event);
+        // Then
+        verify(userCacheEvictor).evictUserWithoutBroadcast("test@example.com", ID.toHexString());
+        verify(userCacheEvictor, never()).evictUserLocally(any(), any());
+    }
+
+    @Test
+    @DisplayName("should evict a deleted user by the id in the document key")
+    void onChange_shouldEvictDeletedUserById() {
+        // Given
+        when(event.getOperationType()).thenReturn(OperationType.DELETE);
+        when(event.getDocumentKey()).thenReturn(new BsonDocument("_id", new BsonObjectId(ID)));
+        // When
+        listener.onChange("users", event);
+        // Then
+        verify(userCacheEvictor).evictUserLocally(null, ID.toHexString());
+    }
+
+    @Test
+    @DisplayName("should evict the email-keyed entries when a profile changes")
+    void onChange_shouldEvictByEmailForProfiles() {
+        // Given
+        when(event.getOperationType()).thenReturn(OperationType.REPLACE);
+        when(event.getFullDocument()).thenReturn(new Document("_id", new ObjectId()).append("email", "test@example.com"));
+        // When
+        listener.onChange("profiles", event);
+        // Then
+        verify(userCacheEvictor).evictUserLocally("test@example.com", null);
+    }
+
+    @Test
+    @DisplayName("should clear the caches when the collection is dropped")
+    void onChange_shouldClearOnDrop() {
+        when(event.getOperationType()).thenReturn(OperationType.DROP);
+        listener.onChange("users", event);
+        verify(userCacheEvictor).clearAllLocally();
+    }
+
+    @Test
+    @DisplayName("should clear the caches only when the stream could not resume")
+    void onStreamOpened_shouldClearWhenNotResumed() {
+        listener.onStreamOpened("users", true);
+        verifyNoInteractions(userCacheEvictor);
+
+        listener.onStreamOpened("users", false);
+        verify(userCacheEvictor).clearAllLocally();
+    }
+
+    @Test
+    @DisplayName("should clear the shared caches too on the instance that owns them")
+    void onStreamOpened_shouldClearSharedCacheWhenEnabled() {
+        listener = new UserCacheChangeListener(userCacheEvictor, true);
+        listener.onStreamOpened("users", false);
+        verify(userCacheEvictor).clearAll();
+        verify(userCacheEvictor, never()).clearAllLocally();
+    }
+}
@@ -0,0 +1,132 @@
+package com.mongodb.kitchensink.service;
+
+import com.mongodb.kitchensink.config.CacheConfig;
+import com.mongodb.kitchensink.config.TwoLevelCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheEvictorTest {
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache byEmail;
+
+    @Mock
+    private Cache byId;
+
+    @Mock
+    private Cache roles;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    @InjectMocks
+    private UserCacheEvictor userCacheEvictor;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(cacheManager.getCache(CacheConfig.USER_BY_EMAIL)).thenReturn(byEmail);
+        lenient().when(cacheManager.getCache(CacheConfig.USER_BY_ID)).thenReturn(byId);
+        lenient().when(cacheManager.getCache(CacheConfig.ROLES_BY_EMAIL)).thenReturn(roles);
+    }
+
+    @Test
+    @DisplayName("should evict every cache keyed by the lower-cased email and the id")
+    void evictUser_shouldEvictAllUserCaches() {
+        // When
+        userCacheEvictor.evictUser("Test@Example.com", "id-1", 7L);
+        // Then
+        verify(byEmail).evict("test@example.com");
+        verify(roles).evict("test@example.com");
+        verify(byId).evict("id-1");
+        verify(invalidationBus).publish(CacheInvalidationBus.USER_EMAIL, "test@example.com", 7L);
+        verify(invalidationBus).publish(CacheInvalidationBus.USER_ID, "id-1", 7L);
+    }
+
+    @Test
+    @DisplayName("should skip the id cache when the id is unknown")
+    void evictUser_shouldSkipIdCacheWithoutId() {
+        // When
+        userCacheEvictor.evictUser("test@example.com", null, null);
+        // Then
+        verify(byEmail).evict("test@example.com");
+        verifyNoInteractions(byId);
+        verify(invalidationBus, never()).publish(eq(CacheInvalidationBus.USER_ID), any(), any());
+    }
+
+    @Test
+    @DisplayName("should not propagate cache failures to the write path")
+    void evictUser_shouldSwallowCacheFailures() {
+        // Given
+        doThrow(new IllegalStateException("redis down")).when(byEmail).evict(anyString());
+        // When / Then
+        assertDoesNotThrow(() -> userCacheEvictor.evictUser("test@example.com", "id-1", null));
+        verify(byId).evict("id-1");
+    }
+
+    @Test
+    @DisplayName("should evict without publishing when asked not to broadcast")
+    void evictUserWithoutBroadcast_shouldNotPublish() {
+        // When
+        userCacheEvictor.evictUserWithoutBroadcast("test@example.com", "id-1");
+        // Then
+        verify(byEmail).evict("test@example.com");
+        verify(byId).evict("id-1");
+        verifyNoInteractions(invalidationBus);
+    }
+
+    @Test
+    @DisplayName("should clear every user cache")
+    void clearAll_shouldClearEveryUserCache() {
+        // When
+        userCacheEvictor.clearAll();
+        // Then
+        verify(byEmail).clear();
+        verify(roles).clear();
+        verify(byId).clear();
+    }
+
+    @Test
+    @DisplayName("should evict only the near caches when evicting locally")
+    void evictUserLocally_shouldLeaveRedisAlone() {
+        // Given
+        TwoLevelCache byEmailTwoLevel = mock(TwoLevelCache.class);
+        TwoLevelCache byIdTwoLevel = mock(TwoLevelCache.class);
+        when(cacheManager.getCache(CacheConfig.USER_BY_EMAIL)).thenReturn(byEmailTwoLevel);
+        when(cacheManager.getCache(CacheConfig.USER_BY_ID)).thenReturn(byIdTwoLevel);
+        // When
+        userCacheEvictor.evictUserLocally("Test@Example.com", "id-1");
+        // Then
+        verify(byEmailTwoLevel).evictLocal("test@example.com");
+        verify(byEmailTwoLevel, never()).evict(any());
+        verify(byIdTwoLevel).evictLocal("id-1");
+        verify(byIdTwoLevel, never()).evict(any());
+        verifyNoInteractions(invalidationBus);
+    }
+
+    @Test
+    @DisplayName("should clear only the near caches when clearing locally")
+    void clearAllLocally_shouldLeaveRedisAlone() {
+        // Given
+        TwoLevelCache twoLevel = mock(TwoLevelCache.class);
+        when(cacheManager.getCache(anyString())).thenReturn(twoLevel);
+        // When
+        userCacheEvictor.clearAllLocally();
+        // Then
+        verify(twoLevel, times(3)).clearLocal();
+        verify(twoLevel, never()).clear();
+    }
+}
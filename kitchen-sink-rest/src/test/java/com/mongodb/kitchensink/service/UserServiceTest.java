@@ -4,23 +4,32 @@ import com.mongodb.kitchensink.constants.ErrorCodes;
 import com.mongodb.kitchensink.constants.ErrorMessageConstants;
 import com.mongodb.kitchensink.dto.*;
 import com.mongodb.kitchensink.exception.AccountVerificationException;
+import com.mongodb.kitchensink.exception.ConcurrentUpdateException;
 import com.mongodb.kitchensink.exception.UserNotFoundException;
 import com.mongodb.kitchensink.mapper.ProfileMapper;
 import com.mongodb.kitchensink.mapper.UserMapper;
 import com.mongodb.kitchensink.model.Address;
 import com.mongodb.kitchensink.model.Profile;
 import com.mongodb.kitchensink.model.User;
+import com.mongodb.kitchensink.projection.ProfileSummary;
+import com.mongodb.kitchensink.projection.UserSummary;
 import com.mongodb.kitchensink.repository.ProfileRepository;
 import com.mongodb.kitchensink.repository.UserRepository;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -37,6 +46,7 @@ import static com.mongodb.kitchensink.constants.SuccessMessageConstants.ACCOUNT_
 import static com.mongodb.kitchensink.constants.SuccessMessageConstants.ACCOUNT_DELETED_SUCCESSFULLY;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -68,13 +78,18 @@ class UserServiceTest {
     private UsernameGeneratorService usernameGeneratorService;
 
     @Mock
-    private RedisTemplate<String, Object> redisTemplate;
+    private UserCacheEvictor userCacheEvictor;
+
+    @Spy
+    private ObservationRegistry observationRegistry = ObservationRegistry.create();
 
     @InjectMocks
     private UserService userService;
 
     private User user;
     private Profile profile;
+    private UserSummary userSummary;
+    private ProfileSummary profileSummary;
     private RegistrationRequest registrationRequest;
     private Pageable pageable;
 
@@ -102,6 +117,9 @@ class UserServiceTest {
         registrationRequest.setFirstName("Test");
         registrationRequest.setLastName("User");
         pageable = PageRequest.of(0, 10);
+        userSummary = new UserSummary("1", "test@example.com", "testuser", List.of("ROLE_USER"), true,
+                Instant.now(), true, true, true, 0L);
+        profileSummary = new ProfileSummary("p1", "test@example.com", "testuser", "Test", "User", null, null);
     }
 
     // --- registerUser Tests ---
@@ -114,7 +132,7 @@ class UserServiceTest {
         when(passwordEncoder.encode(anyString())).thenReturn("hashedpassword");
         when(usernameGeneratorService.generateUniqueUsername(anyString())).thenReturn("testuser");
         when(profileMapper.toProfile(any(RegistrationRequest.class))).thenReturn(profile);
-        when(otpService.generateOtp(anyString(), eq(ACCOUNT_VERIFICATION), anyLong())).thenReturn("123456");
+        when(otpService.generateOtp(anyString(), eq(ACCOUNT_VERIFICATION), anyLong())).thenReturn(Optional.of("123456"));
         Authentication authentication = mock(Authentication.class);
         doReturn(Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")))
                 .when(authentication)
@@ -156,7 +174,7 @@ class UserServiceTest {
         when(passwordEncoder.encode(anyString())).thenReturn("hashedpassword");
         when(usernameGeneratorService.generateUniqueUsername(anyString())).thenReturn("testuser");
         when(profileMapper.toProfile(any(RegistrationRequest.class))).thenReturn(profile);
-        when(otpService.generateOtp(anyString(), eq(ACCOUNT_VERIFICATION), anyLong())).thenReturn("123456");
+        when(otpService.generateOtp(anyString(), eq(ACCOUNT_VERIFICATION), anyLong())).thenReturn(Optional.of("123456"));
 
         Authentication authentication = mock(Authentication.class);
         doReturn(Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN")))
@@ -178,11 +196,12 @@ class UserServiceTest {
     @DisplayName("should return all users as paginated list")
     void getAllUsers_shouldReturnPaginatedList() {
         // Given
-        Page<User> userPage = new PageImpl<>(List.of(user));
-        when(userRepository.findAll(any(Pageable.class))).thenReturn(userPage);
-        when(profileRepository.findByEmail(anyString())).thenReturn(Optional.of(profile));
-        when(userMapper.toDto(any(User.class))).thenReturn(new UserDto());
-        when(userMapper.toDto(any(Profile.class))).thenReturn(new ProfileDto());
+        Page<UserSummary> userPage = new PageImpl<>(List.of(userSummary));
+        when(userRepository.findAllBy(any(Pageable.class))).thenReturn(userPage);
+        when(profileRepository.findSummariesByEmailIn(List.of("test@example.com"))).thenReturn(List.of(profileSummary));
+        when(userMapper.toDto(any(UserSummary.class))).thenReturn(new UserDto());
+        ProfileDto profileDto = new ProfileDto();
+        when(userMapper.toDto(any(ProfileSummary.class))).thenReturn(profileDto);
 
         // When
         Page<UserDto> result = userService.getAllUsers(pageable);
@@ -190,17 +209,20 @@ class UserServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(userRepository, times(1)).findAll(pageable);
+        assertSame(profileDto, result.getContent().get(0).getProfile());
+        verify(userRepository, times(1)).findAllBy(pageable);
+        verify(userRepository, never()).findAll(any(Pageable.class));
+        verify(profileRepository, never()).findByEmail(anyString());
     }
     @Test
     @DisplayName("should return user list with null profile if no profile exists")
     void getAllUsers_shouldReturnUserListWithNullProfile() {
         // Given
-        Page<User> userPage = new PageImpl<>(List.of(user));
-        when(userRepository.findAll(any(Pageable.class))).thenReturn(userPage);
-        when(profileRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+        Page<UserSummary> userPage = new PageImpl<>(List.of(userSummary));
+        when(userRepository.findAllBy(any(Pageable.class))).thenReturn(userPage);
+        when(profileRepository.findSummariesByEmailIn(anyCollection())).thenReturn(List.of());
         UserDto userDto = new UserDto();
-        when(userMapper.toDto(any(User.class))).thenReturn(userDto);
+        when(userMapper.toDto(any(UserSummary.class))).thenReturn(userDto);
 
         // When
         Page<UserDto> result = userService.getAllUsers(pageable);
@@ -211,6 +233,24 @@ class UserServiceTest {
         assertNull(result.getContent().get(0).getProfile());
     }
 
+    @Test
+    @DisplayName("should time the user page and its profile lookup as separate queries")
+    void getAllUsers_shouldRecordQueryTimers() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        when(userRepository.findAllBy(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(userSummary)));
+        when(profileRepository.findSummariesByEmailIn(anyCollection())).thenReturn(List.of());
+        when(userMapper.toDto(any(UserSummary.class))).thenReturn(new UserDto());
+
+        // When
+        userService.getAllUsers(pageable);
+
+        // Then
+        assertEquals(1, meterRegistry.get(UserService.QUERY_OBSERVATION).tag("query", "all").timer().count());
+        assertEquals(1, meterRegistry.get(UserService.QUERY_OBSERVATION).tag("query", "profiles-by-emails").timer().count());
+    }
+
     // --- getAllUsersByEmailIds Tests ---
 
     @Test
@@ -218,10 +258,10 @@ class UserServiceTest {
     void getAllUsersByEmailIds_shouldReturnUsers() {
         // Given
         ArrayList<String> emails = new ArrayList<>(List.of("test@example.com"));
-        when(userRepository.findByEmailIn(emails)).thenReturn(List.of(user));
-        when(profileRepository.findByEmail(anyString())).thenReturn(Optional.of(profile));
-        when(userMapper.toDto(any(User.class))).thenReturn(new UserDto());
-        when(userMapper.toDto(any(Profile.class))).thenReturn(new ProfileDto());
+        when(userRepository.findSummariesByEmailIn(emails)).thenReturn(List.of(userSummary));
+        when(profileRepository.findSummariesByEmailIn(anyCollection())).thenReturn(List.of(profileSummary));
+        when(userMapper.toDto(any(UserSummary.class))).thenReturn(new UserDto());
+        when(userMapper.toDto(any(ProfileSummary.class))).thenReturn(new ProfileDto());
 
         // When
         List<UserDto> result = userService.getAllUsersByEmailIds(emails);
@@ -229,6 +269,7 @@ class UserServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
+        assertNotNull(result.get(0).getProfile());
     }
 
     @Test
@@ -346,11 +387,28 @@ class UserServiceTest {
         // Given
         user.setAccountVerificationPending(true);
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        when(userRepository.updateFields(any(), any(), any(Update.class))).thenReturn(true);
         // When
         userService.activateAccount(user.getEmail(), true);
         // Then
         assertFalse(user.getAccountVerificationPending());
-        verify(userRepository, times(1)).save(user);
+        ArgumentCaptor<Update> changes = ArgumentCaptor.forClass(Update.class);
+        verify(userRepository, times(1)).updateFields(eq(user.getId()), eq(user.getVersion()), changes.capture());
+        assertEquals(false, changes.getValue().getUpdateObject().get("$set", Document.class).get("isAccountVerificationPending"));
+        verify(userRepository, never()).save(any(User.class));
+        verify(userCacheEvictor).evictUser(user.getEmail(), user.getId(), 1L);
+    }
+
+    @Test
+    @DisplayName("should throw ConcurrentUpdateException when account was modified during activation")
+    void activateAccount_shouldThrowExceptionOnVersionConflict() {
+        // Given
+        user.setAccountVerificationPending(true);
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        when(userRepository.updateFields(any(), any(), any(Update.class))).thenReturn(false);
+        // When & Then
+        ConcurrentUpdateException exception = assertThrows(ConcurrentUpdateException.class, () -> userService.activateAccount(user.getEmail(), true));
+        assertEquals(ErrorCodes.CONCURRENT_UPDATE, exception.getErrorCode());
     }
 
     @Test
@@ -379,7 +437,7 @@ class UserServiceTest {
         assertEquals(ACCOUNT_DELETED_SUCCESSFULLY, response.getMessage());
         verify(userRepository, times(1)).delete(user);
         verify(profileRepository, times(1)).delete(profile);
-        verify(redisTemplate, times(1)).delete("USER::" + user.getEmail());
+        verify(userCacheEvictor, times(1)).evictUser(user.getEmail(), user.getId(), null);
     }
     @Test
     @DisplayName("should throw UserNotFoundException when deleting non-existent user")
@@ -397,18 +455,15 @@ class UserServiceTest {
     @DisplayName("should return paginated user list by name")
     void getUsersByName_shouldReturnPaginatedList() {
         // Given
-        Profile profileWithUsername = new Profile();
-        profileWithUsername.setUsername("testuser"); // Set the username
-        profileWithUsername.setEmail("test@example.com"); // Email is also used
-        Page<Profile> profilePage = new PageImpl<>(List.of(profileWithUsername));
+        Page<ProfileSummary> profilePage = new PageImpl<>(List.of(profileSummary));
 
-        when(profileRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(anyString(), anyString(), any(Pageable.class))).thenReturn(profilePage);
+        when(profileRepository.findSummariesByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(anyString(), anyString(), any(Pageable.class))).thenReturn(profilePage);
 
-        // Stub the call with the correct username
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        // Users are joined by username in one batched query
+        when(userRepository.findSummariesByUsernameIn(List.of("testuser"))).thenReturn(List.of(userSummary));
 
-        when(profileMapper.toDto(any(Profile.class))).thenReturn(new ProfileDto());
-        when(userMapper.toDto(any(User.class))).thenReturn(new UserDto());
+        when(userMapper.toDto(any(ProfileSummary.class))).thenReturn(new ProfileDto());
+        when(userMapper.toDto(any(UserSummary.class))).thenReturn(new UserDto());
 
         // When
         Page<UserDto> result = userService.getUsersByName("Test", pageable);
@@ -421,8 +476,8 @@ class UserServiceTest {
     @DisplayName("should throw exception when no users found by name")
     void getUsersByName_shouldThrowExceptionWhenNotFound() {
         // Given
-        Page<Profile> emptyPage = Page.empty();
-        when(profileRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(anyString(), anyString(), any(Pageable.class))).thenReturn(emptyPage);
+        Page<ProfileSummary> emptyPage = Page.empty();
+        when(profileRepository.findSummariesByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(anyString(), anyString(), any(Pageable.class))).thenReturn(emptyPage);
 
         // When & Then
         UserNotFoundException exception = assertThrows(UserNotFoundException.class, () -> userService.getUsersByName("Test", pageable));
@@ -430,16 +485,42 @@ class UserServiceTest {
         assertEquals(ErrorMessageConstants.USERS_NOT_FOUND_BY_NAME, exception.getMessage());
     }
 
+    // --- markFirstLoginComplete Tests ---
+
+    @Test
+    @DisplayName("should clear the first-login flag and evict the user by email and id")
+    void markFirstLoginComplete_shouldEvictByEmailAndId() {
+        // Given
+        when(userRepository.updateFieldsByEmail(eq(user.getEmail()), any(Update.class))).thenReturn(Optional.of("user-1"));
+
+        // When
+        userService.markFirstLoginComplete(user.getEmail());
+
+        // Then
+        verify(userCacheEvictor).evictUser(user.getEmail(), "user-1", null);
+    }
+
+    @Test
+    @DisplayName("should throw UserNotFoundException when marking first login for an unknown email")
+    void markFirstLoginComplete_shouldThrowWhenUserNotFound() {
+        // Given
+        when(userRepository.updateFieldsByEmail(eq(user.getEmail()), any(Update.class))).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(UserNotFoundException.class, () -> userService.markFirstLoginComplete(user.getEmail()));
+        verify(userCacheEvictor, never()).evictUser(any(), any(), any());
+    }
+
     // --- getUsersByEmail Tests ---
     @Test
     @DisplayName("should return paginated user list by email")
     void getUsersByEmail_shouldReturnPaginatedList() {
         // Given
-        Page<User> userPage = new PageImpl<>(List.of(user));
-        when(userRepository.findByEmailContainingIgnoreCase(anyString(), any(Pageable.class))).thenReturn(userPage);
-        when(profileRepository.findByEmail(anyString())).thenReturn(Optional.of(profile));
-        when(userMapper.toDto(any(User.class))).thenReturn(new UserDto());
-        when(profileMapper.toDto(any(Profile.class))).thenReturn(new ProfileDto());
+        Page<UserSummary> userPage = new PageImpl<>(List.of(userSummary));
+        when(userRepository.findSummariesByEmailContainingIgnoreCase(anyString(), any(Pageable.class))).thenReturn(userPage);
+        when(profileRepository.findSummariesByEmailIn(anyCollection())).thenReturn(List.of(profileSummary));
+        when(userMapper.toDto(any(UserSummary.class))).thenReturn(new UserDto());
+        when(userMapper.toDto(any(ProfileSummary.class))).thenReturn(new ProfileDto());
 
         // When
         Page<UserDto> result = userService.getUsersByEmail("test@example.com", pageable);
@@ -452,9 +533,9 @@ class UserServiceTest {
     @DisplayName("should throw exception when user not found by email in getUsersByEmail")
     void getUsersByEmail_shouldThrowExceptionWhenProfileNotFound() {
         // Given
-        Page<User> userPage = new PageImpl<>(List.of(user));
-        when(userRepository.findByEmailContainingIgnoreCase(anyString(), any(Pageable.class))).thenReturn(userPage);
-        when(profileRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+        Page<UserSummary> userPage = new PageImpl<>(List.of(userSummary));
+        when(userRepository.findSummariesByEmailContainingIgnoreCase(anyString(), any(Pageable.class))).thenReturn(userPage);
+        when(profileRepository.findSummariesByEmailIn(anyCollection())).thenReturn(List.of());
 
         // When & Then
         UserNotFoundException exception = assertThrows(UserNotFoundException.class, () -> userService.getUsersByEmail("test@example.com", pageable));
@@ -467,18 +548,12 @@ class UserServiceTest {
     @DisplayName("should return paginated user list by country")
     void getUsersByCountry_shouldReturnPaginatedList() {
         // Given
-        // Create a new Profile with a username to avoid the NullPointerException
-        Profile profileWithUsername = new Profile();
-        profileWithUsername.setUsername("testuser");
-        // Ensure email is set as it is used to find the User
-        profileWithUsername.setEmail("test@example.com");
-
-        Page<Profile> profilePage = new PageImpl<>(List.of(profileWithUsername));
+        Page<ProfileSummary> profilePage = new PageImpl<>(List.of(profileSummary));
 
-        when(profileRepository.findByAddress_CountryContainingIgnoreCase(anyString(), any(Pageable.class))).thenReturn(profilePage);
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
-        when(profileMapper.toDto(any(Profile.class))).thenReturn(new ProfileDto());
-        when(userMapper.toDto(any(User.class))).thenReturn(new UserDto());
+        when(profileRepository.findSummariesByAddress_CountryContainingIgnoreCase(anyString(), any(Pageable.class))).thenReturn(profilePage);
+        when(userRepository.findSummariesByUsernameIn(anyCollection())).thenReturn(List.of(userSummary));
+        when(userMapper.toDto(any(ProfileSummary.class))).thenReturn(new ProfileDto());
+        when(userMapper.toDto(any(UserSummary.class))).thenReturn(new UserDto());
 
         // When
         Page<UserDto> result = userService.getUsersByCountry("Country", pageable);
@@ -491,13 +566,41 @@ class UserServiceTest {
     @DisplayName("should throw exception when no profiles found by country")
     void getUsersByCountry_shouldThrowExceptionWhenNotFound() {
         // Given
-        Page<Profile> emptyPage = Page.empty();
-        when(profileRepository.findByAddress_CountryContainingIgnoreCase(anyString(), any(Pageable.class))).thenReturn(emptyPage);
+        Page<ProfileSummary> emptyPage = Page.empty();
+        when(profileRepository.findSummariesByAddress_CountryContainingIgnoreCase(anyString(), any(Pageable.class))).thenReturn(emptyPage);
         UserNotFoundException exception = assertThrows(UserNotFoundException.class, () -> userService.getUsersByCountry("Country", pageable));
         assertEquals(ErrorCodes.RESOURCE_NOT_FOUND, exception.getErrorCode());
         assertEquals(ErrorMessageConstants.USERS_NOT_FOUND_BY_COUNTRY, exception.getMessage());
     }
 
+    // --- getUsersByCity Tests ---
+    @Test
+    @DisplayName("should join projected profiles to users by email for city search")
+    void getUsersByCity_shouldReturnPaginatedList() {
+        Page<ProfileSummary> profilePage = new PageImpl<>(List.of(profileSummary));
+        when(profileRepository.findSummariesByAddress_CityContainingIgnoreCase(anyString(), any(Pageable.class))).thenReturn(profilePage);
+        when(userRepository.findSummariesByEmailIn(List.of("test@example.com"))).thenReturn(List.of(userSummary));
+        when(userMapper.toDto(any(ProfileSummary.class))).thenReturn(new ProfileDto());
+        when(userMapper.toDto(any(UserSummary.class))).thenReturn(new UserDto());
+
+        Page<UserDto> result = userService.getUsersByCity("Pune", pageable);
+
+        assertEquals(1, result.getTotalElements());
+        assertNotNull(result.getContent().get(0).getProfile());
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("should throw exception when a city match has no user")
+    void getUsersByCity_shouldThrowExceptionWhenUserMissing() {
+        Page<ProfileSummary> profilePage = new PageImpl<>(List.of(profileSummary));
+        when(profileRepository.findSummariesByAddress_CityContainingIgnoreCase(anyString(), any(Pageable.class))).thenReturn(profilePage);
+        when(userRepository.findSummariesByEmailIn(anyCollection())).thenReturn(List.of());
+
+        UserNotFoundException exception = assertThrows(UserNotFoundException.class, () -> userService.getUsersByCity("Pune", pageable));
+        assertEquals(ErrorMessageConstants.USERS_NOT_FOUND_BY_CITY, exception.getMessage());
+    }
+
     // --- updateUser Tests ---
     @Test
     @DisplayName("should update all user and profile fields correctly")
@@ -536,6 +639,8 @@ class UserServiceTest {
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(existingUser));
         when(profileRepository.findByUsername(anyString())).thenReturn(Optional.of(existingProfile));
         when(profileRepository.findByUsername("newuser")).thenReturn(Optional.empty());
+        when(userRepository.updateFields(any(), any(), any(Update.class))).thenReturn(true);
+        when(profileRepository.updateFields(any(), any(), any(Update.class))).thenReturn(true);
 
         // When
         UserDto result = userService.updateUser("old@example.com", updateRequest);
@@ -549,8 +654,110 @@ class UserServiceTest {
 
         assertEquals("New", existingProfile.getFirstName());
         assertEquals("New Street", existingProfile.getAddress().getStreet());
-        verify(userRepository, times(1)).save(existingUser);
-        verify(profileRepository, times(1)).save(existingProfile);
+        ArgumentCaptor<Update> userChanges = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<Update> profileChanges = ArgumentCaptor.forClass(Update.class);
+        verify(userRepository, times(1)).updateFields(eq(existingUser.getId()), isNull(), userChanges.capture());
+        verify(profileRepository, times(1)).updateFields(eq(existingProfile.getId()), isNull(), profileChanges.capture());
+        assertTrue(userChanges.getValue().modifies("roles"));
+        assertTrue(userChanges.getValue().modifies("active"));
+        assertFalse(userChanges.getValue().modifies("email"));
+        assertTrue(profileChanges.getValue().modifies("address.street"));
+        assertTrue(profileChanges.getValue().modifies("firstName"));
+        assertEquals(1L, result.getVersion());
+        verify(userRepository, never()).save(any(User.class));
+        verify(profileRepository, never()).save(any(Profile.class));
+    }
+
+    @Test
+    @DisplayName("should only $set the fields that differ from the stored user")
+    void updateUser_shouldSetOnlyChangedFields() {
+        user.setVersion(3L);
+        profile.setUsername("testuser");
+        UserDto updateRequest = new UserDto();
+        updateRequest.setActive(true);
+        updateRequest.setRoles(user.getRoles());
+        ProfileDto profileDto = new ProfileDto();
+        profileDto.setFirstName("Test");
+        profileDto.setCity("Pune");
+        updateRequest.setProfile(profileDto);
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        when(profileRepository.findByUsername(anyString())).thenReturn(Optional.of(profile));
+        when(userRepository.updateFields(any(), any(), any(Update.class))).thenReturn(true);
+        when(profileRepository.updateFields(any(), any(), any(Update.class))).thenReturn(true);
+
+        UserDto result = userService.updateUser("test@example.com", updateRequest);
+
+        ArgumentCaptor<Update> userChanges = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<Update> profileChanges = ArgumentCaptor.forClass(Update.class);
+        verify(userRepository).updateFields(any(), eq(3L), userChanges.capture());
+        verify(profileRepository).updateFields(any(), any(), profileChanges.capture());
+        assertFalse(userChanges.getValue().modifies("roles"));
+        assertFalse(userChanges.getValue().modifies("active"));
+        assertFalse(profileChanges.getValue().modifies("firstName"));
+        assertTrue(profileChanges.getValue().modifies("address.city"));
+        assertEquals("Pune", result.getProfile().getCity());
+        assertEquals(4L, result.getVersion());
+        verify(userCacheEvictor).evictUser(user.getEmail(), user.getId(), 4L);
+    }
+
+    @Test
+    @DisplayName("should skip the write when nothing changed")
+    void updateUser_shouldNotWriteWhenNothingChanged() {
+        profile.setUsername("testuser");
+        UserDto updateRequest = new UserDto();
+        updateRequest.setActive(true);
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        when(profileRepository.findByUsername(anyString())).thenReturn(Optional.of(profile));
+
+        userService.updateUser("test@example.com", updateRequest);
+
+        verify(userRepository, never()).updateFields(any(), any(), any(Update.class));
+        verify(profileRepository, never()).updateFields(any(), any(), any(Update.class));
+        verifyNoInteractions(userCacheEvictor);
+    }
+
+    @Test
+    @DisplayName("should throw ConcurrentUpdateException when the client version is stale")
+    void updateUser_shouldThrowExceptionOnVersionConflict() {
+        user.setVersion(5L);
+        profile.setUsername("testuser");
+        UserDto updateRequest = new UserDto();
+        updateRequest.setActive(false);
+        updateRequest.setVersion(4L);
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        when(profileRepository.findByUsername(anyString())).thenReturn(Optional.of(profile));
+        when(userRepository.updateFields(any(), eq(4L), any(Update.class))).thenReturn(false);
+
+        ConcurrentUpdateException exception = assertThrows(ConcurrentUpdateException.class, () -> userService.updateUser("test@example.com", updateRequest));
+        assertEquals(ErrorCodes.CONCURRENT_UPDATE, exception.getErrorCode());
+        assertEquals(ErrorMessageConstants.USER_UPDATED_CONCURRENTLY, exception.getMessage());
+        verify(profileRepository, never()).updateFields(any(), any(), any(Update.class));
+    }
+
+    @Test
+    @DisplayName("should throw ConcurrentUpdateException when another edit changed the profile in between")
+    void updateUser_shouldThrowExceptionOnProfileVersionConflict() {
+        // Given
+        user.setVersion(3L);
+        profile.setUsername("testuser");
+        profile.setVersion(7L);
+        UserDto updateRequest = new UserDto();
+        updateRequest.setActive(true);
+        ProfileDto profileDto = new ProfileDto();
+        profileDto.setCity("Pune");
+        updateRequest.setProfile(profileDto);
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        when(profileRepository.findByUsername(anyString())).thenReturn(Optional.of(profile));
+        when(userRepository.updateFields(any(), eq(3L), any(Update.class))).thenReturn(true);
+        when(profileRepository.updateFields(any(), eq(7L), any(Update.class))).thenReturn(false);
+
+        // When
+        ConcurrentUpdateException exception = assertThrows(ConcurrentUpdateException.class, () -> userService.updateUser("test@example.com", updateRequest));
+
+        // Then
+        assertEquals(ErrorCodes.CONCURRENT_UPDATE, exception.getErrorCode());
+        verify(profileRepository).updateFields(eq(profile.getId()), eq(7L), any(Update.class));
+        verify(userCacheEvictor).evictUser(user.getEmail(), user.getId(), 4L);
     }
     @Test
     @DisplayName("should throw exception when user to update is not found")
@@ -0,0 +1,89 @@
+package com.mongodb.kitchensink.util;
+
+import com.mongodb.kitchensink.service.AuthService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs logins through Tomcat, so the {@code RemoteIpValve} decides which client address the per-IP
+ * login bucket of {@link RateLimitFilter} sees. Each case starts the application with a two-login bucket.
+ */
+class ForwardedClientAddressTest {
+
+    static HttpStatus loginForwardedFor(TestRestTemplate restTemplate, String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", forwardedFor);
+        HttpEntity<String> request = new HttpEntity<>("{\"email\": \"test@example.com\", \"password\": \"secret\"}", headers);
+        return HttpStatus.valueOf(restTemplate.postForEntity("/api/auth/login", request, String.class).getStatusCode().value());
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = "app.rate-limit.login.per-ip.capacity=2")
+    @ActiveProfiles("test")
+    class DefaultConfiguration {
+
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @MockBean
+        private AuthService authService;
+
+        @Test
+        @DisplayName("a spoofed X-Forwarded-For from an untrusted peer should not give the client a fresh bucket")
+        void spoofedForwardedFor_untrustedPeer_ignored() {
+            // When
+            HttpStatus first = loginForwardedFor(restTemplate, "203.0.113.1");
+            HttpStatus second = loginForwardedFor(restTemplate, "203.0.113.2");
+            HttpStatus third = loginForwardedFor(restTemplate, "203.0.113.3");
+
+            // Then
+            assertEquals(HttpStatus.OK, first);
+            assertEquals(HttpStatus.OK, second);
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS, third);
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "app.rate-limit.login.per-ip.capacity=2",
+            "server.tomcat.remoteip.internal-proxies=127\\.0\\.0\\.1|0:0:0:0:0:0:0:1"})
+    @ActiveProfiles("test")
+    class BehindTrustedProxy {
+
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @MockBean
+        private AuthService authService;
+
+        @Test
+        @DisplayName("X-Forwarded-For from a configured internal proxy should key the bucket by the forwarded client")
+        void forwardedFor_trustedProxy_honoured() {
+            // When
+            HttpStatus otherClient = loginForwardedFor(restTemplate, "198.51.100.1");
+            loginForwardedFor(restTemplate, "198.51.100.2");
+            loginForwardedFor(restTemplate, "198.51.100.2");
+            HttpStatus sameClientAgain = loginForwardedFor(restTemplate, "198.51.100.2");
+            HttpStatus otherClientAfter = loginForwardedFor(restTemplate, "198.51.100.3");
+
+            // Then
+            assertEquals(HttpStatus.OK, otherClient);
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS, sameClientAgain);
+            assertEquals(HttpStatus.OK, otherClientAfter);
+        }
+    }
+}
@@ -4,6 +4,9 @@ import com.mongodb.kitchensink.config.JwtAuthenticationEntryPoint;
 import com.mongodb.kitchensink.model.User;
 import com.mongodb.kitchensink.repository.UserRepository;
 import com.mongodb.kitchensink.service.SessionService;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,6 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
@@ -62,6 +66,10 @@ class JwtAuthenticationFilterTest {
     @Mock
     private FilterChain filterChain;
 
+    @Spy
+    private ObservationRegistry observationRegistry = ObservationRegistry.create();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private JwtAuthenticationFilter jwtAuthenticationFilter;
@@ -82,6 +90,27 @@ class JwtAuthenticationFilterTest {
         mockUser.setRoles(Collections.singletonList("USER"));
         mockUser.setActive(true);
         lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+    }
+
+    @Test
+    @DisplayName("should authenticate a valid token and time the parse, session and user-load stages")
+    void doFilterInternal_validToken_shouldRecordStageTimers() throws ServletException, IOException {
+        // Given
+        when(request.getHeader(AUTH_HEADER)).thenReturn(VALID_TOKEN);
+        when(tokenProvider.getEmailFromAccessToken(VALID_JWT)).thenReturn(TEST_EMAIL);
+        when(sessionService.validateAndRefreshSession(eq(TEST_EMAIL), eq(VALID_JWT), anyLong())).thenReturn(true);
+        when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(mockUser));
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        assertEquals(TEST_EMAIL, SecurityContextHolder.getContext().getAuthentication().getName());
+        verify(filterChain).doFilter(request, response);
+        for (String stage : List.of("parse", "session", "user-load")) {
+            assertEquals(1, meterRegistry.get(JwtAuthenticationFilter.STAGE_OBSERVATION).tag("stage", stage).timer().count(), stage);
+        }
     }
 
     @Test
@@ -96,8 +125,8 @@ class JwtAuthenticationFilterTest {
         // 3. Mock the email to be retrieved from the token
         when(tokenProvider.getEmailFromAccessToken(VALID_JWT)).thenReturn(TEST_EMAIL);
 
-        // 4. Mock the session service to return a null token, which triggers the JwtExpiredException in your filter
-        when(sessionService.getTokenForExistingSession(TEST_EMAIL)).thenReturn(null);
+        // 4. Mock the session service to reject the token, which triggers the JwtExpiredException in your filter
+        when(sessionService.validateAndRefreshSession(eq(TEST_EMAIL), eq(VALID_JWT), anyLong())).thenReturn(false);
 
         // Act: Run the filter
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -0,0 +1,83 @@
+package com.mongodb.kitchensink.util;
+
+import com.mongodb.kitchensink.service.RateLimitService;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RateLimitFilter Tests")
+class RateLimitFilterTest {
+
+    @Mock
+    private RateLimitService rateLimitService;
+
+    @Mock
+    private FilterChain filterChain;
+
+    @InjectMocks
+    private RateLimitFilter rateLimitFilter;
+
+    private MockHttpServletRequest post(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+
+    @Test
+    @DisplayName("should pass login requests through while the client bucket has tokens")
+    void doFilter_shouldPassLoginWhenAllowed() throws Exception {
+        // Given
+        MockHttpServletRequest request = post("/api/auth/login");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(rateLimitService.tryLoginFromClient("10.0.0.1")).thenReturn(true);
+
+        // When
+        rateLimitFilter.doFilter(request, response, filterChain);
+
+        // Then
+        verify(filterChain).doFilter(request, response);
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("should answer 429 without invoking the chain when the OTP bucket is empty")
+    void doFilter_shouldRejectOtpWhenThrottled() throws Exception {
+        // Given
+        MockHttpServletRequest request = post("/api/auth/forgot-password/verify-otp");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(rateLimitService.tryOtpFromClient("10.0.0.1")).thenReturn(false);
+
+        // When
+        rateLimitFilter.doFilter(request, response, filterChain);
+
+        // Then
+        verify(filterChain, never()).doFilter(any(), any());
+        assertEquals(429, response.getStatus());
+        assertTrue(response.getContentAsString().contains("Too many requests"));
+    }
+
+    @Test
+    @DisplayName("should not throttle endpoints outside login and OTP")
+    void doFilter_shouldSkipOtherEndpoints() throws Exception {
+        // Given
+        MockHttpServletRequest request = post("/api/auth/refresh");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        rateLimitFilter.doFilter(request, response, filterChain);
+
+        // Then
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(rateLimitService);
+    }
+}
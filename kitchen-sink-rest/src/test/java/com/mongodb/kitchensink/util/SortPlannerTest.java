@@ -0,0 +1,137 @@
+package com.mongodb.kitchensink.util;
+
+import com.mongodb.kitchensink.constants.ErrorCodes;
+import com.mongodb.kitchensink.exception.BadRequestException;
+import com.mongodb.kitchensink.model.Profile;
+import com.mongodb.kitchensink.model.User;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SortPlanner Tests")
+class SortPlannerTest {
+
+    private static final MongoMappingContext MAPPING_CONTEXT = new MongoMappingContext();
+    private static final QueryMapper QUERY_MAPPER;
+
+    static {
+        MAPPING_CONTEXT.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        QUERY_MAPPER = new QueryMapper(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, MAPPING_CONTEXT));
+    }
+
+    static Stream<Arguments> allowedSorts() {
+        List<Arguments> sorts = new ArrayList<>();
+        for (String direction : List.of("asc", "desc")) {
+            SortPlanner.USER_SORTS.keySet().forEach(sortBy ->
+                    sorts.add(Arguments.of(User.class, sortBy, direction, SortPlanner.forUsers(sortBy, direction))));
+            SortPlanner.PROFILE_SORTS.keySet().forEach(sortBy ->
+                    sorts.add(Arguments.of(Profile.class, sortBy, direction, SortPlanner.forProfiles(sortBy, direction))));
+        }
+        return sorts.stream();
+    }
+
+    /**
+     * The sort as Mongo receives it, with properties mapped to field names ({@code id} to {@code _id}).
+     */
+    static Document mappedSort(Class<?> document, Sort sort) {
+        Document keys = new Document();
+        sort.forEach(order -> keys.put(order.getProperty(), order.isAscending() ? 1 : -1));
+        return QUERY_MAPPER.getMappedSort(keys, MAPPING_CONTEXT.getRequiredPersistentEntity(document));
+    }
+
+    /**
+     * An index returns documents in sort order when the sort keys are a prefix of its keys, with
+     * all directions the same as the index or all reversed.
+     */
+    private static boolean servesSort(Document index, Document sort) {
+        List<Map.Entry<String, Object>> indexKeys = new ArrayList<>(index.entrySet());
+        List<Map.Entry<String, Object>> sortKeys = new ArrayList<>(sort.entrySet());
+        if (sortKeys.size() > indexKeys.size()) {
+            return false;
+        }
+        boolean forward = true;
+        boolean backward = true;
+        for (int i = 0; i < sortKeys.size(); i++) {
+            if (!sortKeys.get(i).getKey().equals(indexKeys.get(i).getKey())) {
+                return false;
+            }
+            int sortDirection = ((Number) sortKeys.get(i).getValue()).intValue();
+            int indexDirection = ((Number) indexKeys.get(i).getValue()).intValue();
+            forward &= sortDirection == indexDirection;
+            backward &= sortDirection == -indexDirection;
+        }
+        return forward || backward;
+    }
+
+    @ParameterizedTest(name = "{0} sorted by {1} {2}")
+    @MethodSource("allowedSorts")
+    @DisplayName("every allowed sort should be served by a declared index")
+    void allowedSort_isServedByDeclaredIndex(Class<?> document, String sortBy, String direction, Sort sort) {
+        // Given
+        Document mapped = mappedSort(document, sort);
+        List<Document> indexes = new ArrayList<>(List.of(new Document("_id", 1)));
+        StreamSupport.stream(IndexResolver.create(MAPPING_CONTEXT).resolveIndexFor(document).spliterator(), false)
+                .map(IndexDefinition::getIndexKeys)
+                .forEach(indexes::add);
+
+        // Then
+        assertTrue(indexes.stream().anyMatch(index -> servesSort(index, mapped)),
+                () -> "No index serves " + mapped.toJson() + " among " + indexes);
+    }
+
+    @Test
+    @DisplayName("should append _id to non-unique keys and map logical names to index paths")
+    void forUsersAndProfiles_mapLogicalNames() {
+        assertEquals(Sort.by(Sort.Direction.DESC, "createdAt", "id"), SortPlanner.forUsers("createdAt", "desc"));
+        assertEquals(Sort.by(Sort.Direction.ASC, "email"), SortPlanner.forUsers("email", "ASC"));
+        assertEquals(Sort.by(Sort.Direction.ASC, "address.city", "id"), SortPlanner.forProfiles("city", "asc"));
+        assertEquals(Sort.by(Sort.Direction.ASC, "id"), SortPlanner.forProfiles("createdAt", "asc"));
+        assertEquals(new Document("createdAt", -1).append("_id", -1),
+                mappedSort(User.class, SortPlanner.forUsers("createdAt", "desc")));
+    }
+
+    @ParameterizedTest(name = "sortBy={0}")
+    @CsvSource({"passwordHash", "roles", "profile.firstName", "address.city", "CREATEDAT", "''"})
+    @DisplayName("should reject sorts that are not whitelisted with a validation error")
+    void forUsers_unsupportedSort_badRequest(String sortBy) {
+        // When
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> SortPlanner.forUsers(sortBy, "asc"));
+
+        // Then
+        assertEquals(ErrorCodes.VALIDATION_ERROR, exception.getErrorCode());
+        assertEquals("Sorting by '" + sortBy + "' is not supported, use one of: createdAt, email, id, username",
+                exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("should reject unknown sort directions instead of sorting descending")
+    void forProfiles_unsupportedDirection_badRequest() {
+        // When
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> SortPlanner.forProfiles("city", "up"));
+
+        // Then
+        assertEquals(ErrorCodes.VALIDATION_ERROR, exception.getErrorCode());
+        assertEquals("Sort direction 'up' is not supported, use asc or desc", exception.getMessage());
+    }
+}